@@ -0,0 +1,102 @@
+package br.senac.go.benchmark;
+
+import br.senac.go.model.Conta;
+import br.senac.go.service.ContaService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Leitura por id com e sem o cache de segundo nível e consulta por exemplo com e sem o
+ * cache de consultas ({@code consulta.cache-resultados}). Além da vazão, informa as
+ * consultas enviadas ao banco ({@code consultasBanco}, por operação nos resultados).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CacheSegundoNivelBenchmark {
+
+    private static final int CONTAS = 1000;
+
+    @Param({"true", "false"})
+    private boolean cache;
+
+    private ConfigurableApplicationContext contexto;
+
+    private ContaService contaService;
+
+    private Statistics estatisticas;
+
+    private int primeiroId;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Consultas {
+
+        public long consultasBanco;
+    }
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        contexto = Contexto.iniciar("spring.jpa.properties.hibernate.cache.use_second_level_cache=" + cache,
+                "spring.jpa.properties.hibernate.cache.use_query_cache=" + cache,
+                "consulta.cache-resultados=" + cache);
+        contaService = contexto.getBean(ContaService.class);
+        estatisticas = contexto.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+        primeiroId = contaService.create(CrudBenchmark.conta(0)).getId();
+        for (int i = 1; i < CONTAS; i++) {
+            contaService.create(CrudBenchmark.conta(i));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public Conta readById(Consultas consultas) throws Exception {
+        long antes = estatisticas.getPrepareStatementCount();
+        Conta conta = contaService.readById(primeiroId + ThreadLocalRandom.current().nextInt(CONTAS));
+        consultas.consultasBanco += estatisticas.getPrepareStatementCount() - antes;
+        return conta;
+    }
+
+    /**
+     * Primeira página das contas cuja descrição começa por "Conta 1", ordenadas por id. Com o
+     * cache, a consulta e a contagem são respondidas sem ir ao banco enquanto a tabela não
+     * recebe escritas.
+     */
+    @Benchmark
+    public Page<Conta> read(Consultas consultas) throws Exception {
+        Conta exemplo = new Conta();
+        exemplo.setDescricao("Conta 1");
+        long antes = estatisticas.getPrepareStatementCount();
+        Page<Conta> pagina = contaService.read(exemplo, null, PageRequest.of(0, 20), null);
+        consultas.consultasBanco += estatisticas.getPrepareStatementCount() - antes;
+        return pagina;
+    }
+}
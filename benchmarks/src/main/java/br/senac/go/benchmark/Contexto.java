@@ -0,0 +1,36 @@
+package br.senac.go.benchmark;
+
+import br.senac.go.App;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Sobe a aplicação sem servidor web, com um banco H2 em memória próprio para cada
+ * benchmark e sem o log de SQL e dos resources.
+ */
+final class Contexto {
+
+    private Contexto() {
+    }
+
+    static ConfigurableApplicationContext iniciar(String... propriedades) {
+        List<String> argumentos = new ArrayList<>(List.of(
+                "--spring.main.web-application-type=none",
+                "--spring.output.ansi.enabled=never",
+                "--spring.banner.charset=UTF-8",
+                "--spring.banner.location=classpath:banner.txt",
+                "--spring.main.banner-mode=off",
+                "--spring.datasource.url=jdbc:h2:mem:" + UUID.randomUUID() + ";QUERY_CACHE_SIZE=64",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=warn",
+                "--logging.level.br.senac.go=warn"));
+        for (String propriedade : propriedades) {
+            argumentos.add("--" + propriedade);
+        }
+        return new SpringApplicationBuilder(App.class).run(argumentos.toArray(String[]::new));
+    }
+}
@@ -0,0 +1,93 @@
+package br.senac.go.benchmark;
+
+import br.senac.go.model.Conta;
+import br.senac.go.service.ContaService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Vazão das operações de {@link br.senac.go.interfaces.IService} (ContaService) contra o
+ * H2 em memória, com transação, cache de segundo nível e controle de versão como na aplicação.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CrudBenchmark {
+
+    private static final int CONTAS = 1000;
+
+    private ConfigurableApplicationContext contexto;
+
+    private ContaService contaService;
+
+    private int primeiroId;
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        contexto = Contexto.iniciar();
+        contaService = contexto.getBean(ContaService.class);
+        primeiroId = contaService.create(conta(0)).getId();
+        for (int i = 1; i < CONTAS; i++) {
+            contaService.create(conta(i));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public Conta create() {
+        return contaService.create(conta(0));
+    }
+
+    @Benchmark
+    public Conta readById() throws Exception {
+        return contaService.readById(sorteado());
+    }
+
+    @Benchmark
+    public Conta updateFull() {
+        return contaService.updateFull(sorteado(), conta(ThreadLocalRandom.current().nextInt(CONTAS)));
+    }
+
+    /**
+     * Inclusão seguida da remoção: mantém o volume da tabela estável entre as iterações.
+     */
+    @Benchmark
+    public Conta createDelete() {
+        return contaService.deleteById(contaService.create(conta(0)).getId());
+    }
+
+    private Integer sorteado() {
+        return primeiroId + ThreadLocalRandom.current().nextInt(CONTAS);
+    }
+
+    static Conta conta(int i) {
+        Conta conta = new Conta();
+        conta.setDescricao("Conta " + i);
+        conta.setLimiteConta(new BigDecimal("1000"));
+        conta.setDataInicio(LocalDateTime.now());
+        return conta;
+    }
+}
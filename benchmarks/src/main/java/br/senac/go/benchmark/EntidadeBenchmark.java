@@ -0,0 +1,98 @@
+package br.senac.go.benchmark;
+
+import br.senac.go.model.Carteira;
+import br.senac.go.model.Conta;
+import br.senac.go.model.Investimento;
+import br.senac.go.model.Pessoa;
+import br.senac.go.model.TipoConta;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo do toString e do hashCode gerados pelo Lombok (@Data) em Pessoa, com as
+ * associações preenchidas, e em Conta com {@code itens} tipos de conta. Associações e
+ * coleções são excluídas dos dois métodos, então o custo não deve variar com {@code itens}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EntidadeBenchmark {
+
+    @Param({"0", "100"})
+    private int itens;
+
+    private Pessoa pessoa;
+
+    private Conta conta;
+
+    @Setup
+    public void preparar() {
+        LocalDateTime agora = LocalDateTime.now();
+        conta = new Conta();
+        conta.setId(1);
+        conta.setDescricao("Conta corrente");
+        conta.setLimiteConta(new BigDecimal("1500.00"));
+        conta.setDataInicio(agora);
+        conta.setVersao(0L);
+        for (int i = 0; i < itens; i++) {
+            TipoConta tipoConta = new TipoConta();
+            tipoConta.setId(i);
+            tipoConta.setDescricao("Tipo de conta " + i);
+            tipoConta.setDataInicio(agora);
+            conta.getTipoConta().add(tipoConta);
+        }
+        Investimento investimento = new Investimento();
+        investimento.setId(1);
+        investimento.setDescricao("Renda fixa");
+        investimento.setValorInicial(new BigDecimal("1000.00"));
+        investimento.setSaldo(new BigDecimal("1000.00"));
+        Carteira carteira = new Carteira();
+        carteira.setId(1);
+        carteira.setNome("Carteira");
+
+        pessoa = new Pessoa();
+        pessoa.setId(1);
+        pessoa.setNome("Pessoa");
+        pessoa.setEndereco("Rua 1, Goiânia");
+        pessoa.setVersao(0L);
+        pessoa.setConta(conta);
+        pessoa.setInvestimento(investimento);
+        pessoa.setCarteira(carteira);
+    }
+
+    @Benchmark
+    public String pessoaToString() {
+        return pessoa.toString();
+    }
+
+    @Benchmark
+    public int pessoaHashCode() {
+        return pessoa.hashCode();
+    }
+
+    @Benchmark
+    public String contaToString() {
+        return conta.toString();
+    }
+
+    @Benchmark
+    public int contaHashCode() {
+        return conta.hashCode();
+    }
+}
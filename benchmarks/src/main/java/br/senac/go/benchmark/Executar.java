@@ -0,0 +1,41 @@
+package br.senac.go.benchmark;
+
+import br.senac.go.App;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Ponto de entrada dos benchmarks. Aceita as mesmas opções da linha de comando do JMH e,
+ * quando o arquivo de resultado não é informado ({@code -rff}), grava o JSON em
+ * {@code resultados/{versão da aplicação}/jmh-{data e hora}.json}, para comparação entre
+ * versões. Sem {@code -prof}, o GCProfiler é usado (alocação por operação).
+ */
+public class Executar {
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions linhaComando = new CommandLineOptions(args);
+        ChainedOptionsBuilder opcoes = new OptionsBuilder().parent(linhaComando);
+        if (linhaComando.getResult().hasValue()) {
+            opcoes.resultFormat(linhaComando.getResultFormat().orElse(ResultFormatType.JSON));
+        } else {
+            String versao = App.class.getPackage().getImplementationVersion();
+            Path diretorio = Path.of("resultados", versao == null ? "dev" : versao);
+            Files.createDirectories(diretorio);
+            String arquivo = "jmh-" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".json";
+            opcoes.resultFormat(ResultFormatType.JSON).result(diretorio.resolve(arquivo).toString());
+        }
+        if (linhaComando.getProfilers().isEmpty()) {
+            opcoes.addProfiler(GCProfiler.class);
+        }
+        new Runner(opcoes.build()).run();
+    }
+}
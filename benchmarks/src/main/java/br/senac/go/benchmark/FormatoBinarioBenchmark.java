@@ -0,0 +1,181 @@
+package br.senac.go.benchmark;
+
+import br.senac.go.config.BinarioConfig;
+import br.senac.go.config.JacksonConfig;
+import br.senac.go.model.Conta;
+import br.senac.go.model.Investimento;
+import br.senac.go.model.Pessoa;
+import br.senac.go.model.TipoConta;
+import br.senac.go.model.TipoInvestimento;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.protobuf.ProtobufFactory;
+import com.fasterxml.jackson.dataformat.protobuf.schema.ProtobufSchema;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Codificação e decodificação de Conta, Investimento e Pessoa em JSON e nos formatos binários
+ * da API (BinarioConfig), com os mesmos ObjectMapper e esquema Protobuf da aplicação. Além da
+ * vazão, informa os bytes codificados ou decodificados por segundo ({@code bytes}): o tamanho
+ * do corpo é {@code bytes} dividido pela vazão. Em pessoa, {@code itens} não se aplica.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FormatoBinarioBenchmark {
+
+    @Param({"json", "cbor", "smile", "protobuf"})
+    private String formato;
+
+    @Param({"conta", "investimento", "pessoa"})
+    private String entidade;
+
+    /**
+     * Itens das coleções (tipos de conta e de investimento).
+     */
+    @Param({"0", "10"})
+    private int itens;
+
+    private ObjectWriter escritor;
+
+    private ObjectReader leitor;
+
+    private Object valor;
+
+    private byte[] corpo;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Tamanho {
+
+        public long bytes;
+    }
+
+    @Setup(Level.Trial)
+    public void preparar() throws Exception {
+        JacksonConfig jacksonConfig = new JacksonConfig();
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json()
+                .modulesToInstall(jacksonConfig.hibernateModule())
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        ObjectMapper objectMapper = switch (formato) {
+            case "json" -> builder.build();
+            case "cbor" -> BinarioConfig.binario(builder, new CBORFactory());
+            case "smile" -> BinarioConfig.binario(builder, new SmileFactory());
+            case "protobuf" -> BinarioConfig.binario(builder, new ProtobufFactory());
+            default -> throw new IllegalArgumentException(formato);
+        };
+        valor = switch (entidade) {
+            case "conta" -> conta(itens);
+            case "investimento" -> investimento(itens);
+            case "pessoa" -> pessoa();
+            default -> throw new IllegalArgumentException(entidade);
+        };
+        escritor = objectMapper.writerFor(valor.getClass());
+        leitor = objectMapper.readerFor(valor.getClass());
+        if ("protobuf".equals(formato)) {
+            Map<Class<?>, ProtobufSchema> esquemas = BinarioConfig.esquemasProtobuf();
+            escritor = escritor.with(esquemas.get(valor.getClass()));
+            leitor = leitor.with(esquemas.get(valor.getClass()));
+        }
+        corpo = escritor.writeValueAsBytes(valor);
+    }
+
+    @Benchmark
+    public byte[] codificar(Tamanho tamanho) throws Exception {
+        byte[] bytes = escritor.writeValueAsBytes(valor);
+        tamanho.bytes += bytes.length;
+        return bytes;
+    }
+
+    @Benchmark
+    public Object decodificar(Tamanho tamanho) throws Exception {
+        tamanho.bytes += corpo.length;
+        return leitor.readValue(corpo);
+    }
+
+    static Conta conta(int itens) {
+        LocalDateTime agora = LocalDateTime.of(2024, 5, 17, 14, 32, 11, 482_000_000);
+        Conta conta = new Conta();
+        conta.setId(1234);
+        conta.setDescricao("Conta corrente");
+        conta.setLimiteConta(new BigDecimal("15000.75"));
+        conta.setDataInicio(agora);
+        conta.setDataFim(agora.plusYears(5));
+        conta.setVersao(3L);
+        for (int i = 0; i < itens; i++) {
+            TipoConta tipoConta = new TipoConta();
+            tipoConta.setId(i);
+            tipoConta.setDescricao("Tipo de conta " + i);
+            tipoConta.setDataInicio(agora.plusDays(i));
+            tipoConta.setVersao(0L);
+            conta.getTipoConta().add(tipoConta);
+        }
+        return conta;
+    }
+
+    static Investimento investimento(int itens) {
+        LocalDateTime agora = LocalDateTime.of(2024, 5, 17, 14, 32, 11, 482_000_000);
+        Investimento investimento = new Investimento();
+        investimento.setId(5678);
+        investimento.setDescricao("Renda fixa");
+        investimento.setValorInicial(new BigDecimal("10000.00"));
+        investimento.setSaldo(new BigDecimal("10873.42"));
+        investimento.setDataInicio(agora);
+        investimento.setVersao(12L);
+        for (int i = 0; i < itens; i++) {
+            TipoInvestimento tipoInvestimento = new TipoInvestimento();
+            tipoInvestimento.setId(i);
+            tipoInvestimento.setDescricao("Tipo de investimento " + i);
+            tipoInvestimento.setTemRisco(i % 2 == 0);
+            tipoInvestimento.setDataInicio(agora.plusDays(i));
+            tipoInvestimento.setVersao(0L);
+            investimento.getTipoInvestimento().add(tipoInvestimento);
+        }
+        return investimento;
+    }
+
+    /**
+     * Pessoa com as referências como chegam de uma leitura (apenas o id).
+     */
+    static Pessoa pessoa() {
+        Pessoa pessoa = new Pessoa();
+        pessoa.setId(91011);
+        pessoa.setNome("Maria da Silva");
+        pessoa.setEndereco("Rua 10, 250, Setor Oeste, Goiânia");
+        pessoa.setVersao(1L);
+        Conta conta = new Conta();
+        conta.setId(1234);
+        conta.setTipoConta(null);
+        pessoa.setConta(conta);
+        Investimento investimento = new Investimento();
+        investimento.setId(5678);
+        investimento.setTipoInvestimento(null);
+        pessoa.setInvestimento(investimento);
+        return pessoa;
+    }
+}
@@ -0,0 +1,96 @@
+package br.senac.go.benchmark;
+
+import br.senac.go.config.RastreadorSql;
+import br.senac.go.dto.EstatisticaSql;
+import br.senac.go.dto.ResultadoItem;
+import br.senac.go.model.Conta;
+import br.senac.go.service.ContaService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Inclusão de contas uma a uma e em lote ({@code createAll}), com o otimizador de ids
+ * pooled-lo (ids do bloco gerados em memória) e sem otimizador (uma consulta à sequence
+ * por registro). O resultado é por registro incluído; ao fim, cada execução escreve as
+ * consultas à sequence por registro contadas pelo RastreadorSql (1/alocação esperado com
+ * pooled-lo, 1 sem otimizador). A comparação entre lote e uma a uma em todas as operações
+ * fica em {@link LoteBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IngestaoBenchmark {
+
+    private static final int REGISTROS = 500;
+
+    @Param({"pooled-lo", "none"})
+    private String otimizadorId;
+
+    private ConfigurableApplicationContext contexto;
+
+    private ContaService contaService;
+
+    private RastreadorSql rastreador;
+
+    private long registros;
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        contexto = Contexto.iniciar("spring.jpa.properties.hibernate.id.optimizer.pooled.preferred=" + otimizadorId);
+        contaService = contexto.getBean(ContaService.class);
+        rastreador = contexto.getBean(RastreadorSql.class);
+        rastreador.limpar();
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        long consultas = rastreador.consultas(Integer.MAX_VALUE, "execucoes").stream()
+                .filter(estatistica -> estatistica.getSql().toLowerCase().contains("next value for"))
+                .mapToLong(EstatisticaSql::getExecucoes)
+                .sum();
+        System.out.printf("%n%s: %.4f consultas à sequence por registro (%d registros)%n",
+                otimizadorId, (double) consultas / Math.max(registros, 1), registros);
+        contexto.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(REGISTROS)
+    public void individual(Blackhole blackhole) {
+        for (int i = 0; i < REGISTROS; i++) {
+            blackhole.consume(contaService.create(CrudBenchmark.conta(i)));
+        }
+        registros += REGISTROS;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(REGISTROS)
+    public List<ResultadoItem<Conta, Integer>> lote() {
+        List<Conta> contas = new ArrayList<>(REGISTROS);
+        for (int i = 0; i < REGISTROS; i++) {
+            contas.add(CrudBenchmark.conta(i));
+        }
+        registros += REGISTROS;
+        return contaService.createAll(contas);
+    }
+}
@@ -0,0 +1,89 @@
+package br.senac.go.benchmark;
+
+import br.senac.go.dto.Saldo;
+import br.senac.go.model.Investimento;
+import br.senac.go.model.Lancamento;
+import br.senac.go.model.TipoLancamento;
+import br.senac.go.service.InvestimentoService;
+import br.senac.go.service.LancamentoService;
+import br.senac.go.service.LancamentoService.Titular;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lançamentos concorrentes no mesmo investimento (7 threads) com uma thread lendo o saldo:
+ * lançar não altera a linha do titular, então a vazão deve crescer com as threads. O saldo
+ * é consolidado antes de cada iteração, como faria o agendamento, para que a leitura some
+ * só a cauda da iteração e não todos os lançamentos desde o início.
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LancamentoBenchmark {
+
+    private ConfigurableApplicationContext contexto;
+
+    private LancamentoService lancamentoService;
+
+    private Integer investimentoId;
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        contexto = Contexto.iniciar();
+        lancamentoService = contexto.getBean(LancamentoService.class);
+        Investimento investimento = new Investimento();
+        investimento.setDescricao("Renda fixa");
+        investimento.setValorInicial(BigDecimal.ZERO);
+        investimento.setSaldo(BigDecimal.ZERO);
+        investimento.setDataInicio(LocalDateTime.now());
+        investimentoId = contexto.getBean(InvestimentoService.class).create(investimento).getId();
+    }
+
+    @Setup(Level.Iteration)
+    public void consolidar() {
+        lancamentoService.consolidar(Titular.INVESTIMENTO, LocalDateTime.now());
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        contexto.close();
+    }
+
+    @Benchmark
+    @Group("razao")
+    @GroupThreads(7)
+    public Lancamento lancar() {
+        Lancamento lancamento = new Lancamento();
+        lancamento.setTipo(TipoLancamento.DEPOSITO);
+        lancamento.setValor(BigDecimal.TEN);
+        lancamento.setDescricao("Depósito");
+        return lancamentoService.lancar(Titular.INVESTIMENTO, investimentoId, lancamento);
+    }
+
+    @Benchmark
+    @Group("razao")
+    @GroupThreads(1)
+    public Saldo saldo() {
+        return lancamentoService.saldo(Titular.INVESTIMENTO, investimentoId);
+    }
+}
@@ -0,0 +1,92 @@
+package br.senac.go.benchmark;
+
+import br.senac.go.model.Conta;
+import br.senac.go.model.Reserva;
+import br.senac.go.service.ContaService;
+import br.senac.go.service.LimiteService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.ThreadParams;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reservas concorrentes (8 threads) contra o limite de uma única conta, o caso de maior
+ * disputa pela trava da conta, e de 8 contas, uma por thread, em que as travas por conta
+ * não disputam entre si. O limite é grande o bastante para nenhuma reserva falhar.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class LimiteBenchmark {
+
+    private static final BigDecimal VALOR = BigDecimal.ONE;
+
+    private ConfigurableApplicationContext contexto;
+
+    private LimiteService limiteService;
+
+    @Param({"1", "8"})
+    private int contas;
+
+    private List<Integer> contaIds;
+
+    @State(Scope.Thread)
+    public static class Titular {
+
+        private Integer contaId;
+
+        @Setup(Level.Trial)
+        public void escolher(LimiteBenchmark benchmark, ThreadParams thread) {
+            contaId = benchmark.contaIds.get(thread.getThreadIndex() % benchmark.contas);
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        contexto = Contexto.iniciar();
+        limiteService = contexto.getBean(LimiteService.class);
+        ContaService contaService = contexto.getBean(ContaService.class);
+        contaIds = new ArrayList<>(contas);
+        for (int i = 0; i < contas; i++) {
+            Conta conta = CrudBenchmark.conta(i);
+            conta.setLimiteConta(new BigDecimal("1000000000000"));
+            contaIds.add(contaService.create(conta).getId());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public Reserva reservarLiberar(Titular titular) {
+        return limiteService.liberar(titular.contaId, limiteService.reservar(titular.contaId, VALOR, "Reserva").getId());
+    }
+
+    @Benchmark
+    public Reserva reservarConfirmar(Titular titular) {
+        return limiteService.confirmar(titular.contaId, limiteService.reservar(titular.contaId, VALOR, "Reserva").getId());
+    }
+}
@@ -0,0 +1,113 @@
+package br.senac.go.benchmark;
+
+import br.senac.go.model.Conta;
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.OutputStreamAppender;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo do log por chamada dos resources ({@code info} da entrada e {@code debug} com os
+ * valores), com o mesmo AsyncAppender de logback-spring.xml escrevendo num destino
+ * descartado, para medir só o trabalho da thread da requisição. Com o nível desligado, a
+ * forma parametrizada ({@code {}}) não aloca, o que o LogDesligadoTest confere a cada
+ * build; a montagem com String.format é medida para comparação.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LogBenchmark {
+
+    @Param({"OFF", "INFO", "DEBUG"})
+    private String nivel;
+
+    private Logger log;
+
+    private AsyncAppender async;
+
+    private Conta conta;
+
+    @Setup
+    public void preparar() {
+        LoggerContext contexto = (LoggerContext) LoggerFactory.getILoggerFactory();
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(contexto);
+        encoder.setPattern("%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5p --- [%15.15t] %-40.40logger{39} : %m%n");
+        encoder.start();
+        OutputStreamAppender<ILoggingEvent> destino = new OutputStreamAppender<>();
+        destino.setContext(contexto);
+        destino.setEncoder(encoder);
+        destino.setOutputStream(OutputStream.nullOutputStream());
+        destino.start();
+        async = new AsyncAppender();
+        async.setContext(contexto);
+        async.setQueueSize(8192);
+        async.setDiscardingThreshold(1638);
+        async.setNeverBlock(true);
+        async.setIncludeCallerData(false);
+        async.addAppender(destino);
+        async.start();
+
+        log = contexto.getLogger("br.senac.go.resource.ContaResource");
+        log.detachAndStopAllAppenders();
+        log.setAdditive(false);
+        log.addAppender(async);
+        log.setLevel(Level.toLevel(nivel));
+
+        conta = CrudBenchmark.conta(1);
+        conta.setId(1);
+        conta.setLimiteConta(new BigDecimal("1500.00"));
+        conta.setDataInicio(LocalDateTime.of(2024, 1, 1, 0, 0));
+    }
+
+    @TearDown
+    public void encerrar() {
+        async.stop();
+    }
+
+    /**
+     * Referência: a mesma chamada sem log.
+     */
+    @Benchmark
+    public Conta semLog() {
+        return conta;
+    }
+
+    @Benchmark
+    public Conta resource() {
+        log.info("Executado método ContaResource.create");
+        log.debug("Executado método ContaResource.create | valores: {}", conta);
+        return conta;
+    }
+
+    @Benchmark
+    public Conta formatado() {
+        log.info("Executado método ContaResource.create");
+        log.debug(String.format("Executado método ContaResource.create | valores: %s", conta));
+        return conta;
+    }
+}
@@ -0,0 +1,112 @@
+package br.senac.go.benchmark;
+
+import br.senac.go.dto.ResultadoItem;
+import br.senac.go.model.Conta;
+import br.senac.go.service.ContaService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Inclusão, alteração e remoção de contas pelas operações em lote (createAll, updateAll e
+ * deleteAllById, as dos endpoints _bulk) e uma a uma (create, updateFull e deleteById),
+ * com a mesma quantidade de registros. O resultado é por registro; as contas alteradas e
+ * removidas são incluídas antes de cada invocação, fora da medição.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LoteBenchmark {
+
+    private static final int REGISTROS = 500;
+
+    @Param({"lote", "individual"})
+    private String modo;
+
+    private ConfigurableApplicationContext contexto;
+
+    private ContaService contaService;
+
+    private List<Conta> gravadas;
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        contexto = Contexto.iniciar();
+        contaService = contexto.getBean(ContaService.class);
+    }
+
+    @Setup(Level.Invocation)
+    public void gravar() {
+        gravadas = contaService.createAll(novas()).stream().map(ResultadoItem::getEntidade).toList();
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        contexto.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(REGISTROS)
+    public void incluir(Blackhole blackhole) {
+        if (modo.equals("lote")) {
+            blackhole.consume(contaService.createAll(novas()));
+        } else {
+            for (Conta conta : novas()) {
+                blackhole.consume(contaService.create(conta));
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(REGISTROS)
+    public void alterar(Blackhole blackhole) {
+        gravadas.forEach(conta -> conta.setDescricao("Alterada " + conta.getId()));
+        if (modo.equals("lote")) {
+            blackhole.consume(contaService.updateAll(gravadas));
+        } else {
+            for (Conta conta : gravadas) {
+                blackhole.consume(contaService.updateFull(conta.getId(), conta));
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(REGISTROS)
+    public void remover(Blackhole blackhole) {
+        if (modo.equals("lote")) {
+            blackhole.consume(contaService.deleteAllById(gravadas.stream().map(Conta::getId).toList()));
+        } else {
+            for (Conta conta : gravadas) {
+                blackhole.consume(contaService.deleteById(conta.getId()));
+            }
+        }
+    }
+
+    private static List<Conta> novas() {
+        List<Conta> contas = new ArrayList<>(REGISTROS);
+        for (int i = 0; i < REGISTROS; i++) {
+            contas.add(CrudBenchmark.conta(i));
+        }
+        return contas;
+    }
+}
@@ -0,0 +1,171 @@
+package br.senac.go.benchmark;
+
+import br.senac.go.config.JacksonConfig;
+import br.senac.go.model.Carteira;
+import br.senac.go.model.Conta;
+import br.senac.go.model.Investimento;
+import br.senac.go.model.Pessoa;
+import br.senac.go.model.TipoConta;
+import br.senac.go.model.TipoInvestimento;
+import br.senac.go.resource.EscritorXml;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialização JSON e XML de Conta, Investimento e Carteira com as coleções carregadas,
+ * com os mesmos ajustes do ObjectMapper da aplicação (módulo do Hibernate, datas ISO).
+ * O XML da API é o do EscritorXml (StAX, *Stax); o do Jackson XML (*Xml) fica para
+ * comparação.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializacaoBenchmark {
+
+    /**
+     * Itens de cada coleção (tipos de conta, tipos de investimento, pessoas da carteira).
+     */
+    @Param({"10", "100", "1000"})
+    private int itens;
+
+    private ObjectMapper json;
+
+    private ObjectMapper xml;
+
+    private EscritorXml stax;
+
+    private Conta conta;
+
+    private Investimento investimento;
+
+    private Carteira carteira;
+
+    @Setup
+    public void preparar() {
+        JacksonConfig jacksonConfig = new JacksonConfig();
+        json = Jackson2ObjectMapperBuilder.json()
+                .modulesToInstall(jacksonConfig.hibernateModule())
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        xml = Jackson2ObjectMapperBuilder.xml()
+                .modulesToInstall(jacksonConfig.hibernateModule())
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        stax = new EscritorXml(json);
+        LocalDateTime agora = LocalDateTime.now();
+
+        conta = new Conta();
+        conta.setId(1);
+        conta.setDescricao("Conta corrente");
+        conta.setLimiteConta(new BigDecimal("1500.00"));
+        conta.setDataInicio(agora);
+        conta.setVersao(0L);
+        investimento = new Investimento();
+        investimento.setId(1);
+        investimento.setDescricao("Renda fixa");
+        investimento.setValorInicial(new BigDecimal("1000.00"));
+        investimento.setSaldo(new BigDecimal("1234.56"));
+        investimento.setDataInicio(agora);
+        investimento.setVersao(0L);
+        carteira = new Carteira();
+        carteira.setId(1);
+        carteira.setNome("Carteira");
+        carteira.setDescricao("Carteira principal");
+        carteira.setVersao(0L);
+
+        for (int i = 0; i < itens; i++) {
+            TipoConta tipoConta = new TipoConta();
+            tipoConta.setId(i);
+            tipoConta.setDescricao("Tipo de conta " + i);
+            tipoConta.setDataInicio(agora);
+            tipoConta.setVersao(0L);
+            conta.getTipoConta().add(tipoConta);
+
+            TipoInvestimento tipoInvestimento = new TipoInvestimento();
+            tipoInvestimento.setId(i);
+            tipoInvestimento.setDescricao("Tipo de investimento " + i);
+            tipoInvestimento.setTemRisco(i % 2 == 0);
+            tipoInvestimento.setDataInicio(agora);
+            tipoInvestimento.setVersao(0L);
+            investimento.getTipoInvestimento().add(tipoInvestimento);
+
+            Pessoa pessoa = new Pessoa();
+            pessoa.setId(i);
+            pessoa.setNome("Pessoa " + i);
+            pessoa.setEndereco("Rua " + i + ", Goiânia");
+            pessoa.setVersao(0L);
+            carteira.getPessoas().add(pessoa);
+        }
+    }
+
+    @Benchmark
+    public byte[] contaJson() throws Exception {
+        return json.writeValueAsBytes(conta);
+    }
+
+    @Benchmark
+    public byte[] contaXml() throws Exception {
+        return xml.writeValueAsBytes(conta);
+    }
+
+    @Benchmark
+    public byte[] contaStax() throws Exception {
+        return stax(conta);
+    }
+
+    @Benchmark
+    public byte[] investimentoJson() throws Exception {
+        return json.writeValueAsBytes(investimento);
+    }
+
+    @Benchmark
+    public byte[] investimentoXml() throws Exception {
+        return xml.writeValueAsBytes(investimento);
+    }
+
+    @Benchmark
+    public byte[] investimentoStax() throws Exception {
+        return stax(investimento);
+    }
+
+    @Benchmark
+    public byte[] carteiraJson() throws Exception {
+        return json.writeValueAsBytes(carteira);
+    }
+
+    @Benchmark
+    public byte[] carteiraXml() throws Exception {
+        return xml.writeValueAsBytes(carteira);
+    }
+
+    @Benchmark
+    public byte[] carteiraStax() throws Exception {
+        return stax(carteira);
+    }
+
+    private byte[] stax(Object valor) throws Exception {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream(256);
+        stax.escrever(valor, saida);
+        return saida.toByteArray();
+    }
+}
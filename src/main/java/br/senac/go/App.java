@@ -2,12 +2,14 @@ package br.senac.go;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Hello world!
  *
  */
 @SpringBootApplication
+@EnableScheduling
 public class App
 {
     public static void main( String[] args )
@@ -0,0 +1,53 @@
+package br.senac.go;
+
+import br.senac.go.dto.ResultadoImportacao;
+import br.senac.go.model.EstadoImportacao;
+import br.senac.go.service.ImportacaoService;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Importação de pessoas por CSV pela linha de comando, sem o servidor web (mesma
+ * importação de api/pessoa/_import, ver ImportacaoService):
+ * <pre>
+ * java -cp gestao-financeira-1.0-SNAPSHOT-exec.jar -Dloader.main=br.senac.go.ImportacaoCsv \
+ *      org.springframework.boot.loader.PropertiesLauncher pessoas.csv [--importacao=7]
+ * </pre>
+ * {@code --importacao} retoma uma importação interrompida com o mesmo arquivo. O banco é o
+ * de {@code spring.datasource.url}. Termina com código 0 quando a importação é concluída.
+ */
+public class ImportacaoCsv {
+
+    public static void main(String[] args) throws IOException {
+        ConfigurableApplicationContext contexto = new SpringApplicationBuilder(App.class)
+                .web(WebApplicationType.NONE)
+                .run(args);
+        ApplicationArguments argumentos = contexto.getBean(ApplicationArguments.class);
+        if (argumentos.getNonOptionArgs().size() != 1) {
+            System.err.println("Uso: ImportacaoCsv <arquivo.csv> [--importacao=<id a retomar>]");
+            System.exit(SpringApplication.exit(contexto, () -> 2));
+        }
+        Path arquivo = Path.of(argumentos.getNonOptionArgs().get(0));
+        List<String> importacao = argumentos.getOptionValues("importacao");
+        Integer retomar = importacao == null || importacao.isEmpty() ? null : Integer.valueOf(importacao.get(0));
+
+        ResultadoImportacao resultado;
+        try (Reader csv = Files.newBufferedReader(arquivo, StandardCharsets.UTF_8)) {
+            resultado = contexto.getBean(ImportacaoService.class).importar(csv, arquivo.getFileName().toString(), retomar);
+        }
+        resultado.getRejeicoes().forEach(rejeicao -> System.err.printf("linha %d: %s%n", rejeicao.getIndice(), rejeicao.getErro()));
+        System.out.println(resultado.getImportacao());
+        boolean concluida = resultado.getImportacao().getEstado() == EstadoImportacao.CONCLUIDA;
+        System.exit(SpringApplication.exit(contexto, () -> concluida ? 0 : 1));
+    }
+}
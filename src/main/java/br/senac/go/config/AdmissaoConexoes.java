@@ -0,0 +1,130 @@
+package br.senac.go.config;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Limita as requisições da API atendidas ao mesmo tempo a {@code permissoes} (menor ou igual
+ * ao tamanho do pool de conexões). As demais esperam até {@code espera} por uma vaga e,
+ * sem vaga, recebem 503 com Retry-After, em vez de ocupar uma thread esperando conexão
+ * dentro do pool (o banco continua recebendo no máximo o que consegue atender).
+ * <p>
+ * Exportações ({@code _export} e {@code _lista} em NDJSON) ocupam uma conexão durante todo o
+ * envio: têm vagas próprias ({@code exportacoes}), mantidas até o fim da resposta
+ * assíncrona, para que poucos clientes lentos não tomem as vagas das demais requisições.
+ */
+@Slf4j
+public class AdmissaoConexoes extends OncePerRequestFilter {
+
+    private static final String NDJSON = "application/x-ndjson";
+
+    private final Semaphore vagas;
+
+    private final Semaphore vagasExportacao;
+
+    private final long esperaNanos;
+
+    public AdmissaoConexoes(int permissoes, int exportacoes, Duration espera) {
+        if (permissoes < 1) {
+            throw new IllegalArgumentException("execucao.admissao.permissoes deve ser positivo");
+        }
+        if (exportacoes < 1) {
+            throw new IllegalArgumentException("execucao.admissao.exportacoes deve ser positivo");
+        }
+        this.vagas = new Semaphore(permissoes);
+        this.vagasExportacao = new Semaphore(exportacoes);
+        this.esperaNanos = espera.toNanos();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain) throws ServletException, IOException {
+        Semaphore vagas = exportacao(request) ? vagasExportacao : this.vagas;
+        boolean admitida;
+        try {
+            admitida = vagas.tryAcquire(esperaNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            admitida = false;
+        }
+        if (!admitida) {
+            log.warn("Requisição recusada por falta de vaga: {} {}", request.getMethod(), request.getRequestURI());
+            recusar(response);
+            return;
+        }
+
+        AtomicBoolean liberada = new AtomicBoolean();
+        Runnable liberar = () -> {
+            if (liberada.compareAndSet(false, true)) {
+                vagas.release();
+            }
+        };
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new Liberacao(liberar));
+            } else {
+                liberar.run();
+            }
+        }
+    }
+
+    /**
+     * Respostas enviadas aos poucos, com a conexão aberta até o fim do envio.
+     */
+    static boolean exportacao(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        if (uri.endsWith("/_export")) {
+            return true;
+        }
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        return uri.endsWith("/_lista") && accept != null && accept.contains(NDJSON);
+    }
+
+    private void recusar(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        response.setContentType(MediaType.APPLICATION_PROBLEM_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        response.getWriter().write("{\"title\":\"Service Unavailable\",\"status\":503,\"detail\":\"Servidor sem vagas para novas requisições\"}");
+    }
+
+    private record Liberacao(Runnable liberar) implements AsyncListener {
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            liberar.run();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            liberar.run();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            liberar.run();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            //o mesmo listener continua registrado no novo ciclo assíncrono
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
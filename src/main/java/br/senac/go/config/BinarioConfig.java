@@ -0,0 +1,292 @@
+package br.senac.go.config;
+
+import br.senac.go.dto.PaginaCursor;
+import br.senac.go.model.Carteira;
+import br.senac.go.model.Conta;
+import br.senac.go.model.Investimento;
+import br.senac.go.model.Pessoa;
+import br.senac.go.model.TipoConta;
+import br.senac.go.model.TipoInvestimento;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.protobuf.ProtobufFactory;
+import com.fasterxml.jackson.dataformat.protobuf.schema.NativeProtobufSchema;
+import com.fasterxml.jackson.dataformat.protobuf.schema.ProtobufSchema;
+import com.fasterxml.jackson.dataformat.protobuf.schema.ProtobufSchemaLoader;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.domain.Page;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Formatos binários para as chamadas entre serviços, negociados pelo Accept/Content-Type
+ * junto com JSON e XML:
+ * <ul>
+ *     <li>application/cbor e application/x-jackson-smile: o mesmo conteúdo do JSON (qualquer
+ *     resposta), sem esquema;</li>
+ *     <li>application/x-protobuf: as seis entidades do modelo e as suas listagens (Page e
+ *     {@link PaginaCursor}), com o esquema de {@value #ESQUEMA_PROTOBUF}; as respostas dos
+ *     endpoints _bulk e as demais não são oferecidas (406).</li>
+ * </ul>
+ * Os três usam o ObjectMapper configurado da aplicação (módulo do Hibernate), mas com datas
+ * numéricas ([ano, mês, dia, hora, minuto, segundo, nanos]) em vez de texto ISO, e números
+ * decimais em binário: no CBOR e Smile pelo próprio formato, no Protobuf como a mensagem
+ * Decimal (valor sem vírgula em sint64 e escala). É a codificação em texto de BigDecimal e
+ * LocalDateTime que pesa no JSON. Os conversores CBOR e Smile substituem os padrão do Spring,
+ * que não têm o módulo do Hibernate; o de Protobuf entra depois dos demais, de modo que o
+ * JSON continua sendo o formato quando o cliente não informa o Accept.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class BinarioConfig implements WebMvcConfigurer {
+
+    public static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+
+    public static final String APPLICATION_PROTOBUF_VALUE = "application/x-protobuf";
+
+    public static final String ESQUEMA_PROTOBUF = "protobuf/gestao.proto";
+
+    /**
+     * Prefixos das mensagens de listagem no esquema: {@code PaginaConta}, {@code PaginaCursorConta}...
+     */
+    public static final String MENSAGEM_PAGINA = "Pagina";
+
+    public static final String MENSAGEM_PAGINA_CURSOR = "PaginaCursor";
+
+    private static final List<Class<?>> ENTIDADES_PROTOBUF = List.of(
+            Conta.class, Investimento.class, Pessoa.class, Carteira.class, TipoConta.class, TipoInvestimento.class);
+
+    private final ConversorProtobuf conversorProtobuf;
+
+    BinarioConfig(Jackson2ObjectMapperBuilder builder) throws IOException {
+        this.conversorProtobuf = new ConversorProtobuf(binario(builder, new ProtobufFactory()),
+                esquemasProtobuf(), esquemasProtobuf(MENSAGEM_PAGINA), esquemasProtobuf(MENSAGEM_PAGINA_CURSOR));
+    }
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter conversorCbor(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(binario(builder, new CBORFactory()));
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter conversorSmile(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(binario(builder, new SmileFactory()));
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(conversorProtobuf);
+    }
+
+    /**
+     * ObjectMapper de um formato binário a partir do builder da aplicação: datas numéricas e,
+     * no Protobuf, BigDecimal como a mensagem Decimal.
+     */
+    public static ObjectMapper binario(Jackson2ObjectMapperBuilder builder, JsonFactory fabrica) {
+        ObjectMapper objectMapper = builder.factory(fabrica)
+                .featuresToEnable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        if (fabrica instanceof ProtobufFactory) {
+            objectMapper.registerModule(new SimpleModule("DecimalProtobuf")
+                    .addSerializer(BigDecimal.class, new EscritorDecimal())
+                    .addDeserializer(BigDecimal.class, new LeitorDecimal()));
+        }
+        return objectMapper;
+    }
+
+    /**
+     * Esquema Protobuf de cada entidade (a mensagem tem o nome da classe).
+     */
+    public static Map<Class<?>, ProtobufSchema> esquemasProtobuf() throws IOException {
+        return esquemasProtobuf("");
+    }
+
+    /**
+     * Esquema Protobuf da mensagem de cada entidade com o prefixo informado, como
+     * {@value #MENSAGEM_PAGINA} para a das páginas.
+     */
+    public static Map<Class<?>, ProtobufSchema> esquemasProtobuf(String prefixo) throws IOException {
+        NativeProtobufSchema esquema;
+        try (InputStream entrada = new ClassPathResource(ESQUEMA_PROTOBUF).getInputStream()) {
+            esquema = ProtobufSchemaLoader.std.loadNative(entrada, true);
+        }
+        Map<Class<?>, ProtobufSchema> esquemas = new HashMap<>();
+        for (Class<?> entidade : ENTIDADES_PROTOBUF) {
+            esquemas.put(entidade, esquema.forType(prefixo + entidade.getSimpleName()));
+        }
+        return Map.copyOf(esquemas);
+    }
+
+    /**
+     * BigDecimal como a mensagem Decimal: o valor sem vírgula e a escala. Valores que não
+     * cabem em 64 bits (mais de 18 dígitos) não são escritos.
+     */
+    static class EscritorDecimal extends StdSerializer<BigDecimal> {
+
+        EscritorDecimal() {
+            super(BigDecimal.class);
+        }
+
+        @Override
+        public void serialize(BigDecimal valor, JsonGenerator gerador, SerializerProvider provider) throws IOException {
+            BigInteger semVirgula = valor.unscaledValue();
+            if (semVirgula.bitLength() > 63) {
+                throw JsonMappingException.from(gerador, String.format("Valor %s não cabe na mensagem Decimal", valor.toPlainString()));
+            }
+            gerador.writeStartObject(valor);
+            gerador.writeNumberField("valor", semVirgula.longValue());
+            gerador.writeNumberField("escala", valor.scale());
+            gerador.writeEndObject();
+        }
+    }
+
+    static class LeitorDecimal extends StdDeserializer<BigDecimal> {
+
+        LeitorDecimal() {
+            super(BigDecimal.class);
+        }
+
+        @Override
+        public BigDecimal deserialize(JsonParser leitor, DeserializationContext contexto) throws IOException {
+            long valor = 0;
+            int escala = 0;
+            for (String campo = leitor.nextFieldName(); campo != null; campo = leitor.nextFieldName()) {
+                leitor.nextToken();
+                switch (campo) {
+                    case "valor" -> valor = leitor.getLongValue();
+                    case "escala" -> escala = leitor.getIntValue();
+                    default -> leitor.skipChildren();
+                }
+            }
+            return BigDecimal.valueOf(valor, escala);
+        }
+    }
+
+    /**
+     * Lê as entidades e escreve as entidades e as suas listagens. O esquema de uma listagem
+     * vem do tipo declarado no resource ({@code Page<Conta>}), pois o da instância
+     * (PageImpl) não informa a entidade.
+     */
+    static class ConversorProtobuf extends AbstractGenericHttpMessageConverter<Object> {
+
+        private final ObjectMapper objectMapper;
+
+        private final Map<Class<?>, ProtobufSchema> esquemas;
+
+        private final Map<Class<?>, ProtobufSchema> paginas;
+
+        private final Map<Class<?>, ProtobufSchema> cursores;
+
+        ConversorProtobuf(ObjectMapper objectMapper, Map<Class<?>, ProtobufSchema> esquemas,
+                          Map<Class<?>, ProtobufSchema> paginas, Map<Class<?>, ProtobufSchema> cursores) {
+            super(MediaType.parseMediaType(APPLICATION_PROTOBUF_VALUE));
+            this.objectMapper = objectMapper;
+            this.esquemas = esquemas;
+            this.paginas = paginas;
+            this.cursores = cursores;
+        }
+
+        @Override
+        protected boolean supports(Class<?> clazz) {
+            return esquema(esquemas, clazz) != null;
+        }
+
+        @Override
+        public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+            return type instanceof Class<?> clazz && canRead(clazz, mediaType);
+        }
+
+        @Override
+        public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+            return canWrite(mediaType) && esquema(type, clazz) != null;
+        }
+
+        @Override
+        protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) throws IOException {
+            return objectMapper.readerFor(clazz).with(esquema(esquemas, clazz)).readValue(inputMessage.getBody());
+        }
+
+        @Override
+        public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) throws IOException {
+            return readInternal((Class<?>) type, inputMessage);
+        }
+
+        /**
+         * Das páginas vão só os campos da mensagem; pageable e sort ficam de fora.
+         */
+        @Override
+        protected void writeInternal(Object valor, Type type, HttpOutputMessage outputMessage) throws IOException {
+            Object mensagem = valor;
+            if (valor instanceof Page<?> pagina) {
+                Map<String, Object> campos = new LinkedHashMap<>();
+                campos.put("content", pagina.getContent());
+                campos.put("totalElements", pagina.getTotalElements());
+                campos.put("totalPages", pagina.getTotalPages());
+                campos.put("number", pagina.getNumber());
+                campos.put("size", pagina.getSize());
+                mensagem = campos;
+            }
+            objectMapper.writer(esquema(type, valor.getClass())).writeValue(StreamUtils.nonClosing(outputMessage.getBody()), mensagem);
+        }
+
+        private ProtobufSchema esquema(Type type, Class<?> clazz) {
+            if (Page.class.isAssignableFrom(clazz)) {
+                return esquema(paginas, entidade(type, Page.class));
+            }
+            if (PaginaCursor.class.isAssignableFrom(clazz)) {
+                return esquema(cursores, entidade(type, PaginaCursor.class));
+            }
+            return esquema(esquemas, clazz);
+        }
+
+        private static Class<?> entidade(Type type, Class<?> listagem) {
+            return type == null ? null : ResolvableType.forType(type).as(listagem).resolveGeneric(0);
+        }
+
+        /**
+         * Esquema da entidade ou da subclasse gerada pelo Hibernate (proxy).
+         */
+        private static ProtobufSchema esquema(Map<Class<?>, ProtobufSchema> esquemas, Class<?> clazz) {
+            for (Class<?> classe = clazz; classe != null; classe = classe.getSuperclass()) {
+                ProtobufSchema esquema = esquemas.get(classe);
+                if (esquema != null) {
+                    return esquema;
+                }
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package br.senac.go.config;
+
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.Resource;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.io.IOException;
+
+@Configuration
+public class CacheConfig {
+
+    /**
+     * CacheManager JCache (Ehcache) com as regiões do cache de segundo nível.
+     * É criado pelo Spring, a partir de um Resource, e entregue pronto ao Hibernate
+     * para não depender da resolução de "classpath:" feita pelo próprio Hibernate.
+     */
+    @Bean(destroyMethod = "close")
+    public CacheManager jcacheManager(@Value("${cache.segundo-nivel.configuracao:classpath:ehcache.xml}") Resource configuracao) throws IOException {
+        return Caching.getCachingProvider(EhcacheCachingProvider.class.getName())
+                .getCacheManager(configuracao.getURI(), getClass().getClassLoader());
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer cacheSegundoNivel(CacheManager jcacheManager) {
+        return propriedades -> propriedades.put(ConfigSettings.CACHE_MANAGER, jcacheManager);
+    }
+}
@@ -0,0 +1,167 @@
+package br.senac.go.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.MethodExecutionContext;
+import net.ttddyy.dsproxy.listener.MethodExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ProxyJdbcObject;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * DataSource que mede cada execução de comando e a repassa ao {@link RastreadorSql}. Os
+ * proxies do JDBC são os do datasource-proxy; aqui ficam só os ouvintes:
+ * <ul>
+ *     <li>alterações e lotes são registrados ao fim da execução, com as linhas devolvidas;</li>
+ *     <li>consultas ficam pendentes até o ResultSet terminar (ou ser fechado) e são
+ *     registradas com as linhas lidas até ali; o tempo é só o da execução, sem a leitura
+ *     das linhas. Com {@code execute()} o ResultSet é o do getResultSet seguinte.</li>
+ * </ul>
+ * {@code unwrap} e {@code isWrapperFor} vão ao objeto original, de modo que o pool (Hikari)
+ * continua acessível para as métricas e o health do actuator.
+ */
+final class DataSourceRastreado implements QueryExecutionListener, MethodExecutionListener {
+
+    private static final String INICIO = "rastreamento.inicio";
+
+    private final Supplier<RastreadorSql> rastreador;
+
+    /**
+     * Consultas de {@code execute()} cujo ResultSet ainda não foi pedido, pelo Statement
+     * original.
+     */
+    private final Cache<Statement, Pendente> semResultado = Caffeine.newBuilder().weakKeys().build();
+
+    /**
+     * Consultas em leitura, pelo ResultSet original; as chaves fracas descartam as que a
+     * aplicação abandona sem fechar.
+     */
+    private final Cache<ResultSet, Pendente> emLeitura = Caffeine.newBuilder().weakKeys().build();
+
+    private DataSourceRastreado(Supplier<RastreadorSql> rastreador) {
+        this.rastreador = rastreador;
+    }
+
+    static DataSource envolver(DataSource dataSource, Supplier<RastreadorSql> rastreador) {
+        DataSourceRastreado ouvinte = new DataSourceRastreado(rastreador);
+        return ProxyDataSourceBuilder.create(dataSource)
+                .listener(ouvinte)
+                .methodListener(ouvinte)
+                .proxyResultSet()
+                .build();
+    }
+
+    private static final class Pendente {
+
+        private final String sql;
+
+        private final long nanos;
+
+        private long linhas;
+
+        Pendente(String sql, long nanos) {
+            this.sql = sql;
+            this.nanos = nanos;
+        }
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execucao, List<QueryInfo> comandos) {
+        execucao.addCustomValue(INICIO, System.nanoTime());
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execucao, List<QueryInfo> comandos) {
+        long nanos = System.nanoTime() - execucao.getCustomValue(INICIO, Long.class);
+        //no Statement simples, o último comando recebido em execute/addBatch
+        String sql = comandos.isEmpty() ? "" : comandos.get(comandos.size() - 1).getQuery();
+        Object retorno = execucao.getResult();
+        if (!execucao.isSuccess()) {
+            rastreador.get().registrar(sql, nanos, -1, true);
+        } else if (retorno instanceof ResultSet resultado) {
+            emLeitura.put(original(resultado), new Pendente(sql, nanos));
+        } else if (Boolean.TRUE.equals(retorno)) {
+            semResultado.put(original(execucao.getStatement()), new Pendente(sql, nanos));
+        } else {
+            rastreador.get().registrar(sql, nanos, linhas(retorno, execucao.getStatement()), false);
+        }
+    }
+
+    @Override
+    public void beforeMethod(MethodExecutionContext contexto) {
+    }
+
+    /**
+     * Só next, close e getResultSet interessam; os demais métodos (setters e getters,
+     * chamados a cada parâmetro e coluna) saem na primeira comparação.
+     */
+    @Override
+    public void afterMethod(MethodExecutionContext contexto) {
+        String metodo = contexto.getMethod().getName();
+        if (contexto.getTarget() instanceof ResultSet resultado) {
+            if (metodo.equals("next")) {
+                Pendente pendente = emLeitura.getIfPresent(resultado);
+                if (pendente != null && Boolean.TRUE.equals(contexto.getResult())) {
+                    pendente.linhas++;
+                } else if (pendente != null) {
+                    terminar(resultado);
+                }
+            } else if (metodo.equals("close")) {
+                terminar(resultado);
+            }
+        } else if (metodo.equals("getResultSet") && contexto.getTarget() instanceof Statement comando
+                && contexto.getResult() instanceof ResultSet resultado) {
+            Pendente pendente = semResultado.asMap().remove(comando);
+            if (pendente != null) {
+                emLeitura.put(original(resultado), pendente);
+            }
+        }
+    }
+
+    private void terminar(ResultSet resultado) {
+        Pendente pendente = emLeitura.asMap().remove(resultado);
+        if (pendente != null) {
+            rastreador.get().registrar(pendente.sql, pendente.nanos, pendente.linhas, false);
+        }
+    }
+
+    /**
+     * Linhas de uma alteração ({@code executeUpdate}, {@code execute}) ou de um lote.
+     */
+    private static long linhas(Object retorno, Statement comando) {
+        if (retorno instanceof Number numero) {
+            return numero.longValue();
+        }
+        long total = 0;
+        if (retorno instanceof int[] lote) {
+            for (int linhas : lote) {
+                total += Math.max(linhas, 0);
+            }
+        } else if (retorno instanceof long[] lote) {
+            for (long linhas : lote) {
+                total += Math.max(linhas, 0);
+            }
+        } else if (retorno instanceof Boolean) {
+            try {
+                return comando.getUpdateCount();
+            } catch (SQLException e) {
+                return -1;
+            }
+        }
+        return total;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T original(T objeto) {
+        return objeto instanceof ProxyJdbcObject proxy ? (T) proxy.getTarget() : objeto;
+    }
+}
@@ -0,0 +1,129 @@
+package br.senac.go.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionOutcome;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.SpringBootCondition;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+import org.springframework.util.StringUtils;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Modo de execução das requisições.
+ * <ul>
+ *     <li>{@code execucao.modo=plataforma} (padrão): pool de threads do Tomcat;</li>
+ *     <li>{@code execucao.modo=virtual}: uma virtual thread por requisição no Tomcat e nas
+ *     respostas assíncronas (exportações NDJSON). Exige Java 21; em versões anteriores a
+ *     aplicação registra um aviso e continua no modo plataforma.</li>
+ * </ul>
+ * No modo virtual as requisições da API passam pela {@link AdmissaoConexoes}, que limita
+ * quantas são atendidas ao mesmo tempo ao número de conexões do pool: sem o limite natural
+ * das 200 threads do Tomcat, milhares de requisições ficariam esperando conexão dentro do
+ * Hikari. No modo plataforma a admissão é opcional ({@code execucao.admissao.habilitada=true}).
+ * <p>
+ * As vagas vêm do pool ({@code spring.datasource.hikari.maximum-pool-size}): as
+ * {@code execucao.admissao.exportacoes} das exportações, {@code execucao.admissao.reserva}
+ * conexões para as tarefas agendadas e as transações REQUIRES_NEW, e o restante para as
+ * demais requisições, a menos que {@code execucao.admissao.permissoes} seja informado.
+ * <p>
+ * O modo virtual não é coberto pelos testes do build, que rodam em Java 17.
+ */
+@Slf4j
+@Configuration
+public class ExecucaoConfig {
+
+    private static final String EXECUTOR_VIRTUAL = "newVirtualThreadPerTaskExecutor";
+
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    @Conditional(AdmissaoHabilitada.class)
+    public FilterRegistrationBean<AdmissaoConexoes> admissaoConexoes(@Value("${spring.datasource.hikari.maximum-pool-size:10}") int conexoes,
+                                                                     @Value("${execucao.admissao.permissoes:#{null}}") Integer permissoes,
+                                                                     @Value("${execucao.admissao.exportacoes:2}") int exportacoes,
+                                                                     @Value("${execucao.admissao.reserva:2}") int reserva,
+                                                                     @Value("${execucao.admissao.espera:2s}") Duration espera) {
+        int vagas = permissoes != null ? permissoes : Math.max(1, conexoes - reserva - exportacoes);
+        log.info("Admissão de requisições: {} vagas e {} para exportações ({} conexões no pool)", vagas, exportacoes, conexoes);
+        FilterRegistrationBean<AdmissaoConexoes> registro = new FilterRegistrationBean<>(new AdmissaoConexoes(vagas, exportacoes, espera));
+        registro.addUrlPatterns("/api/*");
+        registro.setOrder(Ordered.HIGHEST_PRECEDENCE + 100);
+        return registro;
+    }
+
+    @Configuration
+    @Conditional(VirtualThreadsDisponiveis.class)
+    static class ModoVirtual {
+
+        @Bean(destroyMethod = "shutdown")
+        public ExecutorService executorVirtual() throws ReflectiveOperationException {
+            //obtido por reflexão para que o projeto continue compilando em Java 17
+            return (ExecutorService) Executors.class.getMethod(EXECUTOR_VIRTUAL).invoke(null);
+        }
+
+        @Bean
+        public TomcatProtocolHandlerCustomizer<?> execucaoVirtualTomcat(ExecutorService executorVirtual) {
+            log.info("Requisições executadas em virtual threads");
+            return protocolo -> protocolo.setExecutor(executorVirtual);
+        }
+
+        /**
+         * Executor das respostas assíncronas do Spring MVC (StreamingResponseBody).
+         */
+        @Bean(name = "applicationTaskExecutor")
+        public AsyncTaskExecutor applicationTaskExecutor(ExecutorService executorVirtual) {
+            return new TaskExecutorAdapter(executorVirtual);
+        }
+    }
+
+    /**
+     * {@code execucao.admissao.habilitada} quando informado; sem ele, só no modo virtual.
+     */
+    static class AdmissaoHabilitada extends SpringBootCondition {
+
+        @Override
+        public ConditionOutcome getMatchOutcome(ConditionContext context, AnnotatedTypeMetadata metadata) {
+            String habilitada = context.getEnvironment().getProperty("execucao.admissao.habilitada");
+            if (StringUtils.hasText(habilitada)) {
+                return Boolean.parseBoolean(habilitada)
+                        ? ConditionOutcome.match("execucao.admissao.habilitada=true")
+                        : ConditionOutcome.noMatch("execucao.admissao.habilitada=false");
+            }
+            return "virtual".equalsIgnoreCase(context.getEnvironment().getProperty("execucao.modo"))
+                    ? ConditionOutcome.match("admissão padrão do modo virtual")
+                    : ConditionOutcome.noMatch("admissão opcional no modo plataforma");
+        }
+    }
+
+    /**
+     * {@code execucao.modo=virtual} em uma JVM com virtual threads.
+     */
+    static class VirtualThreadsDisponiveis extends SpringBootCondition {
+
+        @Override
+        public ConditionOutcome getMatchOutcome(ConditionContext context, AnnotatedTypeMetadata metadata) {
+            if (!"virtual".equalsIgnoreCase(context.getEnvironment().getProperty("execucao.modo"))) {
+                return ConditionOutcome.noMatch("execucao.modo não é virtual");
+            }
+            try {
+                Executors.class.getMethod(EXECUTOR_VIRTUAL);
+                return ConditionOutcome.match("virtual threads disponíveis");
+            } catch (NoSuchMethodException e) {
+                log.warn("execucao.modo=virtual exige Java 21 (em execução: {}); usando threads de plataforma", Runtime.version());
+                return ConditionOutcome.noMatch("virtual threads indisponíveis em Java " + Runtime.version());
+            }
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package br.senac.go.config;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.datatype.hibernate6.Hibernate6Module;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class JacksonConfig {
+
+    /**
+     * Associações LAZY não carregadas são serializadas sem disparar consultas:
+     * coleções saem como null e referências (ManyToOne) apenas com o id.
+     * Evita LazyInitializationException fora da transação e N+1 nas listagens.
+     */
+    @Bean
+    public Module hibernateModule() {
+        Hibernate6Module module = new Hibernate6Module();
+        module.enable(Hibernate6Module.Feature.SERIALIZE_IDENTIFIER_FOR_LAZY_NOT_LOADED_OBJECTS);
+        return module;
+    }
+}
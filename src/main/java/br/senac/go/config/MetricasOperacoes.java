@@ -0,0 +1,184 @@
+package br.senac.go.config;
+
+import br.senac.go.exception.ConflitoException;
+import br.senac.go.exception.RequisicaoInvalidaException;
+import br.senac.go.interfaces.IResource;
+import br.senac.go.interfaces.IResourceReativo;
+import br.senac.go.interfaces.IService;
+import br.senac.go.interfaces.IServiceReativo;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityNotFoundException;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.GenericTypeResolver;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Métricas de todas as operações dos resources e services ({@link IResource},
+ * {@link IService} e as versões reativas), sem código em cada classe:
+ * <ul>
+ *     <li>{@code gestao.operacao} (timer): tempo de cada chamada, com histograma de
+ *     percentis (ver {@code management.metrics.distribution} em application.yaml);</li>
+ *     <li>{@code gestao.operacao.erros} (contador): chamadas que terminaram em exceção.</li>
+ * </ul>
+ * Etiquetas: {@code camada} (resource/service), {@code entidade}, {@code operacao} (nome do
+ * método), {@code resultado} (sucesso, nao_encontrado, invalido, conflito, indisponivel,
+ * erro, na mesma classificação de TratadorExcecoes) e {@code excecao}.
+ * <p>
+ * O aspecto envolve a transação dos services (precedência maior que a do
+ * {@code @Transactional}), então o tempo inclui o commit. Nos métodos reativos o tempo vai
+ * da assinatura ao término do Mono/Flux.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class MetricasOperacoes {
+
+    public static final String TIMER = "gestao.operacao";
+
+    public static final String ERROS = "gestao.operacao.erros";
+
+    private static final String NENHUMA = "nenhuma";
+
+    private final MeterRegistry registry;
+
+    /**
+     * Timer e contador de cada combinação de etiquetas, registrados na primeira chamada:
+     * as seguintes não montam etiquetas nem consultam o registry.
+     */
+    private final Map<Chave, Medidores> medidores = new ConcurrentHashMap<>();
+
+    private record Chave(Class<?> classe, String operacao, String resultado, Class<?> excecao) {
+    }
+
+    private record Medidores(Timer tempo, Counter erros) {
+    }
+
+    public MetricasOperacoes(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Around("execution(public * (br.senac.go.interfaces.IResource+ || br.senac.go.interfaces.IService+"
+            + " || br.senac.go.interfaces.IResourceReativo+ || br.senac.go.interfaces.IServiceReativo+).*(..))")
+    public Object medir(ProceedingJoinPoint ponto) throws Throwable {
+        Class<?> classe = AopUtils.getTargetClass(ponto.getTarget());
+        String operacao = ponto.getSignature().getName();
+        Timer.Sample amostra = Timer.start(registry);
+        Object retorno;
+        try {
+            retorno = ponto.proceed();
+        } catch (Throwable e) {
+            registrar(amostra, classe, operacao, e);
+            throw e;
+        }
+        if (retorno instanceof Mono<?> mono) {
+            return medirReativo(mono, classe, operacao);
+        }
+        if (retorno instanceof Flux<?> flux) {
+            return medirReativo(flux, classe, operacao);
+        }
+        registrar(amostra, classe, operacao, null);
+        return retorno;
+    }
+
+    private <R> Mono<R> medirReativo(Mono<R> mono, Class<?> classe, String operacao) {
+        return Mono.defer(() -> {
+            Timer.Sample amostra = Timer.start(registry);
+            AtomicReference<Throwable> erro = new AtomicReference<>();
+            return mono.doOnError(erro::set).doFinally(sinal -> registrar(amostra, classe, operacao, erro.get()));
+        });
+    }
+
+    private <R> Flux<R> medirReativo(Flux<R> flux, Class<?> classe, String operacao) {
+        return Flux.defer(() -> {
+            Timer.Sample amostra = Timer.start(registry);
+            AtomicReference<Throwable> erro = new AtomicReference<>();
+            return flux.doOnError(erro::set).doFinally(sinal -> registrar(amostra, classe, operacao, erro.get()));
+        });
+    }
+
+    private void registrar(Timer.Sample amostra, Class<?> classe, String operacao, Throwable erro) {
+        Chave chave = new Chave(classe, operacao, resultado(erro), erro == null ? null : erro.getClass());
+        Medidores medidor = medidores.computeIfAbsent(chave, this::medidores);
+        amostra.stop(medidor.tempo());
+        if (medidor.erros() != null) {
+            medidor.erros().increment();
+        }
+    }
+
+    private Medidores medidores(Chave chave) {
+        Tags etiquetas = etiquetas(chave.classe()).and("operacao", chave.operacao(), "resultado", chave.resultado(),
+                "excecao", chave.excecao() == null ? NENHUMA : chave.excecao().getSimpleName());
+        Timer tempo = Timer.builder(TIMER)
+                .description("Tempo das operações dos resources e services")
+                .tags(etiquetas)
+                .register(registry);
+        Counter erros = chave.excecao() == null ? null : Counter.builder(ERROS)
+                .description("Operações dos resources e services terminadas em exceção")
+                .tags(etiquetas)
+                .register(registry);
+        return new Medidores(tempo, erros);
+    }
+
+    private Tags etiquetas(Class<?> classe) {
+        for (Class<?> contrato : new Class<?>[] { IResource.class, IResourceReativo.class, IService.class, IServiceReativo.class }) {
+            if (contrato.isAssignableFrom(classe)) {
+                Class<?>[] tipos = GenericTypeResolver.resolveTypeArguments(classe, contrato);
+                String camada = contrato.getSimpleName().contains("Resource") ? "resource" : "service";
+                String entidade = tipos == null || tipos[0] == null ? classe.getSimpleName() : tipos[0].getSimpleName();
+                return Tags.of("camada", camada, "entidade", entidade);
+            }
+        }
+        return Tags.of("camada", "outra", "entidade", classe.getSimpleName());
+    }
+
+    /**
+     * Mesma classificação das respostas de TratadorExcecoes.
+     */
+    private String resultado(Throwable erro) {
+        if (erro == null) {
+            return "sucesso";
+        }
+        if (erro instanceof EntityNotFoundException) {
+            return "nao_encontrado";
+        }
+        if (erro instanceof RequisicaoInvalidaException) {
+            return "invalido";
+        }
+        if (erro instanceof DataIntegrityViolationException || erro instanceof ConflitoException
+                || erro instanceof OptimisticLockingFailureException) {
+            return "conflito";
+        }
+        if (erro instanceof DataAccessResourceFailureException) {
+            return "indisponivel";
+        }
+        if (erro instanceof ResponseStatusException status) {
+            int codigo = status.getStatusCode().value();
+            if (codigo == 404) {
+                return "nao_encontrado";
+            }
+            if (codigo == 409 || codigo == 412) {
+                return "conflito";
+            }
+            return codigo < 500 ? "invalido" : "erro";
+        }
+        return "erro";
+    }
+}
@@ -0,0 +1,40 @@
+package br.senac.go.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+/**
+ * Marca a thread da requisição com a sua origem (classe e método do resource) para o
+ * {@link RastreadorSql}. Nas respostas assíncronas (exportações NDJSON) o contexto termina
+ * quando o método do resource retorna; o envio, em outra thread, é registrado com o nome
+ * da thread.
+ */
+class OrigemSqlInterceptor implements AsyncHandlerInterceptor {
+
+    private final RastreadorSql rastreador;
+
+    OrigemSqlInterceptor(RastreadorSql rastreador) {
+        this.rastreador = rastreador;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        String origem = handler instanceof HandlerMethod metodo
+                ? metodo.getBeanType().getSimpleName() + "." + metodo.getMethod().getName()
+                : handler.getClass().getSimpleName();
+        rastreador.iniciar(request.getMethod() + " " + request.getRequestURI(), origem);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        rastreador.encerrar();
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        rastreador.encerrar();
+    }
+}
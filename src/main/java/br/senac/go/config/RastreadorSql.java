@@ -0,0 +1,266 @@
+package br.senac.go.config;
+
+import br.senac.go.dto.ComandoSql;
+import br.senac.go.dto.EstatisticaSql;
+import br.senac.go.dto.RequisicaoSql;
+import br.senac.go.exception.RequisicaoInvalidaException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Rastreamento dos comandos SQL executados pela aplicação (no lugar do show-sql, que
+ * escreve todos os comandos no log sem tempo nem origem). Cada execução, medida pelo
+ * DataSource de {@link RastreamentoSqlConfig}, é somada às estatísticas do seu comando
+ * (texto do PreparedStatement) e à requisição em andamento. Só vão para o log:
+ * <ul>
+ *     <li>comandos com duração de pelo menos {@code sql.rastreamento.lenta} (warn);</li>
+ *     <li>uma amostra dos demais, na proporção {@code sql.rastreamento.amostragem} (info);</li>
+ *     <li>requisições com mais de {@code sql.rastreamento.comandos-por-requisicao} comandos
+ *     (warn), em geral consultas N+1.</li>
+ * </ul>
+ * A origem de um comando é o método do resource que atende a requisição (ver
+ * {@link OrigemSqlInterceptor}) ou, fora de uma requisição, o nome da thread.
+ * Consultado em api/admin/sql.
+ */
+@Slf4j
+@Component
+public class RastreadorSql {
+
+    @Value("${sql.rastreamento.lenta:100ms}")
+    private Duration lenta;
+
+    @Value("${sql.rastreamento.amostragem:0.01}")
+    private double amostragem;
+
+    @Value("${sql.rastreamento.ranking:20}")
+    private int ranking;
+
+    @Value("${sql.rastreamento.requisicoes:100}")
+    private int requisicoes;
+
+    @Value("${sql.rastreamento.comandos-por-requisicao:50}")
+    private int comandosPorRequisicao;
+
+    @Value("${sql.rastreamento.consultas:1000}")
+    private long consultas;
+
+    private final ThreadLocal<Contexto> contexto = new ThreadLocal<>();
+
+    /**
+     * Estatísticas por comando, limitadas a {@code consultas} comandos distintos (os SQL
+     * montados sem parâmetros variam a cada execução).
+     */
+    private Cache<String, Agregado> agregados;
+
+    private final Deque<ComandoSql> lentos = new ArrayDeque<>();
+
+    private final Deque<RequisicaoSql> ultimasRequisicoes = new ArrayDeque<>();
+
+    @PostConstruct
+    void criarCache() {
+        agregados = Caffeine.newBuilder()
+                .maximumSize(consultas)
+                .build();
+    }
+
+    /**
+     * Início de uma requisição na thread atual.
+     */
+    public void iniciar(String requisicao, String origem) {
+        contexto.set(new Contexto(requisicao, origem));
+    }
+
+    /**
+     * Fim da requisição da thread atual: guarda a contagem de comandos entre as últimas
+     * requisições.
+     */
+    public void encerrar() {
+        Contexto atual = contexto.get();
+        if (atual == null) {
+            return;
+        }
+        contexto.remove();
+        if (atual.comandos == 0) {
+            return;
+        }
+        if (atual.comandos > comandosPorRequisicao) {
+            log.warn("Requisição {} ({}) executou {} comandos SQL em {}ms (limite {})", atual.requisicao, atual.origem,
+                    atual.comandos, milissegundos(atual.nanos), comandosPorRequisicao);
+        }
+        adicionar(ultimasRequisicoes, new RequisicaoSql(atual.requisicao, atual.origem, atual.comandos,
+                milissegundos(atual.nanos), atual.linhas, LocalDateTime.now()), requisicoes);
+    }
+
+    /**
+     * Registra uma execução.
+     * @param linhas linhas lidas ou alteradas, -1 quando desconhecido
+     */
+    public void registrar(String sql, long nanos, long linhas, boolean erro) {
+        Contexto atual = contexto.get();
+        String origem;
+        if (atual != null) {
+            atual.comandos++;
+            atual.nanos += nanos;
+            atual.linhas += Math.max(linhas, 0);
+            origem = atual.origem;
+        } else {
+            origem = Thread.currentThread().getName();
+        }
+        agregados.get(sql, chave -> new Agregado()).somar(nanos, linhas, erro, origem);
+
+        double tempoMs = milissegundos(nanos);
+        if (nanos >= lenta.toNanos()) {
+            log.warn("SQL lento {}ms linhas={} origem={} | {}", tempoMs, linhas, origem, sql);
+            adicionar(lentos, new ComandoSql(sql, tempoMs, linhas, origem, atual == null ? null : atual.requisicao,
+                    erro, LocalDateTime.now()), ranking);
+        } else if (amostragem > 0 && ThreadLocalRandom.current().nextDouble() < amostragem) {
+            log.info("SQL {}ms linhas={} origem={} | {}", tempoMs, linhas, origem, sql);
+        }
+    }
+
+    /**
+     * Os {@code limite} comandos com maior valor de {@code ordem}: maximo (tempo da
+     * execução mais lenta), total, media ou execucoes.
+     */
+    public List<EstatisticaSql> consultas(int limite, String ordem) {
+        Comparator<EstatisticaSql> comparador = switch (ordem) {
+            case "maximo" -> Comparator.comparingDouble(EstatisticaSql::getTempoMaximoMs);
+            case "total" -> Comparator.comparingDouble(EstatisticaSql::getTempoTotalMs);
+            case "media" -> Comparator.comparingDouble(EstatisticaSql::getTempoMedioMs);
+            case "execucoes" -> Comparator.comparingLong(EstatisticaSql::getExecucoes);
+            default -> throw new RequisicaoInvalidaException(String.format("Ordem %s inválida: use maximo, total, media ou execucoes", ordem));
+        };
+        return agregados.asMap().entrySet().stream()
+                .map(entrada -> entrada.getValue().estatistica(entrada.getKey()))
+                .sorted(comparador.reversed())
+                .limit(limite)
+                .toList();
+    }
+
+    /**
+     * Últimas execuções lentas, da mais recente para a mais antiga.
+     */
+    public List<ComandoSql> lentos() {
+        return copiar(lentos);
+    }
+
+    /**
+     * Últimas requisições que executaram SQL, da mais recente para a mais antiga.
+     */
+    public List<RequisicaoSql> requisicoes() {
+        return copiar(ultimasRequisicoes);
+    }
+
+    public int getRanking() {
+        return ranking;
+    }
+
+    public void limpar() {
+        agregados.invalidateAll();
+        synchronized (lentos) {
+            lentos.clear();
+        }
+        synchronized (ultimasRequisicoes) {
+            ultimasRequisicoes.clear();
+        }
+    }
+
+    private static <E> void adicionar(Deque<E> fila, E elemento, int limite) {
+        synchronized (fila) {
+            fila.addFirst(elemento);
+            while (fila.size() > limite) {
+                fila.removeLast();
+            }
+        }
+    }
+
+    private static <E> List<E> copiar(Deque<E> fila) {
+        synchronized (fila) {
+            return new ArrayList<>(fila);
+        }
+    }
+
+    private static double milissegundos(long nanos) {
+        return Math.round(nanos / 1e4) / 100.0;
+    }
+
+    /**
+     * Comandos da requisição em andamento em uma thread.
+     */
+    private static class Contexto {
+
+        private final String requisicao;
+
+        private final String origem;
+
+        private long comandos;
+
+        private long nanos;
+
+        private long linhas;
+
+        Contexto(String requisicao, String origem) {
+            this.requisicao = requisicao;
+            this.origem = origem;
+        }
+    }
+
+    /**
+     * Somas de um comando, sem bloqueio: as execuções de várias threads só disputam o
+     * máximo, trocado por compareAndSet quando uma execução o supera.
+     */
+    private static class Agregado {
+
+        private final LongAdder execucoes = new LongAdder();
+
+        private final LongAdder erros = new LongAdder();
+
+        private final LongAdder nanos = new LongAdder();
+
+        private final LongAdder linhas = new LongAdder();
+
+        private final AtomicReference<Maximo> maximo = new AtomicReference<>(new Maximo(0, null));
+
+        void somar(long nanos, long linhas, boolean erro, String origem) {
+            execucoes.increment();
+            this.nanos.add(nanos);
+            this.linhas.add(Math.max(linhas, 0));
+            if (erro) {
+                erros.increment();
+            }
+            Maximo atual = maximo.get();
+            while (nanos >= atual.nanos() && !maximo.compareAndSet(atual, new Maximo(nanos, origem))) {
+                atual = maximo.get();
+            }
+        }
+
+        EstatisticaSql estatistica(String sql) {
+            long total = nanos.sum();
+            long quantidade = execucoes.sum();
+            Maximo atual = maximo.get();
+            return new EstatisticaSql(sql, quantidade, erros.sum(), milissegundos(total), milissegundos(total / Math.max(quantidade, 1)),
+                    milissegundos(atual.nanos()), linhas.sum(), atual.origem());
+        }
+    }
+
+    /**
+     * Execução mais lenta de um comando e a sua origem, trocadas juntas.
+     */
+    private record Maximo(long nanos, String origem) {
+    }
+}
@@ -0,0 +1,57 @@
+package br.senac.go.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.function.SingletonSupplier;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+
+/**
+ * Rastreamento dos comandos SQL ({@link RastreadorSql}), ligado por
+ * {@code sql.rastreamento.habilitado}: o DataSource é envolvido por
+ * {@link DataSourceRastreado} e, no Spring MVC, as requisições da API informam a sua
+ * origem por {@link OrigemSqlInterceptor}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "sql.rastreamento.habilitado", havingValue = "true", matchIfMissing = true)
+public class RastreamentoSqlConfig {
+
+    /**
+     * Estático para não antecipar a criação desta configuração; o rastreador é obtido só
+     * na primeira conexão.
+     */
+    @Bean
+    public static BeanPostProcessor dataSourceRastreado(ObjectProvider<RastreadorSql> rastreador) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource) {
+                    return DataSourceRastreado.envolver(dataSource, SingletonSupplier.of(rastreador::getObject));
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Configuration
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    static class OrigemRequisicoes implements WebMvcConfigurer {
+
+        private final RastreadorSql rastreador;
+
+        OrigemRequisicoes(RastreadorSql rastreador) {
+            this.rastreador = rastreador;
+        }
+
+        @Override
+        public void addInterceptors(InterceptorRegistry registry) {
+            registry.addInterceptor(new OrigemSqlInterceptor(rastreador)).addPathPatterns("/api/**");
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package br.senac.go.config;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.r2dbc.ConnectionFactoryBuilder;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+import java.time.Duration;
+
+/**
+ * Perfil reativo: WebFlux sobre Netty e R2DBC no mesmo banco H2 usado pelo JPA.
+ * <p>
+ * Só api/pessoa, api/conta e api/investimento são atendidos, por PessoaResourceReativo,
+ * ContaResourceReativo e InvestimentoResourceReativo, e apenas em JSON (a listagem também
+ * em NDJSON): POST, GET (com depois e limite), GET /{id}, PUT /{id} e DELETE /{id}. Os
+ * resources do Spring MVC ficam fora do perfil, então deixam de existir (404, ou 400 nos
+ * GET como _lista e _export, que casam com GET /{id}; 405 nos métodos não atendidos):
+ * <ul>
+ *     <li>api/carteira, api/tipoconta, api/tipoinvestimento e api/_batch, inteiros;</li>
+ *     <li>api/admin/cache e api/admin/sql;</li>
+ *     <li>em api/pessoa, api/conta e api/investimento: PATCH, PUT e DELETE sem id, _bulk,
+ *     _lista, _export, _import, a consulta por exemplo paginada, expand, lancamentos,
+ *     saldo, limite e reservas;</li>
+ *     <li>as respostas em XML, CBOR, Smile e Protobuf.</li>
+ * </ul>
+ * <p>
+ * O pool R2DBC não é exposto como bean {@code ConnectionFactory} (nem o gerenciador de
+ * transações R2DBC como bean): com eles o Spring Boot deixaria de criar o DataSource e o
+ * gerenciador de transações do JPA, que continuam criando o esquema e atendendo as tarefas
+ * agendadas. Por isso a autoconfiguração R2DBC fica excluída em application.yaml.
+ */
+@Slf4j
+@Configuration
+@Profile(ReativoConfig.PERFIL)
+public class ReativoConfig implements DisposableBean {
+
+    public static final String PERFIL = "reativo";
+
+    private ConnectionPool conexoes;
+
+    /**
+     * Netty mesmo com o Tomcat no classpath (necessário ao perfil padrão).
+     */
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    @Bean
+    public DatabaseClient databaseClient(@Value("${reativo.r2dbc.url}") String url,
+                                         @Value("${spring.datasource.username}") String usuario,
+                                         @Value("${spring.datasource.password}") String senha,
+                                         @Value("${reativo.r2dbc.conexoes:10}") int maximo,
+                                         @Value("${reativo.r2dbc.espera:2s}") Duration espera) {
+        conexoes = new ConnectionPool(ConnectionPoolConfiguration
+                .builder(ConnectionFactoryBuilder.withUrl(url).username(usuario).password(senha).build())
+                .maxSize(maximo)
+                .maxAcquireTime(espera)
+                .build());
+        log.info("Pool R2DBC com até {} conexões em {}", maximo, url);
+        return DatabaseClient.create(conexoes);
+    }
+
+    /**
+     * Transações das operações com mais de um comando (remoção com dependentes).
+     */
+    @Bean
+    public TransactionalOperator transacaoReativa(DatabaseClient databaseClient) {
+        return TransactionalOperator.create(new R2dbcTransactionManager(databaseClient.getConnectionFactory()));
+    }
+
+    @Override
+    public void destroy() {
+        if (conexoes != null) {
+            conexoes.dispose();
+        }
+    }
+}
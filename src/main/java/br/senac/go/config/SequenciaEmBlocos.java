@@ -0,0 +1,38 @@
+package br.senac.go.config;
+
+import org.hibernate.MappingException;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.config.spi.StandardConverters;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.util.Properties;
+
+/**
+ * Sequence das entidades com a quantidade de ids reservados a cada chamada lida da
+ * configuração ({@value #ALOCACAO}, por padrão igual a {@code hibernate.jdbc.batch_size}),
+ * em vez do {@code allocationSize} fixo na anotação. Assim um lote de inserts continua
+ * precisando de apenas uma ida à sequence quando o tamanho do lote é alterado.
+ * <p>
+ * O incremento também vai para o DDL da sequence: num banco já criado ele só muda
+ * recriando a sequence (com {@code ddl-auto: update} ela não é alterada).
+ */
+public class SequenciaEmBlocos extends SequenceStyleGenerator {
+
+    public static final String ALOCACAO = "hibernate.id.alocacao";
+
+    public static final int ALOCACAO_PADRAO = 50;
+
+    @Override
+    public void configure(Type type, Properties parameters, ServiceRegistry serviceRegistry) throws MappingException {
+        ConfigurationService configuracao = serviceRegistry.getService(ConfigurationService.class);
+        int loteJdbc = configuracao.getSetting("hibernate.jdbc.batch_size", StandardConverters.INTEGER, ALOCACAO_PADRAO);
+        int alocacao = configuracao.getSetting(ALOCACAO, StandardConverters.INTEGER, loteJdbc);
+        if (alocacao < 1) {
+            throw new MappingException(String.format("%s deve ser maior que zero: %d", ALOCACAO, alocacao));
+        }
+        parameters.setProperty(INCREMENT_PARAM, String.valueOf(alocacao));
+        super.configure(type, parameters, serviceRegistry);
+    }
+}
@@ -0,0 +1,74 @@
+package br.senac.go.config;
+
+import br.senac.go.resource.EscritorXml;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.Page;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Respostas em application/xml escritas por {@link EscritorXml} (StAX). O conversor entra
+ * depois dos demais, de modo que o JSON continua sendo o formato quando o cliente aceita
+ * os dois; a leitura de XML não é suportada (415). Só escreve as classes da aplicação
+ * (entidades e DTOs), páginas, listas e os erros (ProblemDetail); as demais respostas,
+ * como os mapas de api/admin, continuam só em JSON (406).
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class XmlConfig implements WebMvcConfigurer {
+
+    private final EscritorXml escritorXml;
+
+    XmlConfig(EscritorXml escritorXml) {
+        this.escritorXml = escritorXml;
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(new ConversorXml(escritorXml));
+    }
+
+    static class ConversorXml extends AbstractHttpMessageConverter<Object> {
+
+        private static final String PACOTE = "br.senac.go.";
+
+        private final EscritorXml escritorXml;
+
+        ConversorXml(EscritorXml escritorXml) {
+            super(MediaType.APPLICATION_XML, MediaType.TEXT_XML);
+            this.escritorXml = escritorXml;
+        }
+
+        @Override
+        protected boolean supports(Class<?> clazz) {
+            return clazz.getName().startsWith(PACOTE) || Page.class.isAssignableFrom(clazz)
+                    || Collection.class.isAssignableFrom(clazz) || ProblemDetail.class.isAssignableFrom(clazz);
+        }
+
+        @Override
+        protected boolean canRead(MediaType mediaType) {
+            return false;
+        }
+
+        @Override
+        protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+            throw new HttpMessageNotReadableException("Leitura de XML não suportada", inputMessage);
+        }
+
+        @Override
+        protected void writeInternal(Object valor, HttpOutputMessage outputMessage) throws IOException {
+            escritorXml.escrever(valor, outputMessage.getBody());
+        }
+    }
+}
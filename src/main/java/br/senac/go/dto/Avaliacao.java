@@ -0,0 +1,32 @@
+package br.senac.go.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Avaliação de uma carteira: totais de investimentos e contas das pessoas da carteira.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Avaliacao {
+
+    private Integer carteiraId;
+
+    private long pessoas;
+
+    /** soma de Investimento.saldo, cada investimento uma vez */
+    private BigDecimal saldo;
+
+    /** soma de Investimento.valorInicial, cada investimento uma vez */
+    private BigDecimal valorInicial;
+
+    /** soma de Conta.limiteConta, cada conta uma vez */
+    private BigDecimal limiteConta;
+
+    private LocalDateTime calculadoEm;
+}
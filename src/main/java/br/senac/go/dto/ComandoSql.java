@@ -0,0 +1,32 @@
+package br.senac.go.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Uma execução de comando SQL registrada pelo rastreamento (comandos lentos).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ComandoSql {
+
+    private String sql;
+
+    private double tempoMs;
+
+    /** linhas lidas ou alteradas; -1 quando o driver não informa */
+    private long linhas;
+
+    /** método do resource que originou o comando, ou a thread quando fora de uma requisição */
+    private String origem;
+
+    private String requisicao;
+
+    private boolean erro;
+
+    private LocalDateTime instante;
+}
@@ -0,0 +1,32 @@
+package br.senac.go.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Execuções de um mesmo comando SQL (texto do PreparedStatement) desde o início da
+ * aplicação ou da última limpeza.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EstatisticaSql {
+
+    private String sql;
+
+    private long execucoes;
+
+    private long erros;
+
+    private double tempoTotalMs;
+
+    private double tempoMedioMs;
+
+    private double tempoMaximoMs;
+
+    private long linhas;
+
+    /** origem da execução mais lenta */
+    private String origemMaisLenta;
+}
@@ -0,0 +1,25 @@
+package br.senac.go.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Situação do limite de uma conta.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Limite {
+
+    private Integer contaId;
+
+    private BigDecimal limiteConta;
+
+    /** soma das reservas ainda não liberadas */
+    private BigDecimal utilizado;
+
+    private BigDecimal disponivel;
+}
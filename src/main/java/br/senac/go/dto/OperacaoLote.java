@@ -0,0 +1,47 @@
+package br.senac.go.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.Data;
+
+/**
+ * Uma operação de api/_batch sobre um dos recursos, como seria a chamada isolada:
+ * <pre>
+ * {"ref": "conta", "metodo": "POST", "recurso": "conta", "corpo": {"descricao": "Corrente"}}
+ * {"metodo": "PATCH", "recurso": "pessoa", "id": 7, "versao": "2", "corpo": {"conta": {"id": "${conta}"}}}
+ * </pre>
+ * Em {@code id} e em qualquer texto do corpo, {@code "${ref}"} é substituído pelo id
+ * gravado pela operação anterior com esse {@code ref}.
+ */
+@Data
+public class OperacaoLote {
+
+    /**
+     * Nome pelo qual as operações seguintes referenciam o id desta.
+     */
+    private String ref;
+
+    /**
+     * POST, GET, PUT, PATCH ou DELETE.
+     */
+    private String metodo;
+
+    /**
+     * carteira, conta, investimento, pessoa, tipoconta ou tipoinvestimento.
+     */
+    private String recurso;
+
+    /**
+     * Id do registro (GET, PUT, PATCH e DELETE): número ou {@code "${ref}"}.
+     */
+    private JsonNode id;
+
+    /**
+     * Versão esperada, como no If-Match (PUT, PATCH e DELETE).
+     */
+    private String versao;
+
+    /**
+     * Entidade (POST e PUT) ou merge patch (PATCH).
+     */
+    private JsonNode corpo;
+}
@@ -0,0 +1,39 @@
+package br.senac.go.dto;
+
+import br.senac.go.exception.RequisicaoInvalidaException;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Página de uma listagem por cursor (keyset). O cursor é opaco para o cliente:
+ * basta devolvê-lo no parâmetro {@code cursor} para obter a próxima página.
+ * Quando {@code proximo} é nulo não há mais registros.
+ * @param <T> entidade
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaginaCursor<T> {
+
+    private List<T> itens;
+
+    private String proximo;
+
+    public static String codificar(Object ultimoId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(String.valueOf(ultimoId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static String decodificar(String cursor) {
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new RequisicaoInvalidaException("Cursor inválido");
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package br.senac.go.dto;
+
+import lombok.Data;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+
+/**
+ * Intervalo opcional aplicado ao campo dataInicio nas consultas por exemplo.
+ * Recebido como parâmetros de query (dataInicioDe / dataInicioAte).
+ */
+@Data
+public class Periodo {
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime dataInicioDe;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime dataInicioAte;
+}
@@ -0,0 +1,28 @@
+package br.senac.go.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Comandos SQL executados durante uma requisição.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RequisicaoSql {
+
+    private String requisicao;
+
+    private String origem;
+
+    private long comandos;
+
+    private double tempoSqlMs;
+
+    private long linhas;
+
+    private LocalDateTime instante;
+}
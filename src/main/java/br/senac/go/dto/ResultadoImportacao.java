@@ -0,0 +1,24 @@
+package br.senac.go.dto;
+
+import br.senac.go.model.Importacao;
+import br.senac.go.model.Pessoa;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Resultado de uma importação CSV: o progresso gravado e as primeiras linhas rejeitadas
+ * (em {@link ResultadoItem#getIndice()} a linha do arquivo e em {@link ResultadoItem#getErro()}
+ * o motivo).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResultadoImportacao {
+
+    private Importacao importacao;
+
+    private List<ResultadoItem<Pessoa, Integer>> rejeicoes;
+}
@@ -0,0 +1,35 @@
+package br.senac.go.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Resultado de um item processado em uma operação em lote.
+ * O índice corresponde à posição do item na requisição.
+ * @param <T> entidade
+ * @param <N> tipo do identificador
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResultadoItem<T, N> {
+
+    private int indice;
+
+    private int status;
+
+    private N id;
+
+    private T entidade;
+
+    private String erro;
+
+    public static <T, N> ResultadoItem<T, N> sucesso(int status, N id, T entidade) {
+        return new ResultadoItem<>(0, status, id, entidade, null);
+    }
+
+    public static <T, N> ResultadoItem<T, N> falha(int status, N id, String erro) {
+        return new ResultadoItem<>(0, status, id, null, erro);
+    }
+}
@@ -0,0 +1,29 @@
+package br.senac.go.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Saldo atual de um investimento ou de uma conta, calculado a partir do razão:
+ * último saldo consolidado mais os lançamentos posteriores a ele.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Saldo {
+
+    private BigDecimal saldo;
+
+    /** instante coberto pelo último saldo consolidado, nulo se ainda não houve consolidação */
+    private LocalDateTime consolidadoAte;
+
+    /** total de lançamentos que compõem o saldo */
+    private long lancamentos;
+
+    /** lançamentos somados depois do último saldo consolidado */
+    private long lancamentosPendentes;
+}
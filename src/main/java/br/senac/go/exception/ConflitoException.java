@@ -0,0 +1,12 @@
+package br.senac.go.exception;
+
+/**
+ * Operação recusada pelo estado atual dos dados (reserva já confirmada, importação concluída):
+ * respondida com 409 por TratadorExcecoes. Outras IllegalStateException continuam como 500.
+ */
+public class ConflitoException extends RuntimeException {
+
+    public ConflitoException(String mensagem) {
+        super(mensagem);
+    }
+}
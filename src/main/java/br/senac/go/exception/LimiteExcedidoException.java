@@ -0,0 +1,11 @@
+package br.senac.go.exception;
+
+/**
+ * Reserva maior que o limite disponível da conta.
+ */
+public class LimiteExcedidoException extends ConflitoException {
+
+    public LimiteExcedidoException(String mensagem) {
+        super(mensagem);
+    }
+}
@@ -0,0 +1,12 @@
+package br.senac.go.exception;
+
+/**
+ * Dados recebidos do cliente inválidos (parâmetros, corpo, arquivo): respondida com 400
+ * por TratadorExcecoes. Erros internos continuam como IllegalArgumentException (500).
+ */
+public class RequisicaoInvalidaException extends RuntimeException {
+
+    public RequisicaoInvalidaException(String mensagem) {
+        super(mensagem);
+    }
+}
@@ -1,5 +1,12 @@
 package br.senac.go.interfaces;
 
+import br.senac.go.dto.Periodo;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Set;
+
 public interface GenericOperations<T,N> {
 
     /**
@@ -10,11 +17,22 @@ public interface GenericOperations<T,N> {
      * @return
      */
     T create(T entity);
-    T read(T entity) throws Exception;
-    T readById(N id) throws Exception;
+    /**
+     * Consulta por exemplo: os campos preenchidos da entidade (e o período,
+     * quando informado) viram filtros; o resultado é paginado.
+     * O parâmetro expand (nas leituras) lista as associações LAZY que devem
+     * vir carregadas na resposta, ex.: ?expand=pessoas
+     */
+    Page<T> read(T entity, Periodo periodo, Pageable pageable, Set<String> expand) throws Exception;
+    /**
+     * Leitura por id e alterações condicionais: a resposta leva a versão do registro
+     * como ETag; If-None-Match com a versão atual devolve 304 e If-Match com outra
+     * versão devolve 412.
+     */
+    ResponseEntity<T> readById(N id, Set<String> expand, String ifNoneMatch) throws Exception;
     T update(T entity);
-    T updatePart(N id, T entity) throws Exception;
-    T updateFull(N id, T entity);
+    ResponseEntity<T> updatePart(N id, T entity, String ifMatch) throws Exception;
+    ResponseEntity<T> updateFull(N id, T entity, String ifMatch);
 
-    void delete(N id);
+    void delete(N id, String ifMatch);
 }
@@ -0,0 +1,14 @@
+package br.senac.go.interfaces;
+
+/**
+ * Contrato mínimo das entidades do pacote model.
+ * Permite que as operações genéricas (service, resource) leiam
+ * e atribuam o identificador sem conhecer a classe concreta.
+ * @param <N> tipo do identificador
+ */
+public interface IEntity<N> {
+
+    N getId();
+
+    void setId(N id);
+}
@@ -1,6 +1,35 @@
 package br.senac.go.interfaces;
 
+import br.senac.go.dto.PaginaCursor;
+import br.senac.go.dto.ResultadoItem;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.List;
+import java.util.Set;
+
 public interface IResource<T,N> extends GenericOperations<T,N> {
 
     void deleteByEntity(T entity);
+
+    /**
+     * Alteração parcial com JSON Merge Patch (application/merge-patch+json): somente os
+     * campos presentes no documento são alterados e {@code null} limpa o campo.
+     */
+    ResponseEntity<T> mergePatch(N id, JsonNode patch, String ifMatch);
+
+    /**
+     * Operações em lote: cada item é processado e devolvido
+     * com o seu próprio status, na mesma ordem da requisição.
+     */
+    List<ResultadoItem<T,N>> createBulk(List<T> entities);
+    List<ResultadoItem<T,N>> updateBulk(List<T> entities);
+    List<ResultadoItem<T,N>> deleteBulk(List<N> ids);
+
+    /**
+     * Listagem paginada por cursor (keyset) e exportação completa em NDJSON.
+     */
+    PaginaCursor<T> list(String cursor, int limite, Set<String> expand);
+    ResponseEntity<StreamingResponseBody> stream();
 }
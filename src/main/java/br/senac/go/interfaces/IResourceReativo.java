@@ -0,0 +1,30 @@
+package br.senac.go.interfaces;
+
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Contrapartida não bloqueante de {@link IResource} (perfil reativo), nos mesmos
+ * caminhos dos recursos Spring MVC.
+ */
+public interface IResourceReativo<T,N> {
+
+    Mono<T> create(T entity);
+
+    /**
+     * Listagem em ordem de id, em JSON ou NDJSON (application/x-ndjson), escrita à medida
+     * que as linhas chegam do banco e no ritmo em que o cliente consome.
+     */
+    Flux<T> read(N depois, Integer limite);
+
+    /**
+     * Leitura por id e alterações condicionais, como em {@link GenericOperations}: ETag
+     * com a versão do registro, 304 para If-None-Match e 412 para If-Match.
+     */
+    Mono<ResponseEntity<T>> readById(N id, String ifNoneMatch);
+
+    Mono<ResponseEntity<T>> updateFull(N id, T entity, String ifMatch);
+
+    Mono<Void> delete(N id, String ifMatch);
+}
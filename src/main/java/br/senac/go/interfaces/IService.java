@@ -1,5 +1,16 @@
 package br.senac.go.interfaces;
 
+import br.senac.go.dto.PaginaCursor;
+import br.senac.go.dto.Periodo;
+import br.senac.go.dto.ResultadoItem;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
 /**
  * C - create
  * R - readById
@@ -15,7 +26,9 @@ public interface IService<T,N> {
 
     public T readById(N id) throws Exception;
 
-    public T read(T entity) throws Exception;
+    public T readById(N id, Set<String> expand) throws Exception;
+
+    public Page<T> read(T entity, Periodo periodo, Pageable pageable, Set<String> expand) throws Exception;
 
     public T updateFull(T entity);
 
@@ -23,7 +36,36 @@ public interface IService<T,N> {
 
     public T updateFull(N id,T entity);
 
+    /**
+     * Variações com a versão esperada do registro (If-Match): quando informada,
+     * a operação só é feita se ela for a versão atual.
+     */
+    public T updatePart(N id, T entity, Object versao);
+
+    public T updateFull(N id, T entity, Object versao);
+
+    public T mergePatch(N id, JsonNode patch, Object versao);
+
+    public T deleteById(N id, Object versao);
+
+    /**
+     * Versão atual do registro (ETag), ou nulo quando a entidade não é versionada.
+     */
+    public Object versaoAtual(N id);
+
+    public Object versao(T entity);
+
     public T deleteById(N id);
 
     public T delete(T entity);
-}
\ No newline at end of file
+
+    public List<ResultadoItem<T, N>> createAll(List<T> entities);
+
+    public List<ResultadoItem<T, N>> updateAll(List<T> entities);
+
+    public List<ResultadoItem<T, N>> deleteAllById(List<N> ids);
+
+    public PaginaCursor<T> list(String cursor, int limite, Set<String> expand);
+
+    public void scroll(Consumer<T> consumidor);
+}
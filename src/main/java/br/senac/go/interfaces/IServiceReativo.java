@@ -0,0 +1,39 @@
+package br.senac.go.interfaces;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Contrapartida não bloqueante de {@link IService} (perfil reativo).
+ * Nenhum método bloqueia: o resultado é entregue quando o banco responde.
+ * @param <T> entidade
+ * @param <N> tipo do identificador
+ */
+public interface IServiceReativo<T,N> {
+
+    public Mono<T> create(T entity);
+
+    public Mono<T> readById(N id);
+
+    /**
+     * Registros em ordem de id, a partir do id seguinte a {@code depois} (quando
+     * informado) e até {@code limite} registros (todos quando nulo). As linhas são lidas
+     * conforme o assinante as pede (backpressure).
+     */
+    public Flux<T> list(N depois, Integer limite);
+
+    /**
+     * Substitui os campos do registro. Com {@code versao} informada, a alteração só é
+     * feita se ela for a versão atual.
+     */
+    public Mono<T> updateFull(N id, T entity, Long versao);
+
+    public Mono<Void> deleteById(N id, Long versao);
+
+    /**
+     * Versão atual do registro (ETag).
+     */
+    public Mono<Long> versaoAtual(N id);
+
+    public Long versao(T entity);
+}
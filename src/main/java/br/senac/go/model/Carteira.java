@@ -1,18 +1,34 @@
 package br.senac.go.model;
 
+import br.senac.go.config.SequenciaEmBlocos;
+import br.senac.go.interfaces.IEntity;
+
 import jakarta.persistence.*;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 
 import java.util.ArrayList;
 import java.util.List;
 
 @Data //faz os métodos get,set,tostring, hascode, equals
 @Entity //fala para o ORM gerenciar o estado deste item no banco de dados
+@DynamicUpdate //UPDATE apenas com as colunas alteradas
+@Cacheable //guardado no cache de segundo nível
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "carteira")
 @Table(name = "CARTEIRA") //'nomea' a tabela do banco de dados
-public class Carteira {
+public class Carteira implements IEntity<Integer> {
 
     @Id //fala que este item é chave primária
-    @GeneratedValue(strategy= GenerationType.AUTO) //auto-incremental
+    @GeneratedValue(generator = "CARTEIRA_SEQ") //identificadores reservados em blocos
+    @GenericGenerator(name = "CARTEIRA_SEQ", type = SequenciaEmBlocos.class,
+            parameters = @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "CARTEIRA_SEQ"))
     @Column(name = "ID")
     private Integer id;
 
@@ -22,6 +38,13 @@ public class Carteira {
     @Column(name = "DESCRICAO", length = 120, nullable = false) //nomea o nome da coluna para MAIÚSCULO
     private String descricao;
 
+    @Version //controle de concorrência otimista e ETag das respostas
+    @Column(name = "VERSAO")
+    private Long versao;
+
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "carteira.pessoas")
     @OneToMany(
             cascade = CascadeType.ALL,
             orphanRemoval = true,
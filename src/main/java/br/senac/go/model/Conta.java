@@ -1,7 +1,20 @@
 package br.senac.go.model;
 
+import br.senac.go.config.SequenciaEmBlocos;
+import br.senac.go.interfaces.IEntity;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.Formula;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -10,29 +23,71 @@ import java.util.List;
 
 @Data
 @Entity
-@Table(name = "CONTA")
-public class Conta {
+@DynamicUpdate //UPDATE apenas com as colunas alteradas
+@Cacheable //guardado no cache de segundo nível
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "conta")
+@Table(name = "CONTA", indexes = { //índices usados pela consulta por exemplo
+        @Index(name = "IDX_CONTA_DESCRICAO", columnList = "DESCRICAO"),
+        @Index(name = "IDX_CONTA_DATA_INICIO", columnList = "DATA_INICIO")
+})
+public class Conta implements IEntity<Integer> {
+
+    /**
+     * Limite atual em SQL: o de abertura mais o último saldo consolidado e os lançamentos
+     * posteriores a ele (ver LancamentoService).
+     */
+    public static final String LIMITE_ATUAL = "(LIMITE_CONTA"
+            + " + coalesce((select s.SALDO from SALDO_CONSOLIDADO s where s.CONTA_ID = ID"
+            + " and s.ATE = (select max(m.ATE) from SALDO_CONSOLIDADO m where m.CONTA_ID = ID)), 0)"
+            + " + (select coalesce(sum(l.VALOR), 0) from LANCAMENTO l where l.CONTA_ID = ID"
+            + " and l.DATA_HORA > coalesce((select max(m.ATE) from SALDO_CONSOLIDADO m where m.CONTA_ID = ID), cast('1900-01-01 00:00:00' as timestamp))))";
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(generator = "CONTA_SEQ") //identificadores reservados em blocos
+    @GenericGenerator(name = "CONTA_SEQ", type = SequenciaEmBlocos.class,
+            parameters = @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "CONTA_SEQ"))
     private Integer id;
 
     @Column(name = "DESCRICAO", nullable = false)
     private String descricao;
 
-    @Column(name = "LIMITE_CONTA", nullable = false)
+    /** limite atual, calculado a partir do razão: alterado só por lançamentos */
+    @Formula(LIMITE_ATUAL)
     private BigDecimal limiteConta;
 
+    /** limite informado na inclusão, de onde o razão parte */
+    @JsonIgnore
+    @Column(name = "LIMITE_CONTA", nullable = false, updatable = false)
+    private BigDecimal limiteAbertura;
+
     @Column(name = "DATA_INICIO", nullable = false)
     private LocalDateTime dataInicio;
 
     @Column(name = "DATA_FIM")
     private LocalDateTime dataFim;
 
+    @Version //controle de concorrência otimista: incrementada a cada alteração e a cada reserva de limite
+    @Column(name = "VERSAO")
+    private Long versao;
+
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "conta.tipoConta")
     @OneToMany(
             cascade = CascadeType.ALL,
             orphanRemoval = true,
             fetch = FetchType.LAZY
     )
     List<TipoConta> tipoConta = new ArrayList<>();
+
+    /**
+     * Abre o razão com o limite informado na inclusão.
+     */
+    @PrePersist
+    public void abrir() {
+        if (limiteAbertura == null) {
+            limiteAbertura = limiteConta;
+        }
+        limiteConta = limiteAbertura;
+    }
 }
@@ -0,0 +1,16 @@
+package br.senac.go.model;
+
+/**
+ * Situação de uma importação de arquivo CSV.
+ */
+public enum EstadoImportacao {
+
+    /** lotes sendo gravados */
+    EM_ANDAMENTO,
+
+    /** todas as linhas do arquivo foram processadas */
+    CONCLUIDA,
+
+    /** interrompida por erro: pode ser retomada a partir do último lote gravado */
+    FALHOU
+}
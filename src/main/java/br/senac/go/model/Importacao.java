@@ -0,0 +1,60 @@
+package br.senac.go.model;
+
+import br.senac.go.interfaces.IEntity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * Progresso de uma importação de pessoas por CSV. Os contadores são gravados na mesma
+ * transação de cada lote, então {@link #getLinhas()} é sempre a última linha de dados já
+ * gravada, de onde a importação é retomada após uma falha.
+ */
+@Data
+@Entity
+@Table(name = "IMPORTACAO")
+public class Importacao implements IEntity<Integer> {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "IMPORTACAO_SEQ")
+    @SequenceGenerator(name = "IMPORTACAO_SEQ", sequenceName = "IMPORTACAO_SEQ", allocationSize = 1)
+    @Column(name = "ID")
+    private Integer id;
+
+    /** nome do arquivo ou "requisição" */
+    @Column(name = "ORIGEM", nullable = false)
+    private String origem;
+
+    /** SHA-256 da origem e do cabeçalho, conferido na retomada */
+    @Column(name = "ASSINATURA", length = 64)
+    private String assinatura;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "ESTADO", length = 20, nullable = false)
+    private EstadoImportacao estado;
+
+    /** linhas de dados (sem o cabeçalho) processadas nos lotes gravados */
+    @Column(name = "LINHAS", nullable = false)
+    private long linhas;
+
+    @Column(name = "IMPORTADAS", nullable = false)
+    private long importadas;
+
+    @Column(name = "REJEITADAS", nullable = false)
+    private long rejeitadas;
+
+    @Column(name = "INICIO", nullable = false)
+    private LocalDateTime inicio;
+
+    @Column(name = "ATUALIZADA_EM")
+    private LocalDateTime atualizadaEm;
+
+    @Column(name = "FIM")
+    private LocalDateTime fim;
+
+    /** motivo da interrupção, quando FALHOU */
+    @Column(name = "ERRO", length = 1000)
+    private String erro;
+}
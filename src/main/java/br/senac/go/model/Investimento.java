@@ -1,7 +1,20 @@
 package br.senac.go.model;
 
+import br.senac.go.config.SequenciaEmBlocos;
+import br.senac.go.interfaces.IEntity;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.Formula;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -10,11 +23,26 @@ import java.util.List;
 
 @Data //faz os métodos get,set,tostring, hascode, equals
 @Entity //fala para o ORM gerenciar o estado deste item no banco de dados
+@DynamicUpdate //UPDATE apenas com as colunas alteradas
+@Cacheable //guardado no cache de segundo nível
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "investimento")
 @Table(name = "INVESTIMENTO") //'nomea' a tabela do banco de dados
-public class Investimento {
+public class Investimento implements IEntity<Integer> {
+
+    /**
+     * Saldo atual em SQL: o de abertura mais o último saldo consolidado e os lançamentos
+     * posteriores a ele (ver LancamentoService).
+     */
+    public static final String SALDO_ATUAL = "(SALDO"
+            + " + coalesce((select s.SALDO from SALDO_CONSOLIDADO s where s.INVESTIMENTO_ID = ID"
+            + " and s.ATE = (select max(m.ATE) from SALDO_CONSOLIDADO m where m.INVESTIMENTO_ID = ID)), 0)"
+            + " + (select coalesce(sum(l.VALOR), 0) from LANCAMENTO l where l.INVESTIMENTO_ID = ID"
+            + " and l.DATA_HORA > coalesce((select max(m.ATE) from SALDO_CONSOLIDADO m where m.INVESTIMENTO_ID = ID), cast('1900-01-01 00:00:00' as timestamp))))";
 
     @Id //fala que este item é chave primária
-    @GeneratedValue(strategy= GenerationType.AUTO) //auto-incremental
+    @GeneratedValue(generator = "INVESTIMENTO_SEQ") //identificadores reservados em blocos
+    @GenericGenerator(name = "INVESTIMENTO_SEQ", type = SequenciaEmBlocos.class,
+            parameters = @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "INVESTIMENTO_SEQ"))
     @Column(name = "ID")
     private Integer id;
 
@@ -24,19 +52,43 @@ public class Investimento {
     @Column(name = "VALOR_INICIAL", nullable = false)
     private BigDecimal valorInicial;
 
-    @Column(name = "SALDO", nullable = false)
+    /** saldo atual, calculado a partir do razão: alterado só por lançamentos */
+    @Formula(SALDO_ATUAL)
     private BigDecimal saldo;
 
+    /** saldo informado na inclusão, de onde o razão parte */
+    @JsonIgnore
+    @Column(name = "SALDO", nullable = false, updatable = false)
+    private BigDecimal saldoAbertura;
+
     @Column(name = "DATA_INICIO")
     LocalDateTime dataInicio;
 
     @Column(name = "DATA_FIM")
     LocalDateTime dataFim;
 
+    @Version //controle de concorrência otimista e ETag das respostas
+    @Column(name = "VERSAO")
+    private Long versao;
+
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "investimento.tipoInvestimento")
     @OneToMany(
             cascade = CascadeType.ALL,
             orphanRemoval = true,
             fetch = FetchType.LAZY
     )
     List<TipoInvestimento> tipoInvestimento = new ArrayList<>();
+
+    /**
+     * Abre o razão com o saldo informado na inclusão ou, sem ele, com o valor inicial.
+     */
+    @PrePersist
+    public void abrir() {
+        if (saldoAbertura == null) {
+            saldoAbertura = saldo != null ? saldo : valorInicial;
+        }
+        saldo = saldoAbertura;
+    }
 }
@@ -0,0 +1,66 @@
+package br.senac.go.model;
+
+import br.senac.go.config.SequenciaEmBlocos;
+import br.senac.go.interfaces.IEntity;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Movimento do razão de um investimento ou de uma conta. O razão é somente de inclusão:
+ * um lançamento nunca é alterado nem removido, correções são feitas com um novo lançamento.
+ * O valor é gravado com sinal (retiradas negativas).
+ */
+@Data
+@Entity
+@Immutable //somente inclusão: o Hibernate nunca gera UPDATE para esta entidade
+@Table(name = "LANCAMENTO", indexes = { //índices usados no cálculo do saldo (consolidado + cauda)
+        @Index(name = "IDX_LANCAMENTO_INVESTIMENTO", columnList = "INVESTIMENTO_ID, DATA_HORA"),
+        @Index(name = "IDX_LANCAMENTO_CONTA", columnList = "CONTA_ID, DATA_HORA")
+})
+public class Lancamento implements IEntity<Integer> {
+
+    @Id
+    @GeneratedValue(generator = "LANCAMENTO_SEQ") //identificadores reservados em blocos
+    @GenericGenerator(name = "LANCAMENTO_SEQ", type = SequenciaEmBlocos.class,
+            parameters = @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "LANCAMENTO_SEQ"))
+    @Column(name = "ID")
+    private Integer id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "TIPO", length = 20, nullable = false, updatable = false)
+    private TipoLancamento tipo;
+
+    @Column(name = "VALOR", nullable = false, updatable = false)
+    private BigDecimal valor;
+
+    @Column(name = "DESCRICAO", length = 120, updatable = false)
+    private String descricao;
+
+    @Column(name = "DATA_HORA", nullable = false, updatable = false)
+    private LocalDateTime dataHora;
+
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @JsonIgnore //o titular já é o recurso da URL
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "INVESTIMENTO_ID", updatable = false)
+    private Investimento investimento;
+
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @JsonIgnore //o titular já é o recurso da URL
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "CONTA_ID", updatable = false)
+    private Conta conta;
+}
@@ -1,17 +1,36 @@
 package br.senac.go.model;
 
+import br.senac.go.config.SequenciaEmBlocos;
+import br.senac.go.interfaces.IEntity;
+
 import jakarta.persistence.*;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 import lombok.Getter;
 import lombok.Setter;
 
 @Data //faz os métodos get,set,tostring, hascode, equals
 @Entity //fala para o ORM gerenciar o estado deste item no banco de dados
-@Table(name = "PESSOA") //'nomea' a tabela do banco de dados
-public class Pessoa {
+@DynamicUpdate //UPDATE apenas com as colunas alteradas
+@Cacheable //guardado no cache de segundo nível
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "pessoa")
+@Table(name = "PESSOA", indexes = { //'nomea' a tabela do banco de dados e os índices da consulta por exemplo
+        @Index(name = "IDX_PESSOA_NOME", columnList = "NOME"),
+        @Index(name = "IDX_PESSOA_ENDERECO", columnList = "ENDERECO")
+})
+public class Pessoa implements IEntity<Integer> {
 
     @Id //fala que este item é chave primária
-    @GeneratedValue(strategy= GenerationType.AUTO) //auto-incremental
+    @GeneratedValue(generator = "PESSOA_SEQ") //identificadores reservados em blocos
+    @GenericGenerator(name = "PESSOA_SEQ", type = SequenciaEmBlocos.class,
+            parameters = @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "PESSOA_SEQ"))
     @Column(name = "ID")
     private Integer id;
     
@@ -21,12 +40,22 @@ public class Pessoa {
     @Column(name = "ENDERECO") //nomea o nome da coluna para MAIÚSCULO
     private String endereco;
 
+    @Version //controle de concorrência otimista e ETag das respostas
+    @Column(name = "VERSAO")
+    private Long versao;
+
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @ManyToOne(fetch = FetchType.LAZY)
     private Carteira carteira;
 
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @ManyToOne(fetch = FetchType.LAZY)
     private Conta conta;
 
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @ManyToOne(fetch = FetchType.LAZY)
     private Investimento investimento;
 }
@@ -0,0 +1,63 @@
+package br.senac.go.model;
+
+import br.senac.go.config.SequenciaEmBlocos;
+import br.senac.go.interfaces.IEntity;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Autorização contra o limite de uma conta. Reservas RESERVADA e CONFIRMADA ocupam o limite;
+ * a soma delas nunca passa de {@link Conta#getLimiteConta()}.
+ */
+@Data
+@Entity
+@Table(name = "RESERVA", indexes = { //índices usados na soma do limite utilizado e na expiração
+        @Index(name = "IDX_RESERVA_CONTA_STATUS", columnList = "CONTA_ID, STATUS"),
+        @Index(name = "IDX_RESERVA_STATUS_CRIADA", columnList = "STATUS, CRIADA_EM")
+})
+public class Reserva implements IEntity<Integer> {
+
+    @Id
+    @GeneratedValue(generator = "RESERVA_SEQ") //identificadores reservados em blocos
+    @GenericGenerator(name = "RESERVA_SEQ", type = SequenciaEmBlocos.class,
+            parameters = @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "RESERVA_SEQ"))
+    @Column(name = "ID")
+    private Integer id;
+
+    @Column(name = "VALOR", nullable = false, updatable = false)
+    private BigDecimal valor;
+
+    @Column(name = "DESCRICAO", length = 120, updatable = false)
+    private String descricao;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "STATUS", length = 20, nullable = false)
+    private StatusReserva status;
+
+    @Column(name = "CRIADA_EM", nullable = false, updatable = false)
+    private LocalDateTime criadaEm;
+
+    @Column(name = "ATUALIZADA_EM")
+    private LocalDateTime atualizadaEm;
+
+    @Version //impede que a mesma reserva seja confirmada e liberada ao mesmo tempo
+    @Column(name = "VERSAO")
+    private Long versao;
+
+    @JsonIgnore //a conta já é o recurso da URL
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "CONTA_ID", nullable = false, updatable = false)
+    private Conta conta;
+}
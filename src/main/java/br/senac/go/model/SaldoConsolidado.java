@@ -0,0 +1,62 @@
+package br.senac.go.model;
+
+import br.senac.go.config.SequenciaEmBlocos;
+import br.senac.go.interfaces.IEntity;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Saldo materializado de um investimento ou de uma conta: soma de todos os lançamentos
+ * com dataHora até {@code ate}. O saldo atual é o último consolidado mais a cauda de
+ * lançamentos posteriores a ele. Também é somente de inclusão.
+ */
+@Data
+@Entity
+@Immutable
+@Table(name = "SALDO_CONSOLIDADO", indexes = {
+        @Index(name = "IDX_SALDO_INVESTIMENTO", columnList = "INVESTIMENTO_ID, ATE"),
+        @Index(name = "IDX_SALDO_CONTA", columnList = "CONTA_ID, ATE")
+})
+public class SaldoConsolidado implements IEntity<Integer> {
+
+    @Id
+    @GeneratedValue(generator = "SALDO_CONSOLIDADO_SEQ") //identificadores reservados em blocos
+    @GenericGenerator(name = "SALDO_CONSOLIDADO_SEQ", type = SequenciaEmBlocos.class,
+            parameters = @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "SALDO_CONSOLIDADO_SEQ"))
+    @Column(name = "ID")
+    private Integer id;
+
+    @Column(name = "SALDO", nullable = false, updatable = false)
+    private BigDecimal saldo;
+
+    @Column(name = "QUANTIDADE", nullable = false, updatable = false)
+    private long quantidade;
+
+    @Column(name = "ATE", nullable = false, updatable = false)
+    private LocalDateTime ate;
+
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @JsonIgnore //o titular já é o recurso da URL
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "INVESTIMENTO_ID", updatable = false)
+    private Investimento investimento;
+
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @JsonIgnore //o titular já é o recurso da URL
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "CONTA_ID", updatable = false)
+    private Conta conta;
+}
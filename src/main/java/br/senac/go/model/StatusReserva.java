@@ -0,0 +1,16 @@
+package br.senac.go.model;
+
+/**
+ * Situação de uma reserva de limite de conta.
+ */
+public enum StatusReserva {
+
+    /** valor separado do limite, aguardando confirmação ou liberação */
+    RESERVADA,
+
+    /** valor efetivamente utilizado: continua ocupando o limite */
+    CONFIRMADA,
+
+    /** valor devolvido ao limite */
+    LIBERADA
+}
@@ -1,18 +1,34 @@
 package br.senac.go.model;
 
+import br.senac.go.config.SequenciaEmBlocos;
+import br.senac.go.interfaces.IEntity;
+
 import jakarta.persistence.*;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 
 import java.time.LocalDateTime;
 
 @Data //faz os métodos get,set,tostring, hascode, equals
 @Entity //fala para o ORM gerenciar o estado deste item no banco de dados
+@DynamicUpdate //UPDATE apenas com as colunas alteradas
+@Cacheable //guardado no cache de segundo nível
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "tipoconta")
 @Table(name = "TIPO_CONTA") //'nomea' a tabela do banco de dados
 
-public class TipoConta {
+public class TipoConta implements IEntity<Integer> {
 
     @Id //fala que este item é chave primária
-    @GeneratedValue(strategy= GenerationType.AUTO) //auto-incremental
+    @GeneratedValue(generator = "TIPO_CONTA_SEQ") //identificadores reservados em blocos
+    @GenericGenerator(name = "TIPO_CONTA_SEQ", type = SequenciaEmBlocos.class,
+            parameters = @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "TIPO_CONTA_SEQ"))
     @Column(name = "ID")
     private Integer id;
 
@@ -25,6 +41,12 @@ public class TipoConta {
     @Column(name = "DATA_FIM")
     LocalDateTime dataFim;
 
+    @Version //controle de concorrência otimista e ETag das respostas
+    @Column(name = "VERSAO")
+    private Long versao;
+
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @ManyToOne(fetch = FetchType.LAZY)
     private Conta conta;
 }
@@ -1,17 +1,33 @@
 package br.senac.go.model;
 
+import br.senac.go.config.SequenciaEmBlocos;
+import br.senac.go.interfaces.IEntity;
+
 import jakarta.persistence.*;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 
 import java.time.LocalDateTime;
 
 @Data //faz os métodos get,set,tostring, hascode, equals
 @Entity //fala para o ORM gerenciar o estado deste item no banco de dados
+@DynamicUpdate //UPDATE apenas com as colunas alteradas
+@Cacheable //guardado no cache de segundo nível
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "tipoinvestimento")
 @Table(name = "TIPO_INVESTIMENTO") //'nomea' a tabela do banco de dados
-public class TipoInvestimento {
+public class TipoInvestimento implements IEntity<Integer> {
 
     @Id //fala que este item é chave primária
-    @GeneratedValue(strategy= GenerationType.AUTO) //auto-incremental
+    @GeneratedValue(generator = "TIPO_INVESTIMENTO_SEQ") //identificadores reservados em blocos
+    @GenericGenerator(name = "TIPO_INVESTIMENTO_SEQ", type = SequenciaEmBlocos.class,
+            parameters = @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "TIPO_INVESTIMENTO_SEQ"))
     @Column(name = "ID")
     private Integer id;
 
@@ -27,6 +43,12 @@ public class TipoInvestimento {
     @Column(name = "DATA_FIM")
     LocalDateTime dataFim;
 
+    @Version //controle de concorrência otimista e ETag das respostas
+    @Column(name = "VERSAO")
+    private Long versao;
+
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @ManyToOne(fetch = FetchType.LAZY)
     private Investimento investimento;
 
@@ -0,0 +1,32 @@
+package br.senac.go.model;
+
+import br.senac.go.exception.RequisicaoInvalidaException;
+import java.math.BigDecimal;
+
+/**
+ * Natureza de um lançamento do razão. Define o sinal aplicado ao valor informado.
+ */
+public enum TipoLancamento {
+
+    /** entrada de valor: sempre soma */
+    DEPOSITO,
+
+    /** saída de valor: sempre subtrai */
+    RETIRADA,
+
+    /** rendimento do período: pode ser positivo ou negativo */
+    RENDIMENTO;
+
+    /**
+     * Converte o valor informado pelo cliente no valor gravado no razão (com sinal).
+     */
+    public BigDecimal comSinal(BigDecimal valor) {
+        if (this == RENDIMENTO) {
+            return valor;
+        }
+        if (valor.signum() <= 0) {
+            throw new RequisicaoInvalidaException(String.format("O valor de um lançamento %s deve ser positivo", name()));
+        }
+        return this == DEPOSITO ? valor : valor.negate();
+    }
+}
@@ -0,0 +1,8 @@
+package br.senac.go.repository;
+
+import br.senac.go.model.Carteira;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface CarteiraRepository extends GenericRepository<Carteira, Integer> {
+}
@@ -0,0 +1,8 @@
+package br.senac.go.repository;
+
+import br.senac.go.model.Conta;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ContaRepository extends GenericRepository<Conta, Integer> {
+}
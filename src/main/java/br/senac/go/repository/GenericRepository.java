@@ -0,0 +1,14 @@
+package br.senac.go.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.repository.NoRepositoryBean;
+
+/**
+ * Repositório base compartilhado por todas as entidades.
+ * @param <T> entidade
+ * @param <N> tipo do identificador
+ */
+@NoRepositoryBean
+public interface GenericRepository<T, N> extends JpaRepository<T, N>, JpaSpecificationExecutor<T> {
+}
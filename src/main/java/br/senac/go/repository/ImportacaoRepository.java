@@ -0,0 +1,33 @@
+package br.senac.go.repository;
+
+import br.senac.go.model.Importacao;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface ImportacaoRepository extends GenericRepository<Importacao, Integer> {
+
+    /**
+     * Progresso de um lote, gravado na transação do próprio lote.
+     */
+    @Modifying
+    @Query("update Importacao i set i.linhas = :linhas, i.importadas = i.importadas + :importadas,"
+            + " i.rejeitadas = i.rejeitadas + :rejeitadas, i.atualizadaEm = :agora where i.id = :id")
+    int registrarLote(@Param("id") Integer id, @Param("linhas") long linhas, @Param("importadas") long importadas,
+                      @Param("rejeitadas") long rejeitadas, @Param("agora") LocalDateTime agora);
+
+    /**
+     * Retomada: volta a importação para EM_ANDAMENTO se ela falhou ou se, em andamento,
+     * não grava um lote desde {@code abandonada} (processo encerrado no meio). Entre
+     * retomadas concorrentes só uma altera a linha.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Importacao i set i.estado = br.senac.go.model.EstadoImportacao.EM_ANDAMENTO, i.erro = null, i.fim = null,"
+            + " i.atualizadaEm = :agora where i.id = :id and (i.estado = br.senac.go.model.EstadoImportacao.FALHOU"
+            + " or (i.estado = br.senac.go.model.EstadoImportacao.EM_ANDAMENTO and coalesce(i.atualizadaEm, i.inicio) < :abandonada))")
+    int retomar(@Param("id") Integer id, @Param("agora") LocalDateTime agora, @Param("abandonada") LocalDateTime abandonada);
+}
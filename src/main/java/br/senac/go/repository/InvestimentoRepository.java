@@ -0,0 +1,8 @@
+package br.senac.go.repository;
+
+import br.senac.go.model.Investimento;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface InvestimentoRepository extends GenericRepository<Investimento, Integer> {
+}
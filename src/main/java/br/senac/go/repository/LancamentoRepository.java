@@ -0,0 +1,14 @@
+package br.senac.go.repository;
+
+import br.senac.go.model.Lancamento;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface LancamentoRepository extends GenericRepository<Lancamento, Integer> {
+
+    Page<Lancamento> findByInvestimentoId(Integer investimentoId, Pageable pageable);
+
+    Page<Lancamento> findByContaId(Integer contaId, Pageable pageable);
+}
@@ -0,0 +1,8 @@
+package br.senac.go.repository;
+
+import br.senac.go.model.Pessoa;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface PessoaRepository extends GenericRepository<Pessoa, Integer> {
+}
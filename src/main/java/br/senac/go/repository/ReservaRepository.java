@@ -0,0 +1,24 @@
+package br.senac.go.repository;
+
+import br.senac.go.model.Reserva;
+import br.senac.go.model.StatusReserva;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ReservaRepository extends GenericRepository<Reserva, Integer> {
+
+    /**
+     * Limite ocupado pela conta: soma das reservas ainda não liberadas.
+     */
+    @Query("select coalesce(sum(r.valor), 0) from Reserva r where r.conta.id = :contaId and r.status <> br.senac.go.model.StatusReserva.LIBERADA")
+    BigDecimal somarUtilizado(@Param("contaId") Integer contaId);
+
+    @Query("select r.id from Reserva r where r.status = :status and r.criadaEm < :antesDe")
+    List<Integer> buscarIds(@Param("status") StatusReserva status, @Param("antesDe") LocalDateTime antesDe);
+}
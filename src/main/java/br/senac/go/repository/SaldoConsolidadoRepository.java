@@ -0,0 +1,8 @@
+package br.senac.go.repository;
+
+import br.senac.go.model.SaldoConsolidado;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface SaldoConsolidadoRepository extends GenericRepository<SaldoConsolidado, Integer> {
+}
@@ -0,0 +1,8 @@
+package br.senac.go.repository;
+
+import br.senac.go.model.TipoConta;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface TipoContaRepository extends GenericRepository<TipoConta, Integer> {
+}
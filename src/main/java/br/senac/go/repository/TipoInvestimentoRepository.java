@@ -0,0 +1,8 @@
+package br.senac.go.repository;
+
+import br.senac.go.model.TipoInvestimento;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface TipoInvestimentoRepository extends GenericRepository<TipoInvestimento, Integer> {
+}
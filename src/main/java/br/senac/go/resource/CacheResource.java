@@ -0,0 +1,128 @@
+package br.senac.go.resource;
+
+import br.senac.go.config.ReativoConfig;
+import br.senac.go.service.GenericCacheService;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Slf4j
+@RestController
+@Profile("!" + ReativoConfig.PERFIL)
+@RequestMapping("api/admin/cache")
+@Tag(name = "cache", description = "documentação ao resource de administração dos caches")
+public class CacheResource {
+
+    @Autowired
+    private List<GenericCacheService<?, ?>> caches;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Operation(
+            summary = "Estatísticas dos caches",
+            description = "Método responsável por listar tamanho, acertos, falhas e despejos dos caches de referência",
+            tags = { "cache" }
+    )
+    @GetMapping(produces = { MediaType.APPLICATION_JSON_VALUE })
+    public Map<String, Map<String, Object>> estatisticas() {
+        log.info("Executado método CacheResource.estatisticas");
+        Map<String, Map<String, Object>> resultado = new LinkedHashMap<>();
+        for (GenericCacheService<?, ?> cache : caches) {
+            CacheStats stats = cache.estatisticas();
+            Map<String, Object> valores = new LinkedHashMap<>();
+            valores.put("tamanho", cache.tamanho());
+            valores.put("acertos", stats.hitCount());
+            valores.put("falhas", stats.missCount());
+            valores.put("despejos", stats.evictionCount());
+            valores.put("taxaAcerto", stats.hitRate());
+            resultado.put(cache.nomeCache(), valores);
+        }
+        return resultado;
+    }
+
+    @Operation(
+            summary = "Limpar um cache",
+            description = "Método responsável por esvaziar um cache de referência pelo nome",
+            tags = { "cache" }
+    )
+    @DeleteMapping("/{nome}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void limpar(@PathVariable("nome") String nome) {
+        log.info("Executado método CacheResource.limpar | valores: {}", nome);
+        caches.stream()
+                .filter(cache -> cache.nomeCache().equalsIgnoreCase(nome))
+                .findFirst()
+                .orElseThrow(() -> new EntityNotFoundException(String.format("Cache %s não encontrado", nome)))
+                .limpar();
+    }
+
+    @Operation(
+            summary = "Estatísticas do cache de segundo nível",
+            description = "Método responsável por listar as regiões do cache de segundo nível do Hibernate com itens em memória, acertos, falhas e inserções",
+            tags = { "cache" }
+    )
+    @GetMapping(value = "/regioes", produces = { MediaType.APPLICATION_JSON_VALUE })
+    public Map<String, Map<String, Object>> regioes() {
+        log.info("Executado método CacheResource.regioes");
+        Statistics statistics = sessionFactory().getStatistics();
+        Map<String, Map<String, Object>> resultado = new LinkedHashMap<>();
+        for (String regiao : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics stats = statistics.getCacheRegionStatistics(regiao);
+            Map<String, Object> valores = new LinkedHashMap<>();
+            //o provedor JCache não informa a contagem em memória (devolve valor negativo)
+            valores.put("tamanho", stats.getElementCountInMemory() < 0 ? null : stats.getElementCountInMemory());
+            valores.put("acertos", stats.getHitCount());
+            valores.put("falhas", stats.getMissCount());
+            valores.put("insercoes", stats.getPutCount());
+            resultado.put(regiao, valores);
+        }
+        Map<String, Object> consultas = new LinkedHashMap<>();
+        consultas.put("acertos", statistics.getQueryCacheHitCount());
+        consultas.put("falhas", statistics.getQueryCacheMissCount());
+        consultas.put("insercoes", statistics.getQueryCachePutCount());
+        resultado.put("consultas", consultas);
+        return resultado;
+    }
+
+    @Operation(
+            summary = "Limpar regiões do cache de segundo nível",
+            description = "Método responsável por esvaziar uma região do cache de segundo nível, ou todas quando o nome for _todas",
+            tags = { "cache" }
+    )
+    @DeleteMapping("/regioes/{regiao}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void limparRegiao(@PathVariable("regiao") String regiao) {
+        log.info("Executado método CacheResource.limparRegiao | valores: {}", regiao);
+        Cache cache = sessionFactory().getCache();
+        if ("_todas".equals(regiao)) {
+            cache.evictAllRegions();
+            return;
+        }
+        if (!Arrays.asList(sessionFactory().getStatistics().getSecondLevelCacheRegionNames()).contains(regiao)) {
+            throw new EntityNotFoundException(String.format("Região %s não encontrada", regiao));
+        }
+        cache.evictRegion(regiao);
+    }
+
+    private SessionFactory sessionFactory() {
+        return entityManagerFactory.unwrap(SessionFactory.class);
+    }
+}
@@ -1,9 +1,18 @@
 package br.senac.go.resource;
 
+import br.senac.go.config.BinarioConfig;
+import br.senac.go.config.ReativoConfig;
+import br.senac.go.dto.Avaliacao;
+import br.senac.go.dto.PaginaCursor;
+import br.senac.go.dto.Periodo;
+import br.senac.go.dto.ResultadoItem;
 import br.senac.go.interfaces.IResource;
 import br.senac.go.model.Carteira;
 import br.senac.go.model.Conta;
+import br.senac.go.service.AvaliacaoService;
 import br.senac.go.service.CarteiraService;
+import br.senac.go.service.MergePatch;
+import com.fasterxml.jackson.databind.JsonNode;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -13,12 +22,23 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.tags.Tags;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
+import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.List;
+import java.util.Set;
 
 @Slf4j
 @RestController
+@Profile("!" + ReativoConfig.PERFIL)
 @RequestMapping("api/carteira")
 @Tags({
         @Tag(name = "carteira", description = "documentação ao resource carteira"),
@@ -28,6 +48,12 @@ public class CarteiraResource implements IResource<Carteira, Integer>  {
 
     @Autowired private CarteiraService carteiraService;
 
+    @Autowired private NdjsonWriter ndjsonWriter;
+
+    @Autowired private RequisicaoCondicional requisicaoCondicional;
+
+    @Autowired private AvaliacaoService avaliacaoService;
+
     @Override
     @Operation(
             summary = "Criar uma carteira",
@@ -42,12 +68,12 @@ public class CarteiraResource implements IResource<Carteira, Integer>  {
             @ApiResponse(responseCode = "500", content = { @Content(schema = @Schema()) })
     })
     @PostMapping(
-            consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE },
-            produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE }
+            consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinarioConfig.APPLICATION_SMILE_VALUE, BinarioConfig.APPLICATION_PROTOBUF_VALUE },
+            produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinarioConfig.APPLICATION_SMILE_VALUE, BinarioConfig.APPLICATION_PROTOBUF_VALUE }
     )
     public Carteira create(@Valid @RequestBody Carteira entity) {
         log.info("Executado método CarteiraResource.create");
-        log.debug(String.format("Executado método CarteiraResource.create | valores: %s",entity.toString()));
+        log.debug("Executado método CarteiraResource.create | valores: {}", entity);
         return carteiraService.create(entity);
     }
 
@@ -64,13 +90,14 @@ public class CarteiraResource implements IResource<Carteira, Integer>  {
             @ApiResponse(responseCode = "500", content = { @Content(schema = @Schema()) }) }
     )
     @GetMapping(
-            consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE },
-            produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE }
+            produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinarioConfig.APPLICATION_SMILE_VALUE, BinarioConfig.APPLICATION_PROTOBUF_VALUE }
     )
-    public Carteira read(@Valid @RequestBody Carteira entity) throws Exception {
+    public Page<Carteira> read(@ParameterObject Carteira entity, @ParameterObject Periodo periodo, @ParameterObject Pageable pageable, @RequestParam(required = false) Set<String> expand) throws Exception {
         log.info("Executado método CarteiraResource.read");
-        log.debug(String.format("Executado método CarteiraResource.read | valores: %s",entity.toString()));
-        return carteiraService.read(entity);
+        if (log.isDebugEnabled()) {
+            log.debug("Executado método CarteiraResource.read | valores: {} {} {} {}", entity, periodo, pageable, expand);
+        }
+        return carteiraService.read(entity, periodo, pageable, expand);
     }
 
     @Override
@@ -82,16 +109,17 @@ public class CarteiraResource implements IResource<Carteira, Integer>  {
     @ApiResponses({
             @ApiResponse(responseCode = "200", content = { @Content(schema = @Schema(implementation = Conta.class), mediaType = "application/json") }),
             @ApiResponse(responseCode = "303", content = { @Content(schema = @Schema(implementation = Conta.class), mediaType = "application/json") }),
+            @ApiResponse(responseCode = "304", content = { @Content(schema = @Schema()) }),
             @ApiResponse(responseCode = "404", content = { @Content(schema = @Schema()) }),
             @ApiResponse(responseCode = "500", content = { @Content(schema = @Schema()) }) }
     )
     @GetMapping(value = "/{id}",
-            produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE }
+            produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinarioConfig.APPLICATION_SMILE_VALUE, BinarioConfig.APPLICATION_PROTOBUF_VALUE }
     )
-    public Carteira readById(@PathVariable Integer id) throws Exception {
+    public ResponseEntity<Carteira> readById(@PathVariable Integer id, @RequestParam(required = false) Set<String> expand, @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) throws Exception {
         log.info("Executado método CarteiraResource.readById");
-        log.debug(String.format("Executado método CarteiraResource.readById | valores: %d",id ));
-        return carteiraService.readById(id);
+        log.debug("Executado método CarteiraResource.readById | valores: {} {}", id, expand);
+        return requisicaoCondicional.ler(carteiraService, id, expand, ifNoneMatch);
     }
 
     @Override
@@ -107,12 +135,12 @@ public class CarteiraResource implements IResource<Carteira, Integer>  {
             @ApiResponse(responseCode = "500", content = { @Content(schema = @Schema()) }) }
     )
     @PatchMapping(
-            consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE },
-            produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE }
+            consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinarioConfig.APPLICATION_SMILE_VALUE, BinarioConfig.APPLICATION_PROTOBUF_VALUE },
+            produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinarioConfig.APPLICATION_SMILE_VALUE, BinarioConfig.APPLICATION_PROTOBUF_VALUE }
     )
     public Carteira update(@Valid @RequestBody Carteira entity) {
         log.info("Executado método CarteiraResource.update");
-        log.debug(String.format("Executado método CarteiraResource.update | valores: %s",entity.toString()));
+        log.debug("Executado método CarteiraResource.update | valores: {}", entity);
         return carteiraService.updateFull(entity);
     }
 
@@ -126,16 +154,40 @@ public class CarteiraResource implements IResource<Carteira, Integer>  {
             @ApiResponse(responseCode = "200", content = { @Content(schema = @Schema(implementation = Conta.class), mediaType = "application/json") }),
             @ApiResponse(responseCode = "303", content = { @Content(schema = @Schema(implementation = Conta.class), mediaType = "application/json") }),
             @ApiResponse(responseCode = "404", content = { @Content(schema = @Schema()) }),
+            @ApiResponse(responseCode = "412", content = { @Content(schema = @Schema()) }),
             @ApiResponse(responseCode = "500", content = { @Content(schema = @Schema()) }) }
     )
     @PatchMapping(value ="/{id}",
-            consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE },
-            produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE }
+            consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinarioConfig.APPLICATION_SMILE_VALUE, BinarioConfig.APPLICATION_PROTOBUF_VALUE },
+            produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinarioConfig.APPLICATION_SMILE_VALUE, BinarioConfig.APPLICATION_PROTOBUF_VALUE }
     )
-    public Carteira updatePart(@PathVariable Integer id, @Valid @RequestBody Carteira entity) throws Exception {
+    public ResponseEntity<Carteira> updatePart(@PathVariable Integer id, @Valid @RequestBody Carteira entity, @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) throws Exception {
         log.info("Executado método CarteiraResource.updatePart");
-        log.debug(String.format("Executado método CarteiraResource.updatePart | valores: %d %s",id ,entity.toString()));
-        return carteiraService.updatePart(id, entity);
+        log.debug("Executado método CarteiraResource.updatePart | valores: {} {}", id, entity);
+        return requisicaoCondicional.alterar(carteiraService, id, ifMatch, versao -> carteiraService.updatePart(id, entity, versao));
+    }
+
+    @Override
+    @Operation(
+            summary = "Alterar uma parte da carteira com JSON Merge Patch",
+            description = "Método responsável para alterar uma parte da carteira no sistema, alterando apenas os campos presentes no documento (application/merge-patch+json)",
+            tags = { "carteira" }
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", content = { @Content(schema = @Schema(implementation = Carteira.class), mediaType = "application/json") }),
+            @ApiResponse(responseCode = "303", content = { @Content(schema = @Schema(implementation = Carteira.class), mediaType = "application/json") }),
+            @ApiResponse(responseCode = "404", content = { @Content(schema = @Schema()) }),
+            @ApiResponse(responseCode = "412", content = { @Content(schema = @Schema()) }),
+            @ApiResponse(responseCode = "500", content = { @Content(schema = @Schema()) }) }
+    )
+    @PatchMapping(value ="/{id}",
+            consumes = MergePatch.APPLICATION_MERGE_PATCH_JSON_VALUE,
+            produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinarioConfig.APPLICATION_SMILE_VALUE, BinarioConfig.APPLICATION_PROTOBUF_VALUE }
+    )
+    public ResponseEntity<Carteira> mergePatch(@PathVariable Integer id, @RequestBody JsonNode patch, @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        log.info("Executado método CarteiraResource.mergePatch");
+        log.debug("Executado método CarteiraResource.mergePatch | valores: {} {}", id, patch);
+        return requisicaoCondicional.alterar(carteiraService, id, ifMatch, versao -> carteiraService.mergePatch(id, patch, versao));
     }
 
     @Override
@@ -148,16 +200,17 @@ public class CarteiraResource implements IResource<Carteira, Integer>  {
             @ApiResponse(responseCode = "200", content = { @Content(schema = @Schema(implementation = Conta.class), mediaType = "application/json") }),
             @ApiResponse(responseCode = "303", content = { @Content(schema = @Schema(implementation = Conta.class), mediaType = "application/json") }),
             @ApiResponse(responseCode = "404", content = { @Content(schema = @Schema()) }),
+            @ApiResponse(responseCode = "412", content = { @Content(schema = @Schema()) }),
             @ApiResponse(responseCode = "500", content = { @Content(schema = @Schema()) }) }
     )
     @PutMapping(value ="/{id}",
-            consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE },
-            produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE }
+            consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinarioConfig.APPLICATION_SMILE_VALUE, BinarioConfig.APPLICATION_PROTOBUF_VALUE },
+            produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinarioConfig.APPLICATION_SMILE_VALUE, BinarioConfig.APPLICATION_PROTOBUF_VALUE }
     )
-    public Carteira updateFull(@PathVariable Integer id, @Valid @RequestBody Carteira entity) {
+    public ResponseEntity<Carteira> updateFull(@PathVariable Integer id, @Valid @RequestBody Carteira entity, @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         log.info("Executado método ContaResource.update");
-        log.debug(String.format("Executado método ContaResource.update | valores: %s",entity.toString()));
-        return carteiraService.updateFull(id, entity);
+        log.debug("Executado método ContaResource.update | valores: {}", entity);
+        return requisicaoCondicional.alterar(carteiraService, id, ifMatch, versao -> carteiraService.updateFull(id, entity, versao));
     }
 
     @Override
@@ -170,13 +223,14 @@ public class CarteiraResource implements IResource<Carteira, Integer>  {
             @ApiResponse(responseCode = "204", content = { @Content(schema = @Schema(implementation = Conta.class), mediaType = "application/json") }),
             @ApiResponse(responseCode = "303", content = { @Content(schema = @Schema(implementation = Conta.class), mediaType = "application/json") }),
             @ApiResponse(responseCode = "404", content = { @Content(schema = @Schema()) }),
+            @ApiResponse(responseCode = "412", content = { @Content(schema = @Schema()) }),
             @ApiResponse(responseCode = "500", content = { @Content(schema = @Schema()) }) }
     )
     @DeleteMapping("/{id}")
-    public void delete(@PathVariable Integer id) {
+    public void delete(@PathVariable Integer id, @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         log.info("Executado método CarteiraResource.delete");
-        log.debug(String.format("Executado método CarteiraResource.delete | valores: %d", id));
-        carteiraService.deleteById(id);
+        log.debug("Executado método CarteiraResource.delete | valores: {}", id);
+        requisicaoCondicional.remover(carteiraService, id, ifMatch);
     }
 
     @Override
@@ -192,12 +246,146 @@ public class CarteiraResource implements IResource<Carteira, Integer>  {
             @ApiResponse(responseCode = "500", content = { @Content(schema = @Schema()) }) }
     )
     @DeleteMapping(
-            consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE },
-            produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE }
+            consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinarioConfig.APPLICATION_SMILE_VALUE, BinarioConfig.APPLICATION_PROTOBUF_VALUE },
+            produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinarioConfig.APPLICATION_SMILE_VALUE, BinarioConfig.APPLICATION_PROTOBUF_VALUE }
     )
     public void deleteByEntity(@Valid @RequestBody Carteira entity) {
         log.info("Executado método CarteiraResource.delete");
-        log.debug(String.format("Executado método CarteiraResource.delete | valores: %s",entity.toString()));
+        log.debug("Executado método CarteiraResource.delete | valores: {}", entity);
         carteiraService.delete(entity);
     }
+
+    @Override
+    @Operation(
+            summary = "Criar carteiras em lote",
+            description = "Método responsável por criar carteiras em lote no sistema, com o resultado de cada item",
+            tags = { "carteira" }
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", content = { @Content(schema = @Schema(implementation = ResultadoItem.class), mediaType = "application/json") }),
+            @ApiResponse(responseCode = "500", content = { @Content(schema = @Schema()) }) }
+    )
+    @PostMapping(value = "/_bulk",
+            consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinarioConfig.APPLICATION_SMILE_VALUE },
+            produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinarioConfig.APPLICATION_SMILE_VALUE }
+    )
+    public List<ResultadoItem<Carteira, Integer>> createBulk(@RequestBody List<Carteira> entities) {
+        log.info("Executado método CarteiraResource.createBulk | itens: {}", entities.size());
+        return carteiraService.createAll(entities);
+    }
+
+    @Override
+    @Operation(
+            summary = "Alterar carteiras em lote",
+            description = "Método responsável por alterar carteiras em lote no sistema, com o resultado de cada item",
+            tags = { "carteira" }
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", content = { @Content(schema = @Schema(implementation = ResultadoItem.class), mediaType = "application/json") }),
+            @ApiResponse(responseCode = "500", content = { @Content(schema = @Schema()) }) }
+    )
+    @PutMapping(value = "/_bulk",
+            consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinarioConfig.APPLICATION_SMILE_VALUE },
+            produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinarioConfig.APPLICATION_SMILE_VALUE }
+    )
+    public List<ResultadoItem<Carteira, Integer>> updateBulk(@RequestBody List<Carteira> entities) {
+        log.info("Executado método CarteiraResource.updateBulk | itens: {}", entities.size());
+        return carteiraService.updateAll(entities);
+    }
+
+    @Override
+    @Operation(
+            summary = "Deletar carteiras em lote",
+            description = "Método responsável por deletar carteiras em lote no sistema, com o resultado de cada item",
+            tags = { "carteira" }
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", content = { @Content(schema = @Schema(implementation = ResultadoItem.class), mediaType = "application/json") }),
+            @ApiResponse(responseCode = "500", content = { @Content(schema = @Schema()) }) }
+    )
+    @DeleteMapping(value = "/_bulk",
+            consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinarioConfig.APPLICATION_SMILE_VALUE },
+            produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinarioConfig.APPLICATION_SMILE_VALUE }
+    )
+    public List<ResultadoItem<Carteira, Integer>> deleteBulk(@RequestBody List<Integer> ids) {
+        log.info("Executado método CarteiraResource.deleteBulk | itens: {}", ids.size());
+        return carteiraService.deleteAllById(ids);
+    }
+
+    @Override
+    @Operation(
+            summary = "Lista carteiras por cursor",
+            description = "Método responsável por listar carteiras em ordem de identificador. Envie o cursor devolvido para obter a próxima página",
+            tags = { "carteira" }
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", content = { @Content(schema = @Schema(implementation = PaginaCursor.class), mediaType = "application/json") }),
+            @ApiResponse(responseCode = "400", content = { @Content(schema = @Schema()) }),
+            @ApiResponse(responseCode = "500", content = { @Content(schema = @Schema()) }) }
+    )
+    @GetMapping(value = "/_lista",
+            produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinarioConfig.APPLICATION_SMILE_VALUE, BinarioConfig.APPLICATION_PROTOBUF_VALUE }
+    )
+    public PaginaCursor<Carteira> list(@RequestParam(required = false) String cursor, @RequestParam(defaultValue = "50") int limite, @RequestParam(required = false) Set<String> expand) {
+        log.info("Executado método CarteiraResource.list");
+        if (log.isDebugEnabled()) {
+            log.debug("Executado método CarteiraResource.list | valores: {} {} {}", cursor, limite, expand);
+        }
+        return carteiraService.list(cursor, limite, expand);
+    }
+
+    @Override
+    @Operation(
+            summary = "Exporta todas as carteiras em NDJSON",
+            description = "Método responsável por exportar todas as carteiras do sistema, um objeto JSON por linha, sem carregar o resultado inteiro em memória",
+            tags = { "carteira" }
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", content = { @Content(schema = @Schema(implementation = Carteira.class), mediaType = NdjsonWriter.APPLICATION_NDJSON_VALUE) }),
+            @ApiResponse(responseCode = "500", content = { @Content(schema = @Schema()) }) }
+    )
+    @GetMapping(value = "/_lista",
+            produces = NdjsonWriter.APPLICATION_NDJSON_VALUE
+    )
+    public ResponseEntity<StreamingResponseBody> stream() {
+        log.info("Executado método CarteiraResource.stream");
+        return ndjsonWriter.escrever(carteiraService);
+    }
+
+    @Operation(
+            summary = "Avaliação de uma carteira",
+            description = "Método responsável por totalizar saldo, valor inicial dos investimentos e limite das contas das pessoas de uma carteira",
+            tags = { "carteira" }
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", content = { @Content(schema = @Schema(implementation = Avaliacao.class), mediaType = "application/json") }),
+            @ApiResponse(responseCode = "404", content = { @Content(schema = @Schema()) }),
+            @ApiResponse(responseCode = "500", content = { @Content(schema = @Schema()) }) }
+    )
+    @GetMapping(value = "/{id}/valuation",
+            produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinarioConfig.APPLICATION_SMILE_VALUE }
+    )
+    public Avaliacao avaliar(@PathVariable("id") Integer id) {
+        log.info("Executado método CarteiraResource.avaliar");
+        log.debug("Executado método CarteiraResource.avaliar | valores: {}", id);
+        return avaliacaoService.avaliar(id);
+    }
+
+    @Operation(
+            summary = "Avaliação de várias carteiras",
+            description = "Método responsável por avaliar as carteiras informadas, ou todas quando nenhum id é informado, em ordem de id",
+            tags = { "carteira" }
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", content = { @Content(schema = @Schema(implementation = Avaliacao.class), mediaType = "application/json") }),
+            @ApiResponse(responseCode = "500", content = { @Content(schema = @Schema()) }) }
+    )
+    @GetMapping(value = "/_valuation",
+            produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinarioConfig.APPLICATION_SMILE_VALUE }
+    )
+    public List<Avaliacao> avaliar(@RequestParam(required = false) List<Integer> ids) throws InterruptedException {
+        log.info("Executado método CarteiraResource.avaliarTodas");
+        log.debug("Executado método CarteiraResource.avaliarTodas | valores: {}", ids);
+        return avaliacaoService.avaliar(ids);
+    }
 }
@@ -1,8 +1,24 @@
 package br.senac.go.resource;
 
+import br.senac.go.config.BinarioConfig;
+import br.senac.go.config.ReativoConfig;
+import br.senac.go.dto.Limite;
+import br.senac.go.dto.PaginaCursor;
+import br.senac.go.dto.Periodo;
+import br.senac.go.dto.ResultadoItem;
+import br.senac.go.dto.Saldo;
 import br.senac.go.interfaces.IResource;
 import br.senac.go.model.Conta;
+import br.senac.go.model.Lancamento;
+import br.senac.go.model.Reserva;
 import br.senac.go.service.ContaService;
+import br.senac.go.service.EscritorColunar;
+import br.senac.go.service.ExportacaoService;
+import br.senac.go.service.LancamentoService;
+import br.senac.go.service.LeitorCsv;
+import br.senac.go.service.LimiteService;
+import br.senac.go.service.MergePatch;
+import com.fasterxml.jackson.databind.JsonNode;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -12,12 +28,26 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.tags.Tags;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
+import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.SortDefault;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.List;
+import java.util.Set;
 
 @Slf4j
 @RestController
+@Profile("!" + ReativoConfig.PERFIL) //no perfil reativo api/conta é atendido por ContaResourceReativo
 @RequestMapping("api/conta")
 @Tags({
           @Tag(name = "conta", description = "documentação ao resource conta"),
@@ -28,6 +58,21 @@ public class ContaResource implements IResource<Conta, Integer> {
     @Autowired
     private ContaService contaService;
 
+    @Autowired
+    private NdjsonWriter ndjsonWriter;
+
+    @Autowired
+    private ExportacaoService exportacaoService;
+
+    @Autowired
+    private RequisicaoCondicional requisicaoCondicional;
+
+    @Autowired
+    private LancamentoService lancamentoService;
+
+    @Autowired
+    private LimiteService limiteService;
+
     @Override
     @Operation(
             summary = "Criar uma conta",
@@ -42,12 +87,12 @@ public class ContaResource implements IResource<Conta, Integer> {
             @ApiResponse(responseCode = "500", content = { @Content(schema = @Schema()) })
     })
     @PostMapping(
-                consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE },
-                produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE }
+                consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinarioConfig.APPLICATION_SMILE_VALUE, BinarioConfig.APPLICATION_PROTOBUF_VALUE },
+                produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinarioConfig.APPLICATION_SMILE_VALUE, BinarioConfig.APPLICATION_PROTOBUF_VALUE }
     )
     public Conta create(@Valid @RequestBody Conta entity) {
         log.info("Executado método ContaResource.create");
-        log.debug(String.format("Executado método ContaResource.create | valores: %s",entity.toString()));
+        log.debug("Executado método ContaResource.create | valores: {}", entity);
         return contaService.create(entity);
     }
 
@@ -64,13 +109,14 @@ public class ContaResource implements IResource<Conta, Integer> {
             @ApiResponse(responseCode = "500", content = { @Content(schema = @Schema()) }) }
     )
     @GetMapping(
-            consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE },
-            produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE }
+            produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinarioConfig.APPLICATION_SMILE_VALUE, BinarioConfig.APPLICATION_PROTOBUF_VALUE }
     )
-    public Conta read(@Valid @RequestBody Conta entity) throws Exception {
+    public Page<Conta> read(@ParameterObject Conta entity, @ParameterObject Periodo periodo, @ParameterObject Pageable pageable, @RequestParam(required = false) Set<String> expand) throws Exception {
         log.info("Executado método ContaResource.read");
-        log.debug(String.format("Executado método ContaResource.read | valores: %s",entity.toString()));
-        return contaService.read(entity);
+        if (log.isDebugEnabled()) {
+            log.debug("Executado método ContaResource.read | valores: {} {} {} {}", entity, periodo, pageable, expand);
+        }
+        return contaService.read(entity, periodo, pageable, expand);
     }
 
     @Override
@@ -82,16 +128,17 @@ public class ContaResource implements IResource<Conta, Integer> {
     @ApiResponses({
             @ApiResponse(responseCode = "200", content = { @Content(schema = @Schema(implementation = Conta.class), mediaType = "application/json") }),
             @ApiResponse(responseCode = "303", content = { @Content(schema = @Schema(implementation = Conta.class), mediaType = "application/json") }),
+            @ApiResponse(responseCode = "304", content = { @Content(schema = @Schema()) }),
             @ApiResponse(responseCode = "404", content = { @Content(schema = @Schema()) }),
             @ApiResponse(responseCode = "500", content = { @Content(schema = @Schema()) }) }
     )
     @GetMapping(value = "/{id}",
-                produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE }
+                produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinarioConfig.APPLICATION_SMILE_VALUE, BinarioConfig.APPLICATION_PROTOBUF_VALUE }
     )
-    public Conta readById(@PathVariable("id") Integer id) throws Exception {
+    public ResponseEntity<Conta> readById(@PathVariable("id") Integer id, @RequestParam(required = false) Set<String> expand, @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) throws Exception {
         log.info("Executado método ContaResource.readById");
-        log.debug(String.format("Executado método ContaResource.readById | valores: %d",id));
-        return contaService.readById(id);
+        log.debug("Executado método ContaResource.readById | valores: {} {}", id, expand);
+        return requisicaoCondicional.ler(contaService, id, expand, ifNoneMatch);
     }
 
     @Override
@@ -104,16 +151,40 @@ public class ContaResource implements IResource<Conta, Integer> {
             @ApiResponse(responseCode = "200", content = { @Content(schema = @Schema(implementation = Conta.class), mediaType = "application/json") }),
             @ApiResponse(responseCode = "303", content = { @Content(schema = @Schema(implementation = Conta.class), mediaType = "application/json") }),
             @ApiResponse(responseCode = "404", content = { @Content(schema = @Schema()) }),
+            @ApiResponse(responseCode = "412", content = { @Content(schema = @Schema()) }),
             @ApiResponse(responseCode = "500", content = { @Content(schema = @Schema()) }) }
     )
     @PatchMapping(value ="/{id}",
-            consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE },
-            produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE }
+            consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinarioConfig.APPLICATION_SMILE_VALUE, BinarioConfig.APPLICATION_PROTOBUF_VALUE },
+            produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinarioConfig.APPLICATION_SMILE_VALUE, BinarioConfig.APPLICATION_PROTOBUF_VALUE }
     )
-    public Conta updatePart(@PathVariable("id") Integer id, @Valid @RequestBody Conta entity) throws Exception {
+    public ResponseEntity<Conta> updatePart(@PathVariable("id") Integer id, @Valid @RequestBody Conta entity, @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) throws Exception {
         log.info("Executado método ContaResource.update");
-        log.debug(String.format("Executado método ContaResource.update | valores: %s",entity.toString()));
-        return contaService.updatePart(id, entity);
+        log.debug("Executado método ContaResource.update | valores: {}", entity);
+        return requisicaoCondicional.alterar(contaService, id, ifMatch, versao -> contaService.updatePart(id, entity, versao));
+    }
+
+    @Override
+    @Operation(
+            summary = "Alterar uma parte da conta com JSON Merge Patch",
+            description = "Método responsável para alterar uma parte da conta no sistema, alterando apenas os campos presentes no documento (application/merge-patch+json)",
+            tags = { "conta" }
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", content = { @Content(schema = @Schema(implementation = Conta.class), mediaType = "application/json") }),
+            @ApiResponse(responseCode = "303", content = { @Content(schema = @Schema(implementation = Conta.class), mediaType = "application/json") }),
+            @ApiResponse(responseCode = "404", content = { @Content(schema = @Schema()) }),
+            @ApiResponse(responseCode = "412", content = { @Content(schema = @Schema()) }),
+            @ApiResponse(responseCode = "500", content = { @Content(schema = @Schema()) }) }
+    )
+    @PatchMapping(value ="/{id}",
+            consumes = MergePatch.APPLICATION_MERGE_PATCH_JSON_VALUE,
+            produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinarioConfig.APPLICATION_SMILE_VALUE, BinarioConfig.APPLICATION_PROTOBUF_VALUE }
+    )
+    public ResponseEntity<Conta> mergePatch(@PathVariable("id") Integer id, @RequestBody JsonNode patch, @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        log.info("Executado método ContaResource.mergePatch");
+        log.debug("Executado método ContaResource.mergePatch | valores: {} {}", id, patch);
+        return requisicaoCondicional.alterar(contaService, id, ifMatch, versao -> contaService.mergePatch(id, patch, versao));
     }
 
     @Override
@@ -126,16 +197,17 @@ public class ContaResource implements IResource<Conta, Integer> {
             @ApiResponse(responseCode = "200", content = { @Content(schema = @Schema(implementation = Conta.class), mediaType = "application/json") }),
             @ApiResponse(responseCode = "303", content = { @Content(schema = @Schema(implementation = Conta.class), mediaType = "application/json") }),
             @ApiResponse(responseCode = "404", content = { @Content(schema = @Schema()) }),
+            @ApiResponse(responseCode = "412", content = { @Content(schema = @Schema()) }),
             @ApiResponse(responseCode = "500", content = { @Content(schema = @Schema()) }) }
     )
     @PutMapping(value = "/{id}",
-            consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE },
-            produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE }
+            consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinarioConfig.APPLICATION_SMILE_VALUE, BinarioConfig.APPLICATION_PROTOBUF_VALUE },
+            produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinarioConfig.APPLICATION_SMILE_VALUE, BinarioConfig.APPLICATION_PROTOBUF_VALUE }
     )
-    public Conta updateFull(@PathVariable("id") Integer id, @Valid @RequestBody Conta entity) {
+    public ResponseEntity<Conta> updateFull(@PathVariable("id") Integer id, @Valid @RequestBody Conta entity, @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         log.info("Executado método ContaResource.update");
-        log.debug(String.format("Executado método ContaResource.update | valores: %s",entity.toString()));
-        return contaService.updateFull(id, entity);
+        log.debug("Executado método ContaResource.update | valores: {}", entity);
+        return requisicaoCondicional.alterar(contaService, id, ifMatch, versao -> contaService.updateFull(id, entity, versao));
     }
 
     @Override
@@ -151,12 +223,12 @@ public class ContaResource implements IResource<Conta, Integer> {
             @ApiResponse(responseCode = "500", content = { @Content(schema = @Schema()) }) }
     )
     @PutMapping(
-            consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE },
-            produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE }
+            consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinarioConfig.APPLICATION_SMILE_VALUE, BinarioConfig.APPLICATION_PROTOBUF_VALUE },
+            produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinarioConfig.APPLICATION_SMILE_VALUE, BinarioConfig.APPLICATION_PROTOBUF_VALUE }
     )
     public Conta update(@Valid @RequestBody Conta entity) {
         log.info("Executando metodo update");
-        log.debug(String.format("Executado método ContaResource.update | valores: %s",entity.toString()));
+        log.debug("Executado método ContaResource.update | valores: {}", entity);
         return contaService.updateFull(entity);
     }
 
@@ -170,13 +242,14 @@ public class ContaResource implements IResource<Conta, Integer> {
             @ApiResponse(responseCode = "204", content = { @Content(schema = @Schema(implementation = Conta.class), mediaType = "application/json") }),
             @ApiResponse(responseCode = "303", content = { @Content(schema = @Schema(implementation = Conta.class), mediaType = "application/json") }),
             @ApiResponse(responseCode = "404", content = { @Content(schema = @Schema()) }),
+            @ApiResponse(responseCode = "412", content = { @Content(schema = @Schema()) }),
             @ApiResponse(responseCode = "500", content = { @Content(schema = @Schema()) }) }
     )
     @DeleteMapping("/{id}")
-    public void delete(@PathVariable("id") Integer id) {
+    public void delete(@PathVariable("id") Integer id, @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         log.info("Executado método ContaResource.delete");
-        log.debug(String.format("Executado método ContaResource.delete | valores: %d",id));
-        contaService.deleteById(id);
+        log.debug("Executado método ContaResource.delete | valores: {}", id);
+        requisicaoCondicional.remover(contaService, id, ifMatch);
     }
 
     @Override
@@ -192,12 +265,270 @@ public class ContaResource implements IResource<Conta, Integer> {
             @ApiResponse(responseCode = "500", content = { @Content(schema = @Schema()) }) }
     )
     @DeleteMapping(
-            consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE },
-            produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE }
+            consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinarioConfig.APPLICATION_SMILE_VALUE, BinarioConfig.APPLICATION_PROTOBUF_VALUE },
+            produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinarioConfig.APPLICATION_SMILE_VALUE, BinarioConfig.APPLICATION_PROTOBUF_VALUE }
     )
     public void deleteByEntity(@Valid @RequestBody Conta entity) {
         log.info("Executado método ContaResource.delete");
-        log.debug(String.format("Executado método ContaResource.delete | valores: %s",entity.toString()));
+        log.debug("Executado método ContaResource.delete | valores: {}", entity);
         contaService.delete(entity);
     }
+
+    @Override
+    @Operation(
+            summary = "Criar contas em lote",
+            description = "Método responsável por criar contas em lote no sistema, com o resultado de cada item",
+            tags = { "conta" }
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", content = { @Content(schema = @Schema(implementation = ResultadoItem.class), mediaType = "application/json") }),
+            @ApiResponse(responseCode = "500", content = { @Content(schema = @Schema()) }) }
+    )
+    @PostMapping(value = "/_bulk",
+            consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinarioConfig.APPLICATION_SMILE_VALUE },
+            produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinarioConfig.APPLICATION_SMILE_VALUE }
+    )
+    public List<ResultadoItem<Conta, Integer>> createBulk(@RequestBody List<Conta> entities) {
+        log.info("Executado método ContaResource.createBulk | itens: {}", entities.size());
+        return contaService.createAll(entities);
+    }
+
+    @Override
+    @Operation(
+            summary = "Alterar contas em lote",
+            description = "Método responsável por alterar contas em lote no sistema, com o resultado de cada item",
+            tags = { "conta" }
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", content = { @Content(schema = @Schema(implementation = ResultadoItem.class), mediaType = "application/json") }),
+            @ApiResponse(responseCode = "500", content = { @Content(schema = @Schema()) }) }
+    )
+    @PutMapping(value = "/_bulk",
+            consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinarioConfig.APPLICATION_SMILE_VALUE },
+            produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinarioConfig.APPLICATION_SMILE_VALUE }
+    )
+    public List<ResultadoItem<Conta, Integer>> updateBulk(@RequestBody List<Conta> entities) {
+        log.info("Executado método ContaResource.updateBulk | itens: {}", entities.size());
+        return contaService.updateAll(entities);
+    }
+
+    @Override
+    @Operation(
+            summary = "Deletar contas em lote",
+            description = "Método responsável por deletar contas em lote no sistema, com o resultado de cada item",
+            tags = { "conta" }
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", content = { @Content(schema = @Schema(implementation = ResultadoItem.class), mediaType = "application/json") }),
+            @ApiResponse(responseCode = "500", content = { @Content(schema = @Schema()) }) }
+    )
+    @DeleteMapping(value = "/_bulk",
+            consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinarioConfig.APPLICATION_SMILE_VALUE },
+            produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinarioConfig.APPLICATION_SMILE_VALUE }
+    )
+    public List<ResultadoItem<Conta, Integer>> deleteBulk(@RequestBody List<Integer> ids) {
+        log.info("Executado método ContaResource.deleteBulk | itens: {}", ids.size());
+        return contaService.deleteAllById(ids);
+    }
+
+    @Override
+    @Operation(
+            summary = "Lista contas por cursor",
+            description = "Método responsável por listar contas em ordem de identificador. Envie o cursor devolvido para obter a próxima página",
+            tags = { "conta" }
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", content = { @Content(schema = @Schema(implementation = PaginaCursor.class), mediaType = "application/json") }),
+            @ApiResponse(responseCode = "400", content = { @Content(schema = @Schema()) }),
+            @ApiResponse(responseCode = "500", content = { @Content(schema = @Schema()) }) }
+    )
+    @GetMapping(value = "/_lista",
+            produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinarioConfig.APPLICATION_SMILE_VALUE, BinarioConfig.APPLICATION_PROTOBUF_VALUE }
+    )
+    public PaginaCursor<Conta> list(@RequestParam(required = false) String cursor, @RequestParam(defaultValue = "50") int limite, @RequestParam(required = false) Set<String> expand) {
+        log.info("Executado método ContaResource.list");
+        if (log.isDebugEnabled()) {
+            log.debug("Executado método ContaResource.list | valores: {} {} {}", cursor, limite, expand);
+        }
+        return contaService.list(cursor, limite, expand);
+    }
+
+    @Override
+    @Operation(
+            summary = "Exporta todas as contas em NDJSON",
+            description = "Método responsável por exportar todas as contas do sistema, um objeto JSON por linha, sem carregar o resultado inteiro em memória",
+            tags = { "conta" }
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", content = { @Content(schema = @Schema(implementation = Conta.class), mediaType = NdjsonWriter.APPLICATION_NDJSON_VALUE) }),
+            @ApiResponse(responseCode = "500", content = { @Content(schema = @Schema()) }) }
+    )
+    @GetMapping(value = "/_lista",
+            produces = NdjsonWriter.APPLICATION_NDJSON_VALUE
+    )
+    public ResponseEntity<StreamingResponseBody> stream() {
+        log.info("Executado método ContaResource.stream");
+        return ndjsonWriter.escrever(contaService);
+    }
+
+    @Operation(
+            summary = "Exporta todas as contas em CSV ou no formato colunar",
+            description = "Método responsável por exportar todas as contas do sistema em CSV (formato=csv) ou no formato colunar comprimido (formato=colunar), sem carregar o resultado em memória",
+            tags = { "conta" }
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", content = { @Content(mediaType = LeitorCsv.TEXT_CSV_VALUE), @Content(mediaType = EscritorColunar.MEDIA_TYPE_VALUE) }),
+            @ApiResponse(responseCode = "400", content = { @Content(schema = @Schema()) }),
+            @ApiResponse(responseCode = "500", content = { @Content(schema = @Schema()) }) }
+    )
+    @GetMapping(value = "/_export")
+    public ResponseEntity<StreamingResponseBody> exportar(@RequestParam(defaultValue = "csv") String formato) {
+        log.info("Executado método ContaResource.exportar");
+        log.debug("Executado método ContaResource.exportar | valores: {}", formato);
+        ExportacaoService.Formato tipo = ExportacaoService.Formato.de(formato);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(tipo.getMediaType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename("conta." + tipo.getExtensao()).build().toString())
+                .body(saida -> exportacaoService.exportar(Conta.class, tipo, saida));
+    }
+
+    @Operation(
+            summary = "Registrar um lançamento de conta",
+            description = "Método responsável por registrar um depósito, retirada ou rendimento no razão de conta. O razão é somente de inclusão",
+            tags = { "conta" }
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", content = { @Content(schema = @Schema(implementation = Lancamento.class), mediaType = "application/json") }),
+            @ApiResponse(responseCode = "400", content = { @Content(schema = @Schema()) }),
+            @ApiResponse(responseCode = "404", content = { @Content(schema = @Schema()) }),
+            @ApiResponse(responseCode = "500", content = { @Content(schema = @Schema()) }) }
+    )
+    @PostMapping(value = "/{id}/lancamentos",
+            consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinarioConfig.APPLICATION_SMILE_VALUE },
+            produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinarioConfig.APPLICATION_SMILE_VALUE }
+    )
+    public Lancamento lancar(@PathVariable("id") Integer id, @RequestBody Lancamento lancamento) {
+        log.info("Executado método ContaResource.lancar");
+        log.debug("Executado método ContaResource.lancar | valores: {} {}", id, lancamento);
+        return lancamentoService.lancar(LancamentoService.Titular.CONTA, id, lancamento);
+    }
+
+    @Operation(
+            summary = "Recupera os lançamentos de conta",
+            description = "Método responsável para recuperar os lançamentos do razão de conta",
+            tags = { "conta" }
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", content = { @Content(schema = @Schema(implementation = Lancamento.class), mediaType = "application/json") }),
+            @ApiResponse(responseCode = "404", content = { @Content(schema = @Schema()) }),
+            @ApiResponse(responseCode = "500", content = { @Content(schema = @Schema()) }) }
+    )
+    @GetMapping(value = "/{id}/lancamentos",
+            produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinarioConfig.APPLICATION_SMILE_VALUE }
+    )
+    public Page<Lancamento> lancamentos(@PathVariable("id") Integer id, @ParameterObject @SortDefault(sort = "dataHora", direction = Sort.Direction.DESC) Pageable pageable) {
+        log.info("Executado método ContaResource.lancamentos");
+        log.debug("Executado método ContaResource.lancamentos | valores: {} {}", id, pageable);
+        return lancamentoService.lancamentos(LancamentoService.Titular.CONTA, id, pageable);
+    }
+
+    @Operation(
+            summary = "Recupera o saldo de conta",
+            description = "Método responsável para recuperar o saldo atual de conta: último saldo consolidado mais os lançamentos posteriores",
+            tags = { "conta" }
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", content = { @Content(schema = @Schema(implementation = Saldo.class), mediaType = "application/json") }),
+            @ApiResponse(responseCode = "404", content = { @Content(schema = @Schema()) }),
+            @ApiResponse(responseCode = "500", content = { @Content(schema = @Schema()) }) }
+    )
+    @GetMapping(value = "/{id}/saldo",
+            produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinarioConfig.APPLICATION_SMILE_VALUE }
+    )
+    public Saldo saldo(@PathVariable("id") Integer id) {
+        log.info("Executado método ContaResource.saldo");
+        log.debug("Executado método ContaResource.saldo | valores: {}", id);
+        return lancamentoService.saldo(LancamentoService.Titular.CONTA, id);
+    }
+
+    @Operation(
+            summary = "Reservar limite da conta",
+            description = "Método responsável por separar um valor do limite da conta. Falha com 409 quando o limite disponível não é suficiente",
+            tags = { "conta" }
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", content = { @Content(schema = @Schema(implementation = Reserva.class), mediaType = "application/json") }),
+            @ApiResponse(responseCode = "400", content = { @Content(schema = @Schema()) }),
+            @ApiResponse(responseCode = "404", content = { @Content(schema = @Schema()) }),
+            @ApiResponse(responseCode = "409", content = { @Content(schema = @Schema()) }),
+            @ApiResponse(responseCode = "500", content = { @Content(schema = @Schema()) }) }
+    )
+    @PostMapping(value = "/{id}/reservas",
+            consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinarioConfig.APPLICATION_SMILE_VALUE },
+            produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinarioConfig.APPLICATION_SMILE_VALUE }
+    )
+    public Reserva reservar(@PathVariable("id") Integer id, @RequestBody Reserva reserva) {
+        log.info("Executado método ContaResource.reservar");
+        log.debug("Executado método ContaResource.reservar | valores: {} {}", id, reserva);
+        return limiteService.reservar(id, reserva.getValor(), reserva.getDescricao());
+    }
+
+    @Operation(
+            summary = "Confirmar reserva de limite",
+            description = "Método responsável por tornar definitiva uma reserva do limite da conta",
+            tags = { "conta" }
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", content = { @Content(schema = @Schema(implementation = Reserva.class), mediaType = "application/json") }),
+            @ApiResponse(responseCode = "404", content = { @Content(schema = @Schema()) }),
+            @ApiResponse(responseCode = "409", content = { @Content(schema = @Schema()) }),
+            @ApiResponse(responseCode = "500", content = { @Content(schema = @Schema()) }) }
+    )
+    @PostMapping(value = "/{id}/reservas/{reservaId}/confirmacao",
+            produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinarioConfig.APPLICATION_SMILE_VALUE }
+    )
+    public Reserva confirmar(@PathVariable("id") Integer id, @PathVariable("reservaId") Integer reservaId) {
+        log.info("Executado método ContaResource.confirmar");
+        log.debug("Executado método ContaResource.confirmar | valores: {} {}", id, reservaId);
+        return limiteService.confirmar(id, reservaId);
+    }
+
+    @Operation(
+            summary = "Liberar reserva de limite",
+            description = "Método responsável por devolver ao limite da conta o valor de uma reserva não confirmada",
+            tags = { "conta" }
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", content = { @Content(schema = @Schema(implementation = Reserva.class), mediaType = "application/json") }),
+            @ApiResponse(responseCode = "404", content = { @Content(schema = @Schema()) }),
+            @ApiResponse(responseCode = "409", content = { @Content(schema = @Schema()) }),
+            @ApiResponse(responseCode = "500", content = { @Content(schema = @Schema()) }) }
+    )
+    @DeleteMapping(value = "/{id}/reservas/{reservaId}",
+            produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinarioConfig.APPLICATION_SMILE_VALUE }
+    )
+    public Reserva liberar(@PathVariable("id") Integer id, @PathVariable("reservaId") Integer reservaId) {
+        log.info("Executado método ContaResource.liberar");
+        log.debug("Executado método ContaResource.liberar | valores: {} {}", id, reservaId);
+        return limiteService.liberar(id, reservaId);
+    }
+
+    @Operation(
+            summary = "Recupera o limite da conta",
+            description = "Método responsável para recuperar o limite, o valor utilizado pelas reservas e o disponível da conta",
+            tags = { "conta" }
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", content = { @Content(schema = @Schema(implementation = Limite.class), mediaType = "application/json") }),
+            @ApiResponse(responseCode = "404", content = { @Content(schema = @Schema()) }),
+            @ApiResponse(responseCode = "500", content = { @Content(schema = @Schema()) }) }
+    )
+    @GetMapping(value = "/{id}/limite",
+            produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinarioConfig.APPLICATION_SMILE_VALUE }
+    )
+    public Limite limite(@PathVariable("id") Integer id) {
+        log.info("Executado método ContaResource.limite");
+        log.debug("Executado método ContaResource.limite | valores: {}", id);
+        return limiteService.limite(id);
+    }
 }
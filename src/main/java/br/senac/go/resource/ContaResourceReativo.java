@@ -0,0 +1,146 @@
+package br.senac.go.resource;
+
+import br.senac.go.config.ReativoConfig;
+import br.senac.go.interfaces.IResourceReativo;
+import br.senac.go.model.Conta;
+import br.senac.go.service.ContaServiceReativo;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import io.swagger.v3.oas.annotations.tags.Tags;
+import jakarta.validation.Valid;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Slf4j
+@RestController
+@Profile(ReativoConfig.PERFIL)
+@RequestMapping("api/conta")
+@Tags({
+        @Tag(name = "conta", description = "documentação ao resource conta (perfil reativo)"),
+})
+public class ContaResourceReativo implements IResourceReativo<Conta, Integer> {
+
+    @Autowired
+    private ContaServiceReativo contaService;
+
+    @Autowired
+    private RequisicaoCondicionalReativa requisicaoCondicional;
+
+    @Override
+    @Operation(
+            summary = "Criar uma conta",
+            description = "Método responsável por criar uma conta no sistema",
+            tags = { "conta" }
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", content = { @Content(schema = @Schema(implementation = Conta.class), mediaType = MediaType.APPLICATION_JSON_VALUE) }),
+            @ApiResponse(responseCode = "409", content = { @Content(schema = @Schema()) }),
+            @ApiResponse(responseCode = "500", content = { @Content(schema = @Schema()) })
+    })
+    @PostMapping(
+            consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public Mono<Conta> create(@Valid @RequestBody Conta entity) {
+        log.info("Executado método ContaResourceReativo.create");
+        log.debug("Executado método ContaResourceReativo.create | valores: {}", entity);
+        return contaService.create(entity);
+    }
+
+    @Override
+    @Operation(
+            summary = "Recupera as contas",
+            description = "Método responsável para recuperar as contas em ordem de id, a partir do id seguinte a depois e até limite registros. Em NDJSON as contas são enviadas conforme o cliente consome",
+            tags = { "conta" }
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", content = {
+                    @Content(schema = @Schema(implementation = Conta.class), mediaType = MediaType.APPLICATION_JSON_VALUE),
+                    @Content(schema = @Schema(implementation = Conta.class), mediaType = MediaType.APPLICATION_NDJSON_VALUE) }),
+            @ApiResponse(responseCode = "400", content = { @Content(schema = @Schema()) }),
+            @ApiResponse(responseCode = "500", content = { @Content(schema = @Schema()) }) }
+    )
+    @GetMapping(
+            produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE }
+    )
+    public Flux<Conta> read(@RequestParam(required = false) Integer depois, @RequestParam(required = false) Integer limite) {
+        log.info("Executado método ContaResourceReativo.read");
+        log.debug("Executado método ContaResourceReativo.read | valores: {} {}", depois, limite);
+        return contaService.list(depois, limite);
+    }
+
+    @Override
+    @Operation(
+            summary = "Recupera uma conta",
+            description = "Método responsável para recuperar uma conta no sistema",
+            tags = { "conta" }
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", content = { @Content(schema = @Schema(implementation = Conta.class), mediaType = "application/json") }),
+            @ApiResponse(responseCode = "304", content = { @Content(schema = @Schema()) }),
+            @ApiResponse(responseCode = "404", content = { @Content(schema = @Schema()) }),
+            @ApiResponse(responseCode = "500", content = { @Content(schema = @Schema()) }) }
+    )
+    @GetMapping(value = "/{id}",
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public Mono<ResponseEntity<Conta>> readById(@PathVariable("id") Integer id, @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        log.info("Executado método ContaResourceReativo.readById");
+        log.debug("Executado método ContaResourceReativo.readById | valores: {}", id);
+        return requisicaoCondicional.ler(contaService, id, ifNoneMatch);
+    }
+
+    @Override
+    @Operation(
+            summary = "Alterar uma conta toda",
+            description = "Método responsável para alterar uma conta por completo no sistema. As coleções da conta não são alteradas",
+            tags = { "conta" }
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", content = { @Content(schema = @Schema(implementation = Conta.class), mediaType = "application/json") }),
+            @ApiResponse(responseCode = "404", content = { @Content(schema = @Schema()) }),
+            @ApiResponse(responseCode = "409", content = { @Content(schema = @Schema()) }),
+            @ApiResponse(responseCode = "412", content = { @Content(schema = @Schema()) }),
+            @ApiResponse(responseCode = "500", content = { @Content(schema = @Schema()) }) }
+    )
+    @PutMapping(value = "/{id}",
+            consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public Mono<ResponseEntity<Conta>> updateFull(@PathVariable("id") Integer id, @Valid @RequestBody Conta entity, @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        log.info("Executado método ContaResourceReativo.updateFull");
+        log.debug("Executado método ContaResourceReativo.updateFull | valores: {} {}", id, entity);
+        return requisicaoCondicional.alterar(contaService, id, ifMatch, versao -> contaService.updateFull(id, entity, versao));
+    }
+
+    @Override
+    @Operation(
+            summary = "Deletar uma conta",
+            description = "Método responsável por deletar uma conta no sistema",
+            tags = { "conta" }
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", content = { @Content(schema = @Schema()) }),
+            @ApiResponse(responseCode = "404", content = { @Content(schema = @Schema()) }),
+            @ApiResponse(responseCode = "409", content = { @Content(schema = @Schema()) }),
+            @ApiResponse(responseCode = "412", content = { @Content(schema = @Schema()) }),
+            @ApiResponse(responseCode = "500", content = { @Content(schema = @Schema()) }) }
+    )
+    @DeleteMapping("/{id}")
+    public Mono<Void> delete(@PathVariable("id") Integer id, @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        log.info("Executado método ContaResourceReativo.delete");
+        log.debug("Executado método ContaResourceReativo.delete | valores: {}", id);
+        return requisicaoCondicional.remover(contaService, id, ifMatch);
+    }
+}
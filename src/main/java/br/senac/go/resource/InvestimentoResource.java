@@ -1,8 +1,21 @@
 package br.senac.go.resource;
 
+import br.senac.go.config.BinarioConfig;
+import br.senac.go.config.ReativoConfig;
+import br.senac.go.dto.PaginaCursor;
+import br.senac.go.dto.Periodo;
+import br.senac.go.dto.ResultadoItem;
+import br.senac.go.dto.Saldo;
 import br.senac.go.interfaces.IResource;
 import br.senac.go.model.Investimento;
+import br.senac.go.model.Lancamento;
+import br.senac.go.service.EscritorColunar;
+import br.senac.go.service.ExportacaoService;
 import br.senac.go.service.InvestimentoService;
+import br.senac.go.service.LancamentoService;
+import br.senac.go.service.LeitorCsv;
+import br.senac.go.service.MergePatch;
+import com.fasterxml.jackson.databind.JsonNode;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -12,12 +25,26 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.tags.Tags;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
+import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.SortDefault;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.List;
+import java.util.Set;
 
 @Slf4j
 @RestController
+@Profile("!" + ReativoConfig.PERFIL) //no perfil reativo api/investimento é atendido por InvestimentoResourceReativo
 @RequestMapping("api/investimento")
 @Tags({
         @Tag(name = "investimento", description = "documentação ao resource investimento"),
@@ -27,6 +54,18 @@ public class InvestimentoResource implements IResource<Investimento, Integer> {
     @Autowired
     private InvestimentoService investimentoService;
 
+    @Autowired
+    private NdjsonWriter ndjsonWriter;
+
+    @Autowired
+    private ExportacaoService exportacaoService;
+
+    @Autowired
+    private RequisicaoCondicional requisicaoCondicional;
+
+    @Autowired
+    private LancamentoService lancamentoService;
+
     @Override
     @Operation(
             summary = "Criar uma investimento",
@@ -41,12 +80,12 @@ public class InvestimentoResource implements IResource<Investimento, Integer> {
             @ApiResponse(responseCode = "500", content = { @Content(schema = @Schema()) })
     })
     @PostMapping(
-            consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE },
-            produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE }
+            consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinarioConfig.APPLICATION_SMILE_VALUE, BinarioConfig.APPLICATION_PROTOBUF_VALUE },
+            produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinarioConfig.APPLICATION_SMILE_VALUE, BinarioConfig.APPLICATION_PROTOBUF_VALUE }
     )
     public Investimento create(@Valid @RequestBody Investimento entity) {
         log.info("Executado método InvestimentoResource.create");
-        log.debug(String.format("Executado método InvestimentoResource.create | valores: %s",entity.toString()));
+        log.debug("Executado método InvestimentoResource.create | valores: {}", entity);
         return investimentoService.create(entity);
     }
 
@@ -63,13 +102,14 @@ public class InvestimentoResource implements IResource<Investimento, Integer> {
             @ApiResponse(responseCode = "500", content = { @Content(schema = @Schema()) }) }
     )
     @GetMapping(
-            consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE },
-            produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE }
+            produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinarioConfig.APPLICATION_SMILE_VALUE, BinarioConfig.APPLICATION_PROTOBUF_VALUE }
     )
-    public Investimento read(@Valid @RequestBody Investimento entity) throws Exception {
+    public Page<Investimento> read(@ParameterObject Investimento entity, @ParameterObject Periodo periodo, @ParameterObject Pageable pageable, @RequestParam(required = false) Set<String> expand) throws Exception {
         log.info("Executado método InvestimentoResource.read");
-        log.debug(String.format("Executado método InvestimentoResource.read | valores: %s",entity.toString()));
-        return investimentoService.read(entity);
+        if (log.isDebugEnabled()) {
+            log.debug("Executado método InvestimentoResource.read | valores: {} {} {} {}", entity, periodo, pageable, expand);
+        }
+        return investimentoService.read(entity, periodo, pageable, expand);
     }
 
     @Override
@@ -81,16 +121,17 @@ public class InvestimentoResource implements IResource<Investimento, Integer> {
     @ApiResponses({
             @ApiResponse(responseCode = "200", content = { @Content(schema = @Schema(implementation = Investimento.class), mediaType = "application/json") }),
             @ApiResponse(responseCode = "303", content = { @Content(schema = @Schema(implementation = Investimento.class), mediaType = "application/json") }),
+            @ApiResponse(responseCode = "304", content = { @Content(schema = @Schema()) }),
             @ApiResponse(responseCode = "404", content = { @Content(schema = @Schema()) }),
             @ApiResponse(responseCode = "500", content = { @Content(schema = @Schema()) }) }
     )
     @GetMapping(value = "/{id}",
-            produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE }
+            produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinarioConfig.APPLICATION_SMILE_VALUE, BinarioConfig.APPLICATION_PROTOBUF_VALUE }
     )
-    public Investimento readById(@PathVariable("id") Integer id) throws Exception {
+    public ResponseEntity<Investimento> readById(@PathVariable("id") Integer id, @RequestParam(required = false) Set<String> expand, @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) throws Exception {
         log.info("Executado método InvestimentoResource.readById");
-        log.debug(String.format("Executado método InvestimentoResource.readById | valores: %d",id));
-        return investimentoService.readById(id);
+        log.debug("Executado método InvestimentoResource.readById | valores: {} {}", id, expand);
+        return requisicaoCondicional.ler(investimentoService, id, expand, ifNoneMatch);
     }
 
     @Override
@@ -103,16 +144,40 @@ public class InvestimentoResource implements IResource<Investimento, Integer> {
             @ApiResponse(responseCode = "200", content = { @Content(schema = @Schema(implementation = Investimento.class), mediaType = "application/json") }),
             @ApiResponse(responseCode = "303", content = { @Content(schema = @Schema(implementation = Investimento.class), mediaType = "application/json") }),
             @ApiResponse(responseCode = "404", content = { @Content(schema = @Schema()) }),
+            @ApiResponse(responseCode = "412", content = { @Content(schema = @Schema()) }),
             @ApiResponse(responseCode = "500", content = { @Content(schema = @Schema()) }) }
     )
     @PatchMapping(value ="/{id}",
-            consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE },
-            produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE }
+            consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinarioConfig.APPLICATION_SMILE_VALUE, BinarioConfig.APPLICATION_PROTOBUF_VALUE },
+            produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinarioConfig.APPLICATION_SMILE_VALUE, BinarioConfig.APPLICATION_PROTOBUF_VALUE }
     )
-    public Investimento updatePart(@PathVariable("id") Integer id, @Valid @RequestBody Investimento entity) throws Exception {
+    public ResponseEntity<Investimento> updatePart(@PathVariable("id") Integer id, @Valid @RequestBody Investimento entity, @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) throws Exception {
         log.info("Executado método InvestimentoResource.update");
-        log.debug(String.format("Executado método InvestimentoResource.update | valores: %s",entity.toString()));
-        return investimentoService.updatePart(id, entity);
+        log.debug("Executado método InvestimentoResource.update | valores: {}", entity);
+        return requisicaoCondicional.alterar(investimentoService, id, ifMatch, versao -> investimentoService.updatePart(id, entity, versao));
+    }
+
+    @Override
+    @Operation(
+            summary = "Alterar uma parte da investimento com JSON Merge Patch",
+            description = "Método responsável para alterar uma parte da investimento no sistema, alterando apenas os campos presentes no documento (application/merge-patch+json)",
+            tags = { "investimento" }
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", content = { @Content(schema = @Schema(implementation = Investimento.class), mediaType = "application/json") }),
+            @ApiResponse(responseCode = "303", content = { @Content(schema = @Schema(implementation = Investimento.class), mediaType = "application/json") }),
+            @ApiResponse(responseCode = "404", content = { @Content(schema = @Schema()) }),
+            @ApiResponse(responseCode = "412", content = { @Content(schema = @Schema()) }),
+            @ApiResponse(responseCode = "500", content = { @Content(schema = @Schema()) }) }
+    )
+    @PatchMapping(value ="/{id}",
+            consumes = MergePatch.APPLICATION_MERGE_PATCH_JSON_VALUE,
+            produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinarioConfig.APPLICATION_SMILE_VALUE, BinarioConfig.APPLICATION_PROTOBUF_VALUE }
+    )
+    public ResponseEntity<Investimento> mergePatch(@PathVariable("id") Integer id, @RequestBody JsonNode patch, @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        log.info("Executado método InvestimentoResource.mergePatch");
+        log.debug("Executado método InvestimentoResource.mergePatch | valores: {} {}", id, patch);
+        return requisicaoCondicional.alterar(investimentoService, id, ifMatch, versao -> investimentoService.mergePatch(id, patch, versao));
     }
 
     @Override
@@ -125,16 +190,17 @@ public class InvestimentoResource implements IResource<Investimento, Integer> {
             @ApiResponse(responseCode = "200", content = { @Content(schema = @Schema(implementation = Investimento.class), mediaType = "application/json") }),
             @ApiResponse(responseCode = "303", content = { @Content(schema = @Schema(implementation = Investimento.class), mediaType = "application/json") }),
             @ApiResponse(responseCode = "404", content = { @Content(schema = @Schema()) }),
+            @ApiResponse(responseCode = "412", content = { @Content(schema = @Schema()) }),
             @ApiResponse(responseCode = "500", content = { @Content(schema = @Schema()) }) }
     )
     @PutMapping(value = "/{id}",
-            consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE },
-            produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE }
+            consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinarioConfig.APPLICATION_SMILE_VALUE, BinarioConfig.APPLICATION_PROTOBUF_VALUE },
+            produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinarioConfig.APPLICATION_SMILE_VALUE, BinarioConfig.APPLICATION_PROTOBUF_VALUE }
     )
-    public Investimento updateFull(@PathVariable("id") Integer id, @Valid @RequestBody Investimento entity) {
+    public ResponseEntity<Investimento> updateFull(@PathVariable("id") Integer id, @Valid @RequestBody Investimento entity, @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         log.info("Executado método InvestimentoResource.update");
-        log.debug(String.format("Executado método InvestimentoResource.update | valores: %s",entity.toString()));
-        return investimentoService.updateFull(id, entity);
+        log.debug("Executado método InvestimentoResource.update | valores: {}", entity);
+        return requisicaoCondicional.alterar(investimentoService, id, ifMatch, versao -> investimentoService.updateFull(id, entity, versao));
     }
 
     @Override
@@ -150,12 +216,12 @@ public class InvestimentoResource implements IResource<Investimento, Integer> {
             @ApiResponse(responseCode = "500", content = { @Content(schema = @Schema()) }) }
     )
     @PutMapping(
-            consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE },
-            produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE }
+            consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinarioConfig.APPLICATION_SMILE_VALUE, BinarioConfig.APPLICATION_PROTOBUF_VALUE },
+            produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinarioConfig.APPLICATION_SMILE_VALUE, BinarioConfig.APPLICATION_PROTOBUF_VALUE }
     )
     public Investimento update(@Valid @RequestBody Investimento entity) {
         log.info("Executando metodo update");
-        log.debug(String.format("Executado método InvestimentoResource.update | valores: %s",entity.toString()));
+        log.debug("Executado método InvestimentoResource.update | valores: {}", entity);
         return investimentoService.updateFull(entity);
     }
 
@@ -169,13 +235,14 @@ public class InvestimentoResource implements IResource<Investimento, Integer> {
             @ApiResponse(responseCode = "204", content = { @Content(schema = @Schema(implementation = Investimento.class), mediaType = "application/json") }),
             @ApiResponse(responseCode = "303", content = { @Content(schema = @Schema(implementation = Investimento.class), mediaType = "application/json") }),
             @ApiResponse(responseCode = "404", content = { @Content(schema = @Schema()) }),
+            @ApiResponse(responseCode = "412", content = { @Content(schema = @Schema()) }),
             @ApiResponse(responseCode = "500", content = { @Content(schema = @Schema()) }) }
     )
     @DeleteMapping("/{id}")
-    public void delete(@PathVariable("id") Integer id) {
+    public void delete(@PathVariable("id") Integer id, @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         log.info("Executado método InvestimentoResource.delete");
-        log.debug(String.format("Executado método InvestimentoResource.delete | valores: %d",id));
-        investimentoService.deleteById(id);
+        log.debug("Executado método InvestimentoResource.delete | valores: {}", id);
+        requisicaoCondicional.remover(investimentoService, id, ifMatch);
     }
 
     @Override
@@ -191,12 +258,189 @@ public class InvestimentoResource implements IResource<Investimento, Integer> {
             @ApiResponse(responseCode = "500", content = { @Content(schema = @Schema()) }) }
     )
     @DeleteMapping(
-            consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE },
-            produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE }
+            consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinarioConfig.APPLICATION_SMILE_VALUE, BinarioConfig.APPLICATION_PROTOBUF_VALUE },
+            produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinarioConfig.APPLICATION_SMILE_VALUE, BinarioConfig.APPLICATION_PROTOBUF_VALUE }
     )
     public void deleteByEntity(@Valid @RequestBody Investimento entity) {
         log.info("Executado método InvestimentoResource.delete");
-        log.debug(String.format("Executado método InvestimentoResource.delete | valores: %s",entity.toString()));
+        log.debug("Executado método InvestimentoResource.delete | valores: {}", entity);
         investimentoService.delete(entity);
     }
+
+    @Override
+    @Operation(
+            summary = "Criar investimentos em lote",
+            description = "Método responsável por criar investimentos em lote no sistema, com o resultado de cada item",
+            tags = { "investimento" }
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", content = { @Content(schema = @Schema(implementation = ResultadoItem.class), mediaType = "application/json") }),
+            @ApiResponse(responseCode = "500", content = { @Content(schema = @Schema()) }) }
+    )
+    @PostMapping(value = "/_bulk",
+            consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinarioConfig.APPLICATION_SMILE_VALUE },
+            produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinarioConfig.APPLICATION_SMILE_VALUE }
+    )
+    public List<ResultadoItem<Investimento, Integer>> createBulk(@RequestBody List<Investimento> entities) {
+        log.info("Executado método InvestimentoResource.createBulk | itens: {}", entities.size());
+        return investimentoService.createAll(entities);
+    }
+
+    @Override
+    @Operation(
+            summary = "Alterar investimentos em lote",
+            description = "Método responsável por alterar investimentos em lote no sistema, com o resultado de cada item",
+            tags = { "investimento" }
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", content = { @Content(schema = @Schema(implementation = ResultadoItem.class), mediaType = "application/json") }),
+            @ApiResponse(responseCode = "500", content = { @Content(schema = @Schema()) }) }
+    )
+    @PutMapping(value = "/_bulk",
+            consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinarioConfig.APPLICATION_SMILE_VALUE },
+            produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinarioConfig.APPLICATION_SMILE_VALUE }
+    )
+    public List<ResultadoItem<Investimento, Integer>> updateBulk(@RequestBody List<Investimento> entities) {
+        log.info("Executado método InvestimentoResource.updateBulk | itens: {}", entities.size());
+        return investimentoService.updateAll(entities);
+    }
+
+    @Override
+    @Operation(
+            summary = "Deletar investimentos em lote",
+            description = "Método responsável por deletar investimentos em lote no sistema, com o resultado de cada item",
+            tags = { "investimento" }
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", content = { @Content(schema = @Schema(implementation = ResultadoItem.class), mediaType = "application/json") }),
+            @ApiResponse(responseCode = "500", content = { @Content(schema = @Schema()) }) }
+    )
+    @DeleteMapping(value = "/_bulk",
+            consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinarioConfig.APPLICATION_SMILE_VALUE },
+            produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinarioConfig.APPLICATION_SMILE_VALUE }
+    )
+    public List<ResultadoItem<Investimento, Integer>> deleteBulk(@RequestBody List<Integer> ids) {
+        log.info("Executado método InvestimentoResource.deleteBulk | itens: {}", ids.size());
+        return investimentoService.deleteAllById(ids);
+    }
+
+    @Override
+    @Operation(
+            summary = "Lista investimentos por cursor",
+            description = "Método responsável por listar investimentos em ordem de identificador. Envie o cursor devolvido para obter a próxima página",
+            tags = { "investimento" }
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", content = { @Content(schema = @Schema(implementation = PaginaCursor.class), mediaType = "application/json") }),
+            @ApiResponse(responseCode = "400", content = { @Content(schema = @Schema()) }),
+            @ApiResponse(responseCode = "500", content = { @Content(schema = @Schema()) }) }
+    )
+    @GetMapping(value = "/_lista",
+            produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinarioConfig.APPLICATION_SMILE_VALUE, BinarioConfig.APPLICATION_PROTOBUF_VALUE }
+    )
+    public PaginaCursor<Investimento> list(@RequestParam(required = false) String cursor, @RequestParam(defaultValue = "50") int limite, @RequestParam(required = false) Set<String> expand) {
+        log.info("Executado método InvestimentoResource.list");
+        if (log.isDebugEnabled()) {
+            log.debug("Executado método InvestimentoResource.list | valores: {} {} {}", cursor, limite, expand);
+        }
+        return investimentoService.list(cursor, limite, expand);
+    }
+
+    @Override
+    @Operation(
+            summary = "Exporta todos os investimentos em NDJSON",
+            description = "Método responsável por exportar todos os investimentos do sistema, um objeto JSON por linha, sem carregar o resultado inteiro em memória",
+            tags = { "investimento" }
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", content = { @Content(schema = @Schema(implementation = Investimento.class), mediaType = NdjsonWriter.APPLICATION_NDJSON_VALUE) }),
+            @ApiResponse(responseCode = "500", content = { @Content(schema = @Schema()) }) }
+    )
+    @GetMapping(value = "/_lista",
+            produces = NdjsonWriter.APPLICATION_NDJSON_VALUE
+    )
+    public ResponseEntity<StreamingResponseBody> stream() {
+        log.info("Executado método InvestimentoResource.stream");
+        return ndjsonWriter.escrever(investimentoService);
+    }
+
+    @Operation(
+            summary = "Exporta todos os investimentos em CSV ou no formato colunar",
+            description = "Método responsável por exportar todos os investimentos do sistema em CSV (formato=csv) ou no formato colunar comprimido (formato=colunar), sem carregar o resultado em memória",
+            tags = { "investimento" }
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", content = { @Content(mediaType = LeitorCsv.TEXT_CSV_VALUE), @Content(mediaType = EscritorColunar.MEDIA_TYPE_VALUE) }),
+            @ApiResponse(responseCode = "400", content = { @Content(schema = @Schema()) }),
+            @ApiResponse(responseCode = "500", content = { @Content(schema = @Schema()) }) }
+    )
+    @GetMapping(value = "/_export")
+    public ResponseEntity<StreamingResponseBody> exportar(@RequestParam(defaultValue = "csv") String formato) {
+        log.info("Executado método InvestimentoResource.exportar");
+        log.debug("Executado método InvestimentoResource.exportar | valores: {}", formato);
+        ExportacaoService.Formato tipo = ExportacaoService.Formato.de(formato);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(tipo.getMediaType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename("investimento." + tipo.getExtensao()).build().toString())
+                .body(saida -> exportacaoService.exportar(Investimento.class, tipo, saida));
+    }
+
+    @Operation(
+            summary = "Registrar um lançamento de investimento",
+            description = "Método responsável por registrar um depósito, retirada ou rendimento no razão de investimento. O razão é somente de inclusão",
+            tags = { "investimento" }
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", content = { @Content(schema = @Schema(implementation = Lancamento.class), mediaType = "application/json") }),
+            @ApiResponse(responseCode = "400", content = { @Content(schema = @Schema()) }),
+            @ApiResponse(responseCode = "404", content = { @Content(schema = @Schema()) }),
+            @ApiResponse(responseCode = "500", content = { @Content(schema = @Schema()) }) }
+    )
+    @PostMapping(value = "/{id}/lancamentos",
+            consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinarioConfig.APPLICATION_SMILE_VALUE },
+            produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinarioConfig.APPLICATION_SMILE_VALUE }
+    )
+    public Lancamento lancar(@PathVariable("id") Integer id, @RequestBody Lancamento lancamento) {
+        log.info("Executado método InvestimentoResource.lancar");
+        log.debug("Executado método InvestimentoResource.lancar | valores: {} {}", id, lancamento);
+        return lancamentoService.lancar(LancamentoService.Titular.INVESTIMENTO, id, lancamento);
+    }
+
+    @Operation(
+            summary = "Recupera os lançamentos de investimento",
+            description = "Método responsável para recuperar os lançamentos do razão de investimento",
+            tags = { "investimento" }
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", content = { @Content(schema = @Schema(implementation = Lancamento.class), mediaType = "application/json") }),
+            @ApiResponse(responseCode = "404", content = { @Content(schema = @Schema()) }),
+            @ApiResponse(responseCode = "500", content = { @Content(schema = @Schema()) }) }
+    )
+    @GetMapping(value = "/{id}/lancamentos",
+            produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinarioConfig.APPLICATION_SMILE_VALUE }
+    )
+    public Page<Lancamento> lancamentos(@PathVariable("id") Integer id, @ParameterObject @SortDefault(sort = "dataHora", direction = Sort.Direction.DESC) Pageable pageable) {
+        log.info("Executado método InvestimentoResource.lancamentos");
+        log.debug("Executado método InvestimentoResource.lancamentos | valores: {} {}", id, pageable);
+        return lancamentoService.lancamentos(LancamentoService.Titular.INVESTIMENTO, id, pageable);
+    }
+
+    @Operation(
+            summary = "Recupera o saldo de investimento",
+            description = "Método responsável para recuperar o saldo atual de investimento: último saldo consolidado mais os lançamentos posteriores",
+            tags = { "investimento" }
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", content = { @Content(schema = @Schema(implementation = Saldo.class), mediaType = "application/json") }),
+            @ApiResponse(responseCode = "404", content = { @Content(schema = @Schema()) }),
+            @ApiResponse(responseCode = "500", content = { @Content(schema = @Schema()) }) }
+    )
+    @GetMapping(value = "/{id}/saldo",
+            produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinarioConfig.APPLICATION_SMILE_VALUE }
+    )
+    public Saldo saldo(@PathVariable("id") Integer id) {
+        log.info("Executado método InvestimentoResource.saldo");
+        log.debug("Executado método InvestimentoResource.saldo | valores: {}", id);
+        return lancamentoService.saldo(LancamentoService.Titular.INVESTIMENTO, id);
+    }
 }
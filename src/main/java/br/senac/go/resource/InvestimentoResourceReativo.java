@@ -0,0 +1,146 @@
+package br.senac.go.resource;
+
+import br.senac.go.config.ReativoConfig;
+import br.senac.go.interfaces.IResourceReativo;
+import br.senac.go.model.Investimento;
+import br.senac.go.service.InvestimentoServiceReativo;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import io.swagger.v3.oas.annotations.tags.Tags;
+import jakarta.validation.Valid;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Slf4j
+@RestController
+@Profile(ReativoConfig.PERFIL)
+@RequestMapping("api/investimento")
+@Tags({
+        @Tag(name = "investimento", description = "documentação ao resource investimento (perfil reativo)"),
+})
+public class InvestimentoResourceReativo implements IResourceReativo<Investimento, Integer> {
+
+    @Autowired
+    private InvestimentoServiceReativo investimentoService;
+
+    @Autowired
+    private RequisicaoCondicionalReativa requisicaoCondicional;
+
+    @Override
+    @Operation(
+            summary = "Criar um investimento",
+            description = "Método responsável por criar um investimento no sistema",
+            tags = { "investimento" }
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", content = { @Content(schema = @Schema(implementation = Investimento.class), mediaType = MediaType.APPLICATION_JSON_VALUE) }),
+            @ApiResponse(responseCode = "409", content = { @Content(schema = @Schema()) }),
+            @ApiResponse(responseCode = "500", content = { @Content(schema = @Schema()) })
+    })
+    @PostMapping(
+            consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public Mono<Investimento> create(@Valid @RequestBody Investimento entity) {
+        log.info("Executado método InvestimentoResourceReativo.create");
+        log.debug("Executado método InvestimentoResourceReativo.create | valores: {}", entity);
+        return investimentoService.create(entity);
+    }
+
+    @Override
+    @Operation(
+            summary = "Recupera os investimentos",
+            description = "Método responsável para recuperar os investimentos em ordem de id, a partir do id seguinte a depois e até limite registros. Em NDJSON os investimentos são enviados conforme o cliente consome",
+            tags = { "investimento" }
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", content = {
+                    @Content(schema = @Schema(implementation = Investimento.class), mediaType = MediaType.APPLICATION_JSON_VALUE),
+                    @Content(schema = @Schema(implementation = Investimento.class), mediaType = MediaType.APPLICATION_NDJSON_VALUE) }),
+            @ApiResponse(responseCode = "400", content = { @Content(schema = @Schema()) }),
+            @ApiResponse(responseCode = "500", content = { @Content(schema = @Schema()) }) }
+    )
+    @GetMapping(
+            produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE }
+    )
+    public Flux<Investimento> read(@RequestParam(required = false) Integer depois, @RequestParam(required = false) Integer limite) {
+        log.info("Executado método InvestimentoResourceReativo.read");
+        log.debug("Executado método InvestimentoResourceReativo.read | valores: {} {}", depois, limite);
+        return investimentoService.list(depois, limite);
+    }
+
+    @Override
+    @Operation(
+            summary = "Recupera um investimento",
+            description = "Método responsável para recuperar um investimento no sistema",
+            tags = { "investimento" }
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", content = { @Content(schema = @Schema(implementation = Investimento.class), mediaType = "application/json") }),
+            @ApiResponse(responseCode = "304", content = { @Content(schema = @Schema()) }),
+            @ApiResponse(responseCode = "404", content = { @Content(schema = @Schema()) }),
+            @ApiResponse(responseCode = "500", content = { @Content(schema = @Schema()) }) }
+    )
+    @GetMapping(value = "/{id}",
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public Mono<ResponseEntity<Investimento>> readById(@PathVariable("id") Integer id, @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        log.info("Executado método InvestimentoResourceReativo.readById");
+        log.debug("Executado método InvestimentoResourceReativo.readById | valores: {}", id);
+        return requisicaoCondicional.ler(investimentoService, id, ifNoneMatch);
+    }
+
+    @Override
+    @Operation(
+            summary = "Alterar um investimento todo",
+            description = "Método responsável para alterar um investimento por completo no sistema. As coleções do investimento não são alteradas",
+            tags = { "investimento" }
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", content = { @Content(schema = @Schema(implementation = Investimento.class), mediaType = "application/json") }),
+            @ApiResponse(responseCode = "404", content = { @Content(schema = @Schema()) }),
+            @ApiResponse(responseCode = "409", content = { @Content(schema = @Schema()) }),
+            @ApiResponse(responseCode = "412", content = { @Content(schema = @Schema()) }),
+            @ApiResponse(responseCode = "500", content = { @Content(schema = @Schema()) }) }
+    )
+    @PutMapping(value = "/{id}",
+            consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public Mono<ResponseEntity<Investimento>> updateFull(@PathVariable("id") Integer id, @Valid @RequestBody Investimento entity, @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        log.info("Executado método InvestimentoResourceReativo.updateFull");
+        log.debug("Executado método InvestimentoResourceReativo.updateFull | valores: {} {}", id, entity);
+        return requisicaoCondicional.alterar(investimentoService, id, ifMatch, versao -> investimentoService.updateFull(id, entity, versao));
+    }
+
+    @Override
+    @Operation(
+            summary = "Deletar um investimento",
+            description = "Método responsável por deletar um investimento no sistema",
+            tags = { "investimento" }
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", content = { @Content(schema = @Schema()) }),
+            @ApiResponse(responseCode = "404", content = { @Content(schema = @Schema()) }),
+            @ApiResponse(responseCode = "409", content = { @Content(schema = @Schema()) }),
+            @ApiResponse(responseCode = "412", content = { @Content(schema = @Schema()) }),
+            @ApiResponse(responseCode = "500", content = { @Content(schema = @Schema()) }) }
+    )
+    @DeleteMapping("/{id}")
+    public Mono<Void> delete(@PathVariable("id") Integer id, @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        log.info("Executado método InvestimentoResourceReativo.delete");
+        log.debug("Executado método InvestimentoResourceReativo.delete | valores: {}", id);
+        return requisicaoCondicional.remover(investimentoService, id, ifMatch);
+    }
+}
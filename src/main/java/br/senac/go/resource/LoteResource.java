@@ -0,0 +1,63 @@
+package br.senac.go.resource;
+
+import br.senac.go.config.BinarioConfig;
+import br.senac.go.config.ReativoConfig;
+import br.senac.go.dto.OperacaoLote;
+import br.senac.go.dto.ResultadoItem;
+import br.senac.go.service.LoteService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@Slf4j
+@RestController
+@Profile("!" + ReativoConfig.PERFIL)
+@RequestMapping("api/_batch")
+@Tag(name = "batch", description = "documentação ao resource de operações em várias entidades em uma transação")
+public class LoteResource {
+
+    @Autowired
+    private LoteService loteService;
+
+    @Operation(
+            summary = "Executar várias operações em uma transação",
+            description = "Método responsável por executar, na ordem e em uma única transação, operações POST, GET, PUT, PATCH e DELETE sobre carteira, conta, investimento, pessoa, tipoconta e tipoinvestimento. "
+                    + "Uma operação com ref pode ter o seu id usado pelas seguintes como \"${ref}\". Na primeira falha tudo é desfeito: a resposta tem o status dessa operação e as demais ficam com 424",
+            tags = { "batch" }
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", content = { @Content(schema = @Schema(implementation = ResultadoItem.class), mediaType = "application/json") }),
+            @ApiResponse(responseCode = "400", content = { @Content(schema = @Schema()) }),
+            @ApiResponse(responseCode = "404", content = { @Content(schema = @Schema(implementation = ResultadoItem.class), mediaType = "application/json") }),
+            @ApiResponse(responseCode = "409", content = { @Content(schema = @Schema(implementation = ResultadoItem.class), mediaType = "application/json") }),
+            @ApiResponse(responseCode = "500", content = { @Content(schema = @Schema()) }) }
+    )
+    @PostMapping(
+            consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinarioConfig.APPLICATION_SMILE_VALUE },
+            produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinarioConfig.APPLICATION_SMILE_VALUE }
+    )
+    public ResponseEntity<List<ResultadoItem<Object, Integer>>> executar(@RequestBody List<OperacaoLote> operacoes) {
+        log.info("Executado método LoteResource.executar | operações: {}", operacoes.size());
+        log.debug("Executado método LoteResource.executar | valores: {}", operacoes);
+        List<ResultadoItem<Object, Integer>> resultados = loteService.executar(operacoes);
+        //com falha, o status da resposta é o da operação que desfez o lote
+        int status = resultados.stream()
+                .mapToInt(ResultadoItem::getStatus)
+                .filter(s -> s >= 400 && s != HttpStatus.FAILED_DEPENDENCY.value())
+                .findFirst()
+                .orElse(HttpStatus.OK.value());
+        return ResponseEntity.status(status).body(resultados);
+    }
+}
@@ -0,0 +1,63 @@
+package br.senac.go.resource;
+
+import br.senac.go.interfaces.IService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Escreve todos os registros de um service como NDJSON (um objeto JSON por linha),
+ * direto no corpo da resposta e à medida que são lidos do banco.
+ */
+@Component
+public class NdjsonWriter {
+
+    public static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+
+    /**
+     * Intervalo (em registros) entre os flushes da resposta.
+     */
+    private static final int INTERVALO_FLUSH = 500;
+
+    private final ObjectWriter writer;
+
+    @Autowired
+    public NdjsonWriter(ObjectMapper objectMapper) {
+        this.writer = objectMapper.writer()
+                .withRootValueSeparator("\n")
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+
+    public <T> ResponseEntity<StreamingResponseBody> escrever(IService<T, ?> service) {
+        StreamingResponseBody corpo = saida -> {
+            int[] escritos = { 0 };
+            try (SequenceWriter sequencia = writer.writeValues(saida)) {
+                service.scroll(entity -> {
+                    try {
+                        sequencia.write(entity);
+                        if (++escritos[0] % INTERVALO_FLUSH == 0) {
+                            sequencia.flush();
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+            if (escritos[0] > 0) {
+                saida.write('\n');
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(APPLICATION_NDJSON_VALUE))
+                .body(corpo);
+    }
+}
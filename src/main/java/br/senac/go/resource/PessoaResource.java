@@ -1,8 +1,20 @@
 package br.senac.go.resource;
 
+import br.senac.go.config.BinarioConfig;
+import br.senac.go.config.ReativoConfig;
+import br.senac.go.dto.PaginaCursor;
+import br.senac.go.dto.Periodo;
+import br.senac.go.dto.ResultadoImportacao;
+import br.senac.go.dto.ResultadoItem;
 import br.senac.go.interfaces.IResource;
+import br.senac.go.model.EstadoImportacao;
+import br.senac.go.model.Importacao;
 import br.senac.go.model.Pessoa;
+import br.senac.go.service.ImportacaoService;
+import br.senac.go.service.LeitorCsv;
+import br.senac.go.service.MergePatch;
 import br.senac.go.service.PessoaService;
+import com.fasterxml.jackson.databind.JsonNode;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -10,15 +22,32 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.tags.Tags;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
+import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
 
 
 @Slf4j
 @RestController
+@Profile("!" + ReativoConfig.PERFIL) //no perfil reativo api/pessoa é atendido por PessoaResourceReativo
 @RequestMapping("api/pessoa")
 @Tags({
         @Tag(name = "pessoa", description = "documentação ao resource pessoa"),
@@ -28,6 +57,15 @@ public class PessoaResource implements IResource<Pessoa, Integer> {
     @Autowired
     private PessoaService pessoaService;
 
+    @Autowired
+    private ImportacaoService importacaoService;
+
+    @Autowired
+    private NdjsonWriter ndjsonWriter;
+
+    @Autowired
+    private RequisicaoCondicional requisicaoCondicional;
+
     @Override
     @Operation(
             summary = "Criar uma pessoa",
@@ -42,12 +80,12 @@ public class PessoaResource implements IResource<Pessoa, Integer> {
             @ApiResponse(responseCode = "500", content = { @Content(schema = @Schema()) })
     })
     @PostMapping(
-            consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE },
-            produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE }
+            consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinarioConfig.APPLICATION_SMILE_VALUE, BinarioConfig.APPLICATION_PROTOBUF_VALUE },
+            produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinarioConfig.APPLICATION_SMILE_VALUE, BinarioConfig.APPLICATION_PROTOBUF_VALUE }
     )
     public Pessoa create(@Valid @RequestBody Pessoa entity) {
         log.info("Executado método PessoaResource.create");
-        log.debug(String.format("Executado método PessoaResource.create | valores: %s",entity.toString()));
+        log.debug("Executado método PessoaResource.create | valores: {}", entity);
         return pessoaService.create(entity);
     }
 
@@ -64,13 +102,14 @@ public class PessoaResource implements IResource<Pessoa, Integer> {
             @ApiResponse(responseCode = "500", content = { @Content(schema = @Schema()) }) }
     )
     @GetMapping(
-            consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE },
-            produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE }
+            produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinarioConfig.APPLICATION_SMILE_VALUE, BinarioConfig.APPLICATION_PROTOBUF_VALUE }
     )
-    public Pessoa read(@Valid @RequestBody Pessoa entity) throws Exception {
+    public Page<Pessoa> read(@ParameterObject Pessoa entity, @ParameterObject Periodo periodo, @ParameterObject Pageable pageable, @RequestParam(required = false) Set<String> expand) throws Exception {
         log.info("Executado método PessoaResource.read");
-        log.debug(String.format("Executado método PessoaResource.read | valores: %s",entity.toString()));
-        return pessoaService.read(entity);
+        if (log.isDebugEnabled()) {
+            log.debug("Executado método PessoaResource.read | valores: {} {} {} {}", entity, periodo, pageable, expand);
+        }
+        return pessoaService.read(entity, periodo, pageable, expand);
     }
 
     @Override
@@ -82,16 +121,17 @@ public class PessoaResource implements IResource<Pessoa, Integer> {
     @ApiResponses({
             @ApiResponse(responseCode = "200", content = { @Content(schema = @Schema(implementation = Pessoa.class), mediaType = "application/json") }),
             @ApiResponse(responseCode = "303", content = { @Content(schema = @Schema(implementation = Pessoa.class), mediaType = "application/json") }),
+            @ApiResponse(responseCode = "304", content = { @Content(schema = @Schema()) }),
             @ApiResponse(responseCode = "404", content = { @Content(schema = @Schema()) }),
             @ApiResponse(responseCode = "500", content = { @Content(schema = @Schema()) }) }
     )
     @GetMapping(value = "/{id}",
-            produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE }
+            produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinarioConfig.APPLICATION_SMILE_VALUE, BinarioConfig.APPLICATION_PROTOBUF_VALUE }
     )
-    public Pessoa readById(@PathVariable("id") Integer id) throws Exception {
+    public ResponseEntity<Pessoa> readById(@PathVariable("id") Integer id, @RequestParam(required = false) Set<String> expand, @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) throws Exception {
         log.info("Executado método PessoaResource.readById");
-        log.debug(String.format("Executado método PessoaResource.readById | valores: %d",id));
-        return pessoaService.readById(id);
+        log.debug("Executado método PessoaResource.readById | valores: {} {}", id, expand);
+        return requisicaoCondicional.ler(pessoaService, id, expand, ifNoneMatch);
     }
 
     @Override
@@ -104,16 +144,40 @@ public class PessoaResource implements IResource<Pessoa, Integer> {
             @ApiResponse(responseCode = "200", content = { @Content(schema = @Schema(implementation = Pessoa.class), mediaType = "application/json") }),
             @ApiResponse(responseCode = "303", content = { @Content(schema = @Schema(implementation = Pessoa.class), mediaType = "application/json") }),
             @ApiResponse(responseCode = "404", content = { @Content(schema = @Schema()) }),
+            @ApiResponse(responseCode = "412", content = { @Content(schema = @Schema()) }),
             @ApiResponse(responseCode = "500", content = { @Content(schema = @Schema()) }) }
     )
     @PatchMapping(value ="/{id}",
-            consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE },
-            produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE }
+            consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinarioConfig.APPLICATION_SMILE_VALUE, BinarioConfig.APPLICATION_PROTOBUF_VALUE },
+            produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinarioConfig.APPLICATION_SMILE_VALUE, BinarioConfig.APPLICATION_PROTOBUF_VALUE }
     )
-    public Pessoa updatePart(@PathVariable("id") Integer id, @Valid @RequestBody Pessoa entity) throws Exception {
+    public ResponseEntity<Pessoa> updatePart(@PathVariable("id") Integer id, @Valid @RequestBody Pessoa entity, @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) throws Exception {
         log.info("Executado método PessoaResource.update");
-        log.debug(String.format("Executado método PessoaResource.update | valores: %s",entity.toString()));
-        return pessoaService.updatePart(id, entity);
+        log.debug("Executado método PessoaResource.update | valores: {}", entity);
+        return requisicaoCondicional.alterar(pessoaService, id, ifMatch, versao -> pessoaService.updatePart(id, entity, versao));
+    }
+
+    @Override
+    @Operation(
+            summary = "Alterar uma parte da pessoa com JSON Merge Patch",
+            description = "Método responsável para alterar uma parte da pessoa no sistema, alterando apenas os campos presentes no documento (application/merge-patch+json)",
+            tags = { "pessoa" }
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", content = { @Content(schema = @Schema(implementation = Pessoa.class), mediaType = "application/json") }),
+            @ApiResponse(responseCode = "303", content = { @Content(schema = @Schema(implementation = Pessoa.class), mediaType = "application/json") }),
+            @ApiResponse(responseCode = "404", content = { @Content(schema = @Schema()) }),
+            @ApiResponse(responseCode = "412", content = { @Content(schema = @Schema()) }),
+            @ApiResponse(responseCode = "500", content = { @Content(schema = @Schema()) }) }
+    )
+    @PatchMapping(value ="/{id}",
+            consumes = MergePatch.APPLICATION_MERGE_PATCH_JSON_VALUE,
+            produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinarioConfig.APPLICATION_SMILE_VALUE, BinarioConfig.APPLICATION_PROTOBUF_VALUE }
+    )
+    public ResponseEntity<Pessoa> mergePatch(@PathVariable("id") Integer id, @RequestBody JsonNode patch, @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        log.info("Executado método PessoaResource.mergePatch");
+        log.debug("Executado método PessoaResource.mergePatch | valores: {} {}", id, patch);
+        return requisicaoCondicional.alterar(pessoaService, id, ifMatch, versao -> pessoaService.mergePatch(id, patch, versao));
     }
 
     @Override
@@ -126,16 +190,17 @@ public class PessoaResource implements IResource<Pessoa, Integer> {
             @ApiResponse(responseCode = "200", content = { @Content(schema = @Schema(implementation = Pessoa.class), mediaType = "application/json") }),
             @ApiResponse(responseCode = "303", content = { @Content(schema = @Schema(implementation = Pessoa.class), mediaType = "application/json") }),
             @ApiResponse(responseCode = "404", content = { @Content(schema = @Schema()) }),
+            @ApiResponse(responseCode = "412", content = { @Content(schema = @Schema()) }),
             @ApiResponse(responseCode = "500", content = { @Content(schema = @Schema()) }) }
     )
     @PutMapping(value = "/{id}",
-            consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE },
-            produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE }
+            consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinarioConfig.APPLICATION_SMILE_VALUE, BinarioConfig.APPLICATION_PROTOBUF_VALUE },
+            produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinarioConfig.APPLICATION_SMILE_VALUE, BinarioConfig.APPLICATION_PROTOBUF_VALUE }
     )
-    public Pessoa updateFull(@PathVariable("id") Integer id, @Valid @RequestBody Pessoa entity) {
+    public ResponseEntity<Pessoa> updateFull(@PathVariable("id") Integer id, @Valid @RequestBody Pessoa entity, @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         log.info("Executado método PessoaResource.update");
-        log.debug(String.format("Executado método PessoaResource.update | valores: %s",entity.toString()));
-        return pessoaService.updateFull(id, entity);
+        log.debug("Executado método PessoaResource.update | valores: {}", entity);
+        return requisicaoCondicional.alterar(pessoaService, id, ifMatch, versao -> pessoaService.updateFull(id, entity, versao));
     }
 
     @Override
@@ -151,12 +216,12 @@ public class PessoaResource implements IResource<Pessoa, Integer> {
             @ApiResponse(responseCode = "500", content = { @Content(schema = @Schema()) }) }
     )
     @PutMapping(
-            consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE },
-            produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE }
+            consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinarioConfig.APPLICATION_SMILE_VALUE, BinarioConfig.APPLICATION_PROTOBUF_VALUE },
+            produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinarioConfig.APPLICATION_SMILE_VALUE, BinarioConfig.APPLICATION_PROTOBUF_VALUE }
     )
     public Pessoa update(@Valid @RequestBody Pessoa entity) {
         log.info("Executando metodo update");
-        log.debug(String.format("Executado método PessoaResource.update | valores: %s",entity.toString()));
+        log.debug("Executado método PessoaResource.update | valores: {}", entity);
         return pessoaService.updateFull(entity);
     }
 
@@ -170,13 +235,14 @@ public class PessoaResource implements IResource<Pessoa, Integer> {
             @ApiResponse(responseCode = "204", content = { @Content(schema = @Schema(implementation = Pessoa.class), mediaType = "application/json") }),
             @ApiResponse(responseCode = "303", content = { @Content(schema = @Schema(implementation = Pessoa.class), mediaType = "application/json") }),
             @ApiResponse(responseCode = "404", content = { @Content(schema = @Schema()) }),
+            @ApiResponse(responseCode = "412", content = { @Content(schema = @Schema()) }),
             @ApiResponse(responseCode = "500", content = { @Content(schema = @Schema()) }) }
     )
     @DeleteMapping("/{id}")
-    public void delete(@PathVariable("id") Integer id) {
+    public void delete(@PathVariable("id") Integer id, @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         log.info("Executado método PessoaResource.delete");
-        log.debug(String.format("Executado método PessoaResource.delete | valores: %d",id));
-        pessoaService.deleteById(id);
+        log.debug("Executado método PessoaResource.delete | valores: {}", id);
+        requisicaoCondicional.remover(pessoaService, id, ifMatch);
     }
 
     @Override
@@ -192,12 +258,155 @@ public class PessoaResource implements IResource<Pessoa, Integer> {
             @ApiResponse(responseCode = "500", content = { @Content(schema = @Schema()) }) }
     )
     @DeleteMapping(
-            consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE },
-            produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE }
+            consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinarioConfig.APPLICATION_SMILE_VALUE, BinarioConfig.APPLICATION_PROTOBUF_VALUE },
+            produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinarioConfig.APPLICATION_SMILE_VALUE, BinarioConfig.APPLICATION_PROTOBUF_VALUE }
     )
     public void deleteByEntity(@Valid @RequestBody Pessoa entity) {
         log.info("Executado método PessoaResource.delete");
-        log.debug(String.format("Executado método PessoaResource.delete | valores: %s",entity.toString()));
+        log.debug("Executado método PessoaResource.delete | valores: {}", entity);
         pessoaService.delete(entity);
     }
+
+    @Override
+    @Operation(
+            summary = "Criar pessoas em lote",
+            description = "Método responsável por criar pessoas em lote no sistema, com o resultado de cada item",
+            tags = { "pessoa" }
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", content = { @Content(schema = @Schema(implementation = ResultadoItem.class), mediaType = "application/json") }),
+            @ApiResponse(responseCode = "500", content = { @Content(schema = @Schema()) }) }
+    )
+    @PostMapping(value = "/_bulk",
+            consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinarioConfig.APPLICATION_SMILE_VALUE },
+            produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinarioConfig.APPLICATION_SMILE_VALUE }
+    )
+    public List<ResultadoItem<Pessoa, Integer>> createBulk(@RequestBody List<Pessoa> entities) {
+        log.info("Executado método PessoaResource.createBulk | itens: {}", entities.size());
+        return pessoaService.createAll(entities);
+    }
+
+    @Override
+    @Operation(
+            summary = "Alterar pessoas em lote",
+            description = "Método responsável por alterar pessoas em lote no sistema, com o resultado de cada item",
+            tags = { "pessoa" }
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", content = { @Content(schema = @Schema(implementation = ResultadoItem.class), mediaType = "application/json") }),
+            @ApiResponse(responseCode = "500", content = { @Content(schema = @Schema()) }) }
+    )
+    @PutMapping(value = "/_bulk",
+            consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinarioConfig.APPLICATION_SMILE_VALUE },
+            produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinarioConfig.APPLICATION_SMILE_VALUE }
+    )
+    public List<ResultadoItem<Pessoa, Integer>> updateBulk(@RequestBody List<Pessoa> entities) {
+        log.info("Executado método PessoaResource.updateBulk | itens: {}", entities.size());
+        return pessoaService.updateAll(entities);
+    }
+
+    @Override
+    @Operation(
+            summary = "Deletar pessoas em lote",
+            description = "Método responsável por deletar pessoas em lote no sistema, com o resultado de cada item",
+            tags = { "pessoa" }
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", content = { @Content(schema = @Schema(implementation = ResultadoItem.class), mediaType = "application/json") }),
+            @ApiResponse(responseCode = "500", content = { @Content(schema = @Schema()) }) }
+    )
+    @DeleteMapping(value = "/_bulk",
+            consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinarioConfig.APPLICATION_SMILE_VALUE },
+            produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinarioConfig.APPLICATION_SMILE_VALUE }
+    )
+    public List<ResultadoItem<Pessoa, Integer>> deleteBulk(@RequestBody List<Integer> ids) {
+        log.info("Executado método PessoaResource.deleteBulk | itens: {}", ids.size());
+        return pessoaService.deleteAllById(ids);
+    }
+
+    @Override
+    @Operation(
+            summary = "Lista pessoas por cursor",
+            description = "Método responsável por listar pessoas em ordem de identificador. Envie o cursor devolvido para obter a próxima página",
+            tags = { "pessoa" }
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", content = { @Content(schema = @Schema(implementation = PaginaCursor.class), mediaType = "application/json") }),
+            @ApiResponse(responseCode = "400", content = { @Content(schema = @Schema()) }),
+            @ApiResponse(responseCode = "500", content = { @Content(schema = @Schema()) }) }
+    )
+    @GetMapping(value = "/_lista",
+            produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinarioConfig.APPLICATION_SMILE_VALUE, BinarioConfig.APPLICATION_PROTOBUF_VALUE }
+    )
+    public PaginaCursor<Pessoa> list(@RequestParam(required = false) String cursor, @RequestParam(defaultValue = "50") int limite, @RequestParam(required = false) Set<String> expand) {
+        log.info("Executado método PessoaResource.list");
+        if (log.isDebugEnabled()) {
+            log.debug("Executado método PessoaResource.list | valores: {} {} {}", cursor, limite, expand);
+        }
+        return pessoaService.list(cursor, limite, expand);
+    }
+
+    @Override
+    @Operation(
+            summary = "Exporta todas as pessoas em NDJSON",
+            description = "Método responsável por exportar todas as pessoas do sistema, um objeto JSON por linha, sem carregar o resultado inteiro em memória",
+            tags = { "pessoa" }
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", content = { @Content(schema = @Schema(implementation = Pessoa.class), mediaType = NdjsonWriter.APPLICATION_NDJSON_VALUE) }),
+            @ApiResponse(responseCode = "500", content = { @Content(schema = @Schema()) }) }
+    )
+    @GetMapping(value = "/_lista",
+            produces = NdjsonWriter.APPLICATION_NDJSON_VALUE
+    )
+    public ResponseEntity<StreamingResponseBody> stream() {
+        log.info("Executado método PessoaResource.stream");
+        return ndjsonWriter.escrever(pessoaService);
+    }
+
+    @Operation(
+            summary = "Importar pessoas de um arquivo CSV",
+            description = "Método responsável por importar pessoas de um CSV (colunas nome, endereco, carteira e conta) lido e gravado em lotes, sem carregar o arquivo em memória. Envie importacao com o id de uma importação interrompida e o mesmo arquivo para continuar do último lote gravado",
+            tags = { "pessoa" }
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "201", content = { @Content(schema = @Schema(implementation = ResultadoImportacao.class), mediaType = "application/json") }),
+            @ApiResponse(responseCode = "400", content = { @Content(schema = @Schema()) }),
+            @ApiResponse(responseCode = "404", content = { @Content(schema = @Schema()) }),
+            @ApiResponse(responseCode = "409", content = { @Content(schema = @Schema()) }),
+            @ApiResponse(responseCode = "500", content = { @Content(schema = @Schema(implementation = ResultadoImportacao.class), mediaType = "application/json") }) }
+    )
+    @PostMapping(value = "/_import",
+            consumes = LeitorCsv.TEXT_CSV_VALUE,
+            produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinarioConfig.APPLICATION_SMILE_VALUE }
+    )
+    public ResponseEntity<ResultadoImportacao> importar(HttpServletRequest request, @RequestParam(value = "importacao", required = false) Integer retomar) throws IOException {
+        log.info("Executado método PessoaResource.importar");
+        log.debug("Executado método PessoaResource.importar | valores: {}", retomar);
+        Charset charset = request.getCharacterEncoding() == null ? StandardCharsets.UTF_8 : Charset.forName(request.getCharacterEncoding());
+        ResultadoImportacao resultado = importacaoService.importar(new InputStreamReader(request.getInputStream(), charset), "requisição", retomar);
+        if (resultado.getImportacao().getEstado() != EstadoImportacao.CONCLUIDA) {
+            return ResponseEntity.internalServerError().body(resultado);
+        }
+        return ResponseEntity.created(URI.create("/api/pessoa/_import/" + resultado.getImportacao().getId())).body(resultado);
+    }
+
+    @Operation(
+            summary = "Progresso de uma importação CSV",
+            description = "Método responsável por recuperar as linhas processadas, importadas e rejeitadas e a situação de uma importação",
+            tags = { "pessoa" }
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", content = { @Content(schema = @Schema(implementation = Importacao.class), mediaType = "application/json") }),
+            @ApiResponse(responseCode = "404", content = { @Content(schema = @Schema()) }),
+            @ApiResponse(responseCode = "500", content = { @Content(schema = @Schema()) }) }
+    )
+    @GetMapping(value = "/_import/{id}",
+            produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinarioConfig.APPLICATION_SMILE_VALUE }
+    )
+    public Importacao importacao(@PathVariable("id") Integer id) {
+        log.info("Executado método PessoaResource.importacao");
+        log.debug("Executado método PessoaResource.importacao | valores: {}", id);
+        return importacaoService.readById(id);
+    }
 }
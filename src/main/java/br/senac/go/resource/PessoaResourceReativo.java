@@ -0,0 +1,146 @@
+package br.senac.go.resource;
+
+import br.senac.go.config.ReativoConfig;
+import br.senac.go.interfaces.IResourceReativo;
+import br.senac.go.model.Pessoa;
+import br.senac.go.service.PessoaServiceReativo;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import io.swagger.v3.oas.annotations.tags.Tags;
+import jakarta.validation.Valid;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Slf4j
+@RestController
+@Profile(ReativoConfig.PERFIL)
+@RequestMapping("api/pessoa")
+@Tags({
+        @Tag(name = "pessoa", description = "documentação ao resource pessoa (perfil reativo)"),
+})
+public class PessoaResourceReativo implements IResourceReativo<Pessoa, Integer> {
+
+    @Autowired
+    private PessoaServiceReativo pessoaService;
+
+    @Autowired
+    private RequisicaoCondicionalReativa requisicaoCondicional;
+
+    @Override
+    @Operation(
+            summary = "Criar uma pessoa",
+            description = "Método responsável por criar uma pessoa no sistema",
+            tags = { "pessoa" }
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", content = { @Content(schema = @Schema(implementation = Pessoa.class), mediaType = MediaType.APPLICATION_JSON_VALUE) }),
+            @ApiResponse(responseCode = "409", content = { @Content(schema = @Schema()) }),
+            @ApiResponse(responseCode = "500", content = { @Content(schema = @Schema()) })
+    })
+    @PostMapping(
+            consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public Mono<Pessoa> create(@Valid @RequestBody Pessoa entity) {
+        log.info("Executado método PessoaResourceReativo.create");
+        log.debug("Executado método PessoaResourceReativo.create | valores: {}", entity);
+        return pessoaService.create(entity);
+    }
+
+    @Override
+    @Operation(
+            summary = "Recupera as pessoas",
+            description = "Método responsável para recuperar as pessoas em ordem de id, a partir do id seguinte a depois e até limite registros. Em NDJSON as pessoas são enviadas conforme o cliente consome",
+            tags = { "pessoa" }
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", content = {
+                    @Content(schema = @Schema(implementation = Pessoa.class), mediaType = MediaType.APPLICATION_JSON_VALUE),
+                    @Content(schema = @Schema(implementation = Pessoa.class), mediaType = MediaType.APPLICATION_NDJSON_VALUE) }),
+            @ApiResponse(responseCode = "400", content = { @Content(schema = @Schema()) }),
+            @ApiResponse(responseCode = "500", content = { @Content(schema = @Schema()) }) }
+    )
+    @GetMapping(
+            produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE }
+    )
+    public Flux<Pessoa> read(@RequestParam(required = false) Integer depois, @RequestParam(required = false) Integer limite) {
+        log.info("Executado método PessoaResourceReativo.read");
+        log.debug("Executado método PessoaResourceReativo.read | valores: {} {}", depois, limite);
+        return pessoaService.list(depois, limite);
+    }
+
+    @Override
+    @Operation(
+            summary = "Recupera uma pessoa",
+            description = "Método responsável para recuperar uma pessoa no sistema",
+            tags = { "pessoa" }
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", content = { @Content(schema = @Schema(implementation = Pessoa.class), mediaType = "application/json") }),
+            @ApiResponse(responseCode = "304", content = { @Content(schema = @Schema()) }),
+            @ApiResponse(responseCode = "404", content = { @Content(schema = @Schema()) }),
+            @ApiResponse(responseCode = "500", content = { @Content(schema = @Schema()) }) }
+    )
+    @GetMapping(value = "/{id}",
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public Mono<ResponseEntity<Pessoa>> readById(@PathVariable("id") Integer id, @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        log.info("Executado método PessoaResourceReativo.readById");
+        log.debug("Executado método PessoaResourceReativo.readById | valores: {}", id);
+        return requisicaoCondicional.ler(pessoaService, id, ifNoneMatch);
+    }
+
+    @Override
+    @Operation(
+            summary = "Alterar uma pessoa toda",
+            description = "Método responsável para alterar uma pessoa por completo no sistema. Carteira, conta e investimento são gravados apenas pelo id",
+            tags = { "pessoa" }
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", content = { @Content(schema = @Schema(implementation = Pessoa.class), mediaType = "application/json") }),
+            @ApiResponse(responseCode = "404", content = { @Content(schema = @Schema()) }),
+            @ApiResponse(responseCode = "409", content = { @Content(schema = @Schema()) }),
+            @ApiResponse(responseCode = "412", content = { @Content(schema = @Schema()) }),
+            @ApiResponse(responseCode = "500", content = { @Content(schema = @Schema()) }) }
+    )
+    @PutMapping(value = "/{id}",
+            consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public Mono<ResponseEntity<Pessoa>> updateFull(@PathVariable("id") Integer id, @Valid @RequestBody Pessoa entity, @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        log.info("Executado método PessoaResourceReativo.updateFull");
+        log.debug("Executado método PessoaResourceReativo.updateFull | valores: {} {}", id, entity);
+        return requisicaoCondicional.alterar(pessoaService, id, ifMatch, versao -> pessoaService.updateFull(id, entity, versao));
+    }
+
+    @Override
+    @Operation(
+            summary = "Deletar uma pessoa",
+            description = "Método responsável por deletar uma pessoa no sistema",
+            tags = { "pessoa" }
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", content = { @Content(schema = @Schema()) }),
+            @ApiResponse(responseCode = "404", content = { @Content(schema = @Schema()) }),
+            @ApiResponse(responseCode = "409", content = { @Content(schema = @Schema()) }),
+            @ApiResponse(responseCode = "412", content = { @Content(schema = @Schema()) }),
+            @ApiResponse(responseCode = "500", content = { @Content(schema = @Schema()) }) }
+    )
+    @DeleteMapping("/{id}")
+    public Mono<Void> delete(@PathVariable("id") Integer id, @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        log.info("Executado método PessoaResourceReativo.delete");
+        log.debug("Executado método PessoaResourceReativo.delete | valores: {}", id);
+        return requisicaoCondicional.remover(pessoaService, id, ifMatch);
+    }
+}
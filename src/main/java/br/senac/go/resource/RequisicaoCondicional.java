@@ -0,0 +1,158 @@
+package br.senac.go.resource;
+
+import br.senac.go.interfaces.IService;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Requisições condicionais com ETag igual à versão ({@code @Version}) do registro.
+ * <p>
+ * Na leitura por id, If-None-Match é comparado apenas com a versão atual (vinda do cache
+ * de segundo nível na maioria das vezes): quando o cliente já tem essa versão a resposta
+ * é 304, sem ler as associações nem serializar o registro. Nas alterações e na remoção,
+ * If-Match vira a versão esperada repassada ao service, que a confere e grava com
+ * {@code WHERE VERSAO = ?} na mesma transação; qualquer divergência é respondida com 412.
+ * <p>
+ * Com {@code expand} o corpo traz as associações, cujas alterações não mudam a versão do
+ * registro: essas leituras não têm ETag nem 304. As leituras respondem com
+ * {@code Vary: Accept}, pois a mesma versão é servida em vários formatos.
+ */
+@Component
+public class RequisicaoCondicional {
+
+    private static final String QUALQUER = "*";
+
+    private static final String FRACA = "W/";
+
+    public <T, N> ResponseEntity<T> ler(IService<T, N> service, N id, Set<String> expand, String ifNoneMatch) throws Exception {
+        if (expand != null && !expand.isEmpty()) {
+            return ResponseEntity.ok().varyBy(HttpHeaders.ACCEPT).body(service.readById(id, expand));
+        }
+        Object versao = service.versaoAtual(id);
+        if (naoModificado(ifNoneMatch, versao)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag(versao)).varyBy(HttpHeaders.ACCEPT).build();
+        }
+        T entity = service.readById(id, expand);
+        return lido(etag(service.versao(entity)), entity);
+    }
+
+    /**
+     * Resposta 200 de uma leitura por id, com a ETag da versão lida.
+     */
+    public <T> ResponseEntity<T> lido(String etag, T entity) {
+        ResponseEntity.BodyBuilder resposta = ResponseEntity.ok().varyBy(HttpHeaders.ACCEPT);
+        return etag == null ? resposta.body(entity) : resposta.eTag(etag).body(entity);
+    }
+
+    /**
+     * Se o cliente já tem a versão informada (If-None-Match), ou seja, se a resposta é 304.
+     */
+    public boolean naoModificado(String ifNoneMatch, Object versao) {
+        String etag = etag(versao);
+        return etag != null && ifNoneMatch != null && contem(ifNoneMatch, etag, true);
+    }
+
+    /**
+     * Se a versão informada atende If-Match. Sem o cabeçalho, ou com {@code *}, qualquer
+     * versão atende.
+     */
+    public boolean atende(String ifMatch, Object versao) {
+        if (ifMatch == null || ifMatch.isBlank()) {
+            return true;
+        }
+        String etag = etag(versao);
+        return etag != null && contem(ifMatch, etag, false);
+    }
+
+    /**
+     * Executa a alteração com a versão esperada extraída de If-Match (nula quando o
+     * cabeçalho não foi enviado ou é {@code *}).
+     */
+    public <T, N> ResponseEntity<T> alterar(IService<T, N> service, N id, String ifMatch, Function<Object, T> alteracao) {
+        Object versao = versaoEsperada(service, id, ifMatch);
+        try {
+            return comEtag(service, alteracao.apply(versao));
+        } catch (OptimisticLockingFailureException e) {
+            throw ifMatch == null ? e : precondicaoFalhou(id);
+        }
+    }
+
+    public <T, N> void remover(IService<T, N> service, N id, String ifMatch) {
+        Object versao = versaoEsperada(service, id, ifMatch);
+        try {
+            service.deleteById(id, versao);
+        } catch (OptimisticLockingFailureException e) {
+            throw ifMatch == null ? e : precondicaoFalhou(id);
+        }
+    }
+
+    public <T> ResponseEntity<T> comEtag(IService<T, ?> service, T entity) {
+        String etag = etag(service.versao(entity));
+        return etag == null ? ResponseEntity.ok(entity) : ResponseEntity.ok().eTag(etag).body(entity);
+    }
+
+    public String etag(Object versao) {
+        return versao == null ? null : "\"" + versao + "\"";
+    }
+
+    /**
+     * Com uma única ETag em If-Match ela é a versão esperada. Com uma lista, a versão
+     * atual precisa estar nela e passa a ser a esperada.
+     */
+    private <T, N> Object versaoEsperada(IService<T, N> service, N id, String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals(QUALQUER)) {
+            return null;
+        }
+        List<String> etags = etags(ifMatch);
+        if (etags.size() == 1 && !etags.get(0).startsWith(FRACA)) {
+            return valor(etags.get(0));
+        }
+        String atual = etag(service.versaoAtual(id));
+        if (atual == null || !contem(ifMatch, atual, false)) {
+            throw precondicaoFalhou(id);
+        }
+        return valor(atual);
+    }
+
+    /**
+     * If-None-Match usa a comparação fraca (W/ ignorado); If-Match, a forte.
+     */
+    private boolean contem(String cabecalho, String etag, boolean fraca) {
+        for (String candidata : etags(cabecalho)) {
+            if (candidata.equals(QUALQUER)) {
+                return true;
+            }
+            if (fraca && candidata.startsWith(FRACA)) {
+                candidata = candidata.substring(FRACA.length());
+            }
+            if (candidata.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private List<String> etags(String cabecalho) {
+        return Arrays.stream(cabecalho.split(","))
+                .map(String::trim)
+                .filter(etag -> !etag.isEmpty())
+                .toList();
+    }
+
+    private String valor(String etag) {
+        return etag.length() >= 2 && etag.startsWith("\"") && etag.endsWith("\"") ? etag.substring(1, etag.length() - 1) : etag;
+    }
+
+    public ResponseStatusException precondicaoFalhou(Object id) {
+        return new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, String.format("O registro %s não está na versão informada em If-Match", id));
+    }
+}
@@ -0,0 +1,69 @@
+package br.senac.go.resource;
+
+import br.senac.go.config.ReativoConfig;
+import br.senac.go.interfaces.IServiceReativo;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * {@link RequisicaoCondicional} para os recursos reativos. Sem cache de versões, a leitura
+ * por id consulta o registro e só então decide entre 200 e 304; com If-Match a versão
+ * atual é consultada, conferida com o cabeçalho e repassada ao service, que grava com
+ * {@code WHERE VERSAO = ?} (alteração concorrente entre as duas etapas também vira 412).
+ */
+@Component
+@Profile(ReativoConfig.PERFIL)
+public class RequisicaoCondicionalReativa {
+
+    @Autowired
+    private RequisicaoCondicional requisicaoCondicional;
+
+    public <T, N> Mono<ResponseEntity<T>> ler(IServiceReativo<T, N> service, N id, String ifNoneMatch) {
+        return service.readById(id).map(entity -> {
+            Long versao = service.versao(entity);
+            if (requisicaoCondicional.naoModificado(ifNoneMatch, versao)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(requisicaoCondicional.etag(versao)).varyBy(HttpHeaders.ACCEPT).build();
+            }
+            return requisicaoCondicional.lido(requisicaoCondicional.etag(versao), entity);
+        });
+    }
+
+    /**
+     * Executa a alteração com a versão esperada (nula quando If-Match não foi enviado).
+     */
+    public <T, N> Mono<ResponseEntity<T>> alterar(IServiceReativo<T, N> service, N id, String ifMatch, Function<Long, Mono<T>> alteracao) {
+        return versaoEsperada(service, id, ifMatch)
+                .flatMap(versao -> alteracao.apply(versao.orElse(null)))
+                .map(entity -> comEtag(service, entity))
+                .onErrorMap(OptimisticLockingFailureException.class, e -> ifMatch == null ? e : requisicaoCondicional.precondicaoFalhou(id));
+    }
+
+    public <T, N> Mono<Void> remover(IServiceReativo<T, N> service, N id, String ifMatch) {
+        return versaoEsperada(service, id, ifMatch)
+                .flatMap(versao -> service.deleteById(id, versao.orElse(null)))
+                .onErrorMap(OptimisticLockingFailureException.class, e -> ifMatch == null ? e : requisicaoCondicional.precondicaoFalhou(id));
+    }
+
+    private <T> ResponseEntity<T> comEtag(IServiceReativo<T, ?> service, T entity) {
+        String etag = requisicaoCondicional.etag(service.versao(entity));
+        return etag == null ? ResponseEntity.ok(entity) : ResponseEntity.ok().eTag(etag).body(entity);
+    }
+
+    private <T, N> Mono<Optional<Long>> versaoEsperada(IServiceReativo<T, N> service, N id, String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank()) {
+            return Mono.just(Optional.empty());
+        }
+        return service.versaoAtual(id).flatMap(atual -> requisicaoCondicional.atende(ifMatch, atual)
+                ? Mono.just(Optional.of(atual))
+                : Mono.error(requisicaoCondicional.precondicaoFalhou(id)));
+    }
+}
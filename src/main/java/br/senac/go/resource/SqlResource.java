@@ -0,0 +1,151 @@
+package br.senac.go.resource;
+
+import br.senac.go.config.RastreadorSql;
+import br.senac.go.config.ReativoConfig;
+import br.senac.go.dto.ComandoSql;
+import br.senac.go.dto.EstatisticaSql;
+import br.senac.go.dto.RequisicaoSql;
+import br.senac.go.exception.RequisicaoInvalidaException;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.QueryStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Slf4j
+@RestController
+@Profile("!" + ReativoConfig.PERFIL)
+@RequestMapping("api/admin/sql")
+@Tag(name = "sql", description = "documentação ao resource de rastreamento dos comandos SQL")
+public class SqlResource {
+
+    @Autowired
+    private RastreadorSql rastreador;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Operation(
+            summary = "Comandos SQL mais custosos",
+            description = "Método responsável por listar os comandos SQL com maior tempo máximo, total, médio ou número de execuções, com as linhas lidas ou alteradas e a origem da execução mais lenta",
+            tags = { "sql" }
+    )
+    @GetMapping(value = "/consultas", produces = { MediaType.APPLICATION_JSON_VALUE })
+    public List<EstatisticaSql> consultas(@RequestParam(value = "limite", required = false) Integer limite,
+                                          @RequestParam(value = "ordem", defaultValue = "maximo") String ordem) {
+        log.info("Executado método SqlResource.consultas | valores: {}, {}", limite, ordem);
+        return rastreador.consultas(limite(limite), ordem);
+    }
+
+    @Operation(
+            summary = "Últimos comandos SQL lentos",
+            description = "Método responsável por listar as últimas execuções acima de sql.rastreamento.lenta, com a requisição e o método de origem",
+            tags = { "sql" }
+    )
+    @GetMapping(value = "/lentos", produces = { MediaType.APPLICATION_JSON_VALUE })
+    public List<ComandoSql> lentos() {
+        log.info("Executado método SqlResource.lentos");
+        return rastreador.lentos();
+    }
+
+    @Operation(
+            summary = "Comandos SQL por requisição",
+            description = "Método responsável por listar as últimas requisições da API com o número de comandos SQL, o tempo no banco e as linhas",
+            tags = { "sql" }
+    )
+    @GetMapping(value = "/requisicoes", produces = { MediaType.APPLICATION_JSON_VALUE })
+    public List<RequisicaoSql> requisicoes() {
+        log.info("Executado método SqlResource.requisicoes");
+        return rastreador.requisicoes();
+    }
+
+    @Operation(
+            summary = "Estatísticas do Hibernate",
+            description = "Método responsável por listar os contadores de sessões, comandos, entidades e coleções do Hibernate e as consultas HQL mais custosas",
+            tags = { "sql" }
+    )
+    @GetMapping(value = "/hibernate", produces = { MediaType.APPLICATION_JSON_VALUE })
+    public Map<String, Object> hibernate(@RequestParam(value = "limite", required = false) Integer limite) {
+        log.info("Executado método SqlResource.hibernate | valores: {}", limite);
+        Statistics statistics = sessionFactory().getStatistics();
+        Map<String, Object> resultado = new LinkedHashMap<>();
+        resultado.put("habilitadas", statistics.isStatisticsEnabled());
+        resultado.put("sessoesAbertas", statistics.getSessionOpenCount());
+        resultado.put("transacoes", statistics.getTransactionCount());
+        resultado.put("conexoes", statistics.getConnectCount());
+        resultado.put("comandosPreparados", statistics.getPrepareStatementCount());
+        resultado.put("flushes", statistics.getFlushCount());
+        resultado.put("consultasExecutadas", statistics.getQueryExecutionCount());
+        resultado.put("consultaMaisLenta", statistics.getQueryExecutionMaxTimeQueryString());
+        resultado.put("tempoConsultaMaisLentaMs", statistics.getQueryExecutionMaxTime());
+        resultado.put("entidadesCarregadas", statistics.getEntityLoadCount());
+        resultado.put("entidadesBuscadas", statistics.getEntityFetchCount());
+        resultado.put("entidadesInseridas", statistics.getEntityInsertCount());
+        resultado.put("entidadesAtualizadas", statistics.getEntityUpdateCount());
+        resultado.put("entidadesRemovidas", statistics.getEntityDeleteCount());
+        resultado.put("colecoesCarregadas", statistics.getCollectionLoadCount());
+        resultado.put("colecoesBuscadas", statistics.getCollectionFetchCount());
+        resultado.put("acertosSegundoNivel", statistics.getSecondLevelCacheHitCount());
+        resultado.put("falhasSegundoNivel", statistics.getSecondLevelCacheMissCount());
+        resultado.put("consultas", Arrays.stream(statistics.getQueries())
+                .map(hql -> Map.entry(hql, statistics.getQueryStatistics(hql)))
+                .sorted(Comparator.comparingLong((Map.Entry<String, QueryStatistics> entrada) ->
+                        entrada.getValue().getExecutionTotalTime()).reversed())
+                .limit(limite(limite))
+                .map(entrada -> consulta(entrada.getKey(), entrada.getValue()))
+                .toList());
+        return resultado;
+    }
+
+    @Operation(
+            summary = "Limpar o rastreamento SQL",
+            description = "Método responsável por zerar as estatísticas dos comandos SQL, os lentos, as requisições e as estatísticas do Hibernate (inclusive as das regiões de cache)",
+            tags = { "sql" }
+    )
+    @DeleteMapping
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void limpar() {
+        log.info("Executado método SqlResource.limpar");
+        rastreador.limpar();
+        sessionFactory().getStatistics().clear();
+    }
+
+    private Map<String, Object> consulta(String hql, QueryStatistics stats) {
+        Map<String, Object> valores = new LinkedHashMap<>();
+        valores.put("consulta", hql);
+        valores.put("execucoes", stats.getExecutionCount());
+        valores.put("tempoTotalMs", stats.getExecutionTotalTime());
+        valores.put("tempoMedioMs", stats.getExecutionAvgTime());
+        valores.put("tempoMaximoMs", stats.getExecutionMaxTime());
+        valores.put("linhas", stats.getExecutionRowCount());
+        valores.put("acertosCache", stats.getCacheHitCount());
+        return valores;
+    }
+
+    private int limite(Integer limite) {
+        if (limite == null) {
+            return rastreador.getRanking();
+        }
+        if (limite < 1) {
+            throw new RequisicaoInvalidaException("limite deve ser positivo");
+        }
+        return limite;
+    }
+
+    private SessionFactory sessionFactory() {
+        return entityManagerFactory.unwrap(SessionFactory.class);
+    }
+}
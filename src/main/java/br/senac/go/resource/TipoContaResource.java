@@ -1,8 +1,15 @@
 package br.senac.go.resource;
 
+import br.senac.go.config.BinarioConfig;
+import br.senac.go.config.ReativoConfig;
+import br.senac.go.dto.PaginaCursor;
+import br.senac.go.dto.Periodo;
+import br.senac.go.dto.ResultadoItem;
 import br.senac.go.interfaces.IResource;
 import br.senac.go.model.TipoConta;
+import br.senac.go.service.MergePatch;
 import br.senac.go.service.TipoContaService;
+import com.fasterxml.jackson.databind.JsonNode;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -11,12 +18,23 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
+import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.List;
+import java.util.Set;
 
 @Slf4j
 @RestController
+@Profile("!" + ReativoConfig.PERFIL)
 @RequestMapping(path = "/api/tipoconta")
 @Tag(name = "tipoconta", description = "documentação ao resource tipo conta")
 public class TipoContaResource implements IResource<TipoConta, Integer>
@@ -24,6 +42,12 @@ public class TipoContaResource implements IResource<TipoConta, Integer>
     @Autowired
     TipoContaService tipoContaService;
 
+    @Autowired
+    NdjsonWriter ndjsonWriter;
+
+    @Autowired
+    RequisicaoCondicional requisicaoCondicional;
+
     @Override
     @Operation(
             summary = "Cria um tipo de conta",
@@ -36,12 +60,12 @@ public class TipoContaResource implements IResource<TipoConta, Integer>
             @ApiResponse(responseCode = "404", content = { @Content(schema = @Schema()) }),
             @ApiResponse(responseCode = "500", content = { @Content(schema = @Schema()) }) })
     @PostMapping(
-            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE},
-            produces = {MediaType.APPLICATION_JSON_VALUE,MediaType.APPLICATION_XML_VALUE})
+            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinarioConfig.APPLICATION_SMILE_VALUE, BinarioConfig.APPLICATION_PROTOBUF_VALUE},
+            produces = {MediaType.APPLICATION_JSON_VALUE,MediaType.APPLICATION_XML_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinarioConfig.APPLICATION_SMILE_VALUE, BinarioConfig.APPLICATION_PROTOBUF_VALUE})
     public TipoConta create(@Valid @RequestBody TipoConta entity)
     {
         log.info("Executado método TipoContaResource.create");
-        log.debug(String.format("Executando método TipoContaResource.create | valores: %s",entity.toString()));
+        log.debug("Executando método TipoContaResource.create | valores: {}", entity);
 
         TipoConta tipoConta = tipoContaService.create(entity);
 
@@ -59,16 +83,17 @@ public class TipoContaResource implements IResource<TipoConta, Integer>
             @ApiResponse(responseCode = "404", content = { @Content(schema = @Schema()) }),
             @ApiResponse(responseCode = "500", content = { @Content(schema = @Schema()) }) })
     @GetMapping(
-            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE},
-            produces = {MediaType.APPLICATION_JSON_VALUE,MediaType.APPLICATION_XML_VALUE})
-    public TipoConta read(@Valid @RequestBody TipoConta entity) throws Exception
+            produces = {MediaType.APPLICATION_JSON_VALUE,MediaType.APPLICATION_XML_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinarioConfig.APPLICATION_SMILE_VALUE, BinarioConfig.APPLICATION_PROTOBUF_VALUE})
+    public Page<TipoConta> read(@ParameterObject TipoConta entity, @ParameterObject Periodo periodo, @ParameterObject Pageable pageable, @RequestParam(required = false) Set<String> expand) throws Exception
     {
         log.info("Executado método ContaResource.read");
-        log.debug(String.format("Executando método ContaResource.read | valores: %s",entity.toString()));
+        if (log.isDebugEnabled()) {
+            log.debug("Executando método ContaResource.read | valores: {} {} {} {}", entity, periodo, pageable, expand);
+        }
 
-        TipoConta tipoConta = tipoContaService.read(entity);
+        Page<TipoConta> tiposConta = tipoContaService.read(entity, periodo, pageable, expand);
 
-        return tipoConta;
+        return tiposConta;
     }
 
     @Override
@@ -79,16 +104,17 @@ public class TipoContaResource implements IResource<TipoConta, Integer>
     @ApiResponses({
             @ApiResponse(responseCode = "200", content = { @Content(schema = @Schema(implementation = TipoConta.class), mediaType = MediaType.APPLICATION_XML_VALUE) }),
             @ApiResponse(responseCode = "303", content = { @Content(schema = @Schema()) }),
+            @ApiResponse(responseCode = "304", content = { @Content(schema = @Schema()) }),
             @ApiResponse(responseCode = "404", content = { @Content(schema = @Schema()) }),
             @ApiResponse(responseCode = "500", content = { @Content(schema = @Schema()) }) })
     @GetMapping(value = "/{id}",
-            produces = {MediaType.APPLICATION_JSON_VALUE,MediaType.APPLICATION_XML_VALUE})
-    public TipoConta readById(@PathVariable("id") Integer id) throws Exception
+            produces = {MediaType.APPLICATION_JSON_VALUE,MediaType.APPLICATION_XML_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinarioConfig.APPLICATION_SMILE_VALUE, BinarioConfig.APPLICATION_PROTOBUF_VALUE})
+    public ResponseEntity<TipoConta> readById(@PathVariable("id") Integer id, @RequestParam(required = false) Set<String> expand, @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) throws Exception
     {
         log.info("Executado método TipoContaResource.readById");
-        log.debug(String.format("Executando método TipoContaResource.readById | valores: %d",id));
+        log.debug("Executando método TipoContaResource.readById | valores: {} {}", id, expand);
 
-        TipoConta tipoConta = tipoContaService.readById(id);
+        ResponseEntity<TipoConta> tipoConta = requisicaoCondicional.ler(tipoContaService, id, expand, ifNoneMatch);
 
         return tipoConta;
     }
@@ -104,12 +130,12 @@ public class TipoContaResource implements IResource<TipoConta, Integer>
             @ApiResponse(responseCode = "404", content = { @Content(schema = @Schema()) }),
             @ApiResponse(responseCode = "500", content = { @Content(schema = @Schema()) }) })
     @PutMapping(
-            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE},
-            produces = {MediaType.APPLICATION_JSON_VALUE,MediaType.APPLICATION_XML_VALUE})
+            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinarioConfig.APPLICATION_SMILE_VALUE, BinarioConfig.APPLICATION_PROTOBUF_VALUE},
+            produces = {MediaType.APPLICATION_JSON_VALUE,MediaType.APPLICATION_XML_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinarioConfig.APPLICATION_SMILE_VALUE, BinarioConfig.APPLICATION_PROTOBUF_VALUE})
     public TipoConta update(@Valid @RequestBody TipoConta entity)
     {
         log.info("Executado método TipoContaResource.update");
-        log.debug(String.format("Executando método TipoContaResource.update | valores: %s",entity.toString()));
+        log.debug("Executando método TipoContaResource.update | valores: {}", entity);
 
         TipoConta tipoConta = tipoContaService.updateFull(entity);
 
@@ -125,16 +151,41 @@ public class TipoContaResource implements IResource<TipoConta, Integer>
             @ApiResponse(responseCode = "200", content = { @Content(schema = @Schema(implementation = TipoConta.class), mediaType = MediaType.APPLICATION_XML_VALUE) }),
             @ApiResponse(responseCode = "303", content = { @Content(schema = @Schema()) }),
             @ApiResponse(responseCode = "404", content = { @Content(schema = @Schema()) }),
+            @ApiResponse(responseCode = "412", content = { @Content(schema = @Schema()) }),
             @ApiResponse(responseCode = "500", content = { @Content(schema = @Schema()) }) })
     @PatchMapping(value = "/{id}",
-            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE},
-            produces = {MediaType.APPLICATION_JSON_VALUE,MediaType.APPLICATION_XML_VALUE})
-    public TipoConta updatePart(@PathVariable("id") Integer id, @Valid @RequestBody TipoConta entity) throws Exception
+            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinarioConfig.APPLICATION_SMILE_VALUE, BinarioConfig.APPLICATION_PROTOBUF_VALUE},
+            produces = {MediaType.APPLICATION_JSON_VALUE,MediaType.APPLICATION_XML_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinarioConfig.APPLICATION_SMILE_VALUE, BinarioConfig.APPLICATION_PROTOBUF_VALUE})
+    public ResponseEntity<TipoConta> updatePart(@PathVariable("id") Integer id, @Valid @RequestBody TipoConta entity, @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) throws Exception
     {
         log.info("Executado método TipoContaResource.updatePart");
-        log.debug(String.format("Executando método TipoContaResource.updatePart | valores: %d, %s",id,entity));
+        log.debug("Executando método TipoContaResource.updatePart | valores: {}, {}", id, entity);
+
+        ResponseEntity<TipoConta> tipoConta = requisicaoCondicional.alterar(tipoContaService, id, ifMatch, versao -> tipoContaService.updatePart(id, entity, versao));
+
+        return tipoConta;
+    }
+
+    @Override
+    @Operation(
+            summary = "Atualiza parte dos dados de um tipo de conta com JSON Merge Patch",
+            description = "Método responsável para atualizar parte dos dados de um tipo de conta no sistema, alterando apenas os campos presentes no documento (application/merge-patch+json)",
+            tags = { "tipoconta" })
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", content = { @Content(schema = @Schema(implementation = TipoConta.class), mediaType = MediaType.APPLICATION_XML_VALUE) }),
+            @ApiResponse(responseCode = "303", content = { @Content(schema = @Schema()) }),
+            @ApiResponse(responseCode = "404", content = { @Content(schema = @Schema()) }),
+            @ApiResponse(responseCode = "412", content = { @Content(schema = @Schema()) }),
+            @ApiResponse(responseCode = "500", content = { @Content(schema = @Schema()) }) })
+    @PatchMapping(value = "/{id}",
+            consumes = MergePatch.APPLICATION_MERGE_PATCH_JSON_VALUE,
+            produces = {MediaType.APPLICATION_JSON_VALUE,MediaType.APPLICATION_XML_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinarioConfig.APPLICATION_SMILE_VALUE, BinarioConfig.APPLICATION_PROTOBUF_VALUE})
+    public ResponseEntity<TipoConta> mergePatch(@PathVariable("id") Integer id, @RequestBody JsonNode patch, @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch)
+    {
+        log.info("Executado método TipoContaResource.mergePatch");
+        log.debug("Executando método TipoContaResource.mergePatch | valores: {}, {}", id, patch);
 
-        TipoConta tipoConta = tipoContaService.updatePart(id, entity);
+        ResponseEntity<TipoConta> tipoConta = requisicaoCondicional.alterar(tipoContaService, id, ifMatch, versao -> tipoContaService.mergePatch(id, patch, versao));
 
         return tipoConta;
     }
@@ -148,14 +199,15 @@ public class TipoContaResource implements IResource<TipoConta, Integer>
             @ApiResponse(responseCode = "200", content = { @Content(schema = @Schema(implementation = TipoConta.class), mediaType = MediaType.APPLICATION_XML_VALUE) }),
             @ApiResponse(responseCode = "303", content = { @Content(schema = @Schema()) }),
             @ApiResponse(responseCode = "404", content = { @Content(schema = @Schema()) }),
+            @ApiResponse(responseCode = "412", content = { @Content(schema = @Schema()) }),
             @ApiResponse(responseCode = "500", content = { @Content(schema = @Schema()) }) })
     @PutMapping("/{id}")
-    public TipoConta updateFull(@PathVariable("id") Integer id, @Valid @RequestBody TipoConta entity)
+    public ResponseEntity<TipoConta> updateFull(@PathVariable("id") Integer id, @Valid @RequestBody TipoConta entity, @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch)
     {
         log.info("Executado método TipoContaResource.updateFull");
-        log.debug(String.format("Executando método TipoContaResource.updateFull | valores: %d, %s",id,entity));
+        log.debug("Executando método TipoContaResource.updateFull | valores: {}, {}", id, entity);
 
-        TipoConta tipoConta = tipoContaService.updateFull(id, entity);
+        ResponseEntity<TipoConta> tipoConta = requisicaoCondicional.alterar(tipoContaService, id, ifMatch, versao -> tipoContaService.updateFull(id, entity, versao));
 
         return tipoConta;
     }
@@ -169,14 +221,15 @@ public class TipoContaResource implements IResource<TipoConta, Integer>
             @ApiResponse(responseCode = "200", content = { @Content(schema = @Schema(implementation = TipoConta.class), mediaType = MediaType.APPLICATION_XML_VALUE) }),
             @ApiResponse(responseCode = "303", content = { @Content(schema = @Schema()) }),
             @ApiResponse(responseCode = "404", content = { @Content(schema = @Schema()) }),
+            @ApiResponse(responseCode = "412", content = { @Content(schema = @Schema()) }),
             @ApiResponse(responseCode = "500", content = { @Content(schema = @Schema()) }) })
     @DeleteMapping("/{id}")
-    public void delete(@PathVariable("id") Integer id)
+    public void delete(@PathVariable("id") Integer id, @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch)
     {
         log.info("Executado método TipoContaResource.delete");
-        log.debug(String.format("Executando método TipoContaResource.delete | valores: %d",id));
+        log.debug("Executando método TipoContaResource.delete | valores: {}", id);
 
-        tipoContaService.deleteById(id);
+        requisicaoCondicional.remover(tipoContaService, id, ifMatch);
     }
 
     @Override
@@ -190,12 +243,104 @@ public class TipoContaResource implements IResource<TipoConta, Integer>
             @ApiResponse(responseCode = "404", content = { @Content(schema = @Schema()) }),
             @ApiResponse(responseCode = "500", content = { @Content(schema = @Schema()) }) })
     @DeleteMapping(
-            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE})
+            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinarioConfig.APPLICATION_SMILE_VALUE, BinarioConfig.APPLICATION_PROTOBUF_VALUE})
     public void deleteByEntity(@Valid @RequestBody TipoConta entity)
     {
         log.info("Executado método TipoContaResource.deleteByEntity");
-        log.debug(String.format("Executando método TipoContaResource.deleteByEntity | valores: %s",entity.toString()));
+        log.debug("Executando método TipoContaResource.deleteByEntity | valores: {}", entity);
 
         tipoContaService.delete(entity);
     }
-}
\ No newline at end of file
+
+    @Override
+    @Operation(
+            summary = "Criar tipos de conta em lote",
+            description = "Método responsável para criar tipos de conta em lote no sistema, com o resultado de cada item.",
+            tags = { "tipoconta" })
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", content = { @Content(schema = @Schema(implementation = ResultadoItem.class), mediaType = MediaType.APPLICATION_JSON_VALUE) }),
+            @ApiResponse(responseCode = "500", content = { @Content(schema = @Schema()) }) })
+    @PostMapping(value = "/_bulk",
+            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinarioConfig.APPLICATION_SMILE_VALUE},
+            produces = {MediaType.APPLICATION_JSON_VALUE,MediaType.APPLICATION_XML_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinarioConfig.APPLICATION_SMILE_VALUE})
+    public List<ResultadoItem<TipoConta, Integer>> createBulk(@RequestBody List<TipoConta> entities)
+    {
+        log.info("Executado método TipoContaResource.createBulk | itens: {}", entities.size());
+
+        return tipoContaService.createAll(entities);
+    }
+
+    @Override
+    @Operation(
+            summary = "Alterar tipos de conta em lote",
+            description = "Método responsável para alterar tipos de conta em lote no sistema, com o resultado de cada item.",
+            tags = { "tipoconta" })
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", content = { @Content(schema = @Schema(implementation = ResultadoItem.class), mediaType = MediaType.APPLICATION_JSON_VALUE) }),
+            @ApiResponse(responseCode = "500", content = { @Content(schema = @Schema()) }) })
+    @PutMapping(value = "/_bulk",
+            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinarioConfig.APPLICATION_SMILE_VALUE},
+            produces = {MediaType.APPLICATION_JSON_VALUE,MediaType.APPLICATION_XML_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinarioConfig.APPLICATION_SMILE_VALUE})
+    public List<ResultadoItem<TipoConta, Integer>> updateBulk(@RequestBody List<TipoConta> entities)
+    {
+        log.info("Executado método TipoContaResource.updateBulk | itens: {}", entities.size());
+
+        return tipoContaService.updateAll(entities);
+    }
+
+    @Override
+    @Operation(
+            summary = "Deletar tipos de conta em lote",
+            description = "Método responsável para deletar tipos de conta em lote no sistema, com o resultado de cada item.",
+            tags = { "tipoconta" })
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", content = { @Content(schema = @Schema(implementation = ResultadoItem.class), mediaType = MediaType.APPLICATION_JSON_VALUE) }),
+            @ApiResponse(responseCode = "500", content = { @Content(schema = @Schema()) }) })
+    @DeleteMapping(value = "/_bulk",
+            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinarioConfig.APPLICATION_SMILE_VALUE},
+            produces = {MediaType.APPLICATION_JSON_VALUE,MediaType.APPLICATION_XML_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinarioConfig.APPLICATION_SMILE_VALUE})
+    public List<ResultadoItem<TipoConta, Integer>> deleteBulk(@RequestBody List<Integer> ids)
+    {
+        log.info("Executado método TipoContaResource.deleteBulk | itens: {}", ids.size());
+
+        return tipoContaService.deleteAllById(ids);
+    }
+
+    @Override
+    @Operation(
+            summary = "Lista tipos de conta por cursor",
+            description = "Método responsável para listar tipos de conta em ordem de identificador. Envie o cursor devolvido para obter a próxima página.",
+            tags = { "tipoconta" })
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", content = { @Content(schema = @Schema(implementation = PaginaCursor.class), mediaType = MediaType.APPLICATION_JSON_VALUE) }),
+            @ApiResponse(responseCode = "400", content = { @Content(schema = @Schema()) }),
+            @ApiResponse(responseCode = "500", content = { @Content(schema = @Schema()) }) })
+    @GetMapping(value = "/_lista",
+            produces = {MediaType.APPLICATION_JSON_VALUE,MediaType.APPLICATION_XML_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinarioConfig.APPLICATION_SMILE_VALUE, BinarioConfig.APPLICATION_PROTOBUF_VALUE})
+    public PaginaCursor<TipoConta> list(@RequestParam(required = false) String cursor, @RequestParam(defaultValue = "50") int limite, @RequestParam(required = false) Set<String> expand)
+    {
+        log.info("Executado método TipoContaResource.list");
+        if (log.isDebugEnabled()) {
+            log.debug("Executando método TipoContaResource.list | valores: {}, {}, {}", cursor, limite, expand);
+        }
+
+        return tipoContaService.list(cursor, limite, expand);
+    }
+
+    @Override
+    @Operation(
+            summary = "Exporta todos os tipos de conta em NDJSON",
+            description = "Método responsável para exportar todos os tipos de conta do sistema, um objeto JSON por linha, sem carregar o resultado inteiro em memória.",
+            tags = { "tipoconta" })
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", content = { @Content(schema = @Schema(implementation = TipoConta.class), mediaType = NdjsonWriter.APPLICATION_NDJSON_VALUE) }),
+            @ApiResponse(responseCode = "500", content = { @Content(schema = @Schema()) }) })
+    @GetMapping(value = "/_lista",
+            produces = NdjsonWriter.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> stream()
+    {
+        log.info("Executado método TipoContaResource.stream");
+
+        return ndjsonWriter.escrever(tipoContaService);
+    }
+}
@@ -1,8 +1,15 @@
 package br.senac.go.resource;
 
+import br.senac.go.config.BinarioConfig;
+import br.senac.go.config.ReativoConfig;
+import br.senac.go.dto.PaginaCursor;
+import br.senac.go.dto.Periodo;
+import br.senac.go.dto.ResultadoItem;
 import br.senac.go.interfaces.IResource;
 import br.senac.go.model.TipoInvestimento;
+import br.senac.go.service.MergePatch;
 import br.senac.go.service.TipoInvestimentoService;
+import com.fasterxml.jackson.databind.JsonNode;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -11,12 +18,23 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
+import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.List;
+import java.util.Set;
 
 @Slf4j
 @RestController
+@Profile("!" + ReativoConfig.PERFIL)
 @RequestMapping(path = "/api/tipoinvestimento")
 @Tag(name = "tipoinvestimento", description = "documentação ao resource tipo de investimento")
 public class TipoInvestimentoResource implements IResource<TipoInvestimento,Integer>
@@ -24,6 +42,12 @@ public class TipoInvestimentoResource implements IResource<TipoInvestimento,Inte
     @Autowired
     TipoInvestimentoService tipoInvestimentoService;
 
+    @Autowired
+    NdjsonWriter ndjsonWriter;
+
+    @Autowired
+    RequisicaoCondicional requisicaoCondicional;
+
     @Override
     @Operation(
             summary = "Cria um tipo de investimento",
@@ -36,12 +60,12 @@ public class TipoInvestimentoResource implements IResource<TipoInvestimento,Inte
             @ApiResponse(responseCode = "404", content = { @Content(schema = @Schema()) }),
             @ApiResponse(responseCode = "500", content = { @Content(schema = @Schema()) }) })
     @PostMapping(
-            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE},
-            produces = {MediaType.APPLICATION_JSON_VALUE,MediaType.APPLICATION_XML_VALUE})
+            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinarioConfig.APPLICATION_SMILE_VALUE, BinarioConfig.APPLICATION_PROTOBUF_VALUE},
+            produces = {MediaType.APPLICATION_JSON_VALUE,MediaType.APPLICATION_XML_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinarioConfig.APPLICATION_SMILE_VALUE, BinarioConfig.APPLICATION_PROTOBUF_VALUE})
     public TipoInvestimento create(@Valid @RequestBody TipoInvestimento entity)
     {
         log.info("Executado método TipoInvestimentoResource.create");
-        log.debug(String.format("Executando método TipoInvestimentoResource.create | valores: %s",entity.toString()));
+        log.debug("Executando método TipoInvestimentoResource.create | valores: {}", entity);
 
         TipoInvestimento tipoInvestimento = tipoInvestimentoService.create(entity);
 
@@ -59,16 +83,17 @@ public class TipoInvestimentoResource implements IResource<TipoInvestimento,Inte
             @ApiResponse(responseCode = "404", content = { @Content(schema = @Schema()) }),
             @ApiResponse(responseCode = "500", content = { @Content(schema = @Schema()) }) })
     @GetMapping(
-            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE},
-            produces = {MediaType.APPLICATION_JSON_VALUE,MediaType.APPLICATION_XML_VALUE})
-    public TipoInvestimento read(@Valid @RequestBody TipoInvestimento entity) throws Exception
+            produces = {MediaType.APPLICATION_JSON_VALUE,MediaType.APPLICATION_XML_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinarioConfig.APPLICATION_SMILE_VALUE, BinarioConfig.APPLICATION_PROTOBUF_VALUE})
+    public Page<TipoInvestimento> read(@ParameterObject TipoInvestimento entity, @ParameterObject Periodo periodo, @ParameterObject Pageable pageable, @RequestParam(required = false) Set<String> expand) throws Exception
     {
         log.info("Executado método TipoInvestimentoResource.read");
-        log.debug(String.format("Executando método TipoInvestimentoResource.read | valores: %s",entity.toString()));
+        if (log.isDebugEnabled()) {
+            log.debug("Executando método TipoInvestimentoResource.read | valores: {} {} {} {}", entity, periodo, pageable, expand);
+        }
 
-        TipoInvestimento tipoInvestimento = tipoInvestimentoService.read(entity);
+        Page<TipoInvestimento> tiposInvestimento = tipoInvestimentoService.read(entity, periodo, pageable, expand);
 
-        return tipoInvestimento;
+        return tiposInvestimento;
     }
 
     @Override
@@ -79,16 +104,17 @@ public class TipoInvestimentoResource implements IResource<TipoInvestimento,Inte
     @ApiResponses({
             @ApiResponse(responseCode = "200", content = { @Content(schema = @Schema(implementation = TipoInvestimento.class), mediaType = MediaType.APPLICATION_XML_VALUE) }),
             @ApiResponse(responseCode = "303", content = { @Content(schema = @Schema()) }),
+            @ApiResponse(responseCode = "304", content = { @Content(schema = @Schema()) }),
             @ApiResponse(responseCode = "404", content = { @Content(schema = @Schema()) }),
             @ApiResponse(responseCode = "500", content = { @Content(schema = @Schema()) }) })
     @GetMapping(value = "/{id}",
-            produces = {MediaType.APPLICATION_JSON_VALUE,MediaType.APPLICATION_XML_VALUE})
-    public TipoInvestimento readById(@PathVariable("id") Integer id) throws Exception
+            produces = {MediaType.APPLICATION_JSON_VALUE,MediaType.APPLICATION_XML_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinarioConfig.APPLICATION_SMILE_VALUE, BinarioConfig.APPLICATION_PROTOBUF_VALUE})
+    public ResponseEntity<TipoInvestimento> readById(@PathVariable("id") Integer id, @RequestParam(required = false) Set<String> expand, @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) throws Exception
     {
         log.info("Executado método TipoInvestimentoResource.readById");
-        log.debug(String.format("Executando método TipoInvestimentoResource.readById | valores: %d",id));
+        log.debug("Executando método TipoInvestimentoResource.readById | valores: {} {}", id, expand);
 
-        TipoInvestimento tipoInvestimento = tipoInvestimentoService.readById(id);
+        ResponseEntity<TipoInvestimento> tipoInvestimento = requisicaoCondicional.ler(tipoInvestimentoService, id, expand, ifNoneMatch);
 
         return tipoInvestimento;
     }
@@ -104,12 +130,12 @@ public class TipoInvestimentoResource implements IResource<TipoInvestimento,Inte
             @ApiResponse(responseCode = "404", content = { @Content(schema = @Schema()) }),
             @ApiResponse(responseCode = "500", content = { @Content(schema = @Schema()) }) })
     @PutMapping(
-            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE},
-            produces = {MediaType.APPLICATION_JSON_VALUE,MediaType.APPLICATION_XML_VALUE})
+            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinarioConfig.APPLICATION_SMILE_VALUE, BinarioConfig.APPLICATION_PROTOBUF_VALUE},
+            produces = {MediaType.APPLICATION_JSON_VALUE,MediaType.APPLICATION_XML_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinarioConfig.APPLICATION_SMILE_VALUE, BinarioConfig.APPLICATION_PROTOBUF_VALUE})
     public TipoInvestimento update(@Valid @RequestBody TipoInvestimento entity)
     {
         log.info("Executado método TipoInvestimentoResource.update");
-        log.debug(String.format("Executando método TipoInvestimentoResource.update | valores: %s",entity.toString()));
+        log.debug("Executando método TipoInvestimentoResource.update | valores: {}", entity);
 
         TipoInvestimento tipoInvestimento = tipoInvestimentoService.updateFull(entity);
 
@@ -125,16 +151,41 @@ public class TipoInvestimentoResource implements IResource<TipoInvestimento,Inte
             @ApiResponse(responseCode = "200", content = { @Content(schema = @Schema(implementation = TipoInvestimento.class), mediaType = MediaType.APPLICATION_XML_VALUE) }),
             @ApiResponse(responseCode = "303", content = { @Content(schema = @Schema()) }),
             @ApiResponse(responseCode = "404", content = { @Content(schema = @Schema()) }),
+            @ApiResponse(responseCode = "412", content = { @Content(schema = @Schema()) }),
             @ApiResponse(responseCode = "500", content = { @Content(schema = @Schema()) }) })
     @PatchMapping(value = "/{id}",
-            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE},
-            produces = {MediaType.APPLICATION_JSON_VALUE,MediaType.APPLICATION_XML_VALUE})
-    public TipoInvestimento updatePart(@PathVariable("id") Integer id, @Valid @RequestBody TipoInvestimento entity) throws Exception
+            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinarioConfig.APPLICATION_SMILE_VALUE, BinarioConfig.APPLICATION_PROTOBUF_VALUE},
+            produces = {MediaType.APPLICATION_JSON_VALUE,MediaType.APPLICATION_XML_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinarioConfig.APPLICATION_SMILE_VALUE, BinarioConfig.APPLICATION_PROTOBUF_VALUE})
+    public ResponseEntity<TipoInvestimento> updatePart(@PathVariable("id") Integer id, @Valid @RequestBody TipoInvestimento entity, @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) throws Exception
     {
         log.info("Executado método TipoInvestimentoResource.updatePart");
-        log.debug(String.format("Executando método TipoInvestimentoResource.updatePart | valores: %d, %s",id,entity));
+        log.debug("Executando método TipoInvestimentoResource.updatePart | valores: {}, {}", id, entity);
+
+        ResponseEntity<TipoInvestimento> tipoInvestimento = requisicaoCondicional.alterar(tipoInvestimentoService, id, ifMatch, versao -> tipoInvestimentoService.updatePart(id, entity, versao));
+
+        return tipoInvestimento;
+    }
+
+    @Override
+    @Operation(
+            summary = "Atualiza parte dos dados de um tipo de investimento com JSON Merge Patch",
+            description = "Método responsável para atualizar parte dos dados de um tipo de investimento no sistema, alterando apenas os campos presentes no documento (application/merge-patch+json)",
+            tags = { "tipoinvestimento" })
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", content = { @Content(schema = @Schema(implementation = TipoInvestimento.class), mediaType = MediaType.APPLICATION_XML_VALUE) }),
+            @ApiResponse(responseCode = "303", content = { @Content(schema = @Schema()) }),
+            @ApiResponse(responseCode = "404", content = { @Content(schema = @Schema()) }),
+            @ApiResponse(responseCode = "412", content = { @Content(schema = @Schema()) }),
+            @ApiResponse(responseCode = "500", content = { @Content(schema = @Schema()) }) })
+    @PatchMapping(value = "/{id}",
+            consumes = MergePatch.APPLICATION_MERGE_PATCH_JSON_VALUE,
+            produces = {MediaType.APPLICATION_JSON_VALUE,MediaType.APPLICATION_XML_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinarioConfig.APPLICATION_SMILE_VALUE, BinarioConfig.APPLICATION_PROTOBUF_VALUE})
+    public ResponseEntity<TipoInvestimento> mergePatch(@PathVariable("id") Integer id, @RequestBody JsonNode patch, @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch)
+    {
+        log.info("Executado método TipoInvestimentoResource.mergePatch");
+        log.debug("Executando método TipoInvestimentoResource.mergePatch | valores: {}, {}", id, patch);
 
-        TipoInvestimento tipoInvestimento = tipoInvestimentoService.updatePart(id, entity);
+        ResponseEntity<TipoInvestimento> tipoInvestimento = requisicaoCondicional.alterar(tipoInvestimentoService, id, ifMatch, versao -> tipoInvestimentoService.mergePatch(id, patch, versao));
 
         return tipoInvestimento;
     }
@@ -148,14 +199,15 @@ public class TipoInvestimentoResource implements IResource<TipoInvestimento,Inte
             @ApiResponse(responseCode = "200", content = { @Content(schema = @Schema(implementation = TipoInvestimento.class), mediaType = MediaType.APPLICATION_XML_VALUE) }),
             @ApiResponse(responseCode = "303", content = { @Content(schema = @Schema()) }),
             @ApiResponse(responseCode = "404", content = { @Content(schema = @Schema()) }),
+            @ApiResponse(responseCode = "412", content = { @Content(schema = @Schema()) }),
             @ApiResponse(responseCode = "500", content = { @Content(schema = @Schema()) }) })
     @PutMapping("/{id}")
-    public TipoInvestimento updateFull(@PathVariable("id") Integer id, @Valid @RequestBody TipoInvestimento entity)
+    public ResponseEntity<TipoInvestimento> updateFull(@PathVariable("id") Integer id, @Valid @RequestBody TipoInvestimento entity, @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch)
     {
         log.info("Executado método TipoInvestimentoResource.updateFull");
-        log.debug(String.format("Executando método TipoInvestimentoResource.updateFull | valores: %d, %s",id,entity));
+        log.debug("Executando método TipoInvestimentoResource.updateFull | valores: {}, {}", id, entity);
 
-        TipoInvestimento tipoInvestimento = tipoInvestimentoService.updateFull(id, entity);
+        ResponseEntity<TipoInvestimento> tipoInvestimento = requisicaoCondicional.alterar(tipoInvestimentoService, id, ifMatch, versao -> tipoInvestimentoService.updateFull(id, entity, versao));
 
         return tipoInvestimento;
     }
@@ -169,14 +221,15 @@ public class TipoInvestimentoResource implements IResource<TipoInvestimento,Inte
             @ApiResponse(responseCode = "200", content = { @Content(schema = @Schema(implementation = TipoInvestimento.class), mediaType = MediaType.APPLICATION_XML_VALUE) }),
             @ApiResponse(responseCode = "303", content = { @Content(schema = @Schema()) }),
             @ApiResponse(responseCode = "404", content = { @Content(schema = @Schema()) }),
+            @ApiResponse(responseCode = "412", content = { @Content(schema = @Schema()) }),
             @ApiResponse(responseCode = "500", content = { @Content(schema = @Schema()) }) })
     @DeleteMapping("/{id}")
-    public void delete(@PathVariable("id") Integer id)
+    public void delete(@PathVariable("id") Integer id, @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch)
     {
         log.info("Executado método TipoInvestimentoResource.delete");
-        log.debug(String.format("Executando método TipoInvestimentoResource.delete | valores: %d",id));
+        log.debug("Executando método TipoInvestimentoResource.delete | valores: {}", id);
 
-        tipoInvestimentoService.deleteById(id);
+        requisicaoCondicional.remover(tipoInvestimentoService, id, ifMatch);
     }
 
     @Override
@@ -190,12 +243,104 @@ public class TipoInvestimentoResource implements IResource<TipoInvestimento,Inte
             @ApiResponse(responseCode = "404", content = { @Content(schema = @Schema()) }),
             @ApiResponse(responseCode = "500", content = { @Content(schema = @Schema()) }) })
     @DeleteMapping(
-            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE})
+            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinarioConfig.APPLICATION_SMILE_VALUE, BinarioConfig.APPLICATION_PROTOBUF_VALUE})
     public void deleteByEntity(@Valid @RequestBody TipoInvestimento entity)
     {
         log.info("Executado método TipoInvestimentoResource.deleteByEntity");
-        log.debug(String.format("Executando método TipoInvestimentoResource.deleteByEntity | valores: %s",entity.toString()));
+        log.debug("Executando método TipoInvestimentoResource.deleteByEntity | valores: {}", entity);
 
         tipoInvestimentoService.delete(entity);
     }
-}
\ No newline at end of file
+
+    @Override
+    @Operation(
+            summary = "Criar tipos de investimento em lote",
+            description = "Método responsável para criar tipos de investimento em lote no sistema, com o resultado de cada item.",
+            tags = { "tipoinvestimento" })
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", content = { @Content(schema = @Schema(implementation = ResultadoItem.class), mediaType = MediaType.APPLICATION_JSON_VALUE) }),
+            @ApiResponse(responseCode = "500", content = { @Content(schema = @Schema()) }) })
+    @PostMapping(value = "/_bulk",
+            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinarioConfig.APPLICATION_SMILE_VALUE},
+            produces = {MediaType.APPLICATION_JSON_VALUE,MediaType.APPLICATION_XML_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinarioConfig.APPLICATION_SMILE_VALUE})
+    public List<ResultadoItem<TipoInvestimento, Integer>> createBulk(@RequestBody List<TipoInvestimento> entities)
+    {
+        log.info("Executado método TipoInvestimentoResource.createBulk | itens: {}", entities.size());
+
+        return tipoInvestimentoService.createAll(entities);
+    }
+
+    @Override
+    @Operation(
+            summary = "Alterar tipos de investimento em lote",
+            description = "Método responsável para alterar tipos de investimento em lote no sistema, com o resultado de cada item.",
+            tags = { "tipoinvestimento" })
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", content = { @Content(schema = @Schema(implementation = ResultadoItem.class), mediaType = MediaType.APPLICATION_JSON_VALUE) }),
+            @ApiResponse(responseCode = "500", content = { @Content(schema = @Schema()) }) })
+    @PutMapping(value = "/_bulk",
+            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinarioConfig.APPLICATION_SMILE_VALUE},
+            produces = {MediaType.APPLICATION_JSON_VALUE,MediaType.APPLICATION_XML_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinarioConfig.APPLICATION_SMILE_VALUE})
+    public List<ResultadoItem<TipoInvestimento, Integer>> updateBulk(@RequestBody List<TipoInvestimento> entities)
+    {
+        log.info("Executado método TipoInvestimentoResource.updateBulk | itens: {}", entities.size());
+
+        return tipoInvestimentoService.updateAll(entities);
+    }
+
+    @Override
+    @Operation(
+            summary = "Deletar tipos de investimento em lote",
+            description = "Método responsável para deletar tipos de investimento em lote no sistema, com o resultado de cada item.",
+            tags = { "tipoinvestimento" })
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", content = { @Content(schema = @Schema(implementation = ResultadoItem.class), mediaType = MediaType.APPLICATION_JSON_VALUE) }),
+            @ApiResponse(responseCode = "500", content = { @Content(schema = @Schema()) }) })
+    @DeleteMapping(value = "/_bulk",
+            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinarioConfig.APPLICATION_SMILE_VALUE},
+            produces = {MediaType.APPLICATION_JSON_VALUE,MediaType.APPLICATION_XML_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinarioConfig.APPLICATION_SMILE_VALUE})
+    public List<ResultadoItem<TipoInvestimento, Integer>> deleteBulk(@RequestBody List<Integer> ids)
+    {
+        log.info("Executado método TipoInvestimentoResource.deleteBulk | itens: {}", ids.size());
+
+        return tipoInvestimentoService.deleteAllById(ids);
+    }
+
+    @Override
+    @Operation(
+            summary = "Lista tipos de investimento por cursor",
+            description = "Método responsável para listar tipos de investimento em ordem de identificador. Envie o cursor devolvido para obter a próxima página.",
+            tags = { "tipoinvestimento" })
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", content = { @Content(schema = @Schema(implementation = PaginaCursor.class), mediaType = MediaType.APPLICATION_JSON_VALUE) }),
+            @ApiResponse(responseCode = "400", content = { @Content(schema = @Schema()) }),
+            @ApiResponse(responseCode = "500", content = { @Content(schema = @Schema()) }) })
+    @GetMapping(value = "/_lista",
+            produces = {MediaType.APPLICATION_JSON_VALUE,MediaType.APPLICATION_XML_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinarioConfig.APPLICATION_SMILE_VALUE, BinarioConfig.APPLICATION_PROTOBUF_VALUE})
+    public PaginaCursor<TipoInvestimento> list(@RequestParam(required = false) String cursor, @RequestParam(defaultValue = "50") int limite, @RequestParam(required = false) Set<String> expand)
+    {
+        log.info("Executado método TipoInvestimentoResource.list");
+        if (log.isDebugEnabled()) {
+            log.debug("Executando método TipoInvestimentoResource.list | valores: {}, {}, {}", cursor, limite, expand);
+        }
+
+        return tipoInvestimentoService.list(cursor, limite, expand);
+    }
+
+    @Override
+    @Operation(
+            summary = "Exporta todos os tipos de investimento em NDJSON",
+            description = "Método responsável para exportar todos os tipos de investimento do sistema, um objeto JSON por linha, sem carregar o resultado inteiro em memória.",
+            tags = { "tipoinvestimento" })
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", content = { @Content(schema = @Schema(implementation = TipoInvestimento.class), mediaType = NdjsonWriter.APPLICATION_NDJSON_VALUE) }),
+            @ApiResponse(responseCode = "500", content = { @Content(schema = @Schema()) }) })
+    @GetMapping(value = "/_lista",
+            produces = NdjsonWriter.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> stream()
+    {
+        log.info("Executado método TipoInvestimentoResource.stream");
+
+        return ndjsonWriter.escrever(tipoInvestimentoService);
+    }
+}
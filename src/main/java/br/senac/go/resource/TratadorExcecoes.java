@@ -0,0 +1,68 @@
+package br.senac.go.resource;
+
+import br.senac.go.exception.ConflitoException;
+import br.senac.go.exception.RequisicaoInvalidaException;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Converte as exceções lançadas pelos services em respostas HTTP.
+ */
+@Slf4j
+@RestControllerAdvice
+public class TratadorExcecoes {
+
+    @ExceptionHandler(EntityNotFoundException.class)
+    public ProblemDetail naoEncontrado(EntityNotFoundException e) {
+        log.info("Registro não encontrado: {}", e.getMessage());
+        return ProblemDetail.forStatusAndDetail(HttpStatus.NOT_FOUND, e.getMessage());
+    }
+
+    @ExceptionHandler(RequisicaoInvalidaException.class)
+    public ProblemDetail requisicaoInvalida(RequisicaoInvalidaException e) {
+        log.info("Requisição inválida: {}", e.getMessage());
+        return ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, e.getMessage());
+    }
+
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ProblemDetail conflito(DataIntegrityViolationException e) {
+        log.info("Violação de integridade: {}", e.getMostSpecificCause().getMessage());
+        return ProblemDetail.forStatusAndDetail(HttpStatus.CONFLICT, "Registro referenciado por outros dados ou duplicado");
+    }
+
+    @ExceptionHandler(ConflitoException.class)
+    public ProblemDetail estadoInvalido(ConflitoException e) {
+        log.info("Operação recusada: {}", e.getMessage());
+        return ProblemDetail.forStatusAndDetail(HttpStatus.CONFLICT, e.getMessage());
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ProblemDetail versaoDesatualizada(OptimisticLockingFailureException e) {
+        log.info("Registro alterado por outra transação: {}", e.getMessage());
+        return ProblemDetail.forStatusAndDetail(HttpStatus.CONFLICT, "Registro alterado por outra transação");
+    }
+
+    @ExceptionHandler(DataAccessResourceFailureException.class)
+    public ResponseEntity<ProblemDetail> indisponivel(DataAccessResourceFailureException e) {
+        log.warn("Banco de dados indisponível: {}", e.getMostSpecificCause().getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(ProblemDetail.forStatusAndDetail(HttpStatus.SERVICE_UNAVAILABLE, "Servidor sem conexões livres com o banco de dados"));
+    }
+
+    @ExceptionHandler(ResponseStatusException.class)
+    public ProblemDetail status(ResponseStatusException e) {
+        log.info("Requisição recusada com {}: {}", e.getStatusCode(), e.getReason());
+        return e.getBody();
+    }
+}
@@ -0,0 +1,434 @@
+package br.senac.go.service;
+
+import br.senac.go.dto.Avaliacao;
+import br.senac.go.model.Carteira;
+import br.senac.go.model.Conta;
+import br.senac.go.model.Investimento;
+import br.senac.go.model.Pessoa;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.AbstractCollectionEvent;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCollectionRecreateEvent;
+import org.hibernate.event.spi.PostCollectionRecreateEventListener;
+import org.hibernate.event.spi.PostCollectionRemoveEvent;
+import org.hibernate.event.spi.PostCollectionRemoveEventListener;
+import org.hibernate.event.spi.PostCollectionUpdateEvent;
+import org.hibernate.event.spi.PostCollectionUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Avaliação de carteiras: soma saldo e valor inicial dos investimentos e limite das contas
+ * das pessoas de {@link Carteira#getPessoas()}. Um investimento ou conta compartilhado por
+ * várias pessoas da mesma carteira entra uma única vez na soma da carteira; compartilhado
+ * entre carteiras, entra na avaliação de cada uma. O saldo e o limite são os do razão
+ * ({@link LancamentoService}).
+ * <p>
+ * Cada lote de carteiras é resolvido por uma consulta agregada (com subconsultas sobre os
+ * ids distintos) e uma consulta dos ids de que cada carteira depende, sem percorrer as
+ * associações LAZY entidade por entidade. Na avaliação de todas as carteiras os lotes são
+ * distribuídos em um {@link ForkJoinPool} próprio, cada um com a sua transação somente
+ * leitura; o paralelismo deve ficar abaixo do tamanho do pool de conexões.
+ * <p>
+ * Os resultados ficam em cache por carteira até que um investimento, conta, pessoa ou a
+ * própria carteira seja alterado: listeners do Hibernate acumulam os ids alterados na
+ * transação e, depois do commit, um índice reverso (id alterado → avaliações em cache que
+ * dependem dele) descarta apenas as carteiras afetadas, sem consultar o banco. Um cálculo
+ * em andamento durante o commit não guarda as carteiras que dependem de um id alterado;
+ * as demais do mesmo lote são guardadas.
+ */
+@Slf4j
+@Service
+public class AvaliacaoService {
+
+    private static final String CONSULTA =
+            "select c.id, size(c.pessoas)," +
+            " (select coalesce(sum(i.saldo), 0) from Investimento i where i.id in (select p.investimento.id from Carteira c2 join c2.pessoas p where c2.id = c.id))," +
+            " (select coalesce(sum(i.valorInicial), 0) from Investimento i where i.id in (select p.investimento.id from Carteira c2 join c2.pessoas p where c2.id = c.id))," +
+            " (select coalesce(sum(co.limiteConta), 0) from Conta co where co.id in (select p.conta.id from Carteira c2 join c2.pessoas p where c2.id = c.id))" +
+            " from Carteira c where c.id in :ids";
+
+    private static final String DEPENDENCIAS =
+            "select c.id, p.id, p.investimento.id, p.conta.id from Carteira c join c.pessoas p where c.id in :ids";
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${avaliacao.paralelismo:4}")
+    private int paralelismo;
+
+    @Value("${avaliacao.tamanho-lote:1000}")
+    private int tamanhoLote;
+
+    @Value("${avaliacao.cache.tamanho-maximo:250000}")
+    private long tamanhoMaximo;
+
+    @Value("${avaliacao.cache.expiracao:1h}")
+    private Duration expiracao;
+
+    private Cache<Integer, Entrada> cache;
+
+    /**
+     * Índice reverso: registro → avaliações em cache que dependem dele. Mantido junto com o
+     * cache (as entradas saem do índice quando saem do cache).
+     */
+    private final Map<Chave, Set<Entrada>> dependentes = new ConcurrentHashMap<>();
+
+    /**
+     * Cálculos em andamento, que recebem os ids alterados enquanto consultam o banco.
+     */
+    private final Set<Calculo> emAndamento = ConcurrentHashMap.newKeySet();
+
+    private ForkJoinPool pool;
+
+    private TransactionTemplate leitura;
+
+    @PostConstruct
+    void iniciar() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo)
+                .expireAfterWrite(expiracao)
+                .executor(Runnable::run) //o índice é atualizado na saída da entrada, não depois
+                .<Integer, Entrada>removalListener((id, entrada, causa) -> {
+                    if (entrada != null) {
+                        desindexar(entrada);
+                    }
+                })
+                .recordStats()
+                .build();
+        pool = new ForkJoinPool(paralelismo);
+        leitura = new TransactionTemplate(transactionManager);
+        leitura.setReadOnly(true);
+
+        Invalidador invalidador = new Invalidador();
+        EventListenerRegistry registro = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry().getService(EventListenerRegistry.class);
+        registro.appendListeners(EventType.POST_UPDATE, invalidador);
+        registro.appendListeners(EventType.POST_DELETE, invalidador);
+        registro.appendListeners(EventType.POST_COLLECTION_RECREATE, invalidador);
+        registro.appendListeners(EventType.POST_COLLECTION_UPDATE, invalidador);
+        registro.appendListeners(EventType.POST_COLLECTION_REMOVE, invalidador);
+    }
+
+    @PreDestroy
+    void encerrar() {
+        pool.shutdown();
+    }
+
+    /**
+     * Avaliação de uma carteira, do cache quando possível.
+     */
+    public Avaliacao avaliar(Integer id) {
+        log.info("Executado método AvaliacaoService.avaliar");
+        log.debug("Executado método AvaliacaoService.avaliar | valores: {}", id);
+        Entrada entrada = cache.getIfPresent(id);
+        if (entrada != null) {
+            return entrada.avaliacao();
+        }
+        List<Avaliacao> calculadas = calcular(List.of(id));
+        if (calculadas.isEmpty()) {
+            throw new EntityNotFoundException(String.format("Carteira %d não encontrada", id));
+        }
+        return calculadas.get(0);
+    }
+
+    /**
+     * Avaliação de várias carteiras (todas quando {@code ids} é vazio), em ordem de id.
+     * As que não estão no cache são calculadas em lotes, em paralelo.
+     */
+    public List<Avaliacao> avaliar(List<Integer> ids) throws InterruptedException {
+        log.info("Executado método AvaliacaoService.avaliar | itens: {}", ids == null ? 0 : ids.size());
+        List<Integer> alvo = ids == null || ids.isEmpty()
+                ? leitura.execute(status -> entityManager.createQuery("select c.id from Carteira c order by c.id", Integer.class).getResultList())
+                : ids.stream().distinct().sorted().toList();
+
+        Map<Integer, Avaliacao> encontradas = new HashMap<>();
+        cache.getAllPresent(alvo).forEach((id, entrada) -> encontradas.put(id, entrada.avaliacao()));
+        List<List<Integer>> lotes = new ArrayList<>();
+        List<Integer> lote = new ArrayList<>(tamanhoLote);
+        for (Integer id : alvo) {
+            if (!encontradas.containsKey(id)) {
+                lote.add(id);
+                if (lote.size() == tamanhoLote) {
+                    lotes.add(lote);
+                    lote = new ArrayList<>(tamanhoLote);
+                }
+            }
+        }
+        if (!lote.isEmpty()) {
+            lotes.add(lote);
+        }
+
+        long inicio = System.nanoTime();
+        try {
+            pool.submit(() -> lotes.parallelStream()
+                            .flatMap(l -> calcular(l).stream())
+                            .toList())
+                    .get()
+                    .forEach(avaliacao -> encontradas.put(avaliacao.getCarteiraId(), avaliacao));
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException r ? r : new IllegalStateException(e.getCause());
+        }
+        if (log.isInfoEnabled()) {
+            log.info("Avaliadas {} carteiras ({} do cache, {} lotes) em {} ms",
+                    alvo.size(), alvo.size() - lotes.stream().mapToInt(List::size).sum(), lotes.size(), Duration.ofNanos(System.nanoTime() - inicio).toMillis());
+        }
+        return alvo.stream().map(encontradas::get).filter(a -> a != null).toList();
+    }
+
+    public long tamanho() {
+        return cache.estimatedSize();
+    }
+
+    public void limpar() {
+        emAndamento.forEach(calculo -> calculo.tudo = true);
+        cache.invalidateAll();
+    }
+
+    /**
+     * Uma consulta agregada e uma das dependências para o lote. Carteiras inexistentes não
+     * aparecem no resultado.
+     */
+    private List<Avaliacao> calcular(List<Integer> ids) {
+        Calculo calculo = new Calculo();
+        emAndamento.add(calculo);
+        List<Entrada> entradas;
+        try {
+            LocalDateTime agora = LocalDateTime.now();
+            entradas = leitura.execute(status -> {
+                Map<Integer, Set<Chave>> dependencias = new HashMap<>();
+                for (Object[] linha : entityManager.createQuery(DEPENDENCIAS, Object[].class).setParameter("ids", ids).getResultList()) {
+                    Set<Chave> daCarteira = dependencias.computeIfAbsent((Integer) linha[0], id -> new HashSet<>());
+                    daCarteira.add(new Chave(Pessoa.class, (Integer) linha[1]));
+                    if (linha[2] != null) {
+                        daCarteira.add(new Chave(Investimento.class, (Integer) linha[2]));
+                    }
+                    if (linha[3] != null) {
+                        daCarteira.add(new Chave(Conta.class, (Integer) linha[3]));
+                    }
+                }
+                List<Entrada> resultado = new ArrayList<>(ids.size());
+                for (Object[] linha : entityManager.createQuery(CONSULTA, Object[].class).setParameter("ids", ids).getResultList()) {
+                    Integer id = (Integer) linha[0];
+                    Set<Chave> daCarteira = dependencias.getOrDefault(id, new HashSet<>());
+                    daCarteira.add(new Chave(Carteira.class, id));
+                    resultado.add(new Entrada(new Avaliacao(id, ((Number) linha[1]).longValue(),
+                            (BigDecimal) linha[2], (BigDecimal) linha[3], (BigDecimal) linha[4], agora), daCarteira));
+                }
+                return resultado;
+            });
+            entradas.forEach(this::guardar);
+        } finally {
+            emAndamento.remove(calculo);
+        }
+        //alterações confirmadas durante a consulta: a entrada guardada pode ter lido o valor anterior
+        for (Entrada entrada : entradas) {
+            if (calculo.tudo || entrada.dependencias().stream().anyMatch(calculo.alteradas::contains)) {
+                cache.asMap().remove(entrada.avaliacao().getCarteiraId(), entrada);
+            }
+        }
+        return entradas.stream().map(Entrada::avaliacao).toList();
+    }
+
+    private void guardar(Entrada entrada) {
+        entrada.dependencias().forEach(chave -> dependentes.compute(chave, (c, entradas) -> {
+            Set<Entrada> atualizadas = entradas == null ? ConcurrentHashMap.newKeySet() : entradas;
+            atualizadas.add(entrada);
+            return atualizadas;
+        }));
+        cache.put(entrada.avaliacao().getCarteiraId(), entrada);
+    }
+
+    private void desindexar(Entrada entrada) {
+        entrada.dependencias().forEach(chave -> dependentes.computeIfPresent(chave, (c, entradas) -> {
+            entradas.remove(entrada);
+            return entradas.isEmpty() ? null : entradas;
+        }));
+    }
+
+    private void invalidar(Set<Chave> alteradas) {
+        emAndamento.forEach(calculo -> calculo.alteradas.addAll(alteradas));
+        for (Chave chave : alteradas) {
+            Set<Entrada> entradas = dependentes.get(chave);
+            if (entradas != null) {
+                for (Entrada entrada : List.copyOf(entradas)) {
+                    cache.asMap().remove(entrada.avaliacao().getCarteiraId(), entrada);
+                }
+            }
+        }
+        log.debug("Avaliações descartadas por {}", alteradas);
+    }
+
+    /**
+     * Registro de que uma avaliação depende.
+     */
+    private record Chave(Class<?> tipo, Integer id) {
+    }
+
+    /**
+     * Avaliação em cache e os registros lidos para calculá-la. Comparada por identidade:
+     * o índice reverso e as remoções condicionais tratam de uma entrada específica.
+     */
+    private static final class Entrada {
+
+        private final Avaliacao avaliacao;
+
+        private final Set<Chave> dependencias;
+
+        Entrada(Avaliacao avaliacao, Set<Chave> dependencias) {
+            this.avaliacao = avaliacao;
+            this.dependencias = dependencias;
+        }
+
+        Avaliacao avaliacao() {
+            return avaliacao;
+        }
+
+        Set<Chave> dependencias() {
+            return dependencias;
+        }
+    }
+
+    /**
+     * Cálculo de um lote em andamento.
+     */
+    private static class Calculo {
+        final Set<Chave> alteradas = ConcurrentHashMap.newKeySet();
+        volatile boolean tudo;
+    }
+
+    /**
+     * Recebe os eventos do Hibernate durante o flush e agenda a invalidação para depois do commit.
+     * Inclusões não são observadas: um registro novo só afeta uma carteira quando entra em
+     * {@code Carteira.pessoas}, o que gera um evento de coleção.
+     */
+    private class Invalidador implements PostUpdateEventListener, PostDeleteEventListener,
+            PostCollectionRecreateEventListener, PostCollectionUpdateEventListener, PostCollectionRemoveEventListener {
+
+        @Override
+        public void onPostUpdate(PostUpdateEvent event) {
+            registrar(event.getEntity().getClass(), event.getId());
+        }
+
+        @Override
+        public void onPostDelete(PostDeleteEvent event) {
+            registrar(event.getEntity().getClass(), event.getId());
+        }
+
+        @Override
+        public void onPostRecreateCollection(PostCollectionRecreateEvent event) {
+            registrarColecao(event);
+        }
+
+        @Override
+        public void onPostUpdateCollection(PostCollectionUpdateEvent event) {
+            registrarColecao(event);
+        }
+
+        @Override
+        public void onPostRemoveCollection(PostCollectionRemoveEvent event) {
+            registrarColecao(event);
+        }
+
+        @Override
+        public boolean requiresPostCommitHandling(EntityPersister persister) {
+            return false;
+        }
+
+        private void registrarColecao(AbstractCollectionEvent event) {
+            if (event.getAffectedOwnerOrNull() instanceof Carteira) {
+                registrar(Carteira.class, event.getAffectedOwnerIdOrNull());
+            }
+        }
+    }
+
+    /**
+     * Registra a alteração (ou remoção) de um registro: descartada ao final da transação
+     * corrente ou na hora, sem transação (escritas do perfil reativo, que não passam pelo
+     * Hibernate).
+     */
+    void registrar(Class<?> tipo, Object id) {
+        Class<?> base = tipo(tipo);
+        if (base == null) {
+            return;
+        }
+        Chave chave = new Chave(base, (Integer) id);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidar(Set.of(chave));
+            return;
+        }
+        alteradas().add(chave);
+    }
+
+    private static Class<?> tipo(Class<?> tipo) {
+        for (Class<?> base : List.of(Carteira.class, Pessoa.class, Investimento.class, Conta.class)) {
+            if (base.isAssignableFrom(tipo)) {
+                return base;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Ids alterados na transação corrente, registrados uma única vez como recurso da transação.
+     */
+    @SuppressWarnings("unchecked")
+    private Set<Chave> alteradas() {
+        Set<Chave> alteradas = (Set<Chave>) TransactionSynchronizationManager.getResource(this);
+        if (alteradas == null) {
+            Set<Chave> novas = new HashSet<>();
+            TransactionSynchronizationManager.bindResource(this, novas);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidar(novas);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(AvaliacaoService.this);
+                }
+            });
+            alteradas = novas;
+        }
+        return alteradas;
+    }
+}
@@ -0,0 +1,165 @@
+package br.senac.go.service;
+
+import br.senac.go.dto.Periodo;
+import br.senac.go.exception.RequisicaoInvalidaException;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.metamodel.Attribute;
+import jakarta.persistence.metamodel.EntityType;
+import jakarta.persistence.metamodel.SingularAttribute;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Consulta por exemplo: transforma os campos preenchidos de uma entidade
+ * "modelo" em predicados JPQL.
+ * <ul>
+ *     <li>texto: prefixo ({@code LIKE 'valor%'}), que aproveita o índice da coluna;</li>
+ *     <li>demais tipos básicos: igualdade;</li>
+ *     <li>associações (ManyToOne): igualdade pelo id;</li>
+ *     <li>{@link Periodo}: intervalo sobre dataInicio, quando a entidade possui o campo.</li>
+ * </ul>
+ * O texto JPQL depende apenas do "formato" da consulta (quais campos vieram
+ * preenchidos e a ordenação), então é montado uma única vez por formato e
+ * reaproveitado; o Hibernate, por sua vez, guarda o plano compilado de cada
+ * texto no seu query plan cache.
+ */
+@Slf4j
+@Component
+public class ConsultaPorExemplo {
+
+    private static final String CAMPO_PERIODO = "dataInicio";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Guarda os resultados no cache de consultas do Hibernate. Ele é invalidado
+     * sozinho quando a tabela consultada recebe qualquer escrita.
+     */
+    @Value("${consulta.cache-resultados:false}")
+    private boolean cacheResultados;
+
+    private final Map<String, Jpql> planos = new ConcurrentHashMap<>();
+
+    public <T> Page<T> buscar(Class<T> tipo, T exemplo, Periodo periodo, Pageable pageable) {
+        EntityType<T> entidade = entityManager.getMetamodel().entity(tipo);
+        Map<String, Object> parametros = new LinkedHashMap<>();
+        List<String> formato = new ArrayList<>();
+
+        BeanWrapper wrapper = new BeanWrapperImpl(exemplo);
+        for (SingularAttribute<? super T, ?> atributo : entidade.getSingularAttributes()) {
+            if (atributo.isVersion()) {
+                continue;
+            }
+            String nome = atributo.getName();
+            Object valor = wrapper.getPropertyValue(nome);
+            if (valor == null) {
+                continue;
+            }
+            if (atributo.getPersistentAttributeType() == Attribute.PersistentAttributeType.MANY_TO_ONE) {
+                Object id = new BeanWrapperImpl(valor).getPropertyValue("id");
+                if (id != null) {
+                    formato.add(nome + ":ref");
+                    parametros.put(nome, id);
+                }
+            } else if (atributo.getPersistentAttributeType() == Attribute.PersistentAttributeType.BASIC) {
+                if (valor instanceof String texto) {
+                    formato.add(nome + ":prefixo");
+                    parametros.put(nome, escapar(texto) + "%");
+                } else {
+                    formato.add(nome + ":igual");
+                    parametros.put(nome, valor);
+                }
+            }
+        }
+
+        if (periodo != null && possuiAtributo(entidade, CAMPO_PERIODO)) {
+            if (periodo.getDataInicioDe() != null) {
+                formato.add(CAMPO_PERIODO + ":de");
+                parametros.put("periodoDe", periodo.getDataInicioDe());
+            }
+            if (periodo.getDataInicioAte() != null) {
+                formato.add(CAMPO_PERIODO + ":ate");
+                parametros.put("periodoAte", periodo.getDataInicioAte());
+            }
+        }
+
+        Sort ordem = pageable.getSort().isSorted() ? pageable.getSort() : Sort.by("id");
+        String chave = tipo.getName() + "|" + String.join(",", formato) + "|" + ordem;
+        Jpql jpql = planos.computeIfAbsent(chave, k -> montar(entidade, formato, ordem));
+
+        TypedQuery<T> consulta = entityManager.createQuery(jpql.select(), tipo)
+                .setHint(AvailableHints.HINT_CACHEABLE, cacheResultados);
+        parametros.forEach(consulta::setParameter);
+        if (pageable.isPaged()) {
+            consulta.setFirstResult((int) pageable.getOffset());
+            consulta.setMaxResults(pageable.getPageSize());
+        }
+        List<T> conteudo = consulta.getResultList();
+
+        return PageableExecutionUtils.getPage(conteudo, pageable, () -> {
+            TypedQuery<Long> total = entityManager.createQuery(jpql.count(), Long.class)
+                    .setHint(AvailableHints.HINT_CACHEABLE, cacheResultados);
+            parametros.forEach(total::setParameter);
+            return total.getSingleResult();
+        });
+    }
+
+    private <T> Jpql montar(EntityType<T> entidade, List<String> formato, Sort ordem) {
+        StringBuilder where = new StringBuilder();
+        for (String item : formato) {
+            String campo = item.substring(0, item.indexOf(':'));
+            String operador = item.substring(item.indexOf(':') + 1);
+            where.append(where.length() == 0 ? " where " : " and ");
+            switch (operador) {
+                case "prefixo" -> where.append("e.").append(campo).append(" like :").append(campo).append(" escape '\\'");
+                case "ref" -> where.append("e.").append(campo).append(".id = :").append(campo);
+                case "de" -> where.append("e.").append(campo).append(" >= :periodoDe");
+                case "ate" -> where.append("e.").append(campo).append(" <= :periodoAte");
+                default -> where.append("e.").append(campo).append(" = :").append(campo);
+            }
+        }
+
+        StringBuilder orderBy = new StringBuilder();
+        for (Sort.Order order : ordem) {
+            if (!possuiAtributo(entidade, order.getProperty())) {
+                throw new RequisicaoInvalidaException(String.format("Campo de ordenação inválido: %s", order.getProperty()));
+            }
+            orderBy.append(orderBy.length() == 0 ? " order by " : ", ")
+                    .append("e.").append(order.getProperty())
+                    .append(order.isAscending() ? " asc" : " desc");
+        }
+
+        String from = "from " + entidade.getName() + " e" + where;
+        log.debug("Nova consulta por exemplo: select e {}{}", from, orderBy);
+        return new Jpql("select e " + from + orderBy, "select count(e) " + from);
+    }
+
+    private boolean possuiAtributo(EntityType<?> entidade, String nome) {
+        return entidade.getSingularAttributes().stream()
+                .anyMatch(a -> a.getName().equals(nome) && a.getPersistentAttributeType() == Attribute.PersistentAttributeType.BASIC);
+    }
+
+    private String escapar(String texto) {
+        return texto.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    private record Jpql(String select, String count) {
+    }
+}
@@ -0,0 +1,105 @@
+package br.senac.go.service;
+
+import br.senac.go.config.ReativoConfig;
+import br.senac.go.model.Conta;
+import br.senac.go.model.TipoConta;
+import io.r2dbc.spi.Readable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Service
+@Profile(ReativoConfig.PERFIL)
+public class ContaServiceReativo extends GenericServiceReativo<Conta> {
+
+    private static final String TIPOS = Conta.class.getName() + ".tipoConta";
+
+    /**
+     * Conta.LIMITE_ATUAL com as colunas do registro qualificadas pela tabela, que no SQL nativo
+     * não recebe o alias que o Hibernate acrescenta às fórmulas.
+     */
+    private static final String LIMITE_ATUAL = Conta.LIMITE_ATUAL
+            .replace(" = ID", " = CONTA.ID")
+            .replaceFirst("^\\(LIMITE_CONTA ", "(CONTA.LIMITE_CONTA ");
+
+    private final List<Coluna<Conta>> colunas = List.of(
+            new Coluna<>("DESCRICAO", String.class, Conta::getDescricao),
+            new Coluna<>("LIMITE_CONTA", BigDecimal.class, conta -> {
+                conta.abrir();
+                return conta.getLimiteAbertura();
+            }, LIMITE_ATUAL, false),
+            new Coluna<>("DATA_INICIO", LocalDateTime.class, Conta::getDataInicio),
+            new Coluna<>("DATA_FIM", LocalDateTime.class, Conta::getDataFim)
+    );
+
+    @Autowired
+    private TipoContaService tipoContaService;
+
+    @Override
+    protected String tabela() {
+        return "CONTA";
+    }
+
+    @Override
+    protected String sequence() {
+        return "CONTA_SEQ";
+    }
+
+    @Override
+    protected List<Coluna<Conta>> colunas() {
+        return colunas;
+    }
+
+    @Override
+    protected Conta ler(Readable linha) {
+        Conta conta = new Conta();
+        conta.setId(linha.get("ID", Integer.class));
+        conta.setVersao(linha.get("VERSAO", Long.class));
+        conta.setDescricao(linha.get("DESCRICAO", String.class));
+        conta.setLimiteConta(linha.get("LIMITE_CONTA", BigDecimal.class));
+        conta.setDataInicio(linha.get("DATA_INICIO", LocalDateTime.class));
+        conta.setDataFim(linha.get("DATA_FIM", LocalDateTime.class));
+        conta.setTipoConta(null);
+        return conta;
+    }
+
+    @Override
+    public Long versao(Conta conta) {
+        return conta.getVersao();
+    }
+
+    @Override
+    protected void versao(Conta conta, Long versao) {
+        conta.setVersao(versao);
+    }
+
+    @Override
+    protected List<?> colecao(Conta conta) {
+        return conta.getTipoConta();
+    }
+
+    /**
+     * Os tipos da conta são removidos com ela (cascade e orphanRemoval no JPA).
+     */
+    @Override
+    protected Mono<List<Integer>> removerDependentes(Integer id) {
+        return removerColecao(id, "CONTA_TIPO_CONTA", "CONTA_ID", "TIPO_CONTA_ID", "TIPO_CONTA");
+    }
+
+    @Override
+    protected void removerDoCache(Integer id) {
+        super.removerDoCache(id);
+        cacheSegundoNivel().evictCollectionData(TIPOS, id);
+        cacheSegundoNivel().evictEntityData(TipoConta.class);
+    }
+
+    @Override
+    protected void removerDependentesDoCache(List<Integer> dependentes) {
+        dependentes.forEach(tipoContaService::invalidar);
+    }
+}
@@ -0,0 +1,373 @@
+package br.senac.go.service;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Formato colunar comprimido das exportações (extensão .gcol). As linhas são agrupadas em
+ * grupos de até {@code linhasPorGrupo}; em cada grupo os valores de uma coluna ficam
+ * juntos e são comprimidos (deflate) separadamente, o que aproxima valores parecidos
+ * (datas e ids em sequência, descrições repetidas) e comprime bem mais que o CSV.
+ * <pre>
+ * arquivo   = "GCOL1\n" colunas grupo* 0
+ * colunas   = n (nome tipo){n}            nome: tamanho + UTF-8, tipo: ordinal de {@link ExportacaoService.Tipo}
+ * grupo     = linhas (tamanho comprimido deflate(bloco)){colunas}
+ * bloco     = nulos valor*                nulos: 1 bit por linha (1 = nulo); valores só dos não nulos
+ * INTEIRO   = diferença para o valor anterior do grupo
+ * DATA_HORA = diferença em microssegundos (UTC) para o valor anterior do grupo
+ * DECIMAL   = escala, tamanho e bytes do valor sem escala (complemento de dois)
+ * TEXTO     = tamanho + UTF-8
+ * </pre>
+ * Todos os números inteiros são varints (diferenças e escala em zigzag). A memória usada é
+ * a de um grupo, qualquer que seja o total de linhas. {@link #ler} decodifica o formato.
+ */
+public class EscritorColunar implements EscritorExportacao {
+
+    public static final String MEDIA_TYPE_VALUE = "application/vnd.gestao.colunar";
+
+    private static final byte[] ASSINATURA = "GCOL1\n".getBytes(StandardCharsets.US_ASCII);
+
+    private static final int MAXIMO_VARINT = 10;
+
+    private final WritableByteChannel canal;
+
+    private final ByteBuffer saida;
+
+    private final List<ExportacaoService.Coluna> colunas;
+
+    private final int linhasPorGrupo;
+
+    private final Bloco[] blocos;
+
+    private final Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION);
+
+    private byte[] comprimido = new byte[8192];
+
+    private int linhas;
+
+    EscritorColunar(WritableByteChannel canal, ByteBuffer saida, List<ExportacaoService.Coluna> colunas, int linhasPorGrupo) throws IOException {
+        this.canal = canal;
+        this.saida = saida;
+        this.colunas = colunas;
+        this.linhasPorGrupo = linhasPorGrupo;
+        this.blocos = new Bloco[colunas.size()];
+        for (int i = 0; i < blocos.length; i++) {
+            blocos[i] = new Bloco((linhasPorGrupo + 7) / 8);
+        }
+        garantir(ASSINATURA.length);
+        saida.put(ASSINATURA);
+        varint(colunas.size());
+        for (ExportacaoService.Coluna coluna : colunas) {
+            byte[] nome = coluna.nome().getBytes(StandardCharsets.UTF_8);
+            varint(nome.length);
+            escrever(nome, 0, nome.length);
+            garantir(1);
+            saida.put((byte) coluna.tipo().ordinal());
+        }
+    }
+
+    @Override
+    public void linha(Object[] valores) throws IOException {
+        for (int i = 0; i < valores.length; i++) {
+            Bloco bloco = blocos[i];
+            Object valor = valores[i];
+            if (valor == null) {
+                bloco.nulos[linhas >> 3] |= (byte) (1 << (linhas & 7));
+                continue;
+            }
+            switch (colunas.get(i).tipo()) {
+                case INTEIRO -> bloco.diferenca(((Number) valor).longValue());
+                case DATA_HORA -> bloco.diferenca(micros((LocalDateTime) valor));
+                case DECIMAL -> {
+                    BigDecimal decimal = (BigDecimal) valor;
+                    byte[] semEscala = decimal.unscaledValue().toByteArray();
+                    bloco.valores.varint(zigzag(decimal.scale()));
+                    bloco.valores.varint(semEscala.length);
+                    bloco.valores.bytes(semEscala);
+                }
+                case TEXTO -> {
+                    byte[] texto = valor.toString().getBytes(StandardCharsets.UTF_8);
+                    bloco.valores.varint(texto.length);
+                    bloco.valores.bytes(texto);
+                }
+            }
+        }
+        if (++linhas == linhasPorGrupo) {
+            gravarGrupo();
+        }
+    }
+
+    @Override
+    public void terminar() throws IOException {
+        if (linhas > 0) {
+            gravarGrupo();
+        }
+        varint(0);
+        saida.flip();
+        while (saida.hasRemaining()) {
+            canal.write(saida);
+        }
+        saida.clear();
+        deflater.end();
+    }
+
+    private void gravarGrupo() throws IOException {
+        varint(linhas);
+        int tamanhoNulos = (linhas + 7) / 8;
+        for (Bloco bloco : blocos) {
+            deflater.reset();
+            deflater.setInput(bloco.nulos, 0, tamanhoNulos);
+            int tamanho = comprimir(0, false);
+            deflater.setInput(bloco.valores.conteudo, 0, bloco.valores.tamanho);
+            deflater.finish();
+            tamanho = comprimir(tamanho, true);
+            varint(tamanhoNulos + bloco.valores.tamanho);
+            varint(tamanho);
+            escrever(comprimido, 0, tamanho);
+            bloco.limpar(tamanhoNulos);
+        }
+        linhas = 0;
+    }
+
+    /**
+     * Comprime a entrada atual do deflater em {@link #comprimido} a partir de {@code inicio}.
+     * @return tamanho comprimido acumulado
+     */
+    private int comprimir(int inicio, boolean ateOFim) {
+        int tamanho = inicio;
+        while (ateOFim ? !deflater.finished() : !deflater.needsInput()) {
+            if (tamanho == comprimido.length) {
+                comprimido = Arrays.copyOf(comprimido, comprimido.length * 2);
+            }
+            tamanho += deflater.deflate(comprimido, tamanho, comprimido.length - tamanho);
+        }
+        return tamanho;
+    }
+
+    private void escrever(byte[] bytes, int inicio, int tamanho) throws IOException {
+        while (tamanho > 0) {
+            garantir(1);
+            int parte = Math.min(tamanho, saida.remaining());
+            saida.put(bytes, inicio, parte);
+            inicio += parte;
+            tamanho -= parte;
+        }
+    }
+
+    private void varint(long valor) throws IOException {
+        garantir(MAXIMO_VARINT);
+        while ((valor & ~0x7FL) != 0) {
+            saida.put((byte) (valor & 0x7F | 0x80));
+            valor >>>= 7;
+        }
+        saida.put((byte) valor);
+    }
+
+    private void garantir(int bytes) throws IOException {
+        if (saida.remaining() < bytes) {
+            saida.flip();
+            while (saida.hasRemaining()) {
+                canal.write(saida);
+            }
+            saida.clear();
+        }
+    }
+
+    private static long micros(LocalDateTime valor) {
+        return valor.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + valor.getNano() / 1000;
+    }
+
+    private static long zigzag(long valor) {
+        return valor << 1 ^ valor >> 63;
+    }
+
+    private static long dezigzag(long valor) {
+        return valor >>> 1 ^ -(valor & 1);
+    }
+
+    /**
+     * Valores de uma coluna no grupo atual (buffers reutilizados entre os grupos).
+     */
+    private static class Bloco {
+
+        private final byte[] nulos;
+
+        private final Bytes valores = new Bytes();
+
+        private long anterior;
+
+        Bloco(int tamanhoNulos) {
+            this.nulos = new byte[tamanhoNulos];
+        }
+
+        void diferenca(long valor) {
+            valores.varint(zigzag(valor - anterior));
+            anterior = valor;
+        }
+
+        void limpar(int tamanhoNulos) {
+            Arrays.fill(nulos, 0, tamanhoNulos, (byte) 0);
+            valores.tamanho = 0;
+            anterior = 0;
+        }
+    }
+
+    private static class Bytes {
+
+        private byte[] conteudo = new byte[8192];
+
+        private int tamanho;
+
+        void varint(long valor) {
+            garantir(MAXIMO_VARINT);
+            while ((valor & ~0x7FL) != 0) {
+                conteudo[tamanho++] = (byte) (valor & 0x7F | 0x80);
+                valor >>>= 7;
+            }
+            conteudo[tamanho++] = (byte) valor;
+        }
+
+        void bytes(byte[] bytes) {
+            garantir(bytes.length);
+            System.arraycopy(bytes, 0, conteudo, tamanho, bytes.length);
+            tamanho += bytes.length;
+        }
+
+        private void garantir(int bytes) {
+            if (tamanho + bytes > conteudo.length) {
+                conteudo = Arrays.copyOf(conteudo, Math.max(conteudo.length * 2, tamanho + bytes));
+            }
+        }
+    }
+
+    /**
+     * Lê um arquivo no formato colunar, entregando as linhas em ordem ao consumidor (o
+     * mesmo array é reutilizado entre as linhas).
+     * @return colunas do arquivo
+     */
+    public static List<ExportacaoService.Coluna> ler(ReadableByteChannel canal, Consumer<Object[]> consumidor) throws IOException {
+        DataInputStream entrada = new DataInputStream(new BufferedInputStream(Channels.newInputStream(canal), 65536));
+        byte[] assinatura = new byte[ASSINATURA.length];
+        entrada.readFully(assinatura);
+        if (!Arrays.equals(assinatura, ASSINATURA)) {
+            throw new IOException("Arquivo não está no formato colunar");
+        }
+        ExportacaoService.Tipo[] tipos = ExportacaoService.Tipo.values();
+        List<ExportacaoService.Coluna> colunas = new ArrayList<>();
+        int quantidade = (int) lerVarint(entrada);
+        for (int i = 0; i < quantidade; i++) {
+            byte[] nome = new byte[(int) lerVarint(entrada)];
+            entrada.readFully(nome);
+            colunas.add(new ExportacaoService.Coluna(new String(nome, StandardCharsets.UTF_8), tipos[entrada.readUnsignedByte()]));
+        }
+
+        Inflater inflater = new Inflater();
+        try {
+            Object[][] grupo = new Object[quantidade][];
+            Object[] linha = new Object[quantidade];
+            int linhas;
+            while ((linhas = (int) lerVarint(entrada)) > 0) {
+                for (int c = 0; c < quantidade; c++) {
+                    byte[] bloco = new byte[(int) lerVarint(entrada)];
+                    byte[] comprimido = new byte[(int) lerVarint(entrada)];
+                    entrada.readFully(comprimido);
+                    inflater.reset();
+                    inflater.setInput(comprimido);
+                    try {
+                        inflater.inflate(bloco);
+                    } catch (DataFormatException e) {
+                        throw new IOException("Bloco comprimido inválido", e);
+                    }
+                    grupo[c] = decodificar(ByteBuffer.wrap(bloco), colunas.get(c).tipo(), linhas);
+                }
+                for (int l = 0; l < linhas; l++) {
+                    for (int c = 0; c < quantidade; c++) {
+                        linha[c] = grupo[c][l];
+                    }
+                    consumidor.accept(linha);
+                }
+            }
+        } finally {
+            inflater.end();
+        }
+        return colunas;
+    }
+
+    private static Object[] decodificar(ByteBuffer bloco, ExportacaoService.Tipo tipo, int linhas) {
+        byte[] nulos = new byte[(linhas + 7) / 8];
+        bloco.get(nulos);
+        Object[] valores = new Object[linhas];
+        long anterior = 0;
+        for (int l = 0; l < linhas; l++) {
+            if ((nulos[l >> 3] & 1 << (l & 7)) != 0) {
+                continue;
+            }
+            switch (tipo) {
+                case INTEIRO -> {
+                    anterior += dezigzag(lerVarint(bloco));
+                    valores[l] = anterior;
+                }
+                case DATA_HORA -> {
+                    anterior += dezigzag(lerVarint(bloco));
+                    valores[l] = LocalDateTime.ofEpochSecond(Math.floorDiv(anterior, 1_000_000),
+                            (int) Math.floorMod(anterior, 1_000_000) * 1000, ZoneOffset.UTC);
+                }
+                case DECIMAL -> {
+                    int escala = (int) dezigzag(lerVarint(bloco));
+                    byte[] semEscala = new byte[(int) lerVarint(bloco)];
+                    bloco.get(semEscala);
+                    valores[l] = new BigDecimal(new BigInteger(semEscala), escala);
+                }
+                case TEXTO -> {
+                    byte[] texto = new byte[(int) lerVarint(bloco)];
+                    bloco.get(texto);
+                    valores[l] = new String(texto, StandardCharsets.UTF_8);
+                }
+            }
+        }
+        return valores;
+    }
+
+    private static long lerVarint(ByteBuffer entrada) {
+        long valor = 0;
+        for (int deslocamento = 0; ; deslocamento += 7) {
+            byte b = entrada.get();
+            valor |= (long) (b & 0x7F) << deslocamento;
+            if (b >= 0) {
+                return valor;
+            }
+        }
+    }
+
+    private static long lerVarint(DataInputStream entrada) throws IOException {
+        long valor = 0;
+        for (int deslocamento = 0; ; deslocamento += 7) {
+            int b = entrada.read();
+            if (b < 0) {
+                throw new EOFException("Arquivo colunar incompleto");
+            }
+            valor |= (long) (b & 0x7F) << deslocamento;
+            if (b < 0x80) {
+                return valor;
+            }
+        }
+    }
+}
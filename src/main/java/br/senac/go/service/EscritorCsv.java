@@ -0,0 +1,188 @@
+package br.senac.go.service;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * CSV (RFC 4180, UTF-8, separador vírgula e fim de linha \n) codificado direto em um
+ * {@link ByteBuffer} reutilizado e gravado no canal a cada buffer cheio: números, datas e
+ * texto são escritos byte a byte, sem String intermediária (exceto BigDecimal).
+ */
+class EscritorCsv implements EscritorExportacao {
+
+    /** maior quantidade de bytes de um caractere em UTF-8 */
+    private static final int MAXIMO_CARACTERE = 4;
+
+    /** long, data e hora com nanos ou BigDecimal curto cabem nesta reserva */
+    private static final int MAXIMO_NUMERO = 40;
+
+    private final WritableByteChannel canal;
+
+    private final ByteBuffer buffer;
+
+    EscritorCsv(WritableByteChannel canal, ByteBuffer buffer, List<ExportacaoService.Coluna> colunas) throws IOException {
+        this.canal = canal;
+        this.buffer = buffer;
+        for (int i = 0; i < colunas.size(); i++) {
+            if (i > 0) {
+                caractere(',');
+            }
+            texto(colunas.get(i).nome());
+        }
+        caractere('\n');
+    }
+
+    @Override
+    public void linha(Object[] valores) throws IOException {
+        for (int i = 0; i < valores.length; i++) {
+            if (i > 0) {
+                caractere(',');
+            }
+            Object valor = valores[i];
+            if (valor instanceof Integer || valor instanceof Long) {
+                inteiro(((Number) valor).longValue());
+            } else if (valor instanceof LocalDateTime dataHora) {
+                dataHora(dataHora);
+            } else if (valor instanceof BigDecimal decimal) {
+                ascii(decimal.toPlainString());
+            } else if (valor != null) {
+                texto(valor.toString());
+            }
+        }
+        caractere('\n');
+    }
+
+    @Override
+    public void terminar() throws IOException {
+        esvaziar();
+    }
+
+    private void texto(String valor) throws IOException {
+        boolean aspas = false;
+        for (int i = 0; i < valor.length() && !aspas; i++) {
+            char c = valor.charAt(i);
+            aspas = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (aspas) {
+            caractere('"');
+        }
+        for (int i = 0; i < valor.length(); ) {
+            int codigo = valor.codePointAt(i);
+            i += Character.charCount(codigo);
+            garantir(2 * MAXIMO_CARACTERE);
+            if (codigo == '"') {
+                buffer.put((byte) '"');
+            }
+            utf8(codigo);
+        }
+        if (aspas) {
+            caractere('"');
+        }
+    }
+
+    private void utf8(int codigo) {
+        if (codigo < 0x80) {
+            buffer.put((byte) codigo);
+        } else if (codigo < 0x800) {
+            buffer.put((byte) (0xC0 | codigo >> 6));
+            buffer.put((byte) (0x80 | codigo & 0x3F));
+        } else if (codigo < 0x10000) {
+            buffer.put((byte) (0xE0 | codigo >> 12));
+            buffer.put((byte) (0x80 | codigo >> 6 & 0x3F));
+            buffer.put((byte) (0x80 | codigo & 0x3F));
+        } else {
+            buffer.put((byte) (0xF0 | codigo >> 18));
+            buffer.put((byte) (0x80 | codigo >> 12 & 0x3F));
+            buffer.put((byte) (0x80 | codigo >> 6 & 0x3F));
+            buffer.put((byte) (0x80 | codigo & 0x3F));
+        }
+    }
+
+    private void ascii(String valor) throws IOException {
+        garantir(valor.length());
+        buffer.put(valor.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private void inteiro(long valor) throws IOException {
+        if (valor == Long.MIN_VALUE) {
+            ascii(Long.toString(valor));
+            return;
+        }
+        garantir(MAXIMO_NUMERO);
+        if (valor < 0) {
+            buffer.put((byte) '-');
+            valor = -valor;
+        }
+        int quantidade = 1;
+        for (long resto = valor / 10; resto > 0; resto /= 10) {
+            quantidade++;
+        }
+        digitos(valor, quantidade);
+    }
+
+    /**
+     * Formato ISO (como LocalDateTime.toString), com a fração em grupos de 3 dígitos.
+     */
+    private void dataHora(LocalDateTime valor) throws IOException {
+        garantir(MAXIMO_NUMERO);
+        digitos(valor.getYear(), 4);
+        buffer.put((byte) '-');
+        digitos(valor.getMonthValue(), 2);
+        buffer.put((byte) '-');
+        digitos(valor.getDayOfMonth(), 2);
+        buffer.put((byte) 'T');
+        digitos(valor.getHour(), 2);
+        buffer.put((byte) ':');
+        digitos(valor.getMinute(), 2);
+        buffer.put((byte) ':');
+        digitos(valor.getSecond(), 2);
+        int nanos = valor.getNano();
+        if (nanos == 0) {
+            return;
+        }
+        buffer.put((byte) '.');
+        if (nanos % 1_000_000 == 0) {
+            digitos(nanos / 1_000_000, 3);
+        } else if (nanos % 1000 == 0) {
+            digitos(nanos / 1000, 6);
+        } else {
+            digitos(nanos, 9);
+        }
+    }
+
+    /**
+     * {@code valor} (não negativo) com exatamente {@code quantidade} dígitos.
+     */
+    private void digitos(long valor, int quantidade) {
+        int fim = buffer.position() + quantidade;
+        for (int posicao = fim - 1; posicao >= fim - quantidade; posicao--) {
+            buffer.put(posicao, (byte) ('0' + valor % 10));
+            valor /= 10;
+        }
+        buffer.position(fim);
+    }
+
+    private void caractere(char c) throws IOException {
+        garantir(1);
+        buffer.put((byte) c);
+    }
+
+    private void garantir(int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            esvaziar();
+        }
+    }
+
+    private void esvaziar() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            canal.write(buffer);
+        }
+        buffer.clear();
+    }
+}
@@ -0,0 +1,19 @@
+package br.senac.go.service;
+
+import java.io.IOException;
+
+/**
+ * Codificação das linhas de uma exportação (ver {@link ExportacaoService}).
+ */
+interface EscritorExportacao {
+
+    /**
+     * Uma linha, com os valores na ordem das colunas da exportação.
+     */
+    void linha(Object[] valores) throws IOException;
+
+    /**
+     * Grava o que ainda estiver no buffer (e o rodapé do formato).
+     */
+    void terminar() throws IOException;
+}
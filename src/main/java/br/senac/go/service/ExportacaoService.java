@@ -0,0 +1,292 @@
+package br.senac.go.service;
+
+import br.senac.go.exception.RequisicaoInvalidaException;
+import br.senac.go.model.Conta;
+import br.senac.go.model.Investimento;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.Transaction;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.stream.Collectors;
+
+/**
+ * Exportação de contas e investimentos em CSV ou no formato colunar comprimido
+ * ({@link EscritorColunar}), para relatórios e carga em outras ferramentas:
+ * <ul>
+ *     <li>a leitura é feita em uma {@link StatelessSession} com cursor forward-only,
+ *     projetando só as colunas exportadas (sem entidades gerenciadas nem cache);</li>
+ *     <li>as linhas são codificadas direto em um {@link ByteBuffer} reutilizado
+ *     ({@code exportacao.tamanho-buffer}) e gravadas no canal a cada buffer cheio, no
+ *     arquivo (FileChannel, buffer direto) ou no corpo da resposta (buffer em heap,
+ *     escrito sem cópia intermediária).</li>
+ * </ul>
+ * A memória usada não depende da quantidade de registros. Com {@code exportacao.agendamento}
+ * (cron) as duas entidades são exportadas nos dois formatos em {@code exportacao.diretorio}.
+ */
+@Slf4j
+@Service
+public class ExportacaoService {
+
+    public enum Tipo { INTEIRO, DECIMAL, TEXTO, DATA_HORA }
+
+    public record Coluna(String nome, Tipo tipo) { }
+
+    public enum Formato {
+
+        CSV(LeitorCsv.TEXT_CSV_VALUE, "csv"),
+        COLUNAR(EscritorColunar.MEDIA_TYPE_VALUE, "gcol");
+
+        private final String mediaType;
+
+        private final String extensao;
+
+        Formato(String mediaType, String extensao) {
+            this.mediaType = mediaType;
+            this.extensao = extensao;
+        }
+
+        public String getMediaType() {
+            return mediaType;
+        }
+
+        public String getExtensao() {
+            return extensao;
+        }
+
+        /**
+         * @throws RequisicaoInvalidaException formato desconhecido
+         */
+        public static Formato de(String nome) {
+            return Arrays.stream(values())
+                    .filter(formato -> formato.name().equalsIgnoreCase(nome) || formato.extensao.equalsIgnoreCase(nome))
+                    .findFirst()
+                    .orElseThrow(() -> new RequisicaoInvalidaException(String.format("Formato de exportação %s inválido, use csv ou colunar", nome)));
+        }
+    }
+
+    /**
+     * Colunas exportadas de cada entidade, na ordem do arquivo.
+     */
+    private static final Map<Class<?>, List<Coluna>> COLUNAS = Map.of(
+            Conta.class, List.of(
+                    new Coluna("id", Tipo.INTEIRO),
+                    new Coluna("descricao", Tipo.TEXTO),
+                    new Coluna("limiteConta", Tipo.DECIMAL),
+                    new Coluna("dataInicio", Tipo.DATA_HORA),
+                    new Coluna("dataFim", Tipo.DATA_HORA),
+                    new Coluna("versao", Tipo.INTEIRO)),
+            Investimento.class, List.of(
+                    new Coluna("id", Tipo.INTEIRO),
+                    new Coluna("descricao", Tipo.TEXTO),
+                    new Coluna("valorInicial", Tipo.DECIMAL),
+                    new Coluna("saldo", Tipo.DECIMAL),
+                    new Coluna("dataInicio", Tipo.DATA_HORA),
+                    new Coluna("dataFim", Tipo.DATA_HORA),
+                    new Coluna("versao", Tipo.INTEIRO)));
+
+    private static final DateTimeFormatter CARIMBO = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Value("${exportacao.diretorio:exportacao}")
+    private Path diretorio;
+
+    @Value("${exportacao.tamanho-buffer:65536}")
+    private int tamanhoBuffer;
+
+    /**
+     * Buffers guardados para reutilização (de cada tipo); exportações além disso
+     * alocam um buffer próprio.
+     */
+    @Value("${exportacao.buffers:4}")
+    private int buffers;
+
+    @Value("${exportacao.tamanho-fetch:1000}")
+    private int tamanhoFetch;
+
+    @Value("${exportacao.colunar.linhas-por-grupo:8192}")
+    private int linhasPorGrupo;
+
+    private BlockingQueue<ByteBuffer> diretos;
+
+    private BlockingQueue<ByteBuffer> heap;
+
+    private SessionFactory sessionFactory;
+
+    @PostConstruct
+    void iniciar() {
+        diretos = new ArrayBlockingQueue<>(buffers);
+        heap = new ArrayBlockingQueue<>(buffers);
+        sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+    }
+
+    /**
+     * Colunas exportadas de {@code entidade}.
+     * @throws RequisicaoInvalidaException entidade sem exportação
+     */
+    public List<Coluna> colunas(Class<?> entidade) {
+        List<Coluna> colunas = COLUNAS.get(entidade);
+        if (colunas == null) {
+            throw new RequisicaoInvalidaException(String.format("Exportação de %s não suportada", entidade.getSimpleName()));
+        }
+        return colunas;
+    }
+
+    /**
+     * Exporta todos os registros de {@code entidade} no corpo de uma resposta (o chamador
+     * fecha a saída).
+     * @return registros exportados
+     */
+    public long exportar(Class<?> entidade, Formato formato, OutputStream saida) throws IOException {
+        log.info("Executado método ExportacaoService.exportar");
+        log.debug("Executado método ExportacaoService.exportar | valores: {} {}", entidade.getSimpleName(), formato);
+        ByteBuffer buffer = obter(heap, false);
+        try {
+            return exportar(entidade, formato, new CanalSaida(saida), buffer);
+        } finally {
+            devolver(heap, buffer);
+        }
+    }
+
+    /**
+     * Exporta todos os registros de {@code entidade} para um arquivo em {@code destino}. O
+     * arquivo é gravado com a extensão .parcial e renomeado ao terminar, para que uma
+     * exportação interrompida não seja confundida com uma completa.
+     * @return arquivo gerado
+     */
+    public Path exportar(Class<?> entidade, Formato formato, Path destino) throws IOException {
+        log.info("Executado método ExportacaoService.exportar");
+        log.debug("Executado método ExportacaoService.exportar | valores: {} {} {}", entidade.getSimpleName(), formato, destino);
+        Files.createDirectories(destino);
+        String nome = String.format("%s-%s.%s", entidade.getSimpleName().toLowerCase(Locale.ROOT),
+                CARIMBO.format(LocalDateTime.now()), formato.getExtensao());
+        Path arquivo = destino.resolve(nome);
+        Path parcial = destino.resolve(nome + ".parcial");
+        ByteBuffer buffer = obter(diretos, true);
+        try (FileChannel canal = FileChannel.open(parcial, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            long registros = exportar(entidade, formato, canal, buffer);
+            canal.force(false);
+            log.info("Exportação {} concluída | registros: {}", arquivo, registros);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(parcial);
+            throw e;
+        } finally {
+            devolver(diretos, buffer);
+        }
+        return Files.move(parcial, arquivo, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Exportação agendada de contas e investimentos, nos dois formatos.
+     */
+    @Scheduled(cron = "${exportacao.agendamento:-}")
+    public void exportarAgendado() {
+        log.info("Executado método ExportacaoService.exportarAgendado");
+        for (Class<?> entidade : List.of(Conta.class, Investimento.class)) {
+            for (Formato formato : Formato.values()) {
+                try {
+                    exportar(entidade, formato, diretorio);
+                } catch (IOException | RuntimeException e) {
+                    log.error("Falha na exportação agendada de {} em {}", entidade.getSimpleName(), formato, e);
+                }
+            }
+        }
+    }
+
+    private long exportar(Class<?> entidade, Formato formato, WritableByteChannel canal, ByteBuffer buffer) throws IOException {
+        List<Coluna> colunas = colunas(entidade);
+        String hql = colunas.stream()
+                .map(coluna -> "e." + coluna.nome())
+                .collect(Collectors.joining(", ", "select ", " from " + entidade.getSimpleName() + " e order by e.id"));
+        EscritorExportacao escritor = formato == Formato.CSV
+                ? new EscritorCsv(canal, buffer, colunas)
+                : new EscritorColunar(canal, buffer, colunas, linhasPorGrupo);
+        long registros = 0;
+        try (StatelessSession session = sessionFactory.openStatelessSession()) {
+            Transaction transacao = session.beginTransaction();
+            try (ScrollableResults<Object[]> resultados = session.createQuery(hql, Object[].class)
+                    .setReadOnly(true)
+                    .setFetchSize(tamanhoFetch)
+                    .scroll(ScrollMode.FORWARD_ONLY)) {
+                while (resultados.next()) {
+                    escritor.linha(resultados.get());
+                    registros++;
+                }
+            } finally {
+                transacao.rollback();
+            }
+        }
+        escritor.terminar();
+        return registros;
+    }
+
+    private ByteBuffer obter(BlockingQueue<ByteBuffer> pool, boolean direto) {
+        ByteBuffer buffer = pool.poll();
+        if (buffer != null) {
+            return buffer;
+        }
+        return direto ? ByteBuffer.allocateDirect(tamanhoBuffer) : ByteBuffer.allocate(tamanhoBuffer);
+    }
+
+    private void devolver(BlockingQueue<ByteBuffer> pool, ByteBuffer buffer) {
+        buffer.clear();
+        pool.offer(buffer);
+    }
+
+    /**
+     * Canal sobre o corpo da resposta: escreve o array do buffer em heap direto no
+     * OutputStream, sem a cópia de Channels.newChannel.
+     */
+    private static class CanalSaida implements WritableByteChannel {
+
+        private final OutputStream saida;
+
+        CanalSaida(OutputStream saida) {
+            this.saida = saida;
+        }
+
+        @Override
+        public int write(ByteBuffer buffer) throws IOException {
+            int tamanho = buffer.remaining();
+            saida.write(buffer.array(), buffer.arrayOffset() + buffer.position(), tamanho);
+            buffer.position(buffer.limit());
+            return tamanho;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package br.senac.go.service;
+
+import br.senac.go.interfaces.IEntity;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Service para tabelas de referência (pequenas, muito lidas e raramente alteradas):
+ * o {@link #readById(Object)} passa por um cache em memória limitado por tamanho
+ * (Caffeine, política W-TinyLFU), carregado na inicialização da aplicação.
+ * <p>
+ * As chaves são invalidadas pelos listeners do Hibernate de {@link InvalidadorCacheReferencia},
+ * de modo que também as escritas feitas por outra entidade (cascade e orphanRemoval das
+ * coleções de Conta e Investimento, merge patch dos itens) descartam o registro. Cada
+ * chave é invalidada duas vezes: no flush e depois do commit. Uma leitura que carregou o
+ * registro do banco antes desse commit não o deixa no cache: cada invalidação incrementa a
+ * geração da faixa de chaves do registro e a leitura, depois de guardar, confere se a
+ * geração mudou desde antes da consulta (se mudou, remove o que guardou).
+ * <p>
+ * O cache guarda uma instância que não sai do service: cada leitura devolve uma cópia
+ * rasa, que o chamador pode alterar sem afetar as leituras seguintes.
+ * @param <T> entidade
+ * @param <N> tipo do identificador
+ */
+public abstract class GenericCacheService<T extends IEntity<N>, N> extends GenericService<T, N> {
+
+    @Value("${cache.referencia.tamanho-maximo:1000}")
+    private long tamanhoMaximo;
+
+    @Value("${cache.referencia.expiracao:1h}")
+    private Duration expiracao;
+
+    private static final int FAIXAS = 64;
+
+    private Cache<N, T> cache;
+
+    /**
+     * Geração por faixa de chaves (hash do id), incrementada antes de cada invalidação.
+     */
+    private final AtomicLongArray geracoes = new AtomicLongArray(FAIXAS);
+
+    @PostConstruct
+    void criarCache() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo)
+                .expireAfterWrite(expiracao)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Carrega o cache com os primeiros registros da tabela (até o tamanho máximo).
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void aquecer() {
+        long[] antes = new long[FAIXAS];
+        for (int faixa = 0; faixa < FAIXAS; faixa++) {
+            antes[faixa] = geracoes.get(faixa);
+        }
+        List<T> registros = repository.findAll(PageRequest.of(0, (int) Math.min(tamanhoMaximo, Integer.MAX_VALUE), Sort.by("id"))).getContent();
+        registros.forEach(entity -> guardar(entity.getId(), entity, antes[faixa(entity.getId())]));
+        log.info("Cache {} carregado com {} registros", nomeCache(), registros.size());
+    }
+
+    public String nomeCache() {
+        return tipoEntidade().getSimpleName();
+    }
+
+    public CacheStats estatisticas() {
+        return cache.stats();
+    }
+
+    public long tamanho() {
+        return cache.estimatedSize();
+    }
+
+    public void limpar() {
+        for (int faixa = 0; faixa < FAIXAS; faixa++) {
+            geracoes.incrementAndGet(faixa);
+        }
+        cache.invalidateAll();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public T readById(N id) throws Exception {
+        T entity = cache.getIfPresent(id);
+        if (entity != null) {
+            return copia(entity);
+        }
+        long geracao = geracoes.get(faixa(id));
+        entity = super.readById(id);
+        guardar(id, entity, geracao);
+        return copia(entity);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Object versaoAtual(N id) {
+        T entity = cache.getIfPresent(id);
+        return entity != null ? versao(entity) : super.versaoAtual(id);
+    }
+
+    /**
+     * Guarda o registro lido quando nenhuma invalidação da faixa aconteceu desde
+     * {@code geracao}; a conferência depois do put cobre a invalidação concorrente.
+     */
+    private void guardar(N id, T entity, long geracao) {
+        int faixa = faixa(id);
+        if (geracoes.get(faixa) != geracao) {
+            return;
+        }
+        cache.put(id, entity);
+        if (geracoes.get(faixa) != geracao) {
+            cache.asMap().remove(id, entity);
+        }
+    }
+
+    private T copia(T entity) {
+        T copia = BeanUtils.instantiateClass(tipoEntidade());
+        BeanUtils.copyProperties(entity, copia);
+        return copia;
+    }
+
+    private static int faixa(Object id) {
+        return Math.floorMod(id.hashCode(), FAIXAS);
+    }
+
+    /**
+     * Descarta o registro quando ele é da entidade deste cache.
+     */
+    @SuppressWarnings("unchecked")
+    void descartar(Object entidade, Object id) {
+        if (tipoEntidade().isInstance(entidade)) {
+            invalidar((N) id);
+        }
+    }
+
+    /**
+     * Descarta o registro agora e, dentro de uma transação, de novo ao final dela.
+     */
+    void invalidar(N id) {
+        if (id == null) {
+            return;
+        }
+        geracoes.incrementAndGet(faixa(id));
+        cache.invalidate(id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    geracoes.incrementAndGet(faixa(id));
+                    cache.invalidate(id);
+                }
+            });
+        }
+    }
+}
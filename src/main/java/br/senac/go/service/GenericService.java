@@ -0,0 +1,802 @@
+package br.senac.go.service;
+
+import br.senac.go.dto.PaginaCursor;
+import br.senac.go.dto.Periodo;
+import br.senac.go.dto.ResultadoItem;
+import br.senac.go.exception.ConflitoException;
+import br.senac.go.exception.RequisicaoInvalidaException;
+import br.senac.go.interfaces.IEntity;
+import br.senac.go.interfaces.IService;
+import br.senac.go.repository.GenericRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import jakarta.persistence.EntityGraph;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.metamodel.Attribute;
+import jakarta.persistence.metamodel.EntityType;
+import jakarta.persistence.metamodel.Metamodel;
+import jakarta.persistence.metamodel.SingularAttribute;
+import org.hibernate.Hibernate;
+import org.hibernate.PropertyValueException;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.hibernate.jpa.AvailableHints;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.GenericTypeResolver;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.ClassUtils;
+
+import java.beans.PropertyDescriptor;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Implementação base de {@link IService} apoiada em um {@link GenericRepository}.
+ * Os services concretos apenas informam a entidade e o tipo do identificador;
+ * o Spring injeta o repositório correspondente pelo tipo genérico.
+ * @param <T> entidade
+ * @param <N> tipo do identificador
+ */
+@Transactional
+public abstract class GenericService<T extends IEntity<N>, N> implements IService<T, N> {
+
+    protected final Logger log = LoggerFactory.getLogger(getClass());
+
+    /**
+     * Nome simples da classe, calculado uma única vez para as mensagens de log.
+     */
+    protected final String nome = getClass().getSimpleName();
+
+    @Autowired
+    protected GenericRepository<T, N> repository;
+
+    @PersistenceContext
+    protected EntityManager entityManager;
+
+    @Autowired
+    protected ConsultaPorExemplo consultaPorExemplo;
+
+    @Autowired
+    protected PlatformTransactionManager transactionManager;
+
+    @Autowired
+    protected MergePatch mergePatch;
+
+    /**
+     * Quantidade de itens gravados por transação nas operações em lote.
+     */
+    @Value("${bulk.tamanho-lote:500}")
+    protected int tamanhoLote;
+
+    /**
+     * Maior quantidade de itens devolvida por página na listagem por cursor.
+     */
+    @Value("${lista.limite-maximo:1000}")
+    protected int limiteMaximo;
+
+    private volatile String atributoVersao;
+
+    @Override
+    public T create(T entity) {
+        log.info("Executado método {}.create", nome);
+        log.debug("Executado método {}.create | valores: {}", nome, entity);
+        entity.setId(null);
+        limparVersao(entity);
+        prepararAssociacoes(entity);
+        return repository.save(entity);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public T readById(N id) throws Exception {
+        log.info("Executado método {}.readById", nome);
+        log.debug("Executado método {}.readById | valores: {}", nome, id);
+        return repository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException(String.format("Registro %s não encontrado", id)));
+    }
+
+    /**
+     * Leitura por id com as associações de {@code expand} carregadas na mesma
+     * consulta (entity graph / join fetch).
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public T readById(N id, Set<String> expand) throws Exception {
+        if (expand == null || expand.isEmpty()) {
+            return readById(id);
+        }
+        log.info("Executado método {}.readById", nome);
+        if (log.isDebugEnabled()) {
+            log.debug("Executado método {}.readById | valores: {} {}", nome, id, expand);
+        }
+        EntityGraph<T> plano = entityManager.createEntityGraph(tipoEntidade());
+        plano.addAttributeNodes(associacoes(expand));
+        T entity = entityManager.find(tipoEntidade(), id, Map.of(AvailableHints.HINT_SPEC_FETCH_GRAPH, plano));
+        if (entity == null) {
+            throw new EntityNotFoundException(String.format("Registro %s não encontrado", id));
+        }
+        //vindo do cache de segundo nível o entity graph não é aplicado
+        carregarAssociacoes(List.of(entity), expand);
+        return entity;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<T> read(T entity, Periodo periodo, Pageable pageable, Set<String> expand) throws Exception {
+        log.info("Executado método {}.read", nome);
+        if (log.isDebugEnabled()) {
+            log.debug("Executado método {}.read | valores: {} {} {} {}", nome, entity, periodo, pageable, expand);
+        }
+        Page<T> pagina = consultaPorExemplo.buscar(tipoEntidade(), entity, periodo, pageable);
+        carregarAssociacoes(pagina.getContent(), expand);
+        return pagina;
+    }
+
+    @Override
+    public T updateFull(T entity) {
+        log.info("Executado método {}.updateFull", nome);
+        log.debug("Executado método {}.updateFull | valores: {}", nome, entity);
+        if (entity.getId() != null && atributoVersao() != null) {
+            repository.findById(entity.getId()).ifPresent(atual -> {
+                prepararVersao(entity, atual);
+                conferirSomenteLeitura(entity, atual);
+            });
+        } else {
+            prepararAssociacoes(entity);
+        }
+        return repository.save(entity);
+    }
+
+    @Override
+    public T updatePart(N id, T entity) throws Exception {
+        return updatePart(id, entity, null);
+    }
+
+    @Override
+    public T updatePart(N id, T entity, Object versao) {
+        log.info("Executado método {}.updatePart", nome);
+        if (log.isDebugEnabled()) {
+            log.debug("Executado método {}.updatePart | valores: {} {} {}", nome, id, entity, versao);
+        }
+        T atual = repository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException(String.format("Registro %s não encontrado", id)));
+        prepararVersao(entity, atual, versao);
+        conferirSomenteLeitura(entity, atual);
+        BeanUtils.copyProperties(entity, atual, propriedadesNulas(entity));
+        copiarColecoes(entity, atual);
+        return repository.save(atual);
+    }
+
+    /**
+     * Aplica o merge patch no registro gerenciado. Com {@code @DynamicUpdate} o UPDATE
+     * contém apenas as colunas alteradas; quando o patch não muda nada não há escrita
+     * (e, com a conexão obtida só no primeiro comando, nem acesso ao banco se o registro
+     * estiver no cache de segundo nível).
+     */
+    @Override
+    public T mergePatch(N id, JsonNode patch, Object versao) {
+        log.info("Executado método {}.mergePatch", nome);
+        if (log.isDebugEnabled()) {
+            log.debug("Executado método {}.mergePatch | valores: {} {} {}", nome, id, patch, versao);
+        }
+        T atual = repository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException(String.format("Registro %s não encontrado", id)));
+        conferirVersao(atual, versao);
+        String atributo = atributoVersao();
+        if (atributo != null && patch != null && patch.hasNonNull(atributo)) {
+            conferirVersao(atual, patch.get(atributo).asText());
+        }
+        if (!mergePatch.aplicar(atual, patch)) {
+            log.debug("Executado método {}.mergePatch | registro {} sem alterações", nome, id);
+        }
+        return atual;
+    }
+
+    @Override
+    public T updateFull(N id, T entity) {
+        return updateFull(id, entity, null);
+    }
+
+    @Override
+    public T updateFull(N id, T entity, Object versao) {
+        log.info("Executado método {}.updateFull", nome);
+        if (log.isDebugEnabled()) {
+            log.debug("Executado método {}.updateFull | valores: {} {} {}", nome, id, entity, versao);
+        }
+        if (atributoVersao() != null) {
+            T atual = repository.findById(id)
+                    .orElseThrow(() -> new EntityNotFoundException(String.format("Registro %s não encontrado", id)));
+            prepararVersao(entity, atual, versao);
+            conferirSomenteLeitura(entity, atual);
+        } else if (!repository.existsById(id)) {
+            throw new EntityNotFoundException(String.format("Registro %s não encontrado", id));
+        }
+        entity.setId(id);
+        return repository.save(entity);
+    }
+
+    @Override
+    public T deleteById(N id) {
+        return deleteById(id, null);
+    }
+
+    /**
+     * A remoção de entidade versionada é feita com a versão lida na condição
+     * ({@code DELETE ... WHERE ID = ? AND VERSAO = ?}), então a verificação da versão
+     * esperada e a remoção não podem ser intercaladas por outra alteração.
+     */
+    @Override
+    public T deleteById(N id, Object versao) {
+        log.info("Executado método {}.deleteById", nome);
+        if (log.isDebugEnabled()) {
+            log.debug("Executado método {}.deleteById | valores: {} {}", nome, id, versao);
+        }
+        T entity = repository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException(String.format("Registro %s não encontrado", id)));
+        conferirVersao(entity, versao);
+        repository.delete(entity);
+        return entity;
+    }
+
+    @Override
+    public T delete(T entity) {
+        log.info("Executado método {}.delete", nome);
+        log.debug("Executado método {}.delete | valores: {}", nome, entity);
+        if (entity.getId() != null && atributoVersao() != null) {
+            //sem a versão o repositório trataria o registro como novo e não removeria nada
+            repository.findById(entity.getId()).ifPresent(atual -> prepararVersao(entity, atual));
+        }
+        repository.delete(entity);
+        return entity;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Object versaoAtual(N id) {
+        return versao(repository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException(String.format("Registro %s não encontrado", id))));
+    }
+
+    @Override
+    public Object versao(T entity) {
+        String atributo = atributoVersao();
+        return atributo == null ? null : new BeanWrapperImpl(entity).getPropertyValue(atributo);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<ResultadoItem<T, N>> createAll(List<T> entities) {
+        log.info("Executado método {}.createAll | itens: {}", nome, entities.size());
+        return processarEmLotes(entities,
+                lote -> {
+                    lote.forEach(entity -> {
+                        entity.setId(null);
+                        limparVersao(entity);
+                        prepararAssociacoes(entity);
+                    });
+                    return repository.saveAll(lote).stream()
+                            .map(salvo -> ResultadoItem.sucesso(HttpStatus.CREATED.value(), salvo.getId(), salvo))
+                            .collect(Collectors.toList());
+                },
+                entity -> {
+                    entity.setId(null);
+                    limparVersao(entity);
+                    prepararAssociacoes(entity);
+                    T salvo = repository.save(entity);
+                    return ResultadoItem.sucesso(HttpStatus.CREATED.value(), salvo.getId(), salvo);
+                });
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<ResultadoItem<T, N>> updateAll(List<T> entities) {
+        log.info("Executado método {}.updateAll | itens: {}", nome, entities.size());
+        return processarEmLotes(entities,
+                lote -> {
+                    Set<N> existentes = idsExistentes(lote.stream().map(IEntity::getId).collect(Collectors.toList()));
+                    List<ResultadoItem<T, N>> resultados = new ArrayList<>(lote.size());
+                    for (T entity : lote) {
+                        resultados.add(atualizar(entity, existentes.contains(entity.getId())));
+                    }
+                    return resultados;
+                },
+                entity -> atualizar(entity, entity.getId() != null && repository.existsById(entity.getId())));
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<ResultadoItem<T, N>> deleteAllById(List<N> ids) {
+        log.info("Executado método {}.deleteAllById | itens: {}", nome, ids.size());
+        return processarEmLotes(ids,
+                lote -> {
+                    List<T> encontrados = repository.findAllById(lote.stream().filter(Objects::nonNull).collect(Collectors.toList()));
+                    repository.deleteAll(encontrados);
+                    Set<N> removidos = encontrados.stream().map(IEntity::getId).collect(Collectors.toSet());
+                    return lote.stream().map(this::resultadoRemocao).map(resultado -> removidos.contains(resultado.getId())
+                            ? resultado
+                            : ResultadoItem.<T, N>falha(HttpStatus.NOT_FOUND.value(), resultado.getId(), "Registro não encontrado"))
+                            .collect(Collectors.toList());
+                },
+                id -> {
+                    deleteById(id);
+                    return resultadoRemocao(id);
+                });
+    }
+
+    /**
+     * Listagem por cursor (keyset) ordenada pelo id: cada página filtra
+     * {@code id > último id da página anterior}, que é resolvido pelo índice da
+     * chave primária sem percorrer as linhas já lidas (ao contrário do OFFSET).
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public PaginaCursor<T> list(String cursor, int limite, Set<String> expand) {
+        log.info("Executado método {}.list", nome);
+        if (log.isDebugEnabled()) {
+            log.debug("Executado método {}.list | valores: {} {} {}", nome, cursor, limite, expand);
+        }
+        if (limite < 1 || limite > limiteMaximo) {
+            throw new RequisicaoInvalidaException(String.format("O limite deve estar entre 1 e %d", limiteMaximo));
+        }
+
+        String entidade = entityManager.getMetamodel().entity(tipoEntidade()).getName();
+        List<T> itens;
+        if (cursor == null || cursor.isBlank()) {
+            itens = entityManager.createQuery("select e from " + entidade + " e order by e.id", tipoEntidade())
+                    .setMaxResults(limite + 1)
+                    .getResultList();
+        } else {
+            itens = entityManager.createQuery("select e from " + entidade + " e where e.id > :ultimo order by e.id", tipoEntidade())
+                    .setParameter("ultimo", idDoCursor(cursor))
+                    .setMaxResults(limite + 1)
+                    .getResultList();
+        }
+
+        if (itens.size() <= limite) {
+            carregarAssociacoes(itens, expand);
+            return new PaginaCursor<>(itens, null);
+        }
+        List<T> pagina = new ArrayList<>(itens.subList(0, limite));
+        carregarAssociacoes(pagina, expand);
+        return new PaginaCursor<>(pagina, PaginaCursor.codificar(pagina.get(limite - 1).getId()));
+    }
+
+    /**
+     * Percorre todos os registros em ordem de id com um cursor JDBC somente leitura
+     * (forward-only), entregando um a um ao consumidor. O contexto de persistência
+     * é limpo a cada {@link #tamanhoLote} registros para que a memória não cresça
+     * com o volume lido.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void scroll(Consumer<T> consumidor) {
+        log.info("Executado método {}.scroll", nome);
+        Session session = entityManager.unwrap(Session.class);
+        String entidade = entityManager.getMetamodel().entity(tipoEntidade()).getName();
+        int lidos = 0;
+        try (ScrollableResults<T> resultados = session.createQuery("select e from " + entidade + " e order by e.id", tipoEntidade())
+                .setReadOnly(true)
+                .setFetchSize(tamanhoLote)
+                .scroll(ScrollMode.FORWARD_ONLY)) {
+            while (resultados.next()) {
+                consumidor.accept(resultados.get());
+                if (++lidos % tamanhoLote == 0) {
+                    session.clear();
+                }
+            }
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("Executado método {}.scroll | registros: {}", nome, lidos);
+        }
+    }
+
+    /**
+     * Inicializa as associações de {@code expand} em uma lista já carregada.
+     * Com hibernate.default_batch_fetch_size, a primeira inicialização busca a
+     * associação de até um lote inteiro de registros de uma vez, então o custo é
+     * de ceil(registros / lote) consultas por associação, e não uma por registro.
+     * (Join fetch de coleções junto com paginação obrigaria o Hibernate a paginar
+     * em memória, por isso aqui é usado o batch fetch.)
+     */
+    protected void carregarAssociacoes(List<T> entidades, Set<String> expand) {
+        if (expand == null || expand.isEmpty() || entidades.isEmpty()) {
+            return;
+        }
+        for (String associacao : associacoes(expand)) {
+            for (T entity : entidades) {
+                Hibernate.initialize(new BeanWrapperImpl(entity).getPropertyValue(associacao));
+            }
+        }
+    }
+
+    /**
+     * Valida os nomes recebidos em {@code expand} contra o metamodelo JPA:
+     * apenas associações da entidade são aceitas.
+     */
+    protected String[] associacoes(Set<String> expand) {
+        EntityType<T> entidade = entityManager.getMetamodel().entity(tipoEntidade());
+        return expand.stream()
+                .map(nome -> {
+                    Attribute<? super T, ?> atributo;
+                    try {
+                        atributo = entidade.getAttribute(nome);
+                    } catch (IllegalArgumentException e) {
+                        throw new RequisicaoInvalidaException(String.format("Associação inválida para expand: %s", nome));
+                    }
+                    if (!atributo.isAssociation()) {
+                        throw new RequisicaoInvalidaException(String.format("Associação inválida para expand: %s", nome));
+                    }
+                    return nome;
+                })
+                .toArray(String[]::new);
+    }
+
+    @SuppressWarnings("unchecked")
+    private N idDoCursor(String cursor) {
+        Class<?> tipoId = entityManager.getMetamodel().entity(tipoEntidade()).getIdType().getJavaType();
+        try {
+            return (N) DefaultConversionService.getSharedInstance().convert(PaginaCursor.decodificar(cursor), tipoId);
+        } catch (RuntimeException e) {
+            throw new RequisicaoInvalidaException("Cursor inválido");
+        }
+    }
+
+    private ResultadoItem<T, N> atualizar(T entity, boolean existe) {
+        if (entity.getId() == null) {
+            return ResultadoItem.falha(HttpStatus.BAD_REQUEST.value(), null, "Identificador obrigatório");
+        }
+        if (!existe) {
+            return ResultadoItem.falha(HttpStatus.NOT_FOUND.value(), entity.getId(), "Registro não encontrado");
+        }
+        if (atributoVersao() != null) {
+            repository.findById(entity.getId()).ifPresent(atual -> {
+                prepararVersao(entity, atual);
+                conferirSomenteLeitura(entity, atual);
+            });
+        }
+        T salvo = repository.save(entity);
+        return ResultadoItem.sucesso(HttpStatus.OK.value(), salvo.getId(), salvo);
+    }
+
+    private ResultadoItem<T, N> resultadoRemocao(N id) {
+        return ResultadoItem.sucesso(HttpStatus.NO_CONTENT.value(), id, null);
+    }
+
+    private Set<N> idsExistentes(List<N> ids) {
+        return repository.findAllById(ids.stream().filter(Objects::nonNull).collect(Collectors.toList())).stream()
+                .map(IEntity::getId)
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * Divide os itens em lotes de {@link #tamanhoLote}, cada um gravado em uma
+     * transação própria (com flush e limpeza do contexto de persistência ao final,
+     * para que as escritas saiam em batch JDBC e a memória não cresça com o volume).
+     * Se um lote falhar, os seus itens são reprocessados um a um para que
+     * apenas os itens inválidos sejam reportados como erro. Antes disso os ids e versões
+     * do grafo de cada item voltam aos recebidos: o Hibernate os atribui aos registros em
+     * cascata (ex.: tipos da conta) antes do rollback, e com eles o registro passaria por
+     * já gravado.
+     */
+    protected <I> List<ResultadoItem<T, N>> processarEmLotes(List<I> itens,
+                                                            Function<List<I>, List<ResultadoItem<T, N>>> operacaoLote,
+                                                            Function<I, ResultadoItem<T, N>> operacaoItem) {
+        TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+        List<ResultadoItem<T, N>> resultados = new ArrayList<>(itens.size());
+
+        for (int inicio = 0; inicio < itens.size(); inicio += tamanhoLote) {
+            List<I> lote = itens.subList(inicio, Math.min(inicio + tamanhoLote, itens.size()));
+            List<Identificacao> identificacoes = identificacoes(lote);
+            List<ResultadoItem<T, N>> parcial;
+            try {
+                parcial = transacao.execute(status -> {
+                    List<ResultadoItem<T, N>> r = operacaoLote.apply(lote);
+                    entityManager.flush();
+                    entityManager.clear();
+                    return r;
+                });
+            } catch (RuntimeException e) {
+                log.warn("Falha no lote iniciado em {}, reprocessando item a item: {}", inicio, e.getMessage());
+                identificacoes.forEach(Identificacao::restaurar);
+                parcial = new ArrayList<>(lote.size());
+                for (I item : lote) {
+                    parcial.add(processarItem(transacao, operacaoItem, item));
+                }
+            }
+            for (int i = 0; i < parcial.size(); i++) {
+                parcial.get(i).setIndice(inicio + i);
+            }
+            resultados.addAll(parcial);
+        }
+        return resultados;
+    }
+
+    /**
+     * Resultado de um item reprocessado. Apenas erros do próprio item viram resultado;
+     * um erro interno (banco indisponível, falha de programação) interrompe a operação.
+     */
+    private <I> ResultadoItem<T, N> processarItem(TransactionTemplate transacao, Function<I, ResultadoItem<T, N>> operacaoItem, I item) {
+        N id = idDoItem(item);
+        try {
+            return transacao.execute(status -> operacaoItem.apply(item));
+        } catch (EntityNotFoundException e) {
+            return ResultadoItem.falha(HttpStatus.NOT_FOUND.value(), id, e.getMessage());
+        } catch (OptimisticLockingFailureException e) {
+            return ResultadoItem.falha(HttpStatus.CONFLICT.value(), id, e.getMessage());
+        } catch (DataIntegrityViolationException e) {
+            //campo obrigatório ausente é erro do corpo; as demais violações são conflito com os dados gravados
+            return e.getCause() instanceof PropertyValueException
+                    ? ResultadoItem.falha(HttpStatus.BAD_REQUEST.value(), id, e.getCause().getMessage())
+                    : ResultadoItem.falha(HttpStatus.CONFLICT.value(), id, "Registro referenciado por outros dados ou duplicado");
+        } catch (ConflitoException e) {
+            return ResultadoItem.falha(HttpStatus.CONFLICT.value(), id, e.getMessage());
+        } catch (RequisicaoInvalidaException e) {
+            return ResultadoItem.falha(HttpStatus.BAD_REQUEST.value(), id, e.getMessage());
+        }
+    }
+
+    /**
+     * Id e versão recebidos de cada registro do grafo dos itens (associações já carregadas).
+     */
+    private List<Identificacao> identificacoes(List<?> itens) {
+        List<Identificacao> identificacoes = new ArrayList<>();
+        Set<Object> visitados = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Object item : itens) {
+            identificar(item, identificacoes, visitados);
+        }
+        return identificacoes;
+    }
+
+    private void identificar(Object registro, List<Identificacao> identificacoes, Set<Object> visitados) {
+        if (!(registro instanceof IEntity<?> entity) || !Hibernate.isInitialized(registro) || !visitados.add(registro)) {
+            return;
+        }
+        Class<?> tipo = Hibernate.getClass(registro);
+        String atributo = atributoVersao(tipo);
+        BeanWrapper wrapper = new BeanWrapperImpl(registro);
+        identificacoes.add(new Identificacao(entity, entity.getId(), wrapper, atributo, atributo == null ? null : wrapper.getPropertyValue(atributo)));
+        for (Attribute<?, ?> associacao : entityManager.getMetamodel().entity(tipo).getAttributes()) {
+            if (!associacao.isAssociation() || !wrapper.isReadableProperty(associacao.getName())) {
+                continue;
+            }
+            Object valor = wrapper.getPropertyValue(associacao.getName());
+            if (!Hibernate.isInitialized(valor)) {
+                continue;
+            }
+            if (valor instanceof Collection<?> colecao) {
+                colecao.forEach(associado -> identificar(associado, identificacoes, visitados));
+            } else {
+                identificar(valor, identificacoes, visitados);
+            }
+        }
+    }
+
+    private record Identificacao(IEntity<?> registro, Object id, BeanWrapper wrapper, String atributoVersao, Object versao) {
+
+        @SuppressWarnings("unchecked")
+        void restaurar() {
+            ((IEntity<Object>) registro).setId(id);
+            if (atributoVersao != null) {
+                wrapper.setPropertyValue(atributoVersao, versao);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private N idDoItem(Object item) {
+        return item instanceof IEntity<?> entity ? (N) entity.getId() : (N) item;
+    }
+
+    /**
+     * Classe da entidade gerenciada, resolvida a partir do tipo genérico do service concreto.
+     */
+    @SuppressWarnings("unchecked")
+    protected Class<T> tipoEntidade() {
+        return (Class<T>) GenericTypeResolver.resolveTypeArguments(ClassUtils.getUserClass(getClass()), GenericService.class)[0];
+    }
+
+    /**
+     * Nome do atributo {@code @Version} da entidade, ou nulo quando ela não é versionada.
+     */
+    protected String atributoVersao() {
+        if (atributoVersao == null) {
+            atributoVersao = entityManager.getMetamodel().entity(tipoEntidade()).getSingularAttributes().stream()
+                    .filter(SingularAttribute::isVersion)
+                    .map(Attribute::getName)
+                    .findFirst()
+                    .orElse("");
+        }
+        return atributoVersao.isEmpty() ? null : atributoVersao;
+    }
+
+    /**
+     * Controle de concorrência otimista nas alterações: sem a versão informada pelo cliente
+     * a gravação usa a versão atual do registro (a última escrita prevalece); com a versão
+     * informada, ela precisa ser a atual.
+     */
+    protected void prepararVersao(T entity, T atual) {
+        prepararVersao(entity, atual, null);
+    }
+
+    /**
+     * Como {@link #prepararVersao(IEntity, IEntity)}, conferindo antes a versão esperada
+     * (If-Match), quando informada.
+     */
+    protected void prepararVersao(T entity, T atual, Object versaoEsperada) {
+        prepararAssociacoes(entity);
+        String atributo = atributoVersao();
+        if (atributo == null) {
+            return;
+        }
+        conferirVersao(atual, versaoEsperada);
+        BeanWrapper recebida = new BeanWrapperImpl(entity);
+        Object versaoAtual = new BeanWrapperImpl(atual).getPropertyValue(atributo);
+        Object versaoInformada = recebida.getPropertyValue(atributo);
+        if (versaoInformada == null) {
+            recebida.setPropertyValue(atributo, versaoAtual);
+        } else if (!versaoInformada.equals(versaoAtual)) {
+            throw new ObjectOptimisticLockingFailureException(tipoEntidade(), atual.getId());
+        }
+    }
+
+    /**
+     * Falha com {@link ObjectOptimisticLockingFailureException} quando a versão esperada foi
+     * informada e não é a versão atual do registro. A comparação é pelo texto, que é como a
+     * versão chega do cabeçalho HTTP.
+     */
+    protected void conferirVersao(T atual, Object versaoEsperada) {
+        if (versaoEsperada == null || atributoVersao() == null) {
+            return;
+        }
+        if (!versaoEsperada.toString().equals(String.valueOf(versao(atual)))) {
+            throw new ObjectOptimisticLockingFailureException(tipoEntidade(), atual.getId());
+        }
+    }
+
+    /**
+     * Campos somente leitura (calculados ou gravados só na inclusão, ver
+     * {@link MergePatch#somenteLeitura}): um valor diferente do gravado é recusado e a
+     * entidade recebida fica com o valor gravado.
+     */
+    protected void conferirSomenteLeitura(T entity, T atual) {
+        BeanWrapper recebida = new BeanWrapperImpl(entity);
+        BeanWrapper gravada = new BeanWrapperImpl(atual);
+        for (String nome : mergePatch.somenteLeitura(tipoEntidade())) {
+            Object valor = recebida.getPropertyValue(nome);
+            Object gravado = gravada.getPropertyValue(nome);
+            if (valor != null && !mergePatch.igual(gravado, valor)) {
+                throw new RequisicaoInvalidaException(String.format("O campo %s não pode ser alterado", nome));
+            }
+            recebida.setPropertyValue(nome, gravado);
+        }
+    }
+
+    /**
+     * Registros associados recebidos apenas com o id (ex.: {@code "conta": {"id": 1}}) ficam
+     * sem a versão, e o Hibernate trata entidade versionada com versão nula como nova.
+     * Para esses a versão atual é copiada do registro gravado (em geral do cache de
+     * segundo nível), como na entidade principal sem versão informada.
+     */
+    protected void prepararAssociacoes(T entity) {
+        Metamodel metamodel = entityManager.getMetamodel();
+        BeanWrapper wrapper = new BeanWrapperImpl(entity);
+        for (Attribute<? super T, ?> associacao : metamodel.entity(tipoEntidade()).getAttributes()) {
+            if (!associacao.isAssociation() || !wrapper.isReadableProperty(associacao.getName())) {
+                continue;
+            }
+            Object valor = wrapper.getPropertyValue(associacao.getName());
+            if (valor instanceof Collection<?> colecao) {
+                colecao.forEach(associado -> prepararVersaoAssociado(metamodel, associado));
+            } else if (valor != null) {
+                prepararVersaoAssociado(metamodel, valor);
+            }
+        }
+    }
+
+    private void prepararVersaoAssociado(Metamodel metamodel, Object associado) {
+        if (!(associado instanceof IEntity<?> registro) || registro.getId() == null || !Hibernate.isInitialized(associado)) {
+            return;
+        }
+        Class<?> tipo = Hibernate.getClass(associado);
+        String atributo = atributoVersao(tipo);
+        if (atributo == null) {
+            return;
+        }
+        BeanWrapper wrapper = new BeanWrapperImpl(associado);
+        if (wrapper.getPropertyValue(atributo) == null) {
+            Object atual = entityManager.find(tipo, registro.getId());
+            if (atual != null) {
+                wrapper.setPropertyValue(atributo, new BeanWrapperImpl(atual).getPropertyValue(atributo));
+            }
+        }
+    }
+
+    private String atributoVersao(Class<?> tipo) {
+        return entityManager.getMetamodel().entity(tipo).getSingularAttributes().stream()
+                .filter(SingularAttribute::isVersion)
+                .map(Attribute::getName)
+                .findFirst()
+                .orElse(null);
+    }
+
+    private void limparVersao(T entity) {
+        String atributo = atributoVersao();
+        if (atributo != null) {
+            new BeanWrapperImpl(entity).setPropertyValue(atributo, null);
+        }
+    }
+
+    /**
+     * Nome das propriedades nulas da entidade recebida, mais o id e as coleções, para
+     * que a atualização parcial preserve os valores já gravados. As coleções são
+     * copiadas à parte ({@link #copiarColecoes}).
+     */
+    protected String[] propriedadesNulas(T entity) {
+        BeanWrapper wrapper = new BeanWrapperImpl(entity);
+        List<String> nomes = new ArrayList<>();
+        nomes.add("id");
+        for (PropertyDescriptor descriptor : wrapper.getPropertyDescriptors()) {
+            if (!wrapper.isReadableProperty(descriptor.getName())) {
+                continue;
+            }
+            Object valor = wrapper.getPropertyValue(descriptor.getName());
+            if (valor == null || valor instanceof Collection<?>) {
+                nomes.add(descriptor.getName());
+            }
+        }
+        return nomes.toArray(new String[0]);
+    }
+
+    /**
+     * Coleções não vazias recebidas substituem o conteúdo das gravadas, mantendo a
+     * instância gerenciada (com orphanRemoval o Hibernate recusa a troca da coleção).
+     */
+    @SuppressWarnings("unchecked")
+    protected void copiarColecoes(T entity, T atual) {
+        BeanWrapper recebida = new BeanWrapperImpl(entity);
+        BeanWrapper gravada = new BeanWrapperImpl(atual);
+        for (Attribute<? super T, ?> atributo : entityManager.getMetamodel().entity(tipoEntidade()).getAttributes()) {
+            if (!atributo.isCollection() || !recebida.isReadableProperty(atributo.getName())) {
+                continue;
+            }
+            Collection<Object> itens = (Collection<Object>) recebida.getPropertyValue(atributo.getName());
+            if (itens == null || itens.isEmpty()) {
+                continue;
+            }
+            Collection<Object> colecao = (Collection<Object>) gravada.getPropertyValue(atributo.getName());
+            if (colecao == null) {
+                gravada.setPropertyValue(atributo.getName(), itens);
+            } else {
+                colecao.clear();
+                colecao.addAll(itens);
+            }
+        }
+    }
+}
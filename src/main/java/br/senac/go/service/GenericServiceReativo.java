@@ -0,0 +1,385 @@
+package br.senac.go.service;
+
+import br.senac.go.exception.RequisicaoInvalidaException;
+import br.senac.go.interfaces.IEntity;
+import br.senac.go.interfaces.IServiceReativo;
+import io.r2dbc.spi.Readable;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.EntityNotFoundException;
+import org.hibernate.SessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.GenericTypeResolver;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Implementação base de {@link IServiceReativo} sobre R2DBC, usada no perfil reativo.
+ * <p>
+ * Lê e grava as mesmas tabelas das entidades JPA, mas apenas as colunas da própria
+ * entidade: associações ManyToOne voltam só com o id e coleções não são carregadas
+ * (null), como nas respostas do Spring MVC para associações LAZY não carregadas. Uma
+ * coleção com itens no corpo de create/updateFull é recusada (400) em vez de ignorada.
+ * Os services concretos informam a tabela, a sequence e as colunas.
+ * <p>
+ * As regras do {@link GenericService} valem aqui também: campo somente leitura alterado
+ * (400, ver {@link MergePatch#somenteLeitura}), versão diferente da informada (409) e
+ * limite da listagem fora de 1 a {@code lista.limite-maximo} (400).
+ * <ul>
+ *     <li>ids: da mesma sequence do Hibernate, reservados em blocos de
+ *     {@code hibernate.id.alocacao} como no otimizador pooled-lo (SequenciaEmBlocos);</li>
+ *     <li>versão: incrementada no próprio UPDATE e conferida no WHERE quando informada;</li>
+ *     <li>cache: alterações e remoções descartam o registro do cache de segundo nível,
+ *     os dependentes removidos do cache de referência (GenericCacheService) e as
+ *     avaliações de carteira afetadas (AvaliacaoService), que no JPA são descartados
+ *     pelos eventos do Hibernate.</li>
+ * </ul>
+ * @param <T> entidade
+ */
+public abstract class GenericServiceReativo<T extends IEntity<Integer>> implements IServiceReativo<T, Integer> {
+
+    protected final Logger log = LoggerFactory.getLogger(getClass());
+
+    protected final String nome = getClass().getSimpleName();
+
+    /**
+     * Linhas pedidas ao banco por vez nas listagens; os pedidos seguintes acompanham o
+     * consumo do assinante.
+     */
+    private static final int LINHAS_POR_PEDIDO = 256;
+
+    @Autowired
+    protected DatabaseClient databaseClient;
+
+    @Autowired
+    protected TransactionalOperator transacao;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private AvaliacaoService avaliacaoService;
+
+    @Autowired
+    private MergePatch mergePatch;
+
+    @Value("${lista.limite-maximo:1000}")
+    private int limiteMaximo;
+
+    /**
+     * Ids reservados por chamada à sequence: o mesmo incremento configurado no Hibernate.
+     */
+    @Value("${spring.jpa.properties.hibernate.id.alocacao:${spring.jpa.properties.hibernate.jdbc.batch_size:50}}")
+    private int alocacaoId;
+
+    @SuppressWarnings("unchecked")
+    private final Class<T> entidade = (Class<T>) GenericTypeResolver.resolveTypeArgument(getClass(), GenericServiceReativo.class);
+
+    private final AtomicReference<BlocoIds> ids = new AtomicReference<>(new BlocoIds(0, 0));
+
+    private String select;
+
+    private String insert;
+
+    private String update;
+
+    /**
+     * Coluna gravada a partir da entidade (exceto ID e VERSAO). {@code leitura} é a expressão
+     * lida no SELECT com o nome da coluna; uma coluna não {@code atualizavel} é gravada só no
+     * INSERT e o valor recebido nas atualizações é ignorado.
+     */
+    protected record Coluna<T>(String nome, Class<?> tipo, Function<T, ?> valor, String leitura, boolean atualizavel) {
+
+        public Coluna(String nome, Class<?> tipo, Function<T, ?> valor) {
+            this(nome, tipo, valor, nome, true);
+        }
+    }
+
+    /**
+     * Faixa de ids reservada na sequence: {@code proximo} até {@code fim} (exclusivo).
+     */
+    private record BlocoIds(long proximo, long fim) {
+    }
+
+    protected abstract String tabela();
+
+    protected abstract String sequence();
+
+    protected abstract List<Coluna<T>> colunas();
+
+    protected abstract T ler(Readable linha);
+
+    protected abstract void versao(T entity, Long versao);
+
+    @PostConstruct
+    void montarSql() {
+        String nomes = colunas().stream().map(Coluna::nome).collect(Collectors.joining(", "));
+        String leituras = colunas().stream()
+                .map(coluna -> coluna.leitura().equals(coluna.nome()) ? coluna.nome() : coluna.leitura() + " AS " + coluna.nome())
+                .collect(Collectors.joining(", "));
+        String parametros = colunas().stream().map(coluna -> ":" + coluna.nome()).collect(Collectors.joining(", "));
+        String atribuicoes = colunas().stream().filter(Coluna::atualizavel)
+                .map(coluna -> coluna.nome() + " = :" + coluna.nome()).collect(Collectors.joining(", "));
+        select = String.format("SELECT ID, VERSAO, %s FROM %s", leituras, tabela());
+        insert = String.format("INSERT INTO %s (ID, VERSAO, %s) VALUES (:ID, 0, %s)", tabela(), nomes, parametros);
+        update = String.format("UPDATE %s SET %s, VERSAO = VERSAO + 1 WHERE ID = :ID", tabela(), atribuicoes);
+    }
+
+    @Override
+    public Mono<T> create(T entity) {
+        log.debug("Executado método {}.create | valores: {}", nome, entity);
+        return semColecao(entity)
+                .then(proximoId())
+                .flatMap(id -> {
+                    entity.setId(id);
+                    return vincular(databaseClient.sql(insert).bind("ID", id), entity, false).fetch().rowsUpdated();
+                })
+                .then(Mono.fromSupplier(() -> {
+                    versao(entity, 0L);
+                    return entity;
+                }));
+    }
+
+    @Override
+    public Mono<T> readById(Integer id) {
+        log.debug("Executado método {}.readById | valores: {}", nome, id);
+        return databaseClient.sql(select + " WHERE ID = :ID")
+                .bind("ID", id)
+                .map(this::ler)
+                .one()
+                .switchIfEmpty(Mono.error(naoEncontrado(id)));
+    }
+
+    @Override
+    public Flux<T> list(Integer depois, Integer limite) {
+        log.debug("Executado método {}.list | valores: {} {}", nome, depois, limite);
+        if (limite != null && (limite < 1 || limite > limiteMaximo)) {
+            return Flux.error(new RequisicaoInvalidaException(String.format("O limite deve estar entre 1 e %d", limiteMaximo)));
+        }
+        StringBuilder sql = new StringBuilder(select);
+        if (depois != null) {
+            sql.append(" WHERE ID > :depois");
+        }
+        sql.append(" ORDER BY ID");
+        if (limite != null) {
+            sql.append(" LIMIT :limite");
+        }
+        DatabaseClient.GenericExecuteSpec consulta = databaseClient.sql(sql.toString());
+        if (depois != null) {
+            consulta = consulta.bind("depois", depois);
+        }
+        if (limite != null) {
+            consulta = consulta.bind("limite", limite);
+        }
+        return consulta.map(this::ler).all().limitRate(LINHAS_POR_PEDIDO);
+    }
+
+    @Override
+    public Mono<T> updateFull(Integer id, T entity, Long versao) {
+        log.debug("Executado método {}.updateFull | valores: {} {} {}", nome, id, entity, versao);
+        Long esperada = versao != null ? versao : versao(entity);
+        entity.setId(id);
+        DatabaseClient.GenericExecuteSpec comando = vincular(databaseClient.sql(esperada == null ? update : update + " AND VERSAO = :VERSAO").bind("ID", id), entity, true);
+        if (esperada != null) {
+            comando = comando.bind("VERSAO", esperada);
+        }
+        return semColecao(entity)
+                .then(conferirSomenteLeitura(id, entity))
+                .then(comando.fetch().rowsUpdated())
+                .flatMap(linhas -> linhas == 0 ? falha(id) : readById(id))
+                .flatMap(alterado -> descartar(id, List.of()).thenReturn(alterado));
+    }
+
+    @Override
+    public Mono<Void> deleteById(Integer id, Long versao) {
+        log.debug("Executado método {}.deleteById | valores: {} {}", nome, id, versao);
+        String delete = String.format("DELETE FROM %s WHERE ID = :ID", tabela());
+        DatabaseClient.GenericExecuteSpec comando = databaseClient.sql(versao == null ? delete : delete + " AND VERSAO = :VERSAO").bind("ID", id);
+        if (versao != null) {
+            comando = comando.bind("VERSAO", versao);
+        }
+        Mono<Long> remocao = comando.fetch().rowsUpdated();
+        return removerDependentes(id)
+                .flatMap(dependentes -> remocao.flatMap(linhas -> linhas == 0 ? falha(id) : Mono.just(dependentes)))
+                .as(transacao::transactional)
+                .flatMap(dependentes -> descartar(id, dependentes));
+    }
+
+    @Override
+    public Mono<Long> versaoAtual(Integer id) {
+        return databaseClient.sql(String.format("SELECT VERSAO FROM %s WHERE ID = :ID", tabela()))
+                .bind("ID", id)
+                .map(linha -> linha.get(0, Long.class))
+                .one()
+                .switchIfEmpty(Mono.error(naoEncontrado(id)));
+    }
+
+    /**
+     * Itens da coleção OneToMany no corpo de create/updateFull, que não é gravada aqui.
+     */
+    protected List<?> colecao(T entity) {
+        return null;
+    }
+
+    /**
+     * Remove os registros que o JPA removeria em cascata, na mesma transação da remoção,
+     * e devolve os ids removidos.
+     */
+    protected Mono<List<Integer>> removerDependentes(Integer id) {
+        return Mono.just(List.of());
+    }
+
+    /**
+     * Remove os itens de uma coleção OneToMany com tabela de junção (cascade e
+     * orphanRemoval no JPA): primeiro as linhas da junção e depois os itens.
+     */
+    protected Mono<List<Integer>> removerColecao(Integer id, String juncao, String colunaDono, String colunaItem, String tabelaItem) {
+        return databaseClient.sql(String.format("SELECT %s FROM %s WHERE %s = :ID", colunaItem, juncao, colunaDono))
+                .bind("ID", id)
+                .map(linha -> linha.get(0, Integer.class))
+                .all()
+                .collectList()
+                .flatMap(itens -> databaseClient.sql(String.format("DELETE FROM %s WHERE %s = :ID", juncao, colunaDono))
+                        .bind("ID", id)
+                        .then()
+                        .then(itens.isEmpty() ? Mono.empty() : databaseClient.sql(String.format("DELETE FROM %s WHERE ID IN (:itens)", tabelaItem))
+                                .bind("itens", itens)
+                                .then())
+                        .thenReturn(itens));
+    }
+
+    /**
+     * Remove o registro do cache de segundo nível.
+     */
+    protected void removerDoCache(Integer id) {
+        cacheSegundoNivel().evictEntityData(entidade, id);
+    }
+
+    /**
+     * Remove dos caches os dependentes removidos com o registro.
+     */
+    protected void removerDependentesDoCache(List<Integer> dependentes) {
+    }
+
+    protected org.hibernate.Cache cacheSegundoNivel() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getCache();
+    }
+
+    /**
+     * Referência ManyToOne apenas com o id.
+     */
+    protected <R extends IEntity<Integer>> R referencia(Integer id, Supplier<R> nova) {
+        if (id == null) {
+            return null;
+        }
+        R referencia = nova.get();
+        referencia.setId(id);
+        return referencia;
+    }
+
+    protected Integer id(IEntity<Integer> referencia) {
+        return referencia == null ? null : referencia.getId();
+    }
+
+    private DatabaseClient.GenericExecuteSpec vincular(DatabaseClient.GenericExecuteSpec comando, T entity, boolean atualizacao) {
+        for (Coluna<T> coluna : colunas()) {
+            if (atualizacao && !coluna.atualizavel()) {
+                continue;
+            }
+            Object valor = coluna.valor().apply(entity);
+            comando = valor == null ? comando.bindNull(coluna.nome(), coluna.tipo()) : comando.bind(coluna.nome(), valor);
+        }
+        return comando;
+    }
+
+    private Mono<Void> semColecao(T entity) {
+        List<?> itens = colecao(entity);
+        return itens == null || itens.isEmpty() ? Mono.empty() : Mono.error(new RequisicaoInvalidaException(String.format(
+                "%s: os itens da coleção não são gravados no perfil reativo (%d recebidos)", entidade.getSimpleName(), itens.size())));
+    }
+
+    /**
+     * Campos somente leitura recebidos (ex.: o saldo do investimento): como em
+     * {@link GenericService#conferirSomenteLeitura}, um valor diferente do gravado é
+     * recusado. O registro só é lido quando algum deles foi informado.
+     */
+    private Mono<Void> conferirSomenteLeitura(Integer id, T entity) {
+        BeanWrapper recebida = new BeanWrapperImpl(entity);
+        List<String> informados = mergePatch.somenteLeitura(entidade).stream()
+                .filter(nome -> recebida.getPropertyValue(nome) != null)
+                .toList();
+        if (informados.isEmpty()) {
+            return Mono.empty();
+        }
+        return readById(id).flatMap(atual -> {
+            BeanWrapper gravada = new BeanWrapperImpl(atual);
+            for (String nome : informados) {
+                if (!mergePatch.igual(gravada.getPropertyValue(nome), recebida.getPropertyValue(nome))) {
+                    return Mono.error(new RequisicaoInvalidaException(String.format("O campo %s não pode ser alterado", nome)));
+                }
+            }
+            return Mono.empty();
+        });
+    }
+
+    /**
+     * Descarta dos caches o registro alterado ou removido. Só memória: a invalidação das
+     * avaliações usa o índice do AvaliacaoService, sem consultar o banco.
+     */
+    private Mono<Void> descartar(Integer id, List<Integer> dependentes) {
+        return Mono.fromRunnable(() -> {
+            removerDoCache(id);
+            removerDependentesDoCache(dependentes);
+            avaliacaoService.registrar(entidade, id);
+        });
+    }
+
+    /**
+     * Nenhuma linha alterada: registro inexistente (404) ou em outra versão (409).
+     */
+    private <R> Mono<R> falha(Integer id) {
+        return versaoAtual(id).flatMap(atual -> Mono.error(new OptimisticLockingFailureException(
+                String.format("%s %s alterado por outra transação (versão atual %s)", entidade.getSimpleName(), id, atual))));
+    }
+
+    private Supplier<EntityNotFoundException> naoEncontrado(Integer id) {
+        return () -> new EntityNotFoundException(String.format("%s %s não encontrado", entidade.getSimpleName(), id));
+    }
+
+    /**
+     * Próximo id do bloco reservado; esgotado o bloco, reserva outro na sequence. Com
+     * reservas concorrentes o último bloco obtido prevalece e os ids restantes dos demais
+     * são descartados, sem repetição.
+     */
+    private Mono<Integer> proximoId() {
+        return Mono.defer(() -> {
+            BlocoIds bloco;
+            while ((bloco = ids.get()).proximo() < bloco.fim()) {
+                if (ids.compareAndSet(bloco, new BlocoIds(bloco.proximo() + 1, bloco.fim()))) {
+                    return Mono.just(Math.toIntExact(bloco.proximo()));
+                }
+            }
+            return databaseClient.sql(String.format("SELECT NEXT VALUE FOR %s", sequence()))
+                    .map(linha -> linha.get(0, Long.class))
+                    .one()
+                    .map(inicio -> {
+                        ids.set(new BlocoIds(inicio + 1, inicio + alocacaoId));
+                        return Math.toIntExact(inicio);
+                    });
+        });
+    }
+}
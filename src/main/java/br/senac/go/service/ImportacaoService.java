@@ -0,0 +1,505 @@
+package br.senac.go.service;
+
+import br.senac.go.dto.ResultadoImportacao;
+import br.senac.go.dto.ResultadoItem;
+import br.senac.go.exception.ConflitoException;
+import br.senac.go.exception.RequisicaoInvalidaException;
+import br.senac.go.model.Carteira;
+import br.senac.go.model.Conta;
+import br.senac.go.model.EstadoImportacao;
+import br.senac.go.model.Importacao;
+import br.senac.go.model.Pessoa;
+import br.senac.go.repository.ImportacaoRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.collection.AbstractCollectionPersister;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Importação de pessoas, com as suas carteiras e contas, a partir de CSV:
+ * <pre>
+ * nome,endereco,carteira,conta
+ * Maria,"Rua 1, 10",3,15
+ * </pre>
+ * Só {@code nome} é obrigatória; {@code carteira} e {@code conta} são ids de registros já
+ * gravados. O arquivo é lido registro a registro ({@link LeitorCsv}) e dividido em lotes de
+ * {@code importacao.tamanho-lote} linhas:
+ * <ul>
+ *     <li>a validação dos lotes é feita em paralelo (até {@code importacao.paralelismo} lotes
+ *     à frente do que está sendo gravado), enquanto a leitura continua;</li>
+ *     <li>cada lote é gravado em uma transação própria, na ordem do arquivo, junto com o
+ *     progresso da {@link Importacao};</li>
+ *     <li>as carteiras e contas referenciadas são conferidas com uma consulta por lote,
+ *     apenas para os ids que ainda não estão no cache de ids existentes;</li>
+ *     <li>as pessoas são vinculadas às carteiras com um INSERT em lote na tabela de junção de
+ *     {@code Carteira.pessoas}, sem carregar a coleção (ver {@link #vincular}).</li>
+ * </ul>
+ * Linhas inválidas são rejeitadas e as demais do lote gravadas. Uma falha de leitura ou
+ * de gravação interrompe a importação (FALHOU) sem desfazer os lotes já gravados; a
+ * retomada com o mesmo arquivo pula as linhas já processadas. A retomada confere a
+ * origem e o cabeçalho (assinatura gravada na importação) e muda o estado com um UPDATE
+ * condicional, para que a mesma importação não seja gravada por duas execuções.
+ */
+@Slf4j
+@Service
+public class ImportacaoService {
+
+    private static final String NOME = "nome";
+
+    private static final String ENDERECO = "endereco";
+
+    private static final String CARTEIRA = "carteira";
+
+    private static final String CONTA = "conta";
+
+    private static final List<String> COLUNAS = List.of(NOME, ENDERECO, CARTEIRA, CONTA);
+
+    private static final String PESSOAS = Carteira.class.getName() + ".pessoas";
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private AvaliacaoService avaliacaoService;
+
+    @Autowired
+    private ImportacaoRepository importacaoRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${importacao.tamanho-lote:1000}")
+    private int tamanhoLote;
+
+    @Value("${importacao.paralelismo:2}")
+    private int paralelismo;
+
+    /**
+     * Linhas rejeitadas devolvidas no resultado (todas são contadas).
+     */
+    @Value("${importacao.rejeicoes-maximo:1000}")
+    private int rejeicoesMaximo;
+
+    @Value("${importacao.cache.tamanho-maximo:100000}")
+    private long tamanhoCache;
+
+    /**
+     * Tempo sem gravar um lote para uma importação EM_ANDAMENTO poder ser retomada.
+     */
+    @Value("${importacao.abandono:10m}")
+    private Duration abandono;
+
+    /**
+     * Ids de carteiras e contas já vistos no banco.
+     */
+    private Cache<Integer, Boolean> carteiras;
+
+    private Cache<Integer, Boolean> contas;
+
+    private ForkJoinPool pool;
+
+    private TransactionTemplate transacao;
+
+    /**
+     * INSERT na tabela de junção de {@code Carteira.pessoas}, montado a partir do mapeamento.
+     */
+    private String insertPessoas;
+
+    @PostConstruct
+    void iniciar() {
+        carteiras = Caffeine.newBuilder().maximumSize(tamanhoCache).build();
+        contas = Caffeine.newBuilder().maximumSize(tamanhoCache).build();
+        pool = new ForkJoinPool(paralelismo);
+        transacao = new TransactionTemplate(transactionManager);
+        AbstractCollectionPersister pessoas = (AbstractCollectionPersister) entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactoryImplementor.class).getMappingMetamodel().getCollectionDescriptor(PESSOAS);
+        insertPessoas = String.format("insert into %s (%s, %s) values (?, ?)", pessoas.getTableName(),
+                pessoas.getKeyColumnNames()[0], pessoas.getElementColumnNames()[0]);
+    }
+
+    @PreDestroy
+    void encerrar() {
+        pool.shutdown();
+    }
+
+    public Importacao readById(Integer id) {
+        log.info("Executado método ImportacaoService.readById");
+        log.debug("Executado método ImportacaoService.readById | valores: {}", id);
+        return importacaoRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException(String.format("Importação %s não encontrada", id)));
+    }
+
+    /**
+     * Importa o CSV de {@code csv} (o chamador fecha o reader).
+     * @param origem nome do arquivo, guardado na importação
+     * @param retomar importação interrompida a retomar, ou nulo para uma nova
+     * @throws RequisicaoInvalidaException cabeçalho inválido
+     * @throws ConflitoException importação a retomar já concluída, em andamento ou de outro
+     * arquivo (origem ou cabeçalho diferentes)
+     */
+    public ResultadoImportacao importar(Reader csv, String origem, Integer retomar) throws IOException {
+        log.info("Executado método ImportacaoService.importar");
+        log.debug("Executado método ImportacaoService.importar | valores: {} {}", origem, retomar);
+        LeitorCsv leitor = new LeitorCsv(csv);
+        String[] cabecalho = leitor.proximo();
+        int[] indices = colunas(cabecalho);
+        String assinatura = assinatura(origem, cabecalho);
+
+        Importacao importacao = transacao.execute(status -> {
+            if (retomar == null) {
+                Importacao registro = new Importacao();
+                registro.setOrigem(origem);
+                registro.setAssinatura(assinatura);
+                registro.setInicio(LocalDateTime.now());
+                registro.setEstado(EstadoImportacao.EM_ANDAMENTO);
+                return importacaoRepository.save(registro);
+            }
+            Importacao registro = readById(retomar);
+            if (registro.getEstado() == EstadoImportacao.CONCLUIDA) {
+                throw new ConflitoException(String.format("Importação %d já concluída", retomar));
+            }
+            //importações anteriores à assinatura não são conferidas
+            if (registro.getAssinatura() != null && !registro.getAssinatura().equals(assinatura)) {
+                throw new ConflitoException(String.format("Importação %d é de outro arquivo: a retomada exige a mesma origem e o mesmo cabeçalho", retomar));
+            }
+            LocalDateTime agora = LocalDateTime.now();
+            if (importacaoRepository.retomar(retomar, agora, agora.minus(abandono)) == 0) {
+                throw new ConflitoException(String.format("Importação %d em andamento", retomar));
+            }
+            return readById(retomar);
+        });
+        if (retomar != null) {
+            log.info("Importação {} retomada após a linha de dados {}", importacao.getId(), importacao.getLinhas());
+        }
+
+        List<ResultadoItem<Pessoa, Integer>> rejeicoes = new ArrayList<>();
+        Deque<CompletableFuture<Lote>> validacoes = new ArrayDeque<>();
+        long inicio = System.nanoTime();
+        long jaGravadas = importacao.getLinhas();
+        try {
+            long numero = 0;
+            List<Registro> registros = new ArrayList<>(tamanhoLote);
+            String[] campos;
+            while ((campos = leitor.proximo()) != null) {
+                if (++numero <= jaGravadas) {
+                    continue;
+                }
+                registros.add(new Registro(numero, leitor.getLinha(), campos));
+                if (registros.size() == tamanhoLote) {
+                    List<Registro> lote = registros;
+                    validacoes.add(CompletableFuture.supplyAsync(() -> validar(lote, indices), pool));
+                    registros = new ArrayList<>(tamanhoLote);
+                    while (validacoes.size() > paralelismo) {
+                        gravar(importacao, validacoes.poll().join(), rejeicoes, inicio, jaGravadas);
+                    }
+                }
+            }
+            if (!registros.isEmpty()) {
+                List<Registro> lote = registros;
+                validacoes.add(CompletableFuture.supplyAsync(() -> validar(lote, indices), pool));
+            }
+            while (!validacoes.isEmpty()) {
+                gravar(importacao, validacoes.poll().join(), rejeicoes, inicio, jaGravadas);
+            }
+        } catch (IOException | RuntimeException e) {
+            validacoes.forEach(validacao -> validacao.cancel(false));
+            Throwable causa = e instanceof CompletionException || e instanceof UncheckedIOException ? e.getCause() : e;
+            log.warn("Importação {} interrompida após a linha de dados {}: {}", importacao.getId(), importacao.getLinhas(), causa.toString());
+            //um id em cache pode ter sido removido e causado a falha
+            carteiras.invalidateAll();
+            contas.invalidateAll();
+            return new ResultadoImportacao(finalizar(importacao, EstadoImportacao.FALHOU, causa.getMessage()), rejeicoes);
+        }
+        log.info("Importação {} concluída: {} linhas, {} importadas, {} rejeitadas", importacao.getId(),
+                importacao.getLinhas(), importacao.getImportadas(), importacao.getRejeitadas());
+        return new ResultadoImportacao(finalizar(importacao, EstadoImportacao.CONCLUIDA, null), rejeicoes);
+    }
+
+    /**
+     * Posição de cada coluna conhecida no cabeçalho (-1 quando ausente).
+     */
+    private int[] colunas(String[] cabecalho) {
+        if (cabecalho == null) {
+            throw new RequisicaoInvalidaException("Arquivo vazio: o cabeçalho é obrigatório");
+        }
+        int[] indices = { -1, -1, -1, -1 };
+        for (int i = 0; i < cabecalho.length; i++) {
+            int coluna = COLUNAS.indexOf(cabecalho[i].strip().toLowerCase(Locale.ROOT));
+            if (coluna < 0) {
+                throw new RequisicaoInvalidaException(String.format("Coluna %s desconhecida: use %s", cabecalho[i], String.join(",", COLUNAS)));
+            }
+            if (indices[coluna] >= 0) {
+                throw new RequisicaoInvalidaException(String.format("Coluna %s repetida", cabecalho[i]));
+            }
+            indices[coluna] = i;
+        }
+        if (indices[0] < 0) {
+            throw new RequisicaoInvalidaException("Coluna nome obrigatória");
+        }
+        return indices;
+    }
+
+    /**
+     * SHA-256 da origem e do cabeçalho, em hexadecimal.
+     */
+    private String assinatura(String origem, String[] cabecalho) {
+        try {
+            MessageDigest sha = MessageDigest.getInstance("SHA-256");
+            sha.update((origem + "\n" + String.join(",", cabecalho)).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(sha.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Conversão e validação de um lote, fora da transação.
+     */
+    private Lote validar(List<Registro> registros, int[] indices) {
+        Lote lote = new Lote(registros.get(registros.size() - 1).numero());
+        //todas as colunas do cabeçalho são conhecidas
+        int colunas = (int) Arrays.stream(indices).filter(indice -> indice >= 0).count();
+        for (Registro registro : registros) {
+            try {
+                lote.validos.add(item(registro, indices, colunas));
+            } catch (RequisicaoInvalidaException e) {
+                lote.rejeitar(registro.linha(), HttpStatus.BAD_REQUEST, e.getMessage());
+            }
+        }
+        return lote;
+    }
+
+    private Item item(Registro registro, int[] indices, int colunas) {
+        String[] campos = registro.campos();
+        if (campos.length != colunas) {
+            throw new RequisicaoInvalidaException(String.format("Esperadas %d colunas, encontradas %d", colunas, campos.length));
+        }
+        String nome = campo(campos, indices[0]);
+        if (nome == null) {
+            throw new RequisicaoInvalidaException("nome obrigatório");
+        }
+        if (nome.length() > 120) {
+            throw new RequisicaoInvalidaException("nome com mais de 120 caracteres");
+        }
+        String endereco = campo(campos, indices[1]);
+        if (endereco != null && endereco.length() > 255) {
+            throw new RequisicaoInvalidaException("endereco com mais de 255 caracteres");
+        }
+        Pessoa pessoa = new Pessoa();
+        pessoa.setNome(nome);
+        pessoa.setEndereco(endereco);
+        return new Item(registro.linha(), pessoa, id(campos, indices[2], CARTEIRA), id(campos, indices[3], CONTA));
+    }
+
+    private String campo(String[] campos, int indice) {
+        if (indice < 0) {
+            return null;
+        }
+        String valor = campos[indice].strip();
+        return valor.isEmpty() ? null : valor;
+    }
+
+    private Integer id(String[] campos, int indice, String coluna) {
+        String valor = campo(campos, indice);
+        if (valor == null) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(valor);
+        } catch (NumberFormatException e) {
+            throw new RequisicaoInvalidaException(String.format("%s inválida: %s", coluna, valor));
+        }
+    }
+
+    /**
+     * Grava um lote validado e o progresso da importação na mesma transação.
+     */
+    private void gravar(Importacao importacao, Lote lote, List<ResultadoItem<Pessoa, Integer>> rejeicoes,
+                        long inicio, long jaGravadas) {
+        transacao.executeWithoutResult(status -> {
+            Set<Integer> carteirasExistentes = existentes(Carteira.class, carteiras, lote.validos.stream().map(Item::carteira).toList());
+            Set<Integer> contasExistentes = existentes(Conta.class, contas, lote.validos.stream().map(Item::conta).toList());
+            Map<Integer, List<Pessoa>> porCarteira = new LinkedHashMap<>();
+            for (Item item : lote.validos) {
+                if (item.carteira() != null && !carteirasExistentes.contains(item.carteira())) {
+                    lote.rejeitar(item.linha(), HttpStatus.NOT_FOUND, String.format("Carteira %d não encontrada", item.carteira()));
+                    continue;
+                }
+                if (item.conta() != null && !contasExistentes.contains(item.conta())) {
+                    lote.rejeitar(item.linha(), HttpStatus.NOT_FOUND, String.format("Conta %d não encontrada", item.conta()));
+                    continue;
+                }
+                Pessoa pessoa = item.pessoa();
+                if (item.carteira() != null) {
+                    pessoa.setCarteira(entityManager.getReference(Carteira.class, item.carteira()));
+                    porCarteira.computeIfAbsent(item.carteira(), id -> new ArrayList<>()).add(pessoa);
+                }
+                if (item.conta() != null) {
+                    pessoa.setConta(entityManager.getReference(Conta.class, item.conta()));
+                }
+                entityManager.persist(pessoa);
+                lote.importadas++;
+            }
+            entityManager.flush();
+            vincular(porCarteira);
+            importacaoRepository.registrarLote(importacao.getId(), lote.ultimo, lote.importadas, lote.rejeitadas.size(), LocalDateTime.now());
+            entityManager.flush();
+            entityManager.clear();
+        });
+        importacao.setLinhas(lote.ultimo);
+        importacao.setImportadas(importacao.getImportadas() + lote.importadas);
+        importacao.setRejeitadas(importacao.getRejeitadas() + lote.rejeitadas.size());
+        for (ResultadoItem<Pessoa, Integer> rejeicao : lote.rejeitadas) {
+            if (rejeicoes.size() < rejeicoesMaximo) {
+                rejeicoes.add(rejeicao);
+            }
+        }
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+        log.info("Importação {}: {} linhas, {} importadas, {} rejeitadas ({} linhas/s)", importacao.getId(), importacao.getLinhas(),
+                importacao.getImportadas(), importacao.getRejeitadas(), Math.round((lote.ultimo - jaGravadas) / Math.max(segundos, 1e-3)));
+    }
+
+    /**
+     * Vincula as pessoas já gravadas às carteiras direto na tabela de junção, em um INSERT em
+     * lote. Pela coleção, um bag sem {@code mappedBy}, o Hibernate carregaria
+     * {@code Carteira.pessoas} e a recriaria inteira (DELETE de todas as linhas e INSERT de
+     * cada uma) a cada lote, um custo que cresce com o tamanho da carteira. Sem os eventos
+     * de coleção, a coleção no cache de segundo nível e as avaliações das carteiras são
+     * descartadas aqui.
+     */
+    private void vincular(Map<Integer, List<Pessoa>> porCarteira) {
+        if (porCarteira.isEmpty()) {
+            return;
+        }
+        entityManager.unwrap(Session.class).doWork(conexao -> {
+            try (PreparedStatement insert = conexao.prepareStatement(insertPessoas)) {
+                for (Map.Entry<Integer, List<Pessoa>> carteira : porCarteira.entrySet()) {
+                    for (Pessoa pessoa : carteira.getValue()) {
+                        insert.setInt(1, carteira.getKey());
+                        insert.setInt(2, pessoa.getId());
+                        insert.addBatch();
+                    }
+                }
+                insert.executeBatch();
+            }
+        });
+        org.hibernate.Cache cache = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getCache();
+        porCarteira.keySet().forEach(id -> {
+            cache.evictCollectionData(PESSOAS, id);
+            avaliacaoService.registrar(Carteira.class, id);
+        });
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                porCarteira.keySet().forEach(id -> cache.evictCollectionData(PESSOAS, id));
+            }
+        });
+    }
+
+    /**
+     * Ids de {@code ids} que existem, consultando o banco apenas para os que não estão no cache.
+     */
+    private Set<Integer> existentes(Class<?> entidade, Cache<Integer, Boolean> cache, List<Integer> ids) {
+        Set<Integer> existentes = new HashSet<>();
+        Set<Integer> consultar = new HashSet<>();
+        for (Integer id : ids) {
+            if (id == null) {
+                continue;
+            }
+            if (cache.getIfPresent(id) != null) {
+                existentes.add(id);
+            } else {
+                consultar.add(id);
+            }
+        }
+        if (!consultar.isEmpty()) {
+            List<Integer> encontrados = entityManager.createQuery("select e.id from " + entidade.getSimpleName() + " e where e.id in :ids", Integer.class)
+                    .setParameter("ids", consultar)
+                    .getResultList();
+            encontrados.forEach(id -> cache.put(id, Boolean.TRUE));
+            existentes.addAll(encontrados);
+        }
+        return existentes;
+    }
+
+    private Importacao finalizar(Importacao importacao, EstadoImportacao estado, String erro) {
+        return transacao.execute(status -> {
+            Importacao registro = readById(importacao.getId());
+            registro.setEstado(estado);
+            registro.setErro(erro == null ? null : erro.substring(0, Math.min(erro.length(), 1000)));
+            registro.setFim(LocalDateTime.now());
+            return registro;
+        });
+    }
+
+    /**
+     * Registro lido do arquivo.
+     * @param numero posição entre as linhas de dados (1 = primeira depois do cabeçalho)
+     * @param linha linha do arquivo em que o registro começa
+     */
+    private record Registro(long numero, long linha, String[] campos) {
+    }
+
+    private record Item(long linha, Pessoa pessoa, Integer carteira, Integer conta) {
+    }
+
+    private static class Lote {
+
+        private final long ultimo;
+
+        private final List<Item> validos = new ArrayList<>();
+
+        private final List<ResultadoItem<Pessoa, Integer>> rejeitadas = new ArrayList<>();
+
+        private long importadas;
+
+        Lote(long ultimo) {
+            this.ultimo = ultimo;
+        }
+
+        void rejeitar(long linha, HttpStatus status, String erro) {
+            ResultadoItem<Pessoa, Integer> rejeicao = ResultadoItem.falha(status.value(), null, erro);
+            rejeicao.setIndice((int) linha);
+            rejeitadas.add(rejeicao);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package br.senac.go.service;
+
+import br.senac.go.config.ReativoConfig;
+import br.senac.go.model.Investimento;
+import br.senac.go.model.TipoInvestimento;
+import io.r2dbc.spi.Readable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Service
+@Profile(ReativoConfig.PERFIL)
+public class InvestimentoServiceReativo extends GenericServiceReativo<Investimento> {
+
+    private static final String TIPOS = Investimento.class.getName() + ".tipoInvestimento";
+
+    /**
+     * Investimento.SALDO_ATUAL com as colunas do registro qualificadas pela tabela, que no SQL nativo
+     * não recebe o alias que o Hibernate acrescenta às fórmulas.
+     */
+    private static final String SALDO_ATUAL = Investimento.SALDO_ATUAL
+            .replace(" = ID", " = INVESTIMENTO.ID")
+            .replaceFirst("^\\(SALDO ", "(INVESTIMENTO.SALDO ");
+
+    private final List<Coluna<Investimento>> colunas = List.of(
+            new Coluna<>("DESCRICAO", String.class, Investimento::getDescricao),
+            new Coluna<>("VALOR_INICIAL", BigDecimal.class, Investimento::getValorInicial),
+            new Coluna<>("SALDO", BigDecimal.class, investimento -> {
+                investimento.abrir();
+                return investimento.getSaldoAbertura();
+            }, SALDO_ATUAL, false),
+            new Coluna<>("DATA_INICIO", LocalDateTime.class, Investimento::getDataInicio),
+            new Coluna<>("DATA_FIM", LocalDateTime.class, Investimento::getDataFim)
+    );
+
+    @Autowired
+    private TipoInvestimentoService tipoInvestimentoService;
+
+    @Override
+    protected String tabela() {
+        return "INVESTIMENTO";
+    }
+
+    @Override
+    protected String sequence() {
+        return "INVESTIMENTO_SEQ";
+    }
+
+    @Override
+    protected List<Coluna<Investimento>> colunas() {
+        return colunas;
+    }
+
+    @Override
+    protected Investimento ler(Readable linha) {
+        Investimento investimento = new Investimento();
+        investimento.setId(linha.get("ID", Integer.class));
+        investimento.setVersao(linha.get("VERSAO", Long.class));
+        investimento.setDescricao(linha.get("DESCRICAO", String.class));
+        investimento.setValorInicial(linha.get("VALOR_INICIAL", BigDecimal.class));
+        investimento.setSaldo(linha.get("SALDO", BigDecimal.class));
+        investimento.setDataInicio(linha.get("DATA_INICIO", LocalDateTime.class));
+        investimento.setDataFim(linha.get("DATA_FIM", LocalDateTime.class));
+        investimento.setTipoInvestimento(null);
+        return investimento;
+    }
+
+    @Override
+    public Long versao(Investimento investimento) {
+        return investimento.getVersao();
+    }
+
+    @Override
+    protected void versao(Investimento investimento, Long versao) {
+        investimento.setVersao(versao);
+    }
+
+    @Override
+    protected List<?> colecao(Investimento investimento) {
+        return investimento.getTipoInvestimento();
+    }
+
+    /**
+     * Os tipos do investimento são removidos com ele (cascade e orphanRemoval no JPA).
+     */
+    @Override
+    protected Mono<List<Integer>> removerDependentes(Integer id) {
+        return removerColecao(id, "INVESTIMENTO_TIPO_INVESTIMENTO", "INVESTIMENTO_ID", "TIPO_INVESTIMENTO_ID", "TIPO_INVESTIMENTO");
+    }
+
+    @Override
+    protected void removerDoCache(Integer id) {
+        super.removerDoCache(id);
+        cacheSegundoNivel().evictCollectionData(TIPOS, id);
+        cacheSegundoNivel().evictEntityData(TipoInvestimento.class);
+    }
+
+    @Override
+    protected void removerDependentesDoCache(List<Integer> dependentes) {
+        dependentes.forEach(tipoInvestimentoService::invalidar);
+    }
+}
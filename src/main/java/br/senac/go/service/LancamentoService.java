@@ -0,0 +1,258 @@
+package br.senac.go.service;
+
+import br.senac.go.dto.Saldo;
+import br.senac.go.exception.RequisicaoInvalidaException;
+import br.senac.go.model.Conta;
+import br.senac.go.model.Investimento;
+import br.senac.go.model.Lancamento;
+import br.senac.go.model.SaldoConsolidado;
+import br.senac.go.repository.LancamentoRepository;
+import br.senac.go.repository.SaldoConsolidadoRepository;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+
+/**
+ * Razão de movimentos de investimentos e contas, a origem de {@code Investimento.saldo} e
+ * {@code Conta.limiteConta}: esses campos são calculados (saldo de abertura gravado na
+ * inclusão mais o razão) e não são alterados por PUT, PATCH ou merge patch.
+ * <p>
+ * Lançar é só um INSERT: a linha do titular não é alterada nem bloqueada (a existência é
+ * conferida pela chave primária), então lançamentos concorrentes no mesmo investimento
+ * não disputam entre si; o titular só é descartado do cache de segundo nível depois do
+ * commit, junto com as avaliações das carteiras que o incluem. O saldo é o de abertura
+ * mais o último {@link SaldoConsolidado} e a soma dos lançamentos posteriores a ele (a
+ * cauda), que a consolidação periódica mantém curta.
+ * <p>
+ * A consolidação cobre apenas lançamentos com dataHora anterior a {@code agora - margem}.
+ * Como a dataHora é atribuída antes do commit, a margem deve ser maior que a duração de uma
+ * transação de lançamento; caso contrário um lançamento confirmado depois do corte poderia
+ * ficar de fora do consolidado e da cauda.
+ */
+@Slf4j
+@Service
+@Transactional
+public class LancamentoService {
+
+    /**
+     * Dono do razão. Cada titular é uma associação de {@link Lancamento} e de {@link SaldoConsolidado}.
+     */
+    public enum Titular {
+        INVESTIMENTO("investimento", "saldoAbertura", Investimento.class, Lancamento::setInvestimento, SaldoConsolidado::setInvestimento),
+        CONTA("conta", "limiteAbertura", Conta.class, Lancamento::setConta, SaldoConsolidado::setConta);
+
+        private final String atributo;
+        private final String abertura;
+        private final Class<?> tipo;
+        private final BiConsumer<Lancamento, Object> vincularLancamento;
+        private final BiConsumer<SaldoConsolidado, Object> vincularSaldo;
+
+        @SuppressWarnings("unchecked")
+        <E> Titular(String atributo, String abertura, Class<E> tipo, BiConsumer<Lancamento, E> vincularLancamento, BiConsumer<SaldoConsolidado, E> vincularSaldo) {
+            this.atributo = atributo;
+            this.abertura = abertura;
+            this.tipo = tipo;
+            this.vincularLancamento = (BiConsumer<Lancamento, Object>) vincularLancamento;
+            this.vincularSaldo = (BiConsumer<SaldoConsolidado, Object>) vincularSaldo;
+        }
+    }
+
+    private static final LocalDateTime ORIGEM = LocalDateTime.of(1900, 1, 1, 0, 0);
+
+    @Autowired
+    private LancamentoRepository lancamentoRepository;
+
+    @Autowired
+    private SaldoConsolidadoRepository saldoConsolidadoRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private AvaliacaoService avaliacaoService;
+
+    @Value("${ledger.consolidacao.margem:1m}")
+    private Duration margem;
+
+    @Value("${ledger.consolidacao.minimo-lancamentos:1}")
+    private long minimoLancamentos;
+
+    /**
+     * Registra um movimento no razão do titular. O valor informado é sempre positivo
+     * para depósitos e retiradas; o sinal é aplicado pelo tipo.
+     */
+    public Lancamento lancar(Titular titular, Integer id, Lancamento lancamento) {
+        log.info("Executado método LancamentoService.lancar");
+        if (log.isDebugEnabled()) {
+            log.debug("Executado método LancamentoService.lancar | valores: {} {} {}", titular, id, lancamento);
+        }
+        if (lancamento.getTipo() == null || lancamento.getValor() == null) {
+            throw new RequisicaoInvalidaException("Tipo e valor do lançamento são obrigatórios");
+        }
+        lancamento.setId(null);
+        lancamento.setValor(lancamento.getTipo().comSinal(lancamento.getValor()));
+        lancamento.setDataHora(LocalDateTime.now());
+        lancamento.setInvestimento(null);
+        lancamento.setConta(null);
+        abertura(titular, id);
+        titular.vincularLancamento.accept(lancamento, entityManager.getReference(titular.tipo, id));
+        Lancamento gravado = lancamentoRepository.save(lancamento);
+        descartarDoCache(titular, id);
+        avaliacaoService.registrar(titular.tipo, id);
+        return gravado;
+    }
+
+    @Transactional(readOnly = true)
+    public Page<Lancamento> lancamentos(Titular titular, Integer id, Pageable pageable) {
+        log.info("Executado método LancamentoService.lancamentos");
+        if (log.isDebugEnabled()) {
+            log.debug("Executado método LancamentoService.lancamentos | valores: {} {} {}", titular, id, pageable);
+        }
+        abertura(titular, id);
+        return titular == Titular.INVESTIMENTO
+                ? lancamentoRepository.findByInvestimentoId(id, pageable)
+                : lancamentoRepository.findByContaId(id, pageable);
+    }
+
+    /**
+     * Saldo atual: o de abertura, uma leitura do último consolidado e uma agregação da cauda.
+     */
+    @Transactional(readOnly = true)
+    public Saldo saldo(Titular titular, Integer id) {
+        log.info("Executado método LancamentoService.saldo");
+        log.debug("Executado método LancamentoService.saldo | valores: {} {}", titular, id);
+        BigDecimal abertura = abertura(titular, id);
+
+        List<SaldoConsolidado> consolidados = entityManager.createQuery(
+                        "select s from SaldoConsolidado s where s." + titular.atributo + ".id = :id order by s.ate desc", SaldoConsolidado.class)
+                .setParameter("id", id)
+                .setMaxResults(1)
+                .getResultList();
+        SaldoConsolidado consolidado = consolidados.isEmpty() ? null : consolidados.get(0);
+        LocalDateTime ate = consolidado == null ? ORIGEM : consolidado.getAte();
+
+        Object[] cauda = entityManager.createQuery(
+                        "select coalesce(sum(l.valor), 0), count(l) from Lancamento l where l." + titular.atributo + ".id = :id and l.dataHora > :ate", Object[].class)
+                .setParameter("id", id)
+                .setParameter("ate", ate)
+                .getSingleResult();
+        BigDecimal somaCauda = (BigDecimal) cauda[0];
+        long pendentes = ((Number) cauda[1]).longValue();
+
+        if (consolidado == null) {
+            return new Saldo(abertura.add(somaCauda), null, pendentes, pendentes);
+        }
+        return new Saldo(abertura.add(consolidado.getSaldo()).add(somaCauda), consolidado.getAte(), consolidado.getQuantidade() + pendentes, pendentes);
+    }
+
+    /**
+     * Consolida periodicamente o saldo de todos os titulares com lançamentos novos.
+     */
+    @Scheduled(fixedDelayString = "${ledger.consolidacao.intervalo:PT1M}", initialDelayString = "${ledger.consolidacao.intervalo:PT1M}")
+    public void consolidar() {
+        LocalDateTime corte = LocalDateTime.now().minus(margem);
+        for (Titular titular : Titular.values()) {
+            consolidar(titular, corte);
+        }
+    }
+
+    /**
+     * Grava um novo {@link SaldoConsolidado} para cada titular com ao menos
+     * {@code minimoLancamentos} lançamentos entre o último consolidado e o corte.
+     * Uma agregação para todos os titulares, uma leitura dos consolidados anteriores e
+     * os INSERTs em lote.
+     * @return quantidade de saldos consolidados gravados
+     */
+    public int consolidar(Titular titular, LocalDateTime corte) {
+        String atributo = titular.atributo;
+        List<Object[]> novos = entityManager.createQuery(
+                        "select l." + atributo + ".id, sum(l.valor), count(l) from Lancamento l" +
+                        " where l." + atributo + " is not null and l.dataHora <= :corte" +
+                        " and l.dataHora > coalesce((select max(s.ate) from SaldoConsolidado s where s." + atributo + " = l." + atributo + "), :origem)" +
+                        " group by l." + atributo + ".id having count(l) >= :minimo", Object[].class)
+                .setParameter("corte", corte)
+                .setParameter("origem", ORIGEM)
+                .setParameter("minimo", minimoLancamentos)
+                .getResultList();
+        if (novos.isEmpty()) {
+            return 0;
+        }
+
+        List<Integer> ids = novos.stream().map(linha -> (Integer) linha[0]).toList();
+        Map<Integer, SaldoConsolidado> anteriores = new HashMap<>();
+        entityManager.createQuery(
+                        "select s from SaldoConsolidado s where s." + atributo + ".id in :ids" +
+                        " and s.ate = (select max(s2.ate) from SaldoConsolidado s2 where s2." + atributo + " = s." + atributo + ")", SaldoConsolidado.class)
+                .setParameter("ids", ids)
+                .getResultList()
+                .forEach(s -> anteriores.put(idTitular(titular, s), s));
+
+        for (Object[] linha : novos) {
+            Integer id = (Integer) linha[0];
+            SaldoConsolidado anterior = anteriores.get(id);
+            SaldoConsolidado saldo = new SaldoConsolidado();
+            saldo.setSaldo(anterior == null ? (BigDecimal) linha[1] : anterior.getSaldo().add((BigDecimal) linha[1]));
+            saldo.setQuantidade((anterior == null ? 0 : anterior.getQuantidade()) + ((Number) linha[2]).longValue());
+            saldo.setAte(corte);
+            titular.vincularSaldo.accept(saldo, entityManager.getReference(titular.tipo, id));
+            saldoConsolidadoRepository.save(saldo);
+        }
+        log.info("Consolidados {} saldos de {} até {}", novos.size(), atributo, corte);
+        return novos.size();
+    }
+
+    /**
+     * Saldo de abertura do titular, lido pela chave primária (sem calcular o saldo atual).
+     * @throws EntityNotFoundException titular inexistente
+     */
+    private BigDecimal abertura(Titular titular, Integer id) {
+        List<BigDecimal> abertura = entityManager.createQuery(
+                        "select e." + titular.abertura + " from " + titular.tipo.getSimpleName() + " e where e.id = :id", BigDecimal.class)
+                .setParameter("id", Objects.requireNonNull(id, "id"))
+                .getResultList();
+        if (abertura.isEmpty()) {
+            throw new EntityNotFoundException(String.format("%s %d não encontrado", titular.tipo.getSimpleName(), id));
+        }
+        return abertura.get(0);
+    }
+
+    /**
+     * O saldo guardado com o titular no cache de segundo nível deixa de valer no commit do
+     * lançamento.
+     */
+    private void descartarDoCache(Titular titular, Integer id) {
+        Cache cache = entityManager.getEntityManagerFactory().getCache();
+        cache.evict(titular.tipo, id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.evict(titular.tipo, id);
+                }
+            });
+        }
+    }
+
+    private Integer idTitular(Titular titular, SaldoConsolidado saldo) {
+        return titular == Titular.INVESTIMENTO ? saldo.getInvestimento().getId() : saldo.getConta().getId();
+    }
+}
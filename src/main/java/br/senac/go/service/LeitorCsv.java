@@ -0,0 +1,143 @@
+package br.senac.go.service;
+
+import br.senac.go.exception.RequisicaoInvalidaException;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Leitura de CSV (RFC 4180) registro a registro, sem carregar o arquivo: campos entre
+ * aspas podem conter separador, quebra de linha e aspas duplicadas ({@code ""}). Linhas
+ * em branco são ignoradas e o BOM do UTF-8 no início é descartado.
+ */
+public class LeitorCsv implements Closeable {
+
+    public static final String TEXT_CSV_VALUE = "text/csv";
+
+    private static final int FIM = -1;
+
+    private final Reader reader;
+
+    private final char separador;
+
+    private final char[] buffer = new char[8192];
+
+    private int posicao;
+
+    private int limite;
+
+    /** linha física atual do arquivo */
+    private long linha = 1;
+
+    /** linha física em que começa o último registro lido */
+    private long linhaRegistro;
+
+    private final StringBuilder campo = new StringBuilder();
+
+    private final List<String> campos = new ArrayList<>();
+
+    public LeitorCsv(Reader reader) {
+        this(reader, ',');
+    }
+
+    public LeitorCsv(Reader reader, char separador) {
+        this.reader = reader;
+        this.separador = separador;
+    }
+
+    /**
+     * Próximo registro, ou nulo no fim do arquivo.
+     * @throws RequisicaoInvalidaException aspas abertas até o fim do arquivo
+     */
+    public String[] proximo() throws IOException {
+        while (true) {
+            int c = ler();
+            if (linha == 1 && linhaRegistro == 0 && c == '\uFEFF') {
+                c = ler();
+            }
+            if (c == FIM) {
+                return null;
+            }
+            linhaRegistro = linha;
+            campos.clear();
+            campo.setLength(0);
+            boolean aspas = false;
+            boolean citado = false;
+            while (c != FIM) {
+                if (aspas) {
+                    if (c == '"') {
+                        c = ler();
+                        if (c != '"') {
+                            aspas = false;
+                            continue;
+                        }
+                    } else if (c == '\n') {
+                        linha++;
+                    }
+                    campo.append((char) c);
+                } else if (c == '"' && campo.isEmpty()) {
+                    aspas = true;
+                    citado = true;
+                } else if (c == separador) {
+                    campos.add(campo.toString());
+                    campo.setLength(0);
+                } else if (c == '\n') {
+                    linha++;
+                    break;
+                } else if (c == '\r') {
+                    if (ler() != '\n') {
+                        devolver();
+                    }
+                    linha++;
+                    break;
+                } else {
+                    campo.append((char) c);
+                }
+                c = ler();
+            }
+            if (aspas) {
+                throw new RequisicaoInvalidaException(String.format("Linha %d: aspas não fechadas", linhaRegistro));
+            }
+            if (campos.isEmpty() && campo.isEmpty() && !citado) {
+                continue;
+            }
+            campos.add(campo.toString());
+            return campos.toArray(new String[0]);
+        }
+    }
+
+    /**
+     * Linha do arquivo em que começa o último registro devolvido por {@link #proximo()}.
+     */
+    public long getLinha() {
+        return linhaRegistro;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private int ler() throws IOException {
+        if (posicao == limite) {
+            limite = reader.read(buffer, 0, buffer.length);
+            posicao = 0;
+            if (limite <= 0) {
+                limite = 0;
+                return FIM;
+            }
+        }
+        return buffer[posicao++];
+    }
+
+    /**
+     * Volta um caractere; só depois de um {@link #ler()} que não devolveu o fim.
+     */
+    private void devolver() {
+        if (limite > 0) {
+            posicao--;
+        }
+    }
+}
@@ -0,0 +1,288 @@
+package br.senac.go.service;
+
+import br.senac.go.dto.Limite;
+import br.senac.go.exception.ConflitoException;
+import br.senac.go.exception.LimiteExcedidoException;
+import br.senac.go.exception.RequisicaoInvalidaException;
+import br.senac.go.model.Conta;
+import br.senac.go.model.Reserva;
+import br.senac.go.model.StatusReserva;
+import br.senac.go.repository.ReservaRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.CacheRetrieveMode;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.persistence.LockModeType;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.jpa.SpecHints;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Autorizações contra o limite da conta: reservar, confirmar e liberar.
+ * <p>
+ * Dentro da aplicação as operações de uma mesma conta são serializadas por um bloqueio
+ * de um conjunto fixo de listras (conta.id módulo quantidade), então contas diferentes
+ * seguem em paralelo e a mesma conta não gera conflitos de versão entre threads.
+ * O limite já utilizado fica em memória junto com a versão da conta em que foi calculado;
+ * se a versão atual for outra (alteração da conta ou outra instância), ele é recalculado
+ * a partir das reservas.
+ * <p>
+ * A garantia durável é a {@code @Version} da conta: toda reserva e liberação executa
+ * {@code UPDATE CONTA SET VERSAO = v + 1 WHERE ID = ? AND VERSAO = v} sobre a versão lida.
+ * Duas gravações concorrentes sobre a mesma versão, vindas de outra instância ou de uma
+ * alteração da conta, não passam ambas; a perdedora é repetida com o limite recalculado.
+ * O incremento é feito já no {@code lock} (PESSIMISTIC_FORCE_INCREMENT): com o batch JDBC
+ * ligado, o incremento de OPTIMISTIC_FORCE_INCREMENT, agendado para o fim da transação,
+ * não chega a ser executado pelo Hibernate.
+ */
+@Slf4j
+@Service
+public class LimiteService {
+
+    /**
+     * Limite utilizado da conta na versão indicada.
+     */
+    private record Utilizado(Long versao, BigDecimal valor) {
+    }
+
+    @Autowired
+    private ReservaRepository reservaRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${reserva.listras:256}")
+    private int listras;
+
+    @Value("${reserva.tentativas:3}")
+    private int tentativas;
+
+    @Value("${reserva.expiracao:15m}")
+    private Duration expiracao;
+
+    @Value("${reserva.cache.tamanho-maximo:100000}")
+    private long tamanhoMaximo;
+
+    private ReentrantLock[] bloqueios;
+
+    private Cache<Integer, Utilizado> utilizados;
+
+    private TransactionTemplate transacao;
+
+    @PostConstruct
+    void iniciar() {
+        bloqueios = new ReentrantLock[listras];
+        for (int i = 0; i < listras; i++) {
+            bloqueios[i] = new ReentrantLock();
+        }
+        utilizados = Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo)
+                .build();
+        transacao = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Separa {@code valor} do limite da conta. Falha com {@link LimiteExcedidoException}
+     * quando o limite disponível não é suficiente.
+     */
+    public Reserva reservar(Integer contaId, BigDecimal valor, String descricao) {
+        log.info("Executado método LimiteService.reservar");
+        if (log.isDebugEnabled()) {
+            log.debug("Executado método LimiteService.reservar | valores: {} {} {}", contaId, valor, descricao);
+        }
+        if (valor == null || valor.signum() <= 0) {
+            throw new RequisicaoInvalidaException("O valor da reserva deve ser positivo");
+        }
+        return comBloqueio(contaId, () -> transacao.execute(status -> {
+            Conta conta = conta(contaId);
+            BigDecimal utilizado = utilizado(conta);
+            BigDecimal novoUtilizado = utilizado.add(valor);
+            if (novoUtilizado.compareTo(conta.getLimiteConta()) > 0) {
+                throw new LimiteExcedidoException(String.format("Limite insuficiente na conta %d: disponível %s, solicitado %s",
+                        contaId, conta.getLimiteConta().subtract(utilizado), valor));
+            }
+            Reserva reserva = new Reserva();
+            reserva.setConta(conta);
+            reserva.setValor(valor);
+            reserva.setDescricao(descricao);
+            reserva.setStatus(StatusReserva.RESERVADA);
+            reserva.setCriadaEm(LocalDateTime.now());
+            reservaRepository.save(reserva);
+            gravar(conta, novoUtilizado);
+            return reserva;
+        }));
+    }
+
+    /**
+     * Torna a reserva definitiva. O valor continua ocupando o limite.
+     */
+    public Reserva confirmar(Integer contaId, Integer reservaId) {
+        log.info("Executado método LimiteService.confirmar");
+        log.debug("Executado método LimiteService.confirmar | valores: {} {}", contaId, reservaId);
+        return comBloqueio(contaId, () -> transacao.execute(status -> {
+            Reserva reserva = reserva(contaId, reservaId);
+            if (reserva.getStatus() != StatusReserva.RESERVADA) {
+                throw new ConflitoException(String.format("A reserva %d está %s", reservaId, reserva.getStatus()));
+            }
+            reserva.setStatus(StatusReserva.CONFIRMADA);
+            reserva.setAtualizadaEm(LocalDateTime.now());
+            return reserva;
+        }));
+    }
+
+    /**
+     * Devolve ao limite o valor de uma reserva ainda não confirmada.
+     */
+    public Reserva liberar(Integer contaId, Integer reservaId) {
+        log.info("Executado método LimiteService.liberar");
+        log.debug("Executado método LimiteService.liberar | valores: {} {}", contaId, reservaId);
+        return comBloqueio(contaId, () -> transacao.execute(status -> {
+            Reserva reserva = reserva(contaId, reservaId);
+            if (reserva.getStatus() != StatusReserva.RESERVADA) {
+                throw new ConflitoException(String.format("A reserva %d está %s", reservaId, reserva.getStatus()));
+            }
+            Conta conta = conta(contaId);
+            BigDecimal novoUtilizado = utilizado(conta).subtract(reserva.getValor());
+            reserva.setStatus(StatusReserva.LIBERADA);
+            reserva.setAtualizadaEm(LocalDateTime.now());
+            gravar(conta, novoUtilizado);
+            return reserva;
+        }));
+    }
+
+    public Limite limite(Integer contaId) {
+        log.info("Executado método LimiteService.limite");
+        log.debug("Executado método LimiteService.limite | valores: {}", contaId);
+        return comBloqueio(contaId, () -> transacao.execute(status -> {
+            Conta conta = conta(contaId);
+            BigDecimal utilizado = utilizado(conta);
+            return new Limite(contaId, conta.getLimiteConta(), utilizado, conta.getLimiteConta().subtract(utilizado));
+        }));
+    }
+
+    /**
+     * Libera as reservas que não foram confirmadas nem liberadas dentro do prazo.
+     */
+    @Scheduled(fixedDelayString = "${reserva.verificacao-expiracao:PT1M}", initialDelayString = "${reserva.verificacao-expiracao:PT1M}")
+    public void expirar() {
+        List<Integer> ids = transacao.execute(status ->
+                reservaRepository.buscarIds(StatusReserva.RESERVADA, LocalDateTime.now().minus(expiracao)));
+        int liberadas = 0;
+        for (Integer id : ids) {
+            try {
+                Integer contaId = transacao.execute(status -> reservaRepository.findById(id).map(r -> r.getConta().getId()).orElse(null));
+                if (contaId != null) {
+                    liberar(contaId, id);
+                    liberadas++;
+                }
+            } catch (ConflitoException e) {
+                log.debug("Reserva {} não expirada: {}", id, e.getMessage());
+            }
+        }
+        if (liberadas > 0) {
+            log.info("Liberadas {} reservas expiradas", liberadas);
+        }
+    }
+
+    /**
+     * Executa a operação com o bloqueio da listra da conta, repetindo quando a versão
+     * da conta foi alterada por outra transação.
+     */
+    private <R> R comBloqueio(Integer contaId, Supplier<R> operacao) {
+        if (contaId == null) {
+            throw new RequisicaoInvalidaException("Conta obrigatória");
+        }
+        ReentrantLock bloqueio = bloqueios[Math.floorMod(contaId.hashCode(), listras)];
+        bloqueio.lock();
+        try {
+            for (int tentativa = 1; ; tentativa++) {
+                try {
+                    return operacao.get();
+                } catch (OptimisticLockingFailureException e) {
+                    utilizados.invalidate(contaId);
+                    if (tentativa >= tentativas) {
+                        throw e;
+                    }
+                    log.debug("Conflito de versão na conta {}, tentativa {}", contaId, tentativa);
+                }
+            }
+        } finally {
+            bloqueio.unlock();
+        }
+    }
+
+    /**
+     * Conta lida do banco (não do cache de segundo nível), para que a versão comparada
+     * com a do limite em memória seja a gravada.
+     */
+    private Conta conta(Integer contaId) {
+        Conta conta = entityManager.find(Conta.class, contaId, Map.of(SpecHints.HINT_SPEC_CACHE_RETRIEVE_MODE, CacheRetrieveMode.BYPASS));
+        if (conta == null) {
+            throw new EntityNotFoundException(String.format("Conta %d não encontrada", contaId));
+        }
+        return conta;
+    }
+
+    private Reserva reserva(Integer contaId, Integer reservaId) {
+        return reservaRepository.findById(reservaId)
+                .filter(r -> r.getConta().getId().equals(contaId))
+                .orElseThrow(() -> new EntityNotFoundException(String.format("Reserva %d não encontrada na conta %d", reservaId, contaId)));
+    }
+
+    /**
+     * Limite utilizado da conta: o valor em memória quando foi calculado na versão atual,
+     * senão a soma das reservas.
+     */
+    private BigDecimal utilizado(Conta conta) {
+        Utilizado utilizado = utilizados.getIfPresent(conta.getId());
+        if (utilizado != null && utilizado.versao().equals(conta.getVersao())) {
+            return utilizado.valor();
+        }
+        return reservaRepository.somarUtilizado(conta.getId());
+    }
+
+    /**
+     * Incrementa a versão da conta e, depois do commit, guarda o novo limite utilizado com a
+     * versão gravada. Se o commit falhar nada é guardado e o valor é recalculado na próxima
+     * operação. O incremento não passa pelo cache de segundo nível, então a conta é retirada dele.
+     */
+    private void gravar(Conta conta, BigDecimal novoUtilizado) {
+        entityManager.lock(conta, LockModeType.PESSIMISTIC_FORCE_INCREMENT);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                utilizados.put(conta.getId(), new Utilizado(conta.getVersao(), novoUtilizado));
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                entityManagerFactory.getCache().evict(Conta.class, conta.getId());
+            }
+        });
+    }
+}
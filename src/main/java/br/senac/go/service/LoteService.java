@@ -0,0 +1,301 @@
+package br.senac.go.service;
+
+import br.senac.go.dto.OperacaoLote;
+import br.senac.go.dto.ResultadoItem;
+import br.senac.go.exception.ConflitoException;
+import br.senac.go.exception.RequisicaoInvalidaException;
+import br.senac.go.interfaces.IEntity;
+import br.senac.go.interfaces.IService;
+import br.senac.go.model.Carteira;
+import br.senac.go.model.Conta;
+import br.senac.go.model.Investimento;
+import br.senac.go.model.Pessoa;
+import br.senac.go.model.TipoConta;
+import br.senac.go.model.TipoInvestimento;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.IntNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.persistence.OptimisticLockException;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Várias operações de CRUD sobre os seis recursos em uma única transação (api/_batch),
+ * na ordem recebida e pelos mesmos services das chamadas isoladas, de modo que o cadastro
+ * de um cliente (carteira, conta com tipos, investimento com tipos e a pessoa ligada a
+ * eles) seja uma única ida ao servidor.
+ * <p>
+ * Uma operação referencia o id gravado por uma anterior com {@code "${ref}"}. Cada escrita
+ * é enviada ao banco antes da operação seguinte, para que um erro seja atribuído à
+ * operação que o causou. Na primeira falha a transação é desfeita: essa operação traz o
+ * status do erro (como na chamada isolada) e as demais 424, com o índice da que falhou.
+ * Erros que não são do cliente nem conflitos não viram resultado: desfazem a transação e
+ * a requisição inteira responde 500.
+ */
+@Slf4j
+@Service
+public class LoteService {
+
+    private static final Pattern REFERENCIA = Pattern.compile("^\\$\\{([^}]+)}$");
+
+    @Autowired
+    private CarteiraService carteiraService;
+
+    @Autowired
+    private ContaService contaService;
+
+    @Autowired
+    private InvestimentoService investimentoService;
+
+    @Autowired
+    private PessoaService pessoaService;
+
+    @Autowired
+    private TipoContaService tipoContaService;
+
+    @Autowired
+    private TipoInvestimentoService tipoInvestimentoService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    /**
+     * Maior quantidade de operações aceita em uma requisição.
+     */
+    @Value("${lote.limite-operacoes:100}")
+    private int limiteOperacoes;
+
+    private Map<String, Recurso<?>> recursos;
+
+    private TransactionTemplate transacao;
+
+    private record Recurso<T extends IEntity<Integer>>(IService<T, Integer> service, Class<T> classe) {
+    }
+
+    private enum Metodo {POST, GET, PUT, PATCH, DELETE}
+
+    @PostConstruct
+    void iniciar() {
+        recursos = Map.of(
+                "carteira", new Recurso<>(carteiraService, Carteira.class),
+                "conta", new Recurso<>(contaService, Conta.class),
+                "investimento", new Recurso<>(investimentoService, Investimento.class),
+                "pessoa", new Recurso<>(pessoaService, Pessoa.class),
+                "tipoconta", new Recurso<>(tipoContaService, TipoConta.class),
+                "tipoinvestimento", new Recurso<>(tipoInvestimentoService, TipoInvestimento.class));
+        transacao = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Executa as operações e devolve o resultado de cada uma, na ordem recebida.
+     * Uma requisição malformada (recurso ou método desconhecido, ref repetido, acima do
+     * limite) é recusada inteira, sem executar nada.
+     */
+    public List<ResultadoItem<Object, Integer>> executar(List<OperacaoLote> operacoes) {
+        log.info("Executado método LoteService.executar | operações: {}", operacoes.size());
+        validar(operacoes);
+        List<ResultadoItem<Object, Integer>> resultados = transacao.execute(status -> {
+            List<ResultadoItem<Object, Integer>> parcial = new ArrayList<>(operacoes.size());
+            Map<String, Integer> ids = new HashMap<>();
+            for (OperacaoLote operacao : operacoes) {
+                ResultadoItem<Object, Integer> resultado = executar(operacao, parcial.size(), ids);
+                resultado.setIndice(parcial.size());
+                parcial.add(resultado);
+                if (resultado.getErro() != null) {
+                    status.setRollbackOnly();
+                    break;
+                }
+                if (operacao.getRef() != null) {
+                    ids.put(operacao.getRef(), resultado.getId());
+                }
+            }
+            return parcial;
+        });
+        ResultadoItem<Object, Integer> falha = resultados.get(resultados.size() - 1);
+        if (falha.getErro() != null) {
+            log.info("Operação {} do lote falhou ({}): {}", falha.getIndice(), falha.getStatus(), falha.getErro());
+            desfazer(resultados, operacoes.size(), falha.getIndice());
+        }
+        return resultados;
+    }
+
+    private void validar(List<OperacaoLote> operacoes) {
+        if (operacoes.isEmpty()) {
+            throw new RequisicaoInvalidaException("Nenhuma operação informada");
+        }
+        if (operacoes.size() > limiteOperacoes) {
+            throw new RequisicaoInvalidaException(String.format("Máximo de %d operações por requisição", limiteOperacoes));
+        }
+        Set<String> refs = new HashSet<>();
+        for (int i = 0; i < operacoes.size(); i++) {
+            OperacaoLote operacao = operacoes.get(i);
+            recurso(operacao, i);
+            metodo(operacao, i);
+            if (operacao.getRef() != null && !refs.add(operacao.getRef())) {
+                throw new RequisicaoInvalidaException(String.format("Operação %d: ref %s repetido", i, operacao.getRef()));
+            }
+        }
+    }
+
+    private ResultadoItem<Object, Integer> executar(OperacaoLote operacao, int indice, Map<String, Integer> ids) {
+        Integer id = null;
+        try {
+            if (operacao.getId() != null && !operacao.getId().isNull()) {
+                id = objectMapper.treeToValue(substituir(operacao.getId(), ids), Integer.class);
+            }
+            JsonNode corpo = operacao.getCorpo() == null ? null : substituir(operacao.getCorpo().deepCopy(), ids);
+            return executar(recurso(operacao, indice), metodo(operacao, indice), id, corpo, versao(operacao.getVersao()));
+        } catch (EntityNotFoundException e) {
+            return ResultadoItem.falha(HttpStatus.NOT_FOUND.value(), id, e.getMessage());
+        } catch (OptimisticLockingFailureException | OptimisticLockException e) {
+            return ResultadoItem.falha(HttpStatus.CONFLICT.value(), id, "Registro alterado por outra transação");
+        } catch (DataIntegrityViolationException | ConstraintViolationException e) {
+            return ResultadoItem.falha(HttpStatus.CONFLICT.value(), id, "Registro referenciado por outros dados ou duplicado");
+        } catch (ConflitoException e) {
+            return ResultadoItem.falha(HttpStatus.CONFLICT.value(), id, e.getMessage());
+        } catch (ResponseStatusException e) {
+            return ResultadoItem.falha(e.getStatusCode().value(), id, e.getReason());
+        } catch (RequisicaoInvalidaException e) {
+            return ResultadoItem.falha(HttpStatus.BAD_REQUEST.value(), id, e.getMessage());
+        } catch (JsonProcessingException e) {
+            return ResultadoItem.falha(HttpStatus.BAD_REQUEST.value(), id, "Corpo inválido: " + e.getOriginalMessage());
+        } catch (Exception e) {
+            //erro interno: desfaz o lote inteiro e a requisição responde 500
+            throw e instanceof RuntimeException r ? r : new IllegalStateException(e);
+        }
+    }
+
+    private <T extends IEntity<Integer>> ResultadoItem<Object, Integer> executar(Recurso<T> recurso, Metodo metodo, Integer id, JsonNode corpo, Object versao) throws Exception {
+        IService<T, Integer> service = recurso.service();
+        if (metodo != Metodo.POST && id == null) {
+            throw new RequisicaoInvalidaException("Identificador obrigatório");
+        }
+        T entity = switch (metodo) {
+            case POST -> service.create(entidade(recurso, corpo));
+            case GET -> service.readById(id);
+            case PUT -> service.updateFull(id, entidade(recurso, corpo), versao);
+            case PATCH -> service.mergePatch(id, corpo, versao);
+            case DELETE -> service.deleteById(id, versao);
+        };
+        if (metodo != Metodo.GET) {
+            entityManager.flush();
+        }
+        return switch (metodo) {
+            case POST -> ResultadoItem.sucesso(HttpStatus.CREATED.value(), entity.getId(), entity);
+            case DELETE -> ResultadoItem.sucesso(HttpStatus.NO_CONTENT.value(), id, null);
+            default -> ResultadoItem.sucesso(HttpStatus.OK.value(), id, entity);
+        };
+    }
+
+    private <T extends IEntity<Integer>> T entidade(Recurso<T> recurso, JsonNode corpo) throws JsonProcessingException {
+        if (corpo == null || !corpo.isObject()) {
+            throw new RequisicaoInvalidaException("Corpo obrigatório");
+        }
+        return objectMapper.treeToValue(corpo, recurso.classe());
+    }
+
+    /**
+     * Troca os textos {@code "${ref}"} pelo id gravado na operação com esse ref.
+     */
+    private JsonNode substituir(JsonNode valor, Map<String, Integer> ids) {
+        if (valor.isTextual()) {
+            Matcher referencia = REFERENCIA.matcher(valor.asText());
+            if (!referencia.matches()) {
+                return valor;
+            }
+            Integer id = ids.get(referencia.group(1));
+            if (id == null) {
+                throw new RequisicaoInvalidaException(String.format("Referência %s não definida por uma operação anterior", referencia.group(1)));
+            }
+            return IntNode.valueOf(id);
+        }
+        if (valor instanceof ObjectNode objeto) {
+            for (Iterator<Map.Entry<String, JsonNode>> campos = objeto.fields(); campos.hasNext(); ) {
+                Map.Entry<String, JsonNode> campo = campos.next();
+                campo.setValue(substituir(campo.getValue(), ids));
+            }
+        } else if (valor instanceof ArrayNode lista) {
+            for (int i = 0; i < lista.size(); i++) {
+                lista.set(i, substituir(lista.get(i), ids));
+            }
+        }
+        return valor;
+    }
+
+    /**
+     * As operações gravadas antes da que falhou foram desfeitas e as seguintes não foram
+     * executadas: todas ficam com 424 (Failed Dependency).
+     */
+    private void desfazer(List<ResultadoItem<Object, Integer>> resultados, int operacoes, int falha) {
+        for (int i = 0; i < falha; i++) {
+            ResultadoItem<Object, Integer> resultado = resultados.get(i);
+            resultado.setStatus(HttpStatus.FAILED_DEPENDENCY.value());
+            resultado.setEntidade(null);
+            resultado.setErro(String.format("Desfeita pela falha da operação %d", falha));
+        }
+        for (int i = falha + 1; i < operacoes; i++) {
+            resultados.add(new ResultadoItem<>(i, HttpStatus.FAILED_DEPENDENCY.value(), null, null,
+                    String.format("Não executada pela falha da operação %d", falha)));
+        }
+    }
+
+    private Recurso<?> recurso(OperacaoLote operacao, int indice) {
+        Recurso<?> recurso = operacao.getRecurso() == null ? null : recursos.get(operacao.getRecurso().toLowerCase(Locale.ROOT));
+        if (recurso == null) {
+            throw new RequisicaoInvalidaException(String.format("Operação %d: recurso inválido %s", indice, operacao.getRecurso()));
+        }
+        return recurso;
+    }
+
+    private Metodo metodo(OperacaoLote operacao, int indice) {
+        try {
+            return Metodo.valueOf(operacao.getMetodo().toUpperCase(Locale.ROOT));
+        } catch (RuntimeException e) {
+            throw new RequisicaoInvalidaException(String.format("Operação %d: método inválido %s", indice, operacao.getMetodo()));
+        }
+    }
+
+    /**
+     * Versão como no If-Match, com ou sem aspas.
+     */
+    private Object versao(String versao) {
+        if (versao == null || versao.isBlank() || versao.trim().equals("*")) {
+            return null;
+        }
+        String valor = versao.trim();
+        return valor.length() >= 2 && valor.startsWith("\"") && valor.endsWith("\"") ? valor.substring(1, valor.length() - 1) : valor;
+    }
+}
@@ -0,0 +1,241 @@
+package br.senac.go.service;
+
+import br.senac.go.exception.RequisicaoInvalidaException;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.PersistenceUnitUtil;
+import jakarta.persistence.metamodel.Attribute;
+import jakarta.persistence.metamodel.EntityType;
+import jakarta.persistence.metamodel.PluralAttribute;
+import jakarta.persistence.metamodel.SingularAttribute;
+import org.hibernate.Hibernate;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.type.Type;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.beans.PropertyDescriptor;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * JSON Merge Patch (RFC 7396) sobre uma entidade gerenciada: apenas os campos presentes
+ * no documento são alterados e {@code null} limpa o campo.
+ * <ul>
+ *     <li>campos básicos: convertidos para o tipo da propriedade e atribuídos só quando
+ *     o valor muda (BigDecimal comparado sem a escala);</li>
+ *     <li>associações ManyToOne: {@code {"id": n}} troca a referência, sem alterar o
+ *     registro referenciado;</li>
+ *     <li>coleções: o array substitui o conteúdo; itens com id são os registros já
+ *     presentes na coleção com o patch do item aplicado (outro id responde 404), itens
+ *     sem id são novos.</li>
+ * </ul>
+ * Campos somente leitura (calculados ou {@code updatable = false}) só aceitam o valor já
+ * gravado.
+ * <p>
+ * Como a entidade é gerenciada, o UPDATE é gerado pela verificação de alterações do
+ * Hibernate; com {@code @DynamicUpdate} ele contém apenas as colunas alteradas e, quando
+ * nada mudou, não há UPDATE.
+ */
+@Component
+public class MergePatch {
+
+    public static final String APPLICATION_MERGE_PATCH_JSON_VALUE = "application/merge-patch+json";
+
+    private static final String ID = "id";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final Map<Class<?>, Set<String>> somenteLeitura = new ConcurrentHashMap<>();
+
+    /**
+     * Aplica o patch na entidade.
+     * @return se algum campo foi alterado
+     */
+    public boolean aplicar(Object entidade, JsonNode patch) {
+        if (patch == null || !patch.isObject()) {
+            throw new RequisicaoInvalidaException("O merge patch deve ser um objeto JSON");
+        }
+        EntityType<?> tipo = entityManager.getMetamodel().entity(Hibernate.getClass(entidade));
+        BeanWrapper wrapper = new BeanWrapperImpl(entidade);
+        boolean alterado = false;
+        Iterator<Map.Entry<String, JsonNode>> campos = patch.fields();
+        while (campos.hasNext()) {
+            Map.Entry<String, JsonNode> campo = campos.next();
+            String nome = campo.getKey();
+            Attribute<?, ?> atributo = atributo(tipo, nome);
+            if (atributo instanceof SingularAttribute<?, ?> singular && (singular.isId() || singular.isVersion())) {
+                //o id vem do caminho e a versão do If-Match
+                continue;
+            }
+            JsonNode valor = campo.getValue();
+            if (valor.isNull() && atributo instanceof SingularAttribute<?, ?> singular && !singular.isOptional()) {
+                throw new RequisicaoInvalidaException(String.format("O campo %s é obrigatório", nome));
+            }
+            alterado |= switch (atributo.getPersistentAttributeType()) {
+                case BASIC, EMBEDDED -> basico(wrapper, nome, valor);
+                case MANY_TO_ONE, ONE_TO_ONE -> referencia(wrapper, nome, atributo.getJavaType(), valor);
+                case ONE_TO_MANY, MANY_TO_MANY, ELEMENT_COLLECTION -> colecao(wrapper, nome, (PluralAttribute<?, ?, ?>) atributo, valor);
+            };
+        }
+        return alterado;
+    }
+
+    private Attribute<?, ?> atributo(EntityType<?> tipo, String nome) {
+        try {
+            return tipo.getAttribute(nome);
+        } catch (IllegalArgumentException e) {
+            throw new RequisicaoInvalidaException(String.format("Campo desconhecido no merge patch: %s", nome));
+        }
+    }
+
+    private boolean basico(BeanWrapper wrapper, String nome, JsonNode valor) {
+        PropertyDescriptor descritor = wrapper.getPropertyDescriptor(nome);
+        JavaType tipo = objectMapper.getTypeFactory().constructType(descritor.getReadMethod().getGenericReturnType());
+        Object novo = converter(valor, tipo, nome);
+        if (igual(wrapper.getPropertyValue(nome), novo)) {
+            return false;
+        }
+        if (somenteLeitura(Hibernate.getClass(wrapper.getWrappedInstance())).contains(nome)) {
+            throw new RequisicaoInvalidaException(String.format("O campo %s não pode ser alterado", nome));
+        }
+        wrapper.setPropertyValue(nome, novo);
+        return true;
+    }
+
+    private boolean referencia(BeanWrapper wrapper, String nome, Class<?> tipo, JsonNode valor) {
+        Object atual = wrapper.getPropertyValue(nome);
+        Object idAtual = atual == null ? null : entityManager.getEntityManagerFactory().getPersistenceUnitUtil().getIdentifier(atual);
+        Object id = valor.isNull() ? null : id(tipo, valor, nome);
+        if (Objects.equals(idAtual, id)) {
+            return false;
+        }
+        wrapper.setPropertyValue(nome, id == null ? null : entityManager.getReference(tipo, id));
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    private boolean colecao(BeanWrapper wrapper, String nome, PluralAttribute<?, ?, ?> atributo, JsonNode valor) {
+        Collection<Object> atual = (Collection<Object>) wrapper.getPropertyValue(nome);
+        if (valor.isNull()) {
+            valor = objectMapper.createArrayNode();
+        }
+        if (!valor.isArray()) {
+            throw new RequisicaoInvalidaException(String.format("O campo %s deve ser um array", nome));
+        }
+        Class<?> tipoItem = atributo.getElementType().getJavaType();
+        boolean entidades = atributo.getPersistentAttributeType() != Attribute.PersistentAttributeType.ELEMENT_COLLECTION;
+        //itens com id só podem ser os que já estão na coleção: os de outro registro não são aceitos
+        Map<Object, Object> gravados = new HashMap<>();
+        if (entidades && atual != null) {
+            PersistenceUnitUtil util = entityManager.getEntityManagerFactory().getPersistenceUnitUtil();
+            for (Object existente : atual) {
+                gravados.put(util.getIdentifier(existente), existente);
+            }
+        }
+        boolean alterado = false;
+        List<Object> itens = new ArrayList<>(valor.size());
+        for (JsonNode item : valor) {
+            if (entidades && item.isObject() && item.hasNonNull(ID)) {
+                Object id = id(tipoItem, item, nome);
+                Object gravado = gravados.get(id);
+                if (gravado == null) {
+                    throw new EntityNotFoundException(String.format("Registro %s de %s não encontrado", id, nome));
+                }
+                alterado |= aplicar(gravado, item);
+                itens.add(gravado);
+            } else {
+                itens.add(converter(item, objectMapper.constructType(tipoItem), nome));
+            }
+        }
+        if (atual == null) {
+            wrapper.setPropertyValue(nome, itens);
+            return true;
+        }
+        if (mesmosItens(atual, itens)) {
+            return alterado;
+        }
+        //a coleção gerenciada é mantida (orphanRemoval exige a mesma instância)
+        atual.clear();
+        atual.addAll(itens);
+        return true;
+    }
+
+    private boolean mesmosItens(Collection<Object> atual, List<Object> itens) {
+        if (atual.size() != itens.size()) {
+            return false;
+        }
+        Iterator<Object> existentes = atual.iterator();
+        for (Object item : itens) {
+            Object existente = existentes.next();
+            if (existente != item && !igual(existente, item)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Object id(Class<?> tipo, JsonNode valor, String nome) {
+        JsonNode id = valor.isObject() ? valor.get(ID) : valor;
+        if (id == null || id.isNull()) {
+            throw new RequisicaoInvalidaException(String.format("O campo %s deve informar o id", nome));
+        }
+        Class<?> tipoId = entityManager.getMetamodel().entity(tipo).getIdType().getJavaType();
+        return converter(id, objectMapper.constructType(tipoId), nome);
+    }
+
+    private Object converter(JsonNode valor, JavaType tipo, String nome) {
+        try {
+            return objectMapper.treeToValue(valor, tipo);
+        } catch (Exception e) {
+            throw new RequisicaoInvalidaException(String.format("Valor inválido para %s: %s", nome, valor));
+        }
+    }
+
+    /**
+     * Propriedades básicas da entidade que o Hibernate não grava no UPDATE.
+     */
+    public Set<String> somenteLeitura(Class<?> entidade) {
+        return somenteLeitura.computeIfAbsent(entidade, tipo -> {
+            EntityPersister persister = entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)
+                    .getMappingMetamodel().getEntityDescriptor(tipo);
+            String[] nomes = persister.getPropertyNames();
+            boolean[] atualizaveis = persister.getPropertyUpdateability();
+            Type[] tipos = persister.getPropertyTypes();
+            Set<String> propriedades = new HashSet<>();
+            for (int i = 0; i < nomes.length; i++) {
+                if (!atualizaveis[i] && !tipos[i].isAssociationType()) {
+                    propriedades.add(nomes[i]);
+                }
+            }
+            return Set.copyOf(propriedades);
+        });
+    }
+
+    boolean igual(Object atual, Object novo) {
+        if (atual instanceof BigDecimal a && novo instanceof BigDecimal b) {
+            return a.compareTo(b) == 0;
+        }
+        return Objects.equals(atual, novo);
+    }
+}
@@ -0,0 +1,63 @@
+package br.senac.go.service;
+
+import br.senac.go.config.ReativoConfig;
+import br.senac.go.model.Carteira;
+import br.senac.go.model.Conta;
+import br.senac.go.model.Investimento;
+import br.senac.go.model.Pessoa;
+import io.r2dbc.spi.Readable;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+@Profile(ReativoConfig.PERFIL)
+public class PessoaServiceReativo extends GenericServiceReativo<Pessoa> {
+
+    private final List<Coluna<Pessoa>> colunas = List.of(
+            new Coluna<>("NOME", String.class, Pessoa::getNome),
+            new Coluna<>("ENDERECO", String.class, Pessoa::getEndereco),
+            new Coluna<>("CARTEIRA_ID", Integer.class, pessoa -> id(pessoa.getCarteira())),
+            new Coluna<>("CONTA_ID", Integer.class, pessoa -> id(pessoa.getConta())),
+            new Coluna<>("INVESTIMENTO_ID", Integer.class, pessoa -> id(pessoa.getInvestimento()))
+    );
+
+    @Override
+    protected String tabela() {
+        return "PESSOA";
+    }
+
+    @Override
+    protected String sequence() {
+        return "PESSOA_SEQ";
+    }
+
+    @Override
+    protected List<Coluna<Pessoa>> colunas() {
+        return colunas;
+    }
+
+    @Override
+    protected Pessoa ler(Readable linha) {
+        Pessoa pessoa = new Pessoa();
+        pessoa.setId(linha.get("ID", Integer.class));
+        pessoa.setVersao(linha.get("VERSAO", Long.class));
+        pessoa.setNome(linha.get("NOME", String.class));
+        pessoa.setEndereco(linha.get("ENDERECO", String.class));
+        pessoa.setCarteira(referencia(linha.get("CARTEIRA_ID", Integer.class), Carteira::new));
+        pessoa.setConta(referencia(linha.get("CONTA_ID", Integer.class), Conta::new));
+        pessoa.setInvestimento(referencia(linha.get("INVESTIMENTO_ID", Integer.class), Investimento::new));
+        return pessoa;
+    }
+
+    @Override
+    public Long versao(Pessoa pessoa) {
+        return pessoa.getVersao();
+    }
+
+    @Override
+    protected void versao(Pessoa pessoa, Long versao) {
+        pessoa.setVersao(versao);
+    }
+}
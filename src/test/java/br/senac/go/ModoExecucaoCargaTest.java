@@ -0,0 +1,147 @@
+package br.senac.go;
+
+import br.senac.go.model.Conta;
+import br.senac.go.service.ContaService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Comparação de carga entre os modos de execução. Executada apenas sob demanda, uma vez
+ * para cada modo:
+ * <pre>
+ * mvn test -Dtest=ModoExecucaoCargaTest -Dcarga=true -Dexecucao.modo=plataforma
+ * mvn test -Dtest=ModoExecucaoCargaTest -Dcarga=true -Dexecucao.modo=virtual
+ * </pre>
+ * {@code -Dcarga.clientes} e {@code -Dcarga.duracao} ajustam a rajada. Cada cliente repete
+ * leituras por id e consultas por exemplo de contas; o resultado (vazão, p50/p99/máximo e
+ * recusas 503 da admissão) é impresso no final.
+ */
+@EnabledIfSystemProperty(named = "carga", matches = "true")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.output.ansi.enabled=never",
+        "spring.banner.charset=UTF-8",
+        "spring.banner.location=classpath:banner.txt",
+        "spring.datasource.url=jdbc:h2:mem:carga",
+        "spring.jpa.show-sql=false",
+        "logging.level.br.senac.go=warn"
+})
+class ModoExecucaoCargaTest {
+
+    private static final int CONTAS = 200;
+
+    @LocalServerPort
+    private int porta;
+
+    @Autowired
+    private ContaService contaService;
+
+    @Value("${execucao.modo}")
+    private String modo;
+
+    @Value("${carga.clientes:400}")
+    private int clientes;
+
+    @Value("${carga.duracao:PT10S}")
+    private Duration duracao;
+
+    @Test
+    void rajada() throws Exception {
+        List<Integer> ids = new ArrayList<>();
+        for (int i = 0; i < CONTAS; i++) {
+            ids.add(contaService.create(conta(i)).getId());
+        }
+        HttpClient http = HttpClient.newBuilder()
+                .executor(Executors.newFixedThreadPool(8))
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        String base = "http://localhost:" + porta + "/api/conta";
+
+        ConcurrentLinkedQueue<long[]> latencias = new ConcurrentLinkedQueue<>();
+        AtomicLong recusadas = new AtomicLong();
+        AtomicLong falhas = new AtomicLong();
+        ExecutorService executor = Executors.newFixedThreadPool(clientes);
+        CountDownLatch largada = new CountDownLatch(1);
+        long fim = System.nanoTime() + duracao.toNanos();
+        for (int c = 0; c < clientes; c++) {
+            executor.execute(() -> {
+                long[] amostras = new long[1 << 16];
+                int n = 0;
+                try {
+                    largada.await();
+                    while (System.nanoTime() < fim && n < amostras.length) {
+                        ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+                        URI uri = aleatorio.nextInt(4) == 0
+                                ? URI.create(base + "?descricao=Conta%20" + aleatorio.nextInt(CONTAS) + "&page=0&size=20")
+                                : URI.create(base + "/" + ids.get(aleatorio.nextInt(ids.size())));
+                        long inicio = System.nanoTime();
+                        HttpResponse<Void> resposta = http.send(HttpRequest.newBuilder(uri).GET().build(), HttpResponse.BodyHandlers.discarding());
+                        long nanos = System.nanoTime() - inicio;
+                        if (resposta.statusCode() == 503) {
+                            recusadas.incrementAndGet();
+                        } else if (resposta.statusCode() != 200) {
+                            falhas.incrementAndGet();
+                        } else {
+                            amostras[n++] = nanos;
+                        }
+                    }
+                } catch (Exception e) {
+                    falhas.incrementAndGet();
+                } finally {
+                    latencias.add(Arrays.copyOf(amostras, n));
+                }
+            });
+        }
+        largada.countDown();
+        long inicio = System.nanoTime();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(duracao.toSeconds() + 60, TimeUnit.SECONDS));
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+
+        long[] todas = latencias.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+        System.out.printf("modo=%s java=%s clientes=%d requisicoes=%d vazao=%.0f/s p50=%.1fms p99=%.1fms max=%.1fms recusadas=%d falhas=%d%n",
+                modo, Runtime.version(), clientes, todas.length, todas.length / segundos,
+                percentil(todas, 0.50), percentil(todas, 0.99), todas.length == 0 ? 0 : todas[todas.length - 1] / 1e6,
+                recusadas.get(), falhas.get());
+        assertEquals(0, falhas.get());
+    }
+
+    private double percentil(long[] ordenadas, double p) {
+        if (ordenadas.length == 0) {
+            return 0;
+        }
+        return ordenadas[(int) Math.min(ordenadas.length - 1, Math.ceil(p * ordenadas.length) - 1)] / 1e6;
+    }
+
+    private Conta conta(int i) {
+        Conta conta = new Conta();
+        conta.setDescricao("Conta " + i);
+        conta.setLimiteConta(new BigDecimal("1000"));
+        conta.setDataInicio(LocalDateTime.now());
+        return conta;
+    }
+}
@@ -0,0 +1,133 @@
+package br.senac.go;
+
+import br.senac.go.config.ReativoConfig;
+import br.senac.go.model.Conta;
+import br.senac.go.model.Investimento;
+import br.senac.go.model.Pessoa;
+import br.senac.go.model.TipoConta;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Resources do perfil reativo (WebFlux + R2DBC): CRUD de pessoa, conflito de versão (409),
+ * coleção e campo somente leitura recusados (400) e rotas do Spring MVC ausentes (404).
+ */
+@ActiveProfiles(ReativoConfig.PERFIL)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.output.ansi.enabled=never",
+        "spring.banner.charset=UTF-8",
+        "spring.banner.location=classpath:banner.txt",
+        "spring.datasource.url=jdbc:h2:mem:reativo",
+        "reativo.r2dbc.url=r2dbc:h2:mem:///reativo",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false", //o cache de segundo nível é compartilhado entre os contextos dos testes
+        "spring.jpa.properties.hibernate.cache.use_query_cache=false",
+        "logging.level.br.senac.go=warn"
+})
+class PerfilReativoTest {
+
+    @Autowired
+    private WebTestClient http;
+
+    @Test
+    void crudDePessoa() {
+        Pessoa pessoa = new Pessoa();
+        pessoa.setNome("Pessoa reativa");
+        Pessoa criada = http.post().uri("/api/pessoa").contentType(MediaType.APPLICATION_JSON).bodyValue(pessoa)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(Pessoa.class).returnResult().getResponseBody();
+        assertNotNull(criada.getId());
+        assertEquals(0L, criada.getVersao());
+
+        http.get().uri("/api/pessoa/{id}", criada.getId()).exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"0\"")
+                .expectBody().jsonPath("$.nome").isEqualTo("Pessoa reativa");
+
+        criada.setNome("Pessoa alterada");
+        http.put().uri("/api/pessoa/{id}", criada.getId()).contentType(MediaType.APPLICATION_JSON).bodyValue(criada)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.versao").isEqualTo(1);
+
+        List<Pessoa> pessoas = http.get().uri("/api/pessoa?limite=1000").exchange()
+                .expectStatus().isOk()
+                .expectBodyList(Pessoa.class).returnResult().getResponseBody();
+        assertTrue(pessoas.stream().anyMatch(lida -> lida.getId().equals(criada.getId()) && lida.getNome().equals("Pessoa alterada")));
+
+        http.delete().uri("/api/pessoa/{id}", criada.getId()).exchange().expectStatus().isOk();
+        http.get().uri("/api/pessoa/{id}", criada.getId()).exchange().expectStatus().isNotFound();
+    }
+
+    @Test
+    void versaoDesatualizadaEConflito() {
+        Pessoa pessoa = new Pessoa();
+        pessoa.setNome("Pessoa versionada");
+        Pessoa criada = http.post().uri("/api/pessoa").contentType(MediaType.APPLICATION_JSON).bodyValue(pessoa)
+                .exchange()
+                .expectBody(Pessoa.class).returnResult().getResponseBody();
+        http.put().uri("/api/pessoa/{id}", criada.getId()).contentType(MediaType.APPLICATION_JSON).bodyValue(criada)
+                .exchange()
+                .expectStatus().isOk();
+
+        //a versão 0 do corpo já foi substituída pela 1
+        http.put().uri("/api/pessoa/{id}", criada.getId()).contentType(MediaType.APPLICATION_JSON).bodyValue(criada)
+                .exchange()
+                .expectStatus().isEqualTo(409);
+    }
+
+    @Test
+    void colecaoECampoSomenteLeituraRecusados() {
+        TipoConta tipo = new TipoConta();
+        tipo.setDescricao("Corrente");
+        Conta conta = new Conta();
+        conta.setDescricao("Conta com tipos");
+        conta.setLimiteConta(new BigDecimal("10.00"));
+        conta.setDataInicio(LocalDateTime.now());
+        conta.setTipoConta(List.of(tipo));
+        http.post().uri("/api/conta").contentType(MediaType.APPLICATION_JSON).bodyValue(conta)
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        Investimento investimento = new Investimento();
+        investimento.setDescricao("Investimento reativo");
+        investimento.setValorInicial(new BigDecimal("50.00"));
+        investimento.setSaldo(new BigDecimal("50.00"));
+        Investimento criado = http.post().uri("/api/investimento").contentType(MediaType.APPLICATION_JSON).bodyValue(investimento)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(Investimento.class).returnResult().getResponseBody();
+        criado.setSaldo(new BigDecimal("999.00"));
+        http.put().uri("/api/investimento/{id}", criado.getId()).contentType(MediaType.APPLICATION_JSON).bodyValue(criado)
+                .exchange()
+                .expectStatus().isBadRequest();
+        //o saldo gravado pode ser reenviado
+        criado.setSaldo(new BigDecimal("50.00"));
+        criado.setDescricao("Investimento alterado");
+        http.put().uri("/api/investimento/{id}", criado.getId()).contentType(MediaType.APPLICATION_JSON).bodyValue(criado)
+                .exchange()
+                .expectStatus().isOk();
+    }
+
+    @Test
+    void rotasForaDoPerfil() {
+        http.get().uri("/api/carteira").exchange().expectStatus().isNotFound();
+        http.get().uri("/api/admin/sql/consultas").exchange().expectStatus().isNotFound();
+        //_lista casa com GET /{id} e não é um id
+        http.get().uri("/api/pessoa/_lista").exchange().expectStatus().isBadRequest();
+    }
+}
@@ -0,0 +1,180 @@
+package br.senac.go;
+
+import br.senac.go.config.ReativoConfig;
+import br.senac.go.model.Conta;
+import br.senac.go.service.ContaService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Comparação entre a pilha Spring MVC (Tomcat) e a reativa (WebFlux + R2DBC), executada
+ * apenas sob demanda:
+ * <pre>
+ * mvn test -Dtest=PilhaWebCargaTest -Dcarga=true [-Dcarga.conexoes=1000] [-Dcarga.duracao=PT10S]
+ * </pre>
+ * Cada pilha sobe em sequência na mesma JVM e recebe {@code conexoes} clientes
+ * simultâneos, cada um com a sua conexão HTTP/1.1, repetindo leituras de contas por id
+ * ({@code api/conta/{id}}, mesmo caminho nas duas pilhas). O cliente é assíncrono, sem
+ * uma thread por conexão. Além de vazão e latência, são impressos o pico de threads da
+ * JVM e o heap retido por conexão aberta (medido após GC com as conexões ainda abertas,
+ * cliente e servidor somados; o cliente é o mesmo nas duas pilhas). A admissão por
+ * conexões do modo MVC é desligada para medir a pilha e não a política de recusa; na
+ * reativa, esperas acima de {@code reativo.r2dbc.espera} por conexão são contadas como recusas (503).
+ */
+@EnabledIfSystemProperty(named = "carga", matches = "true")
+class PilhaWebCargaTest {
+
+    private static final int CONTAS = 200;
+
+    private static final int AQUECIMENTO = 16;
+
+    private final int conexoes = Integer.getInteger("carga.conexoes", 1000);
+
+    private final Duration duracao = Duration.parse(System.getProperty("carga.duracao", "PT10S"));
+
+    @Test
+    void mvcEReativa() throws Exception {
+        medir("mvc");
+        medir(ReativoConfig.PERFIL);
+    }
+
+    private void medir(String pilha) throws Exception {
+        SpringApplicationBuilder aplicacao = new SpringApplicationBuilder(App.class);
+        if (pilha.equals(ReativoConfig.PERFIL)) {
+            aplicacao.profiles(ReativoConfig.PERFIL);
+        }
+        try (ConfigurableApplicationContext contexto = aplicacao.run("--server.port=0",
+                "--spring.output.ansi.enabled=never",
+                "--spring.banner.charset=UTF-8",
+                "--spring.banner.location=classpath:banner.txt",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.br.senac.go=warn",
+                "--execucao.admissao.habilitada=false")) {
+            ContaService contaService = contexto.getBean(ContaService.class);
+            List<Integer> ids = new ArrayList<>();
+            for (int i = 0; i < CONTAS; i++) {
+                ids.add(contaService.create(conta(i)).getId());
+            }
+            String base = "http://localhost:" + ((WebServerApplicationContext) contexto).getWebServer().getPort() + "/api/conta/";
+            ExecutorService executorCliente = Executors.newFixedThreadPool(4);
+            HttpClient http = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .executor(executorCliente)
+                    .connectTimeout(Duration.ofSeconds(30))
+                    .build();
+            try {
+                rajada(http, base, ids, AQUECIMENTO, Duration.ofSeconds(2));
+                ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+                MemoryMXBean memoria = ManagementFactory.getMemoryMXBean();
+                long heapInicial = heapAposGc(memoria);
+                int threadsInicial = threads.getThreadCount();
+                threads.resetPeakThreadCount();
+
+                Resultado resultado = rajada(http, base, ids, conexoes, duracao);
+
+                long heapRetido = heapAposGc(memoria) - heapInicial;
+                System.out.printf("pilha=%s conexoes=%d requisicoes=%d vazao=%.0f/s p50=%.1fms p99=%.1fms recusadas=%d falhas=%d threads=%d(+%d) heapRetido/conexao=%.1fKB%n",
+                        pilha, conexoes, resultado.latencias().length, resultado.latencias().length / resultado.segundos(),
+                        percentil(resultado.latencias(), 0.50), percentil(resultado.latencias(), 0.99), resultado.recusadas(), resultado.falhas(),
+                        threads.getPeakThreadCount(), threads.getPeakThreadCount() - threadsInicial,
+                        heapRetido / 1024.0 / (conexoes - AQUECIMENTO));
+                assertEquals(0, resultado.falhas());
+            } finally {
+                executorCliente.shutdownNow();
+            }
+        }
+    }
+
+    private record Resultado(long[] latencias, long recusadas, long falhas, double segundos) {
+    }
+
+    /**
+     * {@code clientes} clientes assíncronos: cada resposta dispara a próxima requisição do
+     * mesmo cliente até o fim da duração.
+     */
+    private Resultado rajada(HttpClient http, String base, List<Integer> ids, int clientes, Duration duracao) {
+        ConcurrentLinkedQueue<Long> latencias = new ConcurrentLinkedQueue<>();
+        AtomicLong recusadas = new AtomicLong();
+        AtomicLong falhas = new AtomicLong();
+        long inicio = System.nanoTime();
+        long fim = inicio + duracao.toNanos();
+        CompletableFuture<?>[] terminados = new CompletableFuture<?>[clientes];
+        for (int c = 0; c < clientes; c++) {
+            CompletableFuture<Void> terminado = new CompletableFuture<>();
+            proxima(http, base, ids, fim, latencias, recusadas, falhas, terminado);
+            terminados[c] = terminado;
+        }
+        CompletableFuture.allOf(terminados).orTimeout(duracao.toSeconds() + 60, TimeUnit.SECONDS).join();
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+        return new Resultado(latencias.stream().mapToLong(Long::longValue).sorted().toArray(), recusadas.get(), falhas.get(), segundos);
+    }
+
+    private void proxima(HttpClient http, String base, List<Integer> ids, long fim, ConcurrentLinkedQueue<Long> latencias,
+                         AtomicLong recusadas, AtomicLong falhas, CompletableFuture<Void> terminado) {
+        if (System.nanoTime() >= fim) {
+            terminado.complete(null);
+            return;
+        }
+        URI uri = URI.create(base + ids.get(ThreadLocalRandom.current().nextInt(ids.size())));
+        long inicio = System.nanoTime();
+        http.sendAsync(HttpRequest.newBuilder(uri).GET().build(), HttpResponse.BodyHandlers.discarding())
+                .whenComplete((resposta, erro) -> {
+                    if (erro == null && resposta.statusCode() == 503) {
+                        recusadas.incrementAndGet();
+                    } else if (erro != null || resposta.statusCode() != 200) {
+                        falhas.incrementAndGet();
+                    } else {
+                        latencias.add(System.nanoTime() - inicio);
+                    }
+                    proxima(http, base, ids, fim, latencias, recusadas, falhas, terminado);
+                });
+    }
+
+    private long heapAposGc(MemoryMXBean memoria) throws InterruptedException {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(200);
+        }
+        return memoria.getHeapMemoryUsage().getUsed();
+    }
+
+    private double percentil(long[] ordenadas, double p) {
+        if (ordenadas.length == 0) {
+            return 0;
+        }
+        return ordenadas[(int) Math.min(ordenadas.length - 1, Math.ceil(p * ordenadas.length) - 1)] / 1e6;
+    }
+
+    private Conta conta(int i) {
+        Conta conta = new Conta();
+        conta.setDescricao("Conta " + i);
+        conta.setLimiteConta(new BigDecimal("1000"));
+        conta.setDataInicio(LocalDateTime.now());
+        return conta;
+    }
+}
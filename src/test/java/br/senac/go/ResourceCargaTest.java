@@ -0,0 +1,564 @@
+package br.senac.go;
+
+import br.senac.go.config.BinarioConfig;
+import br.senac.go.resource.NdjsonWriter;
+import br.senac.go.service.LeitorCsv;
+import br.senac.go.service.MergePatch;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+import org.HdrHistogram.Recorder;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import java.io.PrintStream;
+import java.io.Reader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntFunction;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Carga sobre todas as rotas {@code api/*}, executada apenas sob demanda:
+ * <pre>
+ * mvn verify -Pcarga [-Dcarga.concorrencia=1,16] [-Dcarga.duracao=PT2S] [-Dcarga.rotas=conta]
+ * </pre>
+ * A aplicação sobe numa porta aleatória com um banco H2 próprio e {@code carga.registros}
+ * registros sintéticos por recurso. Cada rota recebe, isoladamente e para cada nível de
+ * {@code carga.concorrencia}, clientes que repetem a requisição durante {@code carga.duracao}
+ * (após {@code carga.aquecimento} sem medição). As latências vão para histogramas HDR
+ * (microssegundos, 3 dígitos significativos); o pré-requisito de algumas rotas (criar o
+ * registro a remover, a reserva a confirmar) não entra na medição.
+ * <p>
+ * Em {@code target/carga/} ficam {@code resultado.csv}, {@code latencias.hlog} (um
+ * histograma por rota e concorrência, etiquetado) e {@code p99.properties}, que pode ser
+ * copiado para {@code carga.linha-base}. O teste falha quando:
+ * <ul>
+ *     <li>o p99 de uma rota passa do p99 da linha de base mais {@code carga.tolerancia};</li>
+ *     <li>o p99 passa de {@code carga.p99-maximo}, quando informado;</li>
+ *     <li>uma rota medida não tem p99 na linha de base e {@code carga.p99-maximo} não foi
+ *     informado (sem referência nenhuma, a regressão não seria detectada);</li>
+ *     <li>alguma resposta não é 2xx, 409 (conflito de versão) ou 503 (admissão);</li>
+ *     <li>uma rota {@code api/*} mapeada não tem cenário (sem o filtro {@code carga.rotas}).</li>
+ * </ul>
+ * Os clientes são fechados (a próxima requisição sai quando a anterior responde); com
+ * {@code carga.intervalo-esperado} as amostras são corrigidas para a omissão coordenada.
+ */
+@EnabledIfSystemProperty(named = "carga", matches = "true")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.output.ansi.enabled=never",
+        "spring.banner.charset=UTF-8",
+        "spring.banner.location=classpath:banner.txt",
+        "spring.datasource.url=jdbc:h2:mem:cargaresource",
+        "spring.jpa.show-sql=false",
+        "logging.level.br.senac.go=warn"
+})
+class ResourceCargaTest {
+
+    private static final Path SAIDA = Path.of("target", "carga");
+
+    private static final int LOTE = 10;
+
+    @LocalServerPort
+    private int porta;
+
+    @Autowired
+    private ObjectMapper mapper;
+
+    @Autowired
+    @Qualifier("requestMappingHandlerMapping")
+    private RequestMappingHandlerMapping mapeamentos;
+
+    @Value("${carga.concorrencia:1,16}")
+    private int[] concorrencias;
+
+    @Value("${carga.duracao:PT2S}")
+    private Duration duracao;
+
+    @Value("${carga.aquecimento:PT0.5S}")
+    private Duration aquecimento;
+
+    @Value("${carga.registros:500}")
+    private int registros;
+
+    @Value("${carga.rotas:}")
+    private String filtro;
+
+    @Value("${carga.linha-base:src/test/resources/carga/p99.properties}")
+    private Path linhaBase;
+
+    @Value("${carga.tolerancia:0.25}")
+    private double tolerancia;
+
+    @Value("${carga.p99-maximo:#{null}}")
+    private Duration p99Maximo;
+
+    @Value("${carga.intervalo-esperado:#{null}}")
+    private Duration intervaloEsperado;
+
+    private final HttpClient http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private final Map<String, List<Integer>> ids = new HashMap<>();
+
+    /**
+     * Recurso CRUD: caminho, corpo de um novo registro, o campo texto alterado nos PATCH e
+     * o método da alteração completa sem id no caminho (PATCH em api/carteira).
+     */
+    private record Recurso(String caminho, IntFunction<String> novo, String campo, String alteracao) {
+
+        Recurso(String caminho) {
+            this(caminho, null, null, null);
+        }
+    }
+
+    /**
+     * Cenário de carga. {@code rota} é o método e o caminho mapeados; {@code variante}
+     * distingue mapeamentos do mesmo caminho por tipo de conteúdo.
+     */
+    private record Rota(String rota, String variante, Requisicao requisicao) {
+
+        String nome() {
+            return variante == null ? rota : rota + " [" + variante + "]";
+        }
+
+        String chave(int concorrencia) {
+            return nome().replace(' ', '_') + "@" + concorrencia;
+        }
+    }
+
+    @FunctionalInterface
+    private interface Requisicao {
+        HttpRequest criar() throws Exception;
+    }
+
+    private record Medicao(Rota rota, int concorrencia, Histogram latencias, long recusadas, long conflitos,
+                           long falhas, String primeiraFalha, double segundos) {
+
+        double p(double percentil) {
+            return latencias.getValueAtPercentile(percentil) / 1000.0;
+        }
+    }
+
+    @Test
+    void rotas() throws Exception {
+        List<Recurso> recursos = List.of(
+                new Recurso("api/pessoa", i -> String.format("{\"nome\":\"Pessoa %d\",\"endereco\":\"Rua %d\"}", i, i), "nome", "PUT"),
+                new Recurso("api/conta", i -> String.format("{\"descricao\":\"Conta %d\",\"limiteConta\":1000000000,\"dataInicio\":\"%s\"}", i, LocalDateTime.now()), "descricao", "PUT"),
+                new Recurso("api/investimento", i -> String.format("{\"descricao\":\"Investimento %d\",\"valorInicial\":1000,\"saldo\":1000,\"dataInicio\":\"%s\"}", i, LocalDateTime.now()), "descricao", "PUT"),
+                new Recurso("api/carteira", i -> String.format("{\"nome\":\"Carteira %d\",\"descricao\":\"Carteira %d\"}", i, i), "descricao", "PATCH"),
+                new Recurso("api/tipoconta", i -> String.format("{\"descricao\":\"Tipo de conta %d\",\"dataInicio\":\"%s\"}", i, LocalDateTime.now()), "descricao", "PUT"),
+                new Recurso("api/tipoinvestimento", i -> String.format("{\"descricao\":\"Tipo de investimento %d\",\"temRisco\":%s,\"dataInicio\":\"%s\"}", i, i % 2 == 0, LocalDateTime.now()), "descricao", "PUT"));
+        for (Recurso recurso : recursos) {
+            ids.put(recurso.caminho(), new CopyOnWriteArrayList<>());
+            for (int inicio = 0; inicio < registros; inicio += 100) {
+                ids.get(recurso.caminho()).addAll(criarLote(recurso, Math.min(100, registros - inicio)));
+            }
+        }
+
+        List<Rota> rotas = new ArrayList<>();
+        recursos.forEach(recurso -> rotas.addAll(crud(recurso)));
+        rotas.addAll(extras());
+        List<String> semCenario = semCenario(rotas);
+        Pattern selecao = Pattern.compile(filtro.isBlank() ? ".*" : filtro);
+        rotas.removeIf(rota -> !selecao.matcher(rota.nome()).find());
+
+        Files.createDirectories(SAIDA);
+        List<Medicao> medicoes = new ArrayList<>();
+        try (PrintStream hlog = new PrintStream(Files.newOutputStream(SAIDA.resolve("latencias.hlog")))) {
+            HistogramLogWriter escritor = new HistogramLogWriter(hlog);
+            escritor.outputLogFormatVersion();
+            escritor.outputLegend();
+            for (int concorrencia : concorrencias) {
+                for (Rota rota : rotas) {
+                    Medicao medicao = medir(rota, concorrencia);
+                    medicoes.add(medicao);
+                    medicao.latencias().setTag(medicao.rota().chave(concorrencia));
+                    escritor.outputIntervalHistogram(medicao.latencias());
+                    System.out.printf("%-70s c=%-3d req=%-6d vazao=%7.0f/s p50=%8.2fms p99=%8.2fms max=%8.2fms recusadas=%d conflitos=%d falhas=%d%n",
+                            rota.nome(), concorrencia, medicao.latencias().getTotalCount(), medicao.latencias().getTotalCount() / medicao.segundos(),
+                            medicao.p(50), medicao.p(99), medicao.latencias().getMaxValue() / 1000.0,
+                            medicao.recusadas(), medicao.conflitos(), medicao.falhas());
+                }
+            }
+        }
+        resumo(recursos, medicoes);
+        gravar(medicoes);
+
+        List<String> problemas = new ArrayList<>();
+        if (filtro.isBlank()) {
+            semCenario.forEach(rota -> problemas.add("rota sem cenário de carga: " + rota));
+        }
+        Properties base = new Properties();
+        if (Files.exists(linhaBase)) {
+            try (Reader leitor = Files.newBufferedReader(linhaBase)) {
+                base.load(leitor);
+            }
+        }
+        for (Medicao medicao : medicoes) {
+            String chave = medicao.rota().chave(medicao.concorrencia());
+            if (medicao.falhas() > 0) {
+                problemas.add(String.format("%s: %d falhas (%s)", chave, medicao.falhas(), medicao.primeiraFalha()));
+            }
+            String anterior = base.getProperty(chave);
+            if (anterior == null && p99Maximo == null) {
+                problemas.add(String.format("%s: sem p99 na linha de base %s nem carga.p99-maximo (copie %s)", chave, linhaBase, SAIDA.resolve("p99.properties")));
+            }
+            if (anterior != null && medicao.p(99) > Double.parseDouble(anterior) * (1 + tolerancia)) {
+                problemas.add(String.format("%s: p99 %.2fms acima da linha de base %sms (+%.0f%%)", chave, medicao.p(99), anterior, tolerancia * 100));
+            }
+            if (p99Maximo != null && medicao.p(99) > p99Maximo.toNanos() / 1e6) {
+                problemas.add(String.format("%s: p99 %.2fms acima do máximo %s", chave, medicao.p(99), p99Maximo));
+            }
+        }
+        assertTrue(problemas.isEmpty(), String.join("\n", problemas));
+    }
+
+    private List<Rota> crud(Recurso recurso) {
+        String c = "/" + recurso.caminho();
+        List<Rota> rotas = new ArrayList<>();
+        rotas.add(new Rota("POST " + c, null, () -> json(c, "POST", recurso.novo().apply(aleatorio()))));
+        rotas.add(new Rota("GET " + c, null, () -> get(c + "?page=" + ThreadLocalRandom.current().nextInt(10) + "&size=20")));
+        rotas.add(new Rota("GET " + c + "/{id}", "json", () -> get(c + "/" + sortear(recurso))));
+        rotas.add(new Rota("GET " + c + "/{id}", "xml", () -> requisicao(c + "/" + sortear(recurso))
+                .header("Accept", "application/xml").GET().build()));
+        rotas.add(new Rota("GET " + c + "/{id}", "cbor", () -> requisicao(c + "/" + sortear(recurso))
+                .header("Accept", MediaType.APPLICATION_CBOR_VALUE).GET().build()));
+        rotas.add(new Rota("GET " + c + "/{id}", "protobuf", () -> requisicao(c + "/" + sortear(recurso))
+                .header("Accept", BinarioConfig.APPLICATION_PROTOBUF_VALUE).GET().build()));
+        rotas.add(new Rota("PATCH " + c + "/{id}", "json", () -> json(c + "/" + sortear(recurso), "PATCH",
+                String.format("{\"%s\":\"Alterado %d\"}", recurso.campo(), aleatorio()))));
+        rotas.add(new Rota("PATCH " + c + "/{id}", "merge-patch", () -> requisicao(c + "/" + sortear(recurso))
+                .header("Content-Type", MergePatch.APPLICATION_MERGE_PATCH_JSON_VALUE)
+                .method("PATCH", HttpRequest.BodyPublishers.ofString(String.format("{\"%s\":\"Alterado %d\"}", recurso.campo(), aleatorio())))
+                .build()));
+        rotas.add(new Rota("PUT " + c + "/{id}", null, () -> json(c + "/" + sortear(recurso), "PUT", recurso.novo().apply(aleatorio()))));
+        rotas.add(new Rota(recurso.alteracao() + " " + c, null, () -> json(c, recurso.alteracao(), comId(recurso.novo().apply(aleatorio()), sortear(recurso)))));
+        rotas.add(new Rota("DELETE " + c + "/{id}", null, () -> requisicao(c + "/" + criar(recurso)).DELETE().build()));
+        rotas.add(new Rota("DELETE " + c, null, () -> json(c, "DELETE", comId(recurso.novo().apply(aleatorio()), criar(recurso)))));
+        rotas.add(new Rota("POST " + c + "/_bulk", null, () -> json(c + "/_bulk", "POST",
+                IntStream.range(0, LOTE).mapToObj(i -> recurso.novo().apply(aleatorio())).collect(Collectors.joining(",", "[", "]")))));
+        rotas.add(new Rota("PUT " + c + "/_bulk", null, () -> json(c + "/_bulk", "PUT",
+                IntStream.range(0, LOTE).mapToObj(i -> comId(recurso.novo().apply(aleatorio()), sortear(recurso))).distinct().collect(Collectors.joining(",", "[", "]")))));
+        rotas.add(new Rota("DELETE " + c + "/_bulk", null, () -> json(c + "/_bulk", "DELETE", criarLote(recurso, LOTE).toString())));
+        rotas.add(new Rota("GET " + c + "/_lista", "json", () -> get(c + "/_lista?limite=50")));
+        rotas.add(new Rota("GET " + c + "/_lista", "ndjson", () -> requisicao(c + "/_lista")
+                .header("Accept", NdjsonWriter.APPLICATION_NDJSON_VALUE).GET().build()));
+        rotas.add(new Rota("GET " + c + "/_lista", "xml", () -> requisicao(c + "/_lista?limite=50")
+                .header("Accept", "application/xml").GET().build()));
+        return rotas;
+    }
+
+    private List<Rota> extras() {
+        Recurso conta = new Recurso("api/conta");
+        Recurso investimento = new Recurso("api/investimento");
+        Recurso carteira = new Recurso("api/carteira");
+        String lancamento = "{\"tipo\":\"DEPOSITO\",\"valor\":10,\"descricao\":\"Depósito\"}";
+        String reserva = "{\"valor\":1,\"descricao\":\"Reserva\"}";
+        List<Rota> rotas = new ArrayList<>();
+        for (Recurso titular : List.of(conta, investimento)) {
+            String c = "/" + titular.caminho();
+            rotas.add(new Rota("POST " + c + "/{id}/lancamentos", null, () -> json(c + "/" + sortear(titular) + "/lancamentos", "POST", lancamento)));
+            rotas.add(new Rota("GET " + c + "/{id}/lancamentos", null, () -> get(c + "/" + sortear(titular) + "/lancamentos?size=20")));
+            rotas.add(new Rota("GET " + c + "/{id}/saldo", null, () -> get(c + "/" + sortear(titular) + "/saldo")));
+        }
+        rotas.add(new Rota("POST /api/conta/{id}/reservas", null, () -> json("/api/conta/" + sortear(conta) + "/reservas", "POST", reserva)));
+        rotas.add(new Rota("POST /api/conta/{id}/reservas/{reservaId}/confirmacao", null, () -> {
+            Integer id = sortear(conta);
+            return requisicao("/api/conta/" + id + "/reservas/" + reservar(id, reserva) + "/confirmacao")
+                    .POST(HttpRequest.BodyPublishers.noBody()).build();
+        }));
+        rotas.add(new Rota("DELETE /api/conta/{id}/reservas/{reservaId}", null, () -> {
+            Integer id = sortear(conta);
+            return requisicao("/api/conta/" + id + "/reservas/" + reservar(id, reserva)).DELETE().build();
+        }));
+        rotas.add(new Rota("GET /api/conta/{id}/limite", null, () -> get("/api/conta/" + sortear(conta) + "/limite")));
+        rotas.add(new Rota("GET /api/carteira/{id}/valuation", null, () -> get("/api/carteira/" + sortear(carteira) + "/valuation")));
+        rotas.add(new Rota("GET /api/carteira/_valuation", null, () -> get("/api/carteira/_valuation?ids="
+                + IntStream.range(0, LOTE).mapToObj(i -> String.valueOf(sortear(carteira))).distinct().collect(Collectors.joining(",")))));
+        rotas.add(new Rota("POST /api/pessoa/_import", null, () -> csv("/api/pessoa/_import", pessoasCsv(carteira, conta))));
+        rotas.add(new Rota("GET /api/pessoa/_import/{id}", null, () -> get("/api/pessoa/_import/" + importar(carteira, conta))));
+        for (String c : List.of("/api/conta", "/api/investimento")) {
+            rotas.add(new Rota("GET " + c + "/_export", "csv", () -> get(c + "/_export?formato=csv")));
+            rotas.add(new Rota("GET " + c + "/_export", "colunar", () -> get(c + "/_export?formato=colunar")));
+        }
+        rotas.add(new Rota("POST /api/_batch", null, () -> json("/api/_batch", "POST", cadastroCliente(aleatorio()))));
+        rotas.add(new Rota("GET /api/admin/sql/consultas", null, () -> get("/api/admin/sql/consultas?ordem=total")));
+        rotas.add(new Rota("GET /api/admin/sql/lentos", null, () -> get("/api/admin/sql/lentos")));
+        rotas.add(new Rota("GET /api/admin/sql/requisicoes", null, () -> get("/api/admin/sql/requisicoes")));
+        rotas.add(new Rota("GET /api/admin/sql/hibernate", null, () -> get("/api/admin/sql/hibernate")));
+        rotas.add(new Rota("DELETE /api/admin/sql", null, () -> requisicao("/api/admin/sql").DELETE().build()));
+        //leituras e limpezas de cache por último: esvaziar os caches afeta as rotas seguintes
+        rotas.add(new Rota("GET /api/admin/cache", null, () -> get("/api/admin/cache")));
+        rotas.add(new Rota("GET /api/admin/cache/regioes", null, () -> get("/api/admin/cache/regioes")));
+        rotas.add(new Rota("DELETE /api/admin/cache/{nome}", null, () -> requisicao("/api/admin/cache/tipoconta").DELETE().build()));
+        rotas.add(new Rota("DELETE /api/admin/cache/regioes/{regiao}", null, () -> requisicao("/api/admin/cache/regioes/conta").DELETE().build()));
+        return rotas;
+    }
+
+    /**
+     * Rotas {@code api/*} mapeadas na aplicação sem cenário de carga.
+     */
+    private List<String> semCenario(List<Rota> rotas) {
+        Set<String> cobertas = rotas.stream().map(Rota::rota).collect(Collectors.toSet());
+        Set<String> mapeadas = new TreeSet<>();
+        for (RequestMappingInfo info : mapeamentos.getHandlerMethods().keySet()) {
+            if (info.getPathPatternsCondition() == null) {
+                continue;
+            }
+            for (String caminho : info.getPathPatternsCondition().getPatternValues()) {
+                if (caminho.startsWith("/api/")) {
+                    info.getMethodsCondition().getMethods().forEach(metodo -> mapeadas.add(metodo + " " + caminho));
+                }
+            }
+        }
+        mapeadas.removeAll(cobertas);
+        return new ArrayList<>(mapeadas);
+    }
+
+    private Medicao medir(Rota rota, int concorrencia) throws Exception {
+        executar(rota, concorrencia, aquecimento, null, new AtomicLong(), new AtomicLong(), new AtomicLong(), new AtomicReference<>());
+        Recorder recorder = new Recorder(3);
+        AtomicLong recusadas = new AtomicLong();
+        AtomicLong conflitos = new AtomicLong();
+        AtomicLong falhas = new AtomicLong();
+        AtomicReference<String> primeiraFalha = new AtomicReference<>();
+        long inicio = System.nanoTime();
+        executar(rota, concorrencia, duracao, recorder, recusadas, conflitos, falhas, primeiraFalha);
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+        return new Medicao(rota, concorrencia, recorder.getIntervalHistogram(), recusadas.get(), conflitos.get(), falhas.get(), primeiraFalha.get(), segundos);
+    }
+
+    private void executar(Rota rota, int concorrencia, Duration tempo, Recorder recorder, AtomicLong recusadas, AtomicLong conflitos,
+                          AtomicLong falhas, AtomicReference<String> primeiraFalha) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(concorrencia);
+        CountDownLatch largada = new CountDownLatch(1);
+        long fim = System.nanoTime() + tempo.toNanos();
+        long intervalo = intervaloEsperado == null ? 0 : TimeUnit.NANOSECONDS.toMicros(intervaloEsperado.toNanos());
+        for (int c = 0; c < concorrencia; c++) {
+            executor.execute(() -> {
+                try {
+                    largada.await();
+                    while (System.nanoTime() < fim) {
+                        HttpRequest requisicao = rota.requisicao().criar();
+                        long inicio = System.nanoTime();
+                        HttpResponse<Void> resposta = http.send(requisicao, HttpResponse.BodyHandlers.discarding());
+                        long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - inicio);
+                        int status = resposta.statusCode();
+                        if (status == 503) {
+                            recusadas.incrementAndGet();
+                        } else if (status == 409) {
+                            conflitos.incrementAndGet();
+                        } else if (status / 100 != 2) {
+                            falhas.incrementAndGet();
+                            primeiraFalha.compareAndSet(null, "HTTP " + status);
+                        } else if (recorder != null) {
+                            recorder.recordValueWithExpectedInterval(micros, intervalo);
+                        }
+                    }
+                } catch (Exception e) {
+                    falhas.incrementAndGet();
+                    primeiraFalha.compareAndSet(null, e.toString());
+                }
+            });
+        }
+        largada.countDown();
+        executor.shutdown();
+        executor.awaitTermination(tempo.toSeconds() + 60, TimeUnit.SECONDS);
+    }
+
+    /**
+     * p99 de cada recurso (histogramas das suas rotas somados) e as rotas que mais pioram
+     * entre a menor e a maior concorrência.
+     */
+    private void resumo(List<Recurso> recursos, List<Medicao> medicoes) {
+        System.out.println("--- p99 por recurso (ms)");
+        for (Recurso recurso : recursos) {
+            StringBuilder linha = new StringBuilder(String.format("%-22s", recurso.caminho()));
+            long amostras = 0;
+            for (int concorrencia : concorrencias) {
+                Histogram soma = new Histogram(3);
+                medicoes.stream()
+                        .filter(medicao -> medicao.concorrencia() == concorrencia && medicao.rota().rota().contains("/" + recurso.caminho()))
+                        .forEach(medicao -> soma.add(medicao.latencias()));
+                linha.append(String.format(" c=%d:%8.2f", concorrencia, soma.getValueAtPercentile(99) / 1000.0));
+                amostras += soma.getTotalCount();
+            }
+            if (amostras > 0) {
+                System.out.println(linha);
+            }
+        }
+        if (concorrencias.length < 2) {
+            return;
+        }
+        int menor = Arrays.stream(concorrencias).min().getAsInt();
+        int maior = Arrays.stream(concorrencias).max().getAsInt();
+        Map<String, Double> p99Menor = medicoes.stream()
+                .filter(medicao -> medicao.concorrencia() == menor && medicao.latencias().getTotalCount() > 0)
+                .collect(Collectors.toMap(medicao -> medicao.rota().nome(), medicao -> medicao.p(99)));
+        System.out.printf("--- rotas que mais degradam (p99 c=%d / p99 c=%d)%n", maior, menor);
+        medicoes.stream()
+                .filter(medicao -> medicao.concorrencia() == maior && p99Menor.containsKey(medicao.rota().nome()))
+                .sorted(Comparator.comparingDouble((Medicao medicao) -> medicao.p(99) / p99Menor.get(medicao.rota().nome())).reversed())
+                .limit(10)
+                .forEach(medicao -> System.out.printf("%-70s %6.1fx (%.2fms -> %.2fms)%n", medicao.rota().nome(),
+                        medicao.p(99) / p99Menor.get(medicao.rota().nome()), p99Menor.get(medicao.rota().nome()), medicao.p(99)));
+    }
+
+    private void gravar(List<Medicao> medicoes) throws Exception {
+        List<String> csv = new ArrayList<>();
+        csv.add("rota,concorrencia,requisicoes,vazao,p50_ms,p90_ms,p99_ms,p999_ms,max_ms,recusadas,conflitos,falhas");
+        Map<String, String> p99 = new TreeMap<>();
+        for (Medicao medicao : medicoes) {
+            Histogram latencias = medicao.latencias();
+            csv.add(String.format(Locale.ROOT, "\"%s\",%d,%d,%.1f,%.3f,%.3f,%.3f,%.3f,%.3f,%d,%d,%d", medicao.rota().nome(), medicao.concorrencia(),
+                    latencias.getTotalCount(), latencias.getTotalCount() / medicao.segundos(), medicao.p(50), medicao.p(90), medicao.p(99), medicao.p(99.9),
+                    latencias.getMaxValue() / 1000.0, medicao.recusadas(), medicao.conflitos(), medicao.falhas()));
+            if (latencias.getTotalCount() > 0) {
+                p99.put(medicao.rota().chave(medicao.concorrencia()), String.format(Locale.ROOT, "%.3f", medicao.p(99)));
+            }
+        }
+        Files.write(SAIDA.resolve("resultado.csv"), csv);
+        Files.write(SAIDA.resolve("p99.properties"), p99.entrySet().stream().map(e -> e.getKey() + "=" + e.getValue()).toList());
+    }
+
+    private int aleatorio() {
+        return ThreadLocalRandom.current().nextInt(1_000_000);
+    }
+
+    private Integer sortear(Recurso recurso) {
+        List<Integer> existentes = ids.get(recurso.caminho());
+        return existentes.get(ThreadLocalRandom.current().nextInt(existentes.size()));
+    }
+
+    /**
+     * Cria um registro fora da medição (para as rotas de remoção).
+     */
+    private Integer criar(Recurso recurso) throws Exception {
+        return corpo(json("/" + recurso.caminho(), "POST", recurso.novo().apply(aleatorio()))).get("id").asInt();
+    }
+
+    private List<Integer> criarLote(Recurso recurso, int quantidade) throws Exception {
+        String lote = IntStream.range(0, quantidade).mapToObj(i -> recurso.novo().apply(aleatorio())).collect(Collectors.joining(",", "[", "]"));
+        List<Integer> criados = new ArrayList<>();
+        corpo(json("/" + recurso.caminho() + "/_bulk", "POST", lote)).forEach(item -> criados.add(item.get("id").asInt()));
+        return criados;
+    }
+
+    /**
+     * Importação CSV criada fora da medição (para a consulta de progresso).
+     */
+    private Integer importar(Recurso carteira, Recurso conta) throws Exception {
+        return corpo(csv("/api/pessoa/_import", pessoasCsv(carteira, conta))).get("importacao").get("id").asInt();
+    }
+
+    private String pessoasCsv(Recurso carteira, Recurso conta) {
+        return IntStream.range(0, LOTE)
+                .mapToObj(i -> String.format("Pessoa %d,\"Rua %d, %d\",%d,%d", aleatorio(), i, aleatorio(), sortear(carteira), sortear(conta)))
+                .collect(Collectors.joining("\n", "nome,endereco,carteira,conta\n", "\n"));
+    }
+
+    /**
+     * Cadastro de um cliente em api/_batch: carteira, conta e investimento com os seus
+     * tipos e a pessoa ligada a eles pelas referências.
+     */
+    private static String cadastroCliente(int n) {
+        return String.format("["
+                + "{\"ref\":\"carteira\",\"metodo\":\"POST\",\"recurso\":\"carteira\",\"corpo\":{\"nome\":\"Carteira %1$d\",\"descricao\":\"Lote\"}},"
+                + "{\"ref\":\"conta\",\"metodo\":\"POST\",\"recurso\":\"conta\",\"corpo\":{\"descricao\":\"Conta %1$d\",\"limiteConta\":1000,\"dataInicio\":\"2024-01-02T03:04:05\","
+                + "\"tipoConta\":[{\"descricao\":\"Corrente\"},{\"descricao\":\"Poupança\"}]}},"
+                + "{\"ref\":\"investimento\",\"metodo\":\"POST\",\"recurso\":\"investimento\",\"corpo\":{\"descricao\":\"Investimento %1$d\",\"valorInicial\":100,\"saldo\":100,"
+                + "\"tipoInvestimento\":[{\"descricao\":\"Renda fixa\",\"temRisco\":false}]}},"
+                + "{\"metodo\":\"POST\",\"recurso\":\"pessoa\",\"corpo\":{\"nome\":\"Pessoa %1$d\",\"endereco\":\"Rua %1$d\","
+                + "\"carteira\":{\"id\":\"${carteira}\"},\"conta\":{\"id\":\"${conta}\"},\"investimento\":{\"id\":\"${investimento}\"}}}"
+                + "]", n);
+    }
+
+    private Integer reservar(Integer contaId, String reserva) throws Exception {
+        return corpo(json("/api/conta/" + contaId + "/reservas", "POST", reserva)).get("id").asInt();
+    }
+
+    private JsonNode corpo(HttpRequest requisicao) throws Exception {
+        HttpResponse<String> resposta = http.send(requisicao, HttpResponse.BodyHandlers.ofString());
+        if (resposta.statusCode() / 100 != 2) {
+            throw new IllegalStateException(requisicao.method() + " " + requisicao.uri() + ": HTTP " + resposta.statusCode() + " " + resposta.body());
+        }
+        return mapper.readTree(resposta.body());
+    }
+
+    private String comId(String json, Integer id) {
+        try {
+            ObjectNode registro = (ObjectNode) mapper.readTree(json);
+            registro.put("id", id);
+            return mapper.writeValueAsString(registro);
+        } catch (Exception e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    private HttpRequest.Builder requisicao(String caminho) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + porta + caminho))
+                .timeout(Duration.ofSeconds(30));
+    }
+
+    private HttpRequest get(String caminho) {
+        return requisicao(caminho).header("Accept", "application/json").GET().build();
+    }
+
+    private HttpRequest csv(String caminho, String corpo) {
+        return requisicao(caminho)
+                .header("Content-Type", LeitorCsv.TEXT_CSV_VALUE)
+                .header("Accept", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(corpo))
+                .build();
+    }
+
+    private HttpRequest json(String caminho, String metodo, String corpo) {
+        return requisicao(caminho)
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/json")
+                .method(metodo, HttpRequest.BodyPublishers.ofString(corpo))
+                .build();
+    }
+}
@@ -0,0 +1,176 @@
+package br.senac.go.config;
+
+import br.senac.go.model.Conta;
+import br.senac.go.model.Investimento;
+import br.senac.go.model.Pessoa;
+import br.senac.go.model.TipoConta;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.protobuf.ProtobufFactory;
+import com.fasterxml.jackson.dataformat.protobuf.schema.ProtobufSchema;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Conta gravada e lida em CBOR, Smile e Protobuf traz os mesmos valores (decimais e datas sem
+ * perda); sem Accept a resposta continua em JSON. Em Protobuf, as páginas vêm nas mensagens
+ * de listagem e as respostas de _bulk não são oferecidas.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.output.ansi.enabled=never",
+        "spring.banner.charset=UTF-8",
+        "spring.banner.location=classpath:banner.txt",
+        "spring.datasource.url=jdbc:h2:mem:binario",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false", //o cache de segundo nível é compartilhado entre os contextos dos testes
+        "spring.jpa.properties.hibernate.cache.use_query_cache=false",
+        "logging.level.br.senac.go=warn"
+})
+class BinarioConfigTest {
+
+    @Autowired
+    private TestRestTemplate http;
+
+    @Autowired
+    private Jackson2ObjectMapperBuilder builder;
+
+    @Test
+    void contaNosTresFormatos() throws Exception {
+        ObjectMapper protobuf = BinarioConfig.binario(builder, new ProtobufFactory());
+        ProtobufSchema esquema = BinarioConfig.esquemasProtobuf().get(Conta.class);
+        Map<String, ObjectMapper> formatos = Map.of(
+                MediaType.APPLICATION_CBOR_VALUE, BinarioConfig.binario(builder, new CBORFactory()),
+                BinarioConfig.APPLICATION_SMILE_VALUE, BinarioConfig.binario(builder, new SmileFactory()),
+                BinarioConfig.APPLICATION_PROTOBUF_VALUE, protobuf);
+
+        for (Map.Entry<String, ObjectMapper> formato : formatos.entrySet()) {
+            boolean comEsquema = formato.getValue() == protobuf;
+            Conta conta = new Conta();
+            conta.setDescricao("Conta " + formato.getKey());
+            conta.setLimiteConta(new BigDecimal("1500.25"));
+            conta.setDataInicio(LocalDateTime.of(2024, 1, 2, 3, 4, 5, 123_000_000));
+            byte[] corpo = comEsquema
+                    ? formato.getValue().writer(esquema).writeValueAsBytes(conta)
+                    : formato.getValue().writeValueAsBytes(conta);
+
+            ResponseEntity<byte[]> criada = http.exchange("/api/conta", HttpMethod.POST, new HttpEntity<>(corpo, cabecalhos(formato.getKey())), byte[].class);
+            assertEquals(200, criada.getStatusCode().value(), formato.getKey());
+            assertEquals(formato.getKey(), criada.getHeaders().getContentType().toString());
+            Conta gravada = comEsquema
+                    ? formato.getValue().readerFor(Conta.class).with(esquema).readValue(criada.getBody())
+                    : formato.getValue().readValue(criada.getBody(), Conta.class);
+            assertNotNull(gravada.getId());
+
+            ResponseEntity<byte[]> lida = http.exchange("/api/conta/{id}", HttpMethod.GET, new HttpEntity<>(cabecalhos(formato.getKey())), byte[].class, gravada.getId());
+            Conta relida = comEsquema
+                    ? formato.getValue().readerFor(Conta.class).with(esquema).readValue(lida.getBody())
+                    : formato.getValue().readValue(lida.getBody(), Conta.class);
+            assertEquals(conta.getDescricao(), relida.getDescricao());
+            assertEquals(0, conta.getLimiteConta().compareTo(relida.getLimiteConta()));
+            assertEquals(conta.getDataInicio(), relida.getDataInicio());
+            assertEquals(0L, relida.getVersao());
+        }
+
+        assertTrue(http.getForObject("/api/conta/{id}", String.class, 1).startsWith("{"));
+        assertEquals(200, http.exchange("/api/conta", HttpMethod.GET,
+                new HttpEntity<>(cabecalhos(MediaType.APPLICATION_CBOR_VALUE)), byte[].class).getStatusCode().value());
+
+        ResponseEntity<byte[]> pagina = http.exchange("/api/conta?descricao=Conta application/x-protobuf&size=5", HttpMethod.GET,
+                new HttpEntity<>(cabecalhos(BinarioConfig.APPLICATION_PROTOBUF_VALUE)), byte[].class);
+        assertEquals(200, pagina.getStatusCode().value());
+        JsonNode lida = protobuf.readerFor(JsonNode.class)
+                .with(BinarioConfig.esquemasProtobuf(BinarioConfig.MENSAGEM_PAGINA).get(Conta.class))
+                .readValue(pagina.getBody());
+        assertEquals(1, lida.get("totalElements").asInt());
+        assertEquals(5, lida.get("size").asInt());
+        assertEquals("Conta application/x-protobuf", lida.get("content").get(0).get("descricao").asText());
+        assertEquals(150025, lida.get("content").get(0).get("limiteConta").get("valor").asLong());
+
+        ResponseEntity<byte[]> cursor = http.exchange("/api/conta/_lista?limite=2", HttpMethod.GET,
+                new HttpEntity<>(cabecalhos(BinarioConfig.APPLICATION_PROTOBUF_VALUE)), byte[].class);
+        assertEquals(200, cursor.getStatusCode().value());
+        lida = protobuf.readerFor(JsonNode.class)
+                .with(BinarioConfig.esquemasProtobuf(BinarioConfig.MENSAGEM_PAGINA_CURSOR).get(Conta.class))
+                .readValue(cursor.getBody());
+        assertEquals(2, lida.get("itens").size());
+
+        assertEquals(406, http.exchange("/api/conta/_bulk", HttpMethod.POST,
+                new HttpEntity<>(List.of(), cabecalhos(MediaType.APPLICATION_JSON_VALUE, BinarioConfig.APPLICATION_PROTOBUF_VALUE)),
+                byte[].class).getStatusCode().value());
+    }
+
+    @Test
+    void decimalProtobuf() throws Exception {
+        ObjectMapper protobuf = BinarioConfig.binario(builder, new ProtobufFactory());
+        ProtobufSchema esquema = BinarioConfig.esquemasProtobuf().get(Investimento.class);
+        for (String valor : List.of("0", "1500.25", "-0.001", "922337203685477.5807", "1E+3")) {
+            Investimento investimento = new Investimento();
+            investimento.setValorInicial(new BigDecimal(valor));
+            Investimento lido = protobuf.readerFor(Investimento.class).with(esquema)
+                    .readValue(protobuf.writer(esquema).writeValueAsBytes(investimento));
+            //a escala também é preservada
+            assertEquals(new BigDecimal(valor), lido.getValorInicial());
+        }
+
+        Investimento grande = new Investimento();
+        grande.setValorInicial(new BigDecimal("9223372036854775808"));
+        assertThrows(JsonMappingException.class, () -> protobuf.writer(esquema).writeValueAsBytes(grande));
+    }
+
+    @Test
+    void esquemaProtobufDasEntidades() throws Exception {
+        Map<Class<?>, ProtobufSchema> esquemas = BinarioConfig.esquemasProtobuf();
+        assertEquals(6, esquemas.size());
+        ObjectMapper protobuf = BinarioConfig.binario(builder, new ProtobufFactory());
+
+        Conta conta = new Conta();
+        conta.setId(7);
+        TipoConta tipoConta = new TipoConta();
+        tipoConta.setId(3);
+        tipoConta.setDescricao("Corrente");
+        tipoConta.setConta(conta);
+        Pessoa pessoa = new Pessoa();
+        pessoa.setNome("Pessoa");
+        pessoa.setConta(conta);
+
+        byte[] bytes = protobuf.writer(esquemas.get(Pessoa.class)).writeValueAsBytes(pessoa);
+        Pessoa lida = protobuf.readerFor(Pessoa.class).with(esquemas.get(Pessoa.class)).readValue(bytes);
+        assertEquals("Pessoa", lida.getNome());
+        assertEquals(7, lida.getConta().getId());
+
+        bytes = protobuf.writer(esquemas.get(TipoConta.class)).writeValueAsBytes(tipoConta);
+        assertEquals(7, protobuf.readerFor(TipoConta.class).with(esquemas.get(TipoConta.class)).<TipoConta>readValue(bytes).getConta().getId());
+    }
+
+    private static HttpHeaders cabecalhos(String formato) {
+        return cabecalhos(formato, formato);
+    }
+
+    private static HttpHeaders cabecalhos(String corpo, String resposta) {
+        HttpHeaders cabecalhos = new HttpHeaders();
+        cabecalhos.setContentType(MediaType.parseMediaType(corpo));
+        cabecalhos.setAccept(List.of(MediaType.parseMediaType(resposta)));
+        return cabecalhos;
+    }
+}
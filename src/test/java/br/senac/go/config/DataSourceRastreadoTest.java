@@ -0,0 +1,107 @@
+package br.senac.go.config;
+
+import br.senac.go.dto.EstatisticaSql;
+import br.senac.go.dto.RequisicaoSql;
+import org.h2.jdbc.JdbcConnection;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Execuções medidas pelo DataSource rastreado e somadas pelo RastreadorSql, sem o contexto
+ * do Spring.
+ */
+class DataSourceRastreadoTest {
+
+    private RastreadorSql rastreador;
+
+    private DataSource dataSource;
+
+    @BeforeEach
+    void criar() {
+        rastreador = new RastreadorSql();
+        ReflectionTestUtils.setField(rastreador, "lenta", Duration.ofHours(1));
+        ReflectionTestUtils.setField(rastreador, "ranking", 20);
+        ReflectionTestUtils.setField(rastreador, "requisicoes", 10);
+        ReflectionTestUtils.setField(rastreador, "comandosPorRequisicao", 50);
+        ReflectionTestUtils.setField(rastreador, "consultas", 100L);
+        rastreador.criarCache();
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:rastreado;DB_CLOSE_DELAY=-1");
+        dataSource = DataSourceRastreado.envolver(h2, () -> rastreador);
+    }
+
+    @Test
+    void execucoesComLinhasEErros() throws Exception {
+        rastreador.iniciar("POST /teste", "DataSourceRastreadoTest");
+        try (Connection conexao = dataSource.getConnection()) {
+            try (Statement comando = conexao.createStatement()) {
+                comando.execute("create table if not exists item (id int primary key, nome varchar(20))");
+                comando.executeUpdate("delete from item");
+            }
+            try (PreparedStatement insercao = conexao.prepareStatement("insert into item (id, nome) values (?, ?)")) {
+                for (int i = 1; i <= 3; i++) {
+                    insercao.setInt(1, i);
+                    insercao.setString(2, "item " + i);
+                    insercao.addBatch();
+                }
+                insercao.executeBatch();
+            }
+            try (PreparedStatement consulta = conexao.prepareStatement("select id, nome from item order by id")) {
+                try (ResultSet resultado = consulta.executeQuery()) {
+                    assertTrue(resultado.next());
+                    assertEquals("item 1", resultado.getString("nome"));
+                    assertTrue(resultado.next());
+                    assertTrue(resultado.next());
+                    assertFalse(resultado.next());
+                }
+                //consulta por execute(): registrada quando o ResultSet pedido depois termina
+                assertTrue(consulta.execute());
+                try (ResultSet resultado = consulta.getResultSet()) {
+                    assertTrue(resultado.next());
+                }
+            }
+            try (Statement comando = conexao.createStatement()) {
+                assertThrows(SQLException.class, () -> comando.executeQuery("select * from inexistente"));
+            }
+            assertTrue(conexao.unwrap(Connection.class) instanceof JdbcConnection);
+        }
+        rastreador.encerrar();
+
+        EstatisticaSql insercao = estatistica("insert into item (id, nome) values (?, ?)");
+        assertEquals(1, insercao.getExecucoes());
+        assertEquals(3, insercao.getLinhas());
+        EstatisticaSql consulta = estatistica("select id, nome from item order by id");
+        assertEquals(2, consulta.getExecucoes());
+        assertEquals(4, consulta.getLinhas());
+        EstatisticaSql erro = estatistica("select * from inexistente");
+        assertEquals(1, erro.getErros());
+
+        List<RequisicaoSql> requisicoes = rastreador.requisicoes();
+        assertEquals(1, requisicoes.size());
+        assertEquals(6, requisicoes.get(0).getComandos());
+        assertEquals("DataSourceRastreadoTest", requisicoes.get(0).getOrigem());
+    }
+
+    private EstatisticaSql estatistica(String sql) {
+        return rastreador.consultas(100, "execucoes").stream()
+                .filter(estatistica -> estatistica.getSql().equals(sql))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("Comando não registrado: " + sql));
+    }
+}
@@ -0,0 +1,72 @@
+package br.senac.go.config;
+
+import br.senac.go.model.Conta;
+import br.senac.go.service.ContaService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Operações dos services e resources medidas pelo aspecto, com entidade e resultado, e
+ * publicadas no formato do Prometheus.
+ */
+@AutoConfigureObservability
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.output.ansi.enabled=never",
+        "spring.banner.charset=UTF-8",
+        "spring.banner.location=classpath:banner.txt",
+        "spring.datasource.url=jdbc:h2:mem:metricas",
+        "spring.jpa.show-sql=false",
+        "logging.level.br.senac.go=warn"
+})
+class MetricasOperacoesTest {
+
+    @Autowired
+    private ContaService contaService;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Autowired
+    private TestRestTemplate http;
+
+    @Test
+    void operacoesPorEntidadeEResultado() throws Exception {
+        Conta conta = new Conta();
+        conta.setDescricao("Conta");
+        conta.setLimiteConta(new BigDecimal("100"));
+        conta.setDataInicio(LocalDateTime.now());
+        Integer id = contaService.create(conta).getId();
+        contaService.readById(id);
+        assertThrows(EntityNotFoundException.class, () -> contaService.readById(-1));
+
+        Timer sucesso = registry.find(MetricasOperacoes.TIMER)
+                .tags("camada", "service", "entidade", "Conta", "operacao", "readById", "resultado", "sucesso")
+                .timer();
+        assertNotNull(sucesso);
+        assertEquals(1, sucesso.count());
+        assertEquals(1, registry.find(MetricasOperacoes.ERROS)
+                .tags("entidade", "Conta", "operacao", "readById", "resultado", "nao_encontrado", "excecao", "EntityNotFoundException")
+                .counter().count());
+
+        assertEquals(200, http.getForEntity("/api/conta/{id}", String.class, id).getStatusCode().value());
+        assertNotNull(registry.find(MetricasOperacoes.TIMER).tags("camada", "resource", "entidade", "Conta", "operacao", "readById").timer());
+
+        String prometheus = http.getForObject("/actuator/prometheus", String.class);
+        assertTrue(prometheus.contains("gestao_operacao_seconds_bucket{"));
+        assertTrue(prometheus.contains("resultado=\"nao_encontrado\""));
+    }
+}
@@ -0,0 +1,104 @@
+package br.senac.go.config;
+
+import br.senac.go.model.Carteira;
+import br.senac.go.model.Pessoa;
+import br.senac.go.service.PessoaService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Documentos XML das respostas comparados com os esperados: texto escapado, raiz pagina e
+ * lista, coleções LAZY omitidas, referências LAZY e ciclos de volta ao pai só com o id.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.output.ansi.enabled=never",
+        "spring.banner.charset=UTF-8",
+        "spring.banner.location=classpath:banner.txt",
+        "spring.datasource.url=jdbc:h2:mem:xml",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false", //o cache de segundo nível é compartilhado entre os contextos dos testes
+        "spring.jpa.properties.hibernate.cache.use_query_cache=false",
+        "logging.level.br.senac.go=warn"
+})
+class XmlConfigTest {
+
+    private static final String DECLARACAO = "<?xml version='1.0' encoding='UTF-8'?>";
+
+    @Autowired
+    private TestRestTemplate http;
+
+    @Autowired
+    private PessoaService pessoaService;
+
+    @Test
+    void documentosDasEntidades() throws Exception {
+        Carteira carteira = new Carteira();
+        carteira.setNome("A & B <C>");
+        carteira.setDescricao("Documento XML");
+        Pessoa ana = new Pessoa();
+        ana.setNome("Ana \"Maria\"");
+        carteira.getPessoas().add(ana);
+        Carteira criada = http.postForObject("/api/carteira", carteira, Carteira.class);
+        Integer pessoa = criada.getPessoas().get(0).getId();
+        //a pessoa aponta de volta para a sua carteira
+        Pessoa alteracao = new Pessoa();
+        alteracao.setCarteira(criada);
+        pessoaService.updatePart(pessoa, alteracao);
+
+        String semPessoas = "<carteira><id>" + criada.getId() + "</id><nome>A &amp; B &lt;C></nome>"
+                + "<descricao>Documento XML</descricao><versao>0</versao></carteira>";
+        assertEquals(DECLARACAO + semPessoas, xml("/api/carteira/" + criada.getId()));
+
+        assertEquals(DECLARACAO + "<carteira><id>" + criada.getId() + "</id><nome>A &amp; B &lt;C></nome>"
+                        + "<descricao>Documento XML</descricao><versao>0</versao><pessoas><pessoa><id>" + pessoa + "</id>"
+                        + "<nome>Ana \"Maria\"</nome><versao>1</versao><carteira><id>" + criada.getId() + "</id></carteira>"
+                        + "</pessoa></pessoas></carteira>",
+                xml("/api/carteira/" + criada.getId() + "?expand=pessoas"));
+
+        assertEquals(DECLARACAO + "<pessoa><id>" + pessoa + "</id><nome>Ana \"Maria\"</nome><versao>1</versao>"
+                + "<carteira><id>" + criada.getId() + "</id></carteira></pessoa>", xml("/api/pessoa/" + pessoa));
+
+        //a ordem das propriedades de Sort (pageable e sort) varia com a JVM, como no JSON
+        String pagina = xml("/api/carteira?descricao=Documento XML&size=1");
+        assertTrue(pagina.startsWith(DECLARACAO + "<pagina><content>" + semPessoas + "</content><pageable><pageNumber>0</pageNumber>"), pagina);
+        assertTrue(pagina.contains("<totalPages>1</totalPages><totalElements>1</totalElements>"), pagina);
+        assertTrue(pagina.endsWith("<numberOfElements>1</numberOfElements><first>true</first><empty>false</empty></pagina>"), pagina);
+
+        ResponseEntity<String> lote = http.exchange("/api/carteira/_bulk", HttpMethod.DELETE,
+                new HttpEntity<>(List.of(0), cabecalhos()), String.class);
+        assertEquals(DECLARACAO + "<lista><resultadoItem><indice>0</indice><status>404</status><id>0</id>"
+                + "<erro>Registro não encontrado</erro></resultadoItem></lista>", lote.getBody());
+    }
+
+    @Test
+    void respostasForaDaAplicacaoNaoSaoEscritasEmXml() {
+        assertEquals(406, http.exchange("/api/admin/cache", HttpMethod.GET, new HttpEntity<>(cabecalhos()), String.class)
+                .getStatusCode().value());
+    }
+
+    private String xml(String url) {
+        ResponseEntity<String> resposta = http.exchange(url, HttpMethod.GET, new HttpEntity<>(cabecalhos()), String.class);
+        assertEquals(200, resposta.getStatusCode().value(), url);
+        assertEquals(MediaType.APPLICATION_XML, resposta.getHeaders().getContentType());
+        return resposta.getBody();
+    }
+
+    private static HttpHeaders cabecalhos() {
+        HttpHeaders cabecalhos = new HttpHeaders();
+        cabecalhos.setContentType(MediaType.APPLICATION_JSON);
+        cabecalhos.setAccept(List.of(MediaType.APPLICATION_XML));
+        return cabecalhos;
+    }
+}
@@ -0,0 +1,75 @@
+package br.senac.go.resource;
+
+import br.senac.go.model.Conta;
+import ch.qos.logback.classic.Logger;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Log dos resources com a configuração da aplicação (sem sobrescrever o nível de
+ * br.senac.go): o debug vem desligado e as chamadas parametrizadas não montam a mensagem
+ * nem o array de argumentos, então a thread da requisição não aloca nada por chamada. A
+ * alocação é a medida pelo ThreadMXBean da própria thread.
+ */
+@SpringBootTest(properties = {
+        "spring.output.ansi.enabled=never",
+        "spring.banner.charset=UTF-8",
+        "spring.banner.location=classpath:banner.txt",
+        "spring.datasource.url=jdbc:h2:mem:log",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false", //o cache de segundo nível é compartilhado entre os contextos dos testes
+        "spring.jpa.properties.hibernate.cache.use_query_cache=false"
+})
+class LogDesligadoTest {
+
+    private static final int CHAMADAS = 100_000;
+
+    private final Logger log = (Logger) LoggerFactory.getLogger(ContaResource.class);
+
+    @Test
+    void debugDesligadoNaoAloca() {
+        assertFalse(log.isDebugEnabled());
+        //um TurboFilter faz o logback criar o array de argumentos antes de olhar o nível
+        assertTrue(log.getLoggerContext().getTurboFilterList().isEmpty(), log.getLoggerContext().getTurboFilterList().toString());
+
+        Conta conta = new Conta();
+        conta.setId(1);
+        conta.setDescricao("Conta 1");
+        conta.setLimiteConta(new BigDecimal("1500.00"));
+        conta.setDataInicio(LocalDateTime.of(2024, 1, 1, 0, 0));
+        Set<String> expand = Set.of("tipoConta");
+
+        //aquecimento, para medir o código já compilado
+        registrar(conta, expand);
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long antes = threads.getCurrentThreadAllocatedBytes();
+        registrar(conta, expand);
+        long alocados = threads.getCurrentThreadAllocatedBytes() - antes;
+
+        //menos de 1 byte por chamada: só a própria medição aloca
+        assertTrue(alocados < CHAMADAS, alocados + " bytes em " + CHAMADAS + " chamadas");
+    }
+
+    /**
+     * As formas usadas nos resources: um e dois valores direto e três ou mais (varargs,
+     * que alocaria o array) atrás de isDebugEnabled.
+     */
+    private void registrar(Conta conta, Set<String> expand) {
+        for (int i = 0; i < CHAMADAS; i++) {
+            log.debug("Executado método ContaResource.create | valores: {}", conta);
+            log.debug("Executado método ContaResource.updateFull | valores: {} {}", conta.getId(), conta);
+            if (log.isDebugEnabled()) {
+                log.debug("Executado método ContaResource.read | valores: {} {} {}", conta, expand, i);
+            }
+        }
+    }
+}
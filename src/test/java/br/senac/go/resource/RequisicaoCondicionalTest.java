@@ -0,0 +1,120 @@
+package br.senac.go.resource;
+
+import br.senac.go.model.Conta;
+import br.senac.go.service.ContaService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * ETag, If-None-Match e If-Match na leitura, alteração e remoção de conta: comparação
+ * fraca e {@code *} no 304, 412 com a versão divergente, leituras com expand sem ETag e
+ * {@code Vary: Accept} em todas as leituras.
+ */
+@AutoConfigureMockMvc
+@SpringBootTest(properties = {
+        "spring.output.ansi.enabled=never",
+        "spring.banner.charset=UTF-8",
+        "spring.banner.location=classpath:banner.txt",
+        "spring.datasource.url=jdbc:h2:mem:condicional",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false", //o cache de segundo nível é compartilhado entre os contextos dos testes
+        "spring.jpa.properties.hibernate.cache.use_query_cache=false",
+        "logging.level.br.senac.go=warn"
+})
+class RequisicaoCondicionalTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ContaService contaService;
+
+    private Conta conta;
+
+    @BeforeEach
+    void criar() {
+        Conta nova = new Conta();
+        nova.setDescricao("Conta condicional");
+        nova.setLimiteConta(new BigDecimal("100.00"));
+        nova.setDataInicio(LocalDateTime.now());
+        conta = contaService.create(nova);
+    }
+
+    @Test
+    void ifNoneMatch() throws Exception {
+        String url = "/api/conta/" + conta.getId();
+        mvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0\""))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT));
+
+        mvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, "\"0\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0\""))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT));
+        //comparação fraca: W/ é ignorado
+        mvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, "\"9\", W/\"0\""))
+                .andExpect(status().isNotModified());
+        mvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, "*"))
+                .andExpect(status().isNotModified());
+        mvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, "\"1\""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.descricao").value("Conta condicional"));
+    }
+
+    @Test
+    void expandSemEtag() throws Exception {
+        mvc.perform(get("/api/conta/" + conta.getId()).param("expand", "tipoConta").header(HttpHeaders.IF_NONE_MATCH, "\"0\""))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT));
+    }
+
+    @Test
+    void ifMatchDivergente() throws Exception {
+        String url = "/api/conta/" + conta.getId();
+        conta.setDescricao("Conta alterada");
+        String corpo = objectMapper.writeValueAsString(conta);
+
+        mvc.perform(put(url).contentType(MediaType.APPLICATION_JSON).content(corpo).header(HttpHeaders.IF_MATCH, "\"7\""))
+                .andExpect(status().isPreconditionFailed());
+        mvc.perform(patch(url).contentType(MediaType.APPLICATION_JSON).content(corpo).header(HttpHeaders.IF_MATCH, "\"7\""))
+                .andExpect(status().isPreconditionFailed());
+        mvc.perform(patch(url).contentType("application/merge-patch+json").content("{\"descricao\":\"Conta alterada\"}").header(HttpHeaders.IF_MATCH, "\"7\""))
+                .andExpect(status().isPreconditionFailed());
+        //If-Match usa a comparação forte: a mesma versão como ETag fraca não atende
+        mvc.perform(put(url).contentType(MediaType.APPLICATION_JSON).content(corpo).header(HttpHeaders.IF_MATCH, "W/\"0\""))
+                .andExpect(status().isPreconditionFailed());
+        mvc.perform(delete(url).header(HttpHeaders.IF_MATCH, "\"7\""))
+                .andExpect(status().isPreconditionFailed());
+
+        mvc.perform(put(url).contentType(MediaType.APPLICATION_JSON).content(corpo).header(HttpHeaders.IF_MATCH, "\"0\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""));
+        mvc.perform(delete(url).header(HttpHeaders.IF_MATCH, "\"0\""))
+                .andExpect(status().isPreconditionFailed());
+        mvc.perform(delete(url).header(HttpHeaders.IF_MATCH, "\"1\""))
+                .andExpect(status().isOk());
+    }
+}
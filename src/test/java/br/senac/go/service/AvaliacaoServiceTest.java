@@ -0,0 +1,151 @@
+package br.senac.go.service;
+
+import br.senac.go.dto.Avaliacao;
+import br.senac.go.model.Carteira;
+import br.senac.go.model.Conta;
+import br.senac.go.model.Investimento;
+import br.senac.go.model.Lancamento;
+import br.senac.go.model.Pessoa;
+import br.senac.go.model.TipoLancamento;
+import br.senac.go.service.LancamentoService.Titular;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Totais da avaliação com investimentos e contas compartilhados e descarte apenas das
+ * carteiras afetadas por uma alteração.
+ */
+@SpringBootTest(properties = {
+        "spring.output.ansi.enabled=never",
+        "spring.banner.charset=UTF-8",
+        "spring.banner.location=classpath:banner.txt",
+        "spring.datasource.url=jdbc:h2:mem:avaliacao",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false", //o cache de segundo nível é compartilhado entre os contextos dos testes
+        "spring.jpa.properties.hibernate.cache.use_query_cache=false",
+        "logging.level.br.senac.go=warn"
+})
+class AvaliacaoServiceTest {
+
+    @Autowired
+    private AvaliacaoService avaliacaoService;
+
+    @Autowired
+    private CarteiraService carteiraService;
+
+    @Autowired
+    private InvestimentoService investimentoService;
+
+    @Autowired
+    private ContaService contaService;
+
+    @Autowired
+    private PessoaService pessoaService;
+
+    @Autowired
+    private LancamentoService lancamentoService;
+
+    @Test
+    void investimentoEContaCompartilhadosEntramUmaVez() {
+        Investimento compartilhado = investimentoService.create(investimento("100", "80"));
+        Investimento proprio = investimentoService.create(investimento("50", "40"));
+        Conta conta = contaService.create(conta("10"));
+        Carteira carteira = carteiraService.create(carteira(
+                pessoa(compartilhado, conta), pessoa(compartilhado, conta), pessoa(proprio, null), pessoa(null, null)));
+
+        Avaliacao avaliacao = avaliacaoService.avaliar(carteira.getId());
+        assertEquals(4, avaliacao.getPessoas());
+        assertEquals(0, new BigDecimal("150").compareTo(avaliacao.getSaldo()));
+        assertEquals(0, new BigDecimal("120").compareTo(avaliacao.getValorInicial()));
+        assertEquals(0, new BigDecimal("10").compareTo(avaliacao.getLimiteConta()));
+
+        Carteira vazia = carteiraService.create(carteira());
+        Avaliacao semPessoas = avaliacaoService.avaliar(vazia.getId());
+        assertEquals(0, semPessoas.getPessoas());
+        assertEquals(0, BigDecimal.ZERO.compareTo(semPessoas.getSaldo()));
+    }
+
+    @Test
+    void alteracaoDescartaApenasAsCarteirasAfetadas() throws Exception {
+        Investimento primeiro = investimentoService.create(investimento("100", "100"));
+        Investimento segundo = investimentoService.create(investimento("10", "10"));
+        Carteira afetada = carteiraService.create(carteira(pessoa(primeiro, null), pessoa(segundo, null)));
+        Carteira outra = carteiraService.create(carteira(pessoa(segundo, null)));
+
+        Avaliacao antes = avaliacaoService.avaliar(afetada.getId());
+        Avaliacao outraAntes = avaliacaoService.avaliar(outra.getId());
+        assertSame(antes, avaliacaoService.avaliar(afetada.getId()));
+
+        //lançamento no investimento só da primeira carteira
+        lancamentoService.lancar(Titular.INVESTIMENTO, primeiro.getId(), deposito("5"));
+        Avaliacao depois = avaliacaoService.avaliar(afetada.getId());
+        assertNotSame(antes, depois);
+        assertEquals(0, new BigDecimal("115").compareTo(depois.getSaldo()));
+        assertSame(outraAntes, avaliacaoService.avaliar(outra.getId()));
+
+        //alteração do investimento compartilhado descarta as duas
+        Investimento alteracao = new Investimento();
+        alteracao.setValorInicial(new BigDecimal("20"));
+        investimentoService.updatePart(segundo.getId(), alteracao);
+        assertEquals(0, new BigDecimal("120").compareTo(avaliacaoService.avaliar(afetada.getId()).getValorInicial()));
+        assertEquals(0, new BigDecimal("20").compareTo(avaliacaoService.avaliar(outra.getId()).getValorInicial()));
+
+        //pessoa que troca de investimento
+        Pessoa pessoa = carteiraService.readById(outra.getId(), Set.of("pessoas")).getPessoas().get(0);
+        Avaliacao outraCacheada = avaliacaoService.avaliar(outra.getId());
+        Pessoa troca = new Pessoa();
+        troca.setInvestimento(primeiro);
+        pessoaService.updatePart(pessoa.getId(), troca);
+        assertNotSame(outraCacheada, avaliacaoService.avaliar(outra.getId()));
+        assertEquals(0, new BigDecimal("105").compareTo(avaliacaoService.avaliar(outra.getId()).getSaldo()));
+    }
+
+    private static Investimento investimento(String saldo, String valorInicial) {
+        Investimento investimento = new Investimento();
+        investimento.setDescricao("Investimento avaliado");
+        investimento.setSaldo(new BigDecimal(saldo));
+        investimento.setValorInicial(new BigDecimal(valorInicial));
+        return investimento;
+    }
+
+    private static Conta conta(String limite) {
+        Conta conta = new Conta();
+        conta.setDescricao("Conta avaliada");
+        conta.setLimiteConta(new BigDecimal(limite));
+        conta.setDataInicio(LocalDateTime.now());
+        return conta;
+    }
+
+    private static Pessoa pessoa(Investimento investimento, Conta conta) {
+        Pessoa pessoa = new Pessoa();
+        pessoa.setNome("Pessoa avaliada");
+        pessoa.setInvestimento(investimento);
+        pessoa.setConta(conta);
+        return pessoa;
+    }
+
+    private static Carteira carteira(Pessoa... pessoas) {
+        Carteira carteira = new Carteira();
+        carteira.setNome("Avaliada");
+        carteira.setDescricao("Carteira avaliada");
+        carteira.getPessoas().addAll(List.of(pessoas));
+        return carteira;
+    }
+
+    private static Lancamento deposito(String valor) {
+        Lancamento lancamento = new Lancamento();
+        lancamento.setTipo(TipoLancamento.DEPOSITO);
+        lancamento.setValor(new BigDecimal(valor));
+        return lancamento;
+    }
+}
@@ -0,0 +1,107 @@
+package br.senac.go.service;
+
+import br.senac.go.exception.RequisicaoInvalidaException;
+import br.senac.go.model.Conta;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Consulta por exemplo: curingas do LIKE tratados como texto, ordenação por campo
+ * inexistente recusada e um texto JPQL por formato de consulta.
+ */
+@SpringBootTest(properties = {
+        "spring.output.ansi.enabled=never",
+        "spring.banner.charset=UTF-8",
+        "spring.banner.location=classpath:banner.txt",
+        "spring.datasource.url=jdbc:h2:mem:exemplo",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false", //o cache de segundo nível é compartilhado entre os contextos dos testes
+        "spring.jpa.properties.hibernate.cache.use_query_cache=false",
+        "logging.level.br.senac.go=warn"
+})
+class ConsultaPorExemploTest {
+
+    @Autowired
+    private ConsultaPorExemplo consultaPorExemplo;
+
+    @Autowired
+    private ContaService contaService;
+
+    @Test
+    void curingasDoLikeSaoTexto() {
+        for (String descricao : List.of("Desconto 50% off", "Desconto 50 anos", "Desconto 5_x", "Desconto 5ax", "Desconto \\y", "Desconto zy")) {
+            contaService.create(conta(descricao));
+        }
+
+        assertEquals(List.of("Desconto 50% off"), descricoes("Desconto 50%"));
+        assertEquals(List.of("Desconto 5_x"), descricoes("Desconto 5_"));
+        assertEquals(List.of("Desconto \\y"), descricoes("Desconto \\"));
+        assertEquals(6, descricoes("Desconto").size());
+    }
+
+    @Test
+    void ordenacaoPorCampoInexistente() {
+        PageRequest pagina = PageRequest.of(0, 10, Sort.by("naoExiste"));
+        assertThrows(RequisicaoInvalidaException.class, () -> consultaPorExemplo.buscar(Conta.class, new Conta(), null, pagina));
+        //coleções também não ordenam
+        PageRequest colecao = PageRequest.of(0, 10, Sort.by("tipoConta"));
+        assertThrows(RequisicaoInvalidaException.class, () -> consultaPorExemplo.buscar(Conta.class, new Conta(), null, colecao));
+    }
+
+    @Test
+    void umTextoPorFormato() {
+        @SuppressWarnings("unchecked")
+        Map<String, Object> planos = (Map<String, Object>) ReflectionTestUtils.getField(consultaPorExemplo, "planos");
+        PageRequest pagina = PageRequest.of(0, 10, Sort.by("descricao"));
+
+        consultaPorExemplo.buscar(Conta.class, exemplo("Formato A"), null, pagina);
+        int formatos = planos.size();
+        Object plano = planos.values().stream().filter(p -> p.toString().contains("e.descricao like :descricao escape")
+                && p.toString().contains("order by e.descricao asc")).findFirst().orElseThrow();
+
+        //outro valor no mesmo formato reaproveita o texto
+        consultaPorExemplo.buscar(Conta.class, exemplo("Formato B"), null, PageRequest.of(1, 5, Sort.by("descricao")));
+        assertEquals(formatos, planos.size());
+        assertSame(plano, planos.values().stream().filter(plano::equals).findFirst().orElseThrow());
+
+        //outro campo ou outra ordenação é outro formato
+        Conta comLimite = exemplo("Formato A");
+        comLimite.setLimiteConta(BigDecimal.TEN);
+        consultaPorExemplo.buscar(Conta.class, comLimite, null, pagina);
+        consultaPorExemplo.buscar(Conta.class, exemplo("Formato A"), null, PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "descricao")));
+        assertEquals(formatos + 2, planos.size());
+    }
+
+    private List<String> descricoes(String prefixo) {
+        return consultaPorExemplo.buscar(Conta.class, exemplo(prefixo), null, PageRequest.of(0, 20, Sort.by("id")))
+                .map(Conta::getDescricao)
+                .getContent();
+    }
+
+    private static Conta exemplo(String descricao) {
+        Conta exemplo = new Conta();
+        exemplo.setDescricao(descricao);
+        return exemplo;
+    }
+
+    private static Conta conta(String descricao) {
+        Conta conta = new Conta();
+        conta.setDescricao(descricao);
+        conta.setLimiteConta(new BigDecimal("100.00"));
+        conta.setDataInicio(LocalDateTime.now());
+        return conta;
+    }
+}
@@ -0,0 +1,127 @@
+package br.senac.go.service;
+
+import br.senac.go.dto.ResultadoItem;
+import br.senac.go.model.Conta;
+import br.senac.go.model.TipoConta;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Alterações de Conta que passam pela coleção de tipos de conta (orphanRemoval).
+ */
+@SpringBootTest(properties = {
+        "spring.output.ansi.enabled=never",
+        "spring.banner.charset=UTF-8",
+        "spring.banner.location=classpath:banner.txt",
+        "spring.datasource.url=jdbc:h2:mem:contaservice",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false", //o cache de segundo nível é compartilhado entre os contextos dos testes
+        "spring.jpa.properties.hibernate.cache.use_query_cache=false",
+        "logging.level.br.senac.go=warn"
+})
+class ContaServiceTest {
+
+    @Autowired
+    private ContaService contaService;
+
+    @Autowired
+    private TipoContaService tipoContaService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void updatePartSubstituiOsTiposDeConta() throws Exception {
+        Conta conta = contaService.create(conta("Corrente"));
+        TipoConta mantido = conta.getTipoConta().get(0);
+
+        Conta parcial = new Conta();
+        parcial.setDescricao("Conta alterada");
+        parcial.getTipoConta().add(mantido);
+        parcial.getTipoConta().add(tipoConta("Poupança"));
+        contaService.updatePart(conta.getId(), parcial);
+
+        Conta lida = contaService.readById(conta.getId(), Set.of("tipoConta"));
+        assertEquals("Conta alterada", lida.getDescricao());
+        assertEquals(List.of("Corrente", "Poupança"), lida.getTipoConta().stream().map(TipoConta::getDescricao).toList());
+        assertEquals(mantido.getId(), lida.getTipoConta().get(0).getId());
+
+        //sem a coleção no corpo os tipos gravados são mantidos
+        Conta semTipos = new Conta();
+        semTipos.setDescricao("Sem tipos");
+        contaService.updatePart(conta.getId(), semTipos);
+        assertEquals(2, contaService.readById(conta.getId(), Set.of("tipoConta")).getTipoConta().size());
+    }
+
+    @Test
+    void mergePatchNaoAceitaTipoDeOutraConta() throws Exception {
+        Conta conta = contaService.create(conta("Corrente"));
+        Conta outra = contaService.create(conta("Poupança"));
+        Integer alheio = outra.getTipoConta().get(0).getId();
+
+        ObjectNode patch = objectMapper.createObjectNode();
+        patch.putArray("tipoConta").addObject().put("id", alheio).put("descricao", "Tomado");
+        assertThrows(EntityNotFoundException.class, () -> contaService.mergePatch(conta.getId(), patch, null));
+
+        assertEquals(List.of("Poupança"), contaService.readById(outra.getId(), Set.of("tipoConta")).getTipoConta().stream().map(TipoConta::getDescricao).toList());
+        assertEquals(List.of("Corrente"), contaService.readById(conta.getId(), Set.of("tipoConta")).getTipoConta().stream().map(TipoConta::getDescricao).toList());
+    }
+
+    @Test
+    void alteracoesPelaContaDescartamOsTiposDoCache() throws Exception {
+        Conta conta = contaService.create(conta("Corrente"));
+        Integer tipoId = conta.getTipoConta().get(0).getId();
+        assertEquals("Corrente", tipoContaService.readById(tipoId).getDescricao());
+
+        ObjectNode patch = objectMapper.createObjectNode();
+        patch.putArray("tipoConta").addObject().put("id", tipoId).put("descricao", "Corrente alterada");
+        contaService.mergePatch(conta.getId(), patch, null);
+        assertEquals("Corrente alterada", tipoContaService.readById(tipoId).getDescricao());
+
+        //orphanRemoval: o tipo fora da coleção é removido e sai do cache
+        Conta parcial = new Conta();
+        parcial.getTipoConta().add(tipoConta("Poupança"));
+        contaService.updatePart(conta.getId(), parcial);
+        assertThrows(EntityNotFoundException.class, () -> tipoContaService.readById(tipoId));
+    }
+
+    @Test
+    void loteComFalhaReprocessaItensComTipos() throws Exception {
+        Conta valida = conta("Corrente");
+        Conta invalida = conta("Poupança");
+        invalida.setDescricao(null);
+
+        List<ResultadoItem<Conta, Integer>> resultados = contaService.createAll(List.of(valida, invalida));
+
+        //os tipos da conta válida não ficam com o id do lote desfeito
+        assertEquals(List.of(201, 400), resultados.stream().map(ResultadoItem::getStatus).toList());
+        assertEquals(List.of("Corrente"), contaService.readById(resultados.get(0).getId(), Set.of("tipoConta")).getTipoConta().stream().map(TipoConta::getDescricao).toList());
+    }
+
+    static Conta conta(String tipo) {
+        Conta conta = new Conta();
+        conta.setDescricao("Conta");
+        conta.setLimiteConta(new BigDecimal("100"));
+        conta.setDataInicio(LocalDateTime.now());
+        conta.getTipoConta().add(tipoConta(tipo));
+        return conta;
+    }
+
+    static TipoConta tipoConta(String descricao) {
+        TipoConta tipoConta = new TipoConta();
+        tipoConta.setDescricao(descricao);
+        return tipoConta;
+    }
+}
@@ -0,0 +1,111 @@
+package br.senac.go.service;
+
+import br.senac.go.exception.RequisicaoInvalidaException;
+import br.senac.go.model.Conta;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Exportação de contas: o CSV e o formato colunar (com grupos pequenos e buffer menor que
+ * uma linha de texto longa) trazem os mesmos valores gravados.
+ */
+@SpringBootTest(properties = {
+        "spring.output.ansi.enabled=never",
+        "spring.banner.charset=UTF-8",
+        "spring.banner.location=classpath:banner.txt",
+        "spring.datasource.url=jdbc:h2:mem:exportacao",
+        "spring.jpa.show-sql=false",
+        "logging.level.br.senac.go=warn",
+        "exportacao.tamanho-buffer=64",
+        "exportacao.colunar.linhas-por-grupo=3"
+})
+class ExportacaoServiceTest {
+
+    private static final int CONTAS = 7;
+
+    @Autowired
+    private ExportacaoService exportacaoService;
+
+    @Autowired
+    private ContaService contaService;
+
+    @Test
+    void csvEColunarComOsMesmosValores(@TempDir Path diretorio) throws Exception {
+        List<Conta> contas = new ArrayList<>();
+        for (int i = 0; i < CONTAS; i++) {
+            contas.add(contaService.create(conta(i)));
+        }
+
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        assertEquals(CONTAS, exportacaoService.exportar(Conta.class, ExportacaoService.Formato.CSV, saida));
+        List<String[]> csv = new ArrayList<>();
+        try (LeitorCsv leitor = new LeitorCsv(new StringReader(saida.toString(StandardCharsets.UTF_8)))) {
+            for (String[] registro; (registro = leitor.proximo()) != null; ) {
+                csv.add(registro);
+            }
+        }
+        assertArrayEquals(new String[] { "id", "descricao", "limiteConta", "dataInicio", "dataFim", "versao" }, csv.get(0));
+        assertEquals(CONTAS + 1, csv.size());
+
+        Path arquivo = exportacaoService.exportar(Conta.class, ExportacaoService.Formato.COLUNAR, diretorio);
+        assertTrue(arquivo.getFileName().toString().endsWith(".gcol"));
+        List<Object[]> colunar = new ArrayList<>();
+        try (FileChannel canal = FileChannel.open(arquivo)) {
+            EscritorColunar.ler(canal, linha -> colunar.add(linha.clone()));
+        }
+        assertEquals(CONTAS, colunar.size());
+        try (var arquivos = Files.list(diretorio)) {
+            assertFalse(arquivos.anyMatch(caminho -> caminho.toString().endsWith(".parcial")));
+        }
+
+        for (int i = 0; i < CONTAS; i++) {
+            Conta conta = contas.get(i);
+            Object[] linha = colunar.get(i);
+            assertEquals(conta.getId().longValue(), linha[0]);
+            assertEquals(conta.getDescricao(), linha[1]);
+            assertEquals(0, conta.getLimiteConta().compareTo((BigDecimal) linha[2]));
+            assertEquals(conta.getDataInicio(), linha[3]);
+            assertEquals(conta.getDataFim(), linha[4]);
+            assertEquals(conta.getId().toString(), csv.get(i + 1)[0]);
+            assertEquals(conta.getDescricao(), csv.get(i + 1)[1]);
+            assertEquals(conta.getDataInicio(), LocalDateTime.parse(csv.get(i + 1)[3]));
+        }
+        assertNull(colunar.get(1)[4]);
+        assertEquals("", csv.get(2)[4]);
+    }
+
+    @Test
+    void formatoInvalido() {
+        assertThrows(RequisicaoInvalidaException.class, () -> ExportacaoService.Formato.de("parquet"));
+        assertEquals(ExportacaoService.Formato.COLUNAR, ExportacaoService.Formato.de("gcol"));
+    }
+
+    private Conta conta(int i) {
+        Conta conta = new Conta();
+        conta.setDescricao(i % 2 == 0 ? "Conta " + i + ", \"exportação\" com descrição longa — " + "x".repeat(80) : "Conta " + i);
+        conta.setLimiteConta(new BigDecimal("1000.5").multiply(BigDecimal.valueOf(i - 3)));
+        conta.setDataInicio(LocalDateTime.of(2024, 1, 1, 8, 30).plusDays(i).plusNanos(i * 1_000_000L));
+        conta.setDataFim(i % 2 == 0 ? LocalDateTime.of(2030, 12, 31, 23, 59, 59) : null);
+        return conta;
+    }
+}
@@ -0,0 +1,202 @@
+package br.senac.go.service;
+
+import br.senac.go.config.RastreadorSql;
+import br.senac.go.dto.EstatisticaSql;
+import br.senac.go.dto.ResultadoImportacao;
+import br.senac.go.exception.ConflitoException;
+import br.senac.go.exception.RequisicaoInvalidaException;
+import br.senac.go.model.Carteira;
+import br.senac.go.model.Conta;
+import br.senac.go.model.EstadoImportacao;
+import br.senac.go.model.Importacao;
+import br.senac.go.model.Pessoa;
+import br.senac.go.repository.ImportacaoRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.FilterReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Importação CSV em lotes: linhas rejeitadas, referências e retomada após uma falha de
+ * leitura sem duplicar as linhas já gravadas.
+ */
+@SpringBootTest(properties = {
+        "spring.output.ansi.enabled=never",
+        "spring.banner.charset=UTF-8",
+        "spring.banner.location=classpath:banner.txt",
+        "spring.datasource.url=jdbc:h2:mem:importacao",
+        "spring.jpa.show-sql=false",
+        "logging.level.br.senac.go=warn",
+        "importacao.tamanho-lote=3"
+})
+class ImportacaoServiceTest {
+
+    private static final int LINHAS = 20;
+
+    @Autowired
+    private ImportacaoService importacaoService;
+
+    @Autowired
+    private CarteiraService carteiraService;
+
+    @Autowired
+    private ContaService contaService;
+
+    @Autowired
+    private ImportacaoRepository importacaoRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private RastreadorSql rastreadorSql;
+
+    @Test
+    void rejeitaLinhasInvalidasEGravaAsDemais() throws Exception {
+        Carteira carteira = carteiraService.create(carteira());
+        Conta conta = contaService.create(conta());
+        String csv = "endereco,nome,carteira,conta\n"
+                + "\"Rua 1, 10\",\"Ana \"\"A\"\"\"," + carteira.getId() + "," + conta.getId() + "\n"
+                + "Rua 2,,,\n"
+                + "Rua 3,Bruno,x,\n"
+                + "Rua 4,Carla,,999999\n"
+                + "\"Rua\n5\",Davi," + carteira.getId() + ",\n";
+
+        ResultadoImportacao resultado = importacaoService.importar(new StringReader(csv), "teste.csv", null);
+
+        assertEquals(EstadoImportacao.CONCLUIDA, resultado.getImportacao().getEstado());
+        assertEquals(5, resultado.getImportacao().getLinhas());
+        assertEquals(2, resultado.getImportacao().getImportadas());
+        assertEquals(3, resultado.getImportacao().getRejeitadas());
+        assertEquals(List.of(3, 4, 5), resultado.getRejeicoes().stream().map(r -> r.getIndice()).sorted().toList());
+        Pessoa ana = pessoas("Ana \"A\"").get(0);
+        assertEquals("Rua 1, 10", ana.getEndereco());
+        assertEquals(carteira.getId(), ana.getCarteira().getId());
+        //Ana e Davi em lotes diferentes, incluídos na coleção da carteira
+        Pessoa davi = pessoas("Davi").get(0);
+        assertEquals(List.of(ana.getId(), davi.getId()), carteiraService.readById(carteira.getId(), Set.of("pessoas")).getPessoas().stream().map(Pessoa::getId).toList());
+        assertEquals(conta.getId(), ana.getConta().getId());
+        assertEquals("Rua\n5", davi.getEndereco());
+    }
+
+    @Test
+    void vinculaAsPessoasSemRecriarACarteira() throws Exception {
+        Carteira carteira = carteiraService.create(carteira());
+        String csv = IntStream.rangeClosed(1, LINHAS)
+                .mapToObj(i -> "Vínculo " + i + "," + carteira.getId())
+                .collect(Collectors.joining("\n", "nome,carteira\n", "\n"));
+
+        rastreadorSql.limpar();
+        importacaoService.importar(new StringReader(csv), "vinculo.csv", null);
+
+        //um INSERT em lote por lote de 3 linhas, sem carregar nem apagar a coleção
+        List<EstatisticaSql> juncao = rastreadorSql.consultas(1000, "execucoes").stream()
+                .filter(estatistica -> estatistica.getSql().toLowerCase().contains("carteira_pessoas"))
+                .toList();
+        assertEquals(1, juncao.size(), () -> juncao.toString());
+        assertTrue(juncao.get(0).getSql().toLowerCase().startsWith("insert"));
+        assertEquals((LINHAS + 2) / 3, juncao.get(0).getExecucoes());
+        assertEquals(LINHAS, juncao.get(0).getLinhas());
+        assertEquals(LINHAS, carteiraService.readById(carteira.getId(), Set.of("pessoas")).getPessoas().size());
+    }
+
+    @Test
+    void retomaDoUltimoLoteGravado() throws Exception {
+        String csv = IntStream.rangeClosed(1, LINHAS)
+                .mapToObj(i -> "Retomada " + i + ",Rua " + i)
+                .collect(Collectors.joining("\n", "nome,endereco\n", "\n"));
+
+        ResultadoImportacao interrompida = importacaoService.importar(new Interrompido(csv, csv.indexOf("Retomada 11")), "retomada.csv", null);
+        assertEquals(EstadoImportacao.FALHOU, interrompida.getImportacao().getEstado());
+        long gravadas = interrompida.getImportacao().getLinhas();
+        assertEquals(0, gravadas % 3);
+        assertEquals(gravadas, pessoas("Retomada%").size());
+
+        Integer id = interrompida.getImportacao().getId();
+        assertThrows(ConflitoException.class, () -> importacaoService.importar(new StringReader(csv), "outro.csv", id));
+        assertThrows(ConflitoException.class, () -> importacaoService.importar(new StringReader(csv.replace("nome,endereco", "endereco,nome")), "retomada.csv", id));
+        ResultadoImportacao retomada = importacaoService.importar(new StringReader(csv), "retomada.csv", id);
+        assertEquals(EstadoImportacao.CONCLUIDA, retomada.getImportacao().getEstado());
+        assertEquals(LINHAS, retomada.getImportacao().getLinhas());
+        assertEquals(LINHAS, retomada.getImportacao().getImportadas());
+        assertEquals(LINHAS, pessoas("Retomada%").size());
+        assertThrows(ConflitoException.class, () -> importacaoService.importar(new StringReader(csv), "retomada.csv", id));
+    }
+
+    @Test
+    void naoRetomaImportacaoEmAndamento() {
+        Importacao emAndamento = new Importacao();
+        emAndamento.setOrigem("andamento.csv");
+        emAndamento.setEstado(EstadoImportacao.EM_ANDAMENTO);
+        emAndamento.setInicio(LocalDateTime.now());
+        emAndamento.setAtualizadaEm(LocalDateTime.now());
+        Integer id = importacaoRepository.save(emAndamento).getId();
+
+        assertThrows(ConflitoException.class, () -> importacaoService.importar(new StringReader("nome\nEm andamento\n"), "andamento.csv", id));
+        assertEquals(0, pessoas("Em andamento").size());
+    }
+
+    @Test
+    void cabecalhoInvalido() {
+        assertThrows(RequisicaoInvalidaException.class, () -> importacaoService.importar(new StringReader("endereco,cpf\n"), "x.csv", null));
+        assertThrows(RequisicaoInvalidaException.class, () -> importacaoService.importar(new StringReader("endereco\n"), "x.csv", null));
+    }
+
+    private List<Pessoa> pessoas(String nome) {
+        return entityManager.createQuery("select p from Pessoa p left join fetch p.carteira left join fetch p.conta where p.nome like :nome", Pessoa.class)
+                .setParameter("nome", nome)
+                .getResultList();
+    }
+
+    private Carteira carteira() {
+        Carteira carteira = new Carteira();
+        carteira.setNome("Importação");
+        carteira.setDescricao("Carteira da importação");
+        return carteira;
+    }
+
+    private Conta conta() {
+        Conta conta = new Conta();
+        conta.setDescricao("Conta da importação");
+        conta.setLimiteConta(new BigDecimal("1000"));
+        conta.setDataInicio(LocalDateTime.now());
+        return conta;
+    }
+
+    /**
+     * Reader que falha depois de entregar {@code limite} caracteres.
+     */
+    private static class Interrompido extends FilterReader {
+
+        private int restantes;
+
+        Interrompido(String conteudo, int limite) {
+            super(new StringReader(conteudo));
+            this.restantes = limite;
+        }
+
+        @Override
+        public int read(char[] buffer, int inicio, int tamanho) throws IOException {
+            if (restantes <= 0) {
+                throw new IOException("conexão perdida");
+            }
+            int lidos = super.read(buffer, inicio, Math.min(tamanho, restantes));
+            restantes -= Math.max(lidos, 0);
+            return lidos;
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package br.senac.go.service;
+
+import br.senac.go.dto.Saldo;
+import br.senac.go.exception.RequisicaoInvalidaException;
+import br.senac.go.model.Investimento;
+import br.senac.go.model.Lancamento;
+import br.senac.go.model.TipoLancamento;
+import br.senac.go.service.LancamentoService.Titular;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Saldo do investimento calculado a partir do razão: abertura, lançamentos e consolidação.
+ */
+@SpringBootTest(properties = {
+        "spring.output.ansi.enabled=never",
+        "spring.banner.charset=UTF-8",
+        "spring.banner.location=classpath:banner.txt",
+        "spring.datasource.url=jdbc:h2:mem:lancamentoservice",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false", //o cache de segundo nível é compartilhado entre os contextos dos testes
+        "spring.jpa.properties.hibernate.cache.use_query_cache=false",
+        "ledger.consolidacao.intervalo=PT1H",
+        "logging.level.br.senac.go=warn"
+})
+class LancamentoServiceTest {
+
+    @Autowired
+    private LancamentoService lancamentoService;
+
+    @Autowired
+    private InvestimentoService investimentoService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void lancamentosAlteramOSaldoAPartirDaAbertura() throws Exception {
+        Investimento investimento = investimentoService.create(investimento(new BigDecimal("100.00")));
+        assertSaldo("100.00", investimento.getId());
+
+        lancamentoService.lancar(Titular.INVESTIMENTO, investimento.getId(), lancamento(TipoLancamento.DEPOSITO, "50.00"));
+        lancamentoService.lancar(Titular.INVESTIMENTO, investimento.getId(), lancamento(TipoLancamento.RETIRADA, "30.00"));
+        assertSaldo("120.00", investimento.getId());
+        assertEquals(2, lancamentoService.saldo(Titular.INVESTIMENTO, investimento.getId()).getLancamentosPendentes());
+    }
+
+    @Test
+    void semSaldoInformadoAbreComOValorInicial() throws Exception {
+        Investimento investimento = investimentoService.create(investimento(null));
+        assertSaldo("80.00", investimento.getId());
+    }
+
+    @Test
+    void consolidacaoMantemOSaldo() throws Exception {
+        Investimento investimento = investimentoService.create(investimento(new BigDecimal("10.00")));
+        lancamentoService.lancar(Titular.INVESTIMENTO, investimento.getId(), lancamento(TipoLancamento.DEPOSITO, "5.00"));
+        lancamentoService.lancar(Titular.INVESTIMENTO, investimento.getId(), lancamento(TipoLancamento.RENDIMENTO, "-1.00"));
+
+        lancamentoService.consolidar(Titular.INVESTIMENTO, LocalDateTime.now());
+        Saldo saldo = lancamentoService.saldo(Titular.INVESTIMENTO, investimento.getId());
+        assertNotNull(saldo.getConsolidadoAte());
+        assertEquals(0, saldo.getLancamentosPendentes());
+        assertEquals(2, saldo.getLancamentos());
+        assertSaldo("14.00", investimento.getId());
+
+        lancamentoService.lancar(Titular.INVESTIMENTO, investimento.getId(), lancamento(TipoLancamento.DEPOSITO, "6.00"));
+        assertSaldo("20.00", investimento.getId());
+    }
+
+    @Test
+    void saldoNaoEAlteradoPorPutNemPorMergePatch() throws Exception {
+        Investimento investimento = investimentoService.create(investimento(new BigDecimal("100.00")));
+        lancamentoService.lancar(Titular.INVESTIMENTO, investimento.getId(), lancamento(TipoLancamento.DEPOSITO, "1.00"));
+
+        Investimento alterado = investimento(new BigDecimal("999.00"));
+        alterado.setVersao(investimentoService.readById(investimento.getId()).getVersao());
+        assertThrows(RequisicaoInvalidaException.class, () -> investimentoService.updateFull(investimento.getId(), alterado, null));
+
+        ObjectNode patch = objectMapper.createObjectNode().put("saldo", 999);
+        assertThrows(RequisicaoInvalidaException.class, () -> investimentoService.mergePatch(investimento.getId(), patch, null));
+
+        //o saldo lido pode ser reenviado sem alteração; sem ele o saldo gravado é mantido
+        Investimento mesmoSaldo = investimento(new BigDecimal("101.00"));
+        mesmoSaldo.setVersao(investimentoService.readById(investimento.getId()).getVersao());
+        investimentoService.updateFull(investimento.getId(), mesmoSaldo, null);
+        Investimento semSaldo = investimento(null);
+        semSaldo.setVersao(investimentoService.readById(investimento.getId()).getVersao());
+        investimentoService.updateFull(investimento.getId(), semSaldo, null);
+        assertSaldo("101.00", investimento.getId());
+    }
+
+    private void assertSaldo(String esperado, Integer id) throws Exception {
+        assertEquals(0, new BigDecimal(esperado).compareTo(lancamentoService.saldo(Titular.INVESTIMENTO, id).getSaldo()));
+        assertEquals(0, new BigDecimal(esperado).compareTo(investimentoService.readById(id).getSaldo()));
+    }
+
+    private static Investimento investimento(BigDecimal saldo) {
+        Investimento investimento = new Investimento();
+        investimento.setDescricao("Tesouro");
+        investimento.setValorInicial(new BigDecimal("80.00"));
+        investimento.setSaldo(saldo);
+        return investimento;
+    }
+
+    private static Lancamento lancamento(TipoLancamento tipo, String valor) {
+        Lancamento lancamento = new Lancamento();
+        lancamento.setTipo(tipo);
+        lancamento.setValor(new BigDecimal(valor));
+        return lancamento;
+    }
+}
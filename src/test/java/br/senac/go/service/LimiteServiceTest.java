@@ -0,0 +1,134 @@
+package br.senac.go.service;
+
+import br.senac.go.dto.Limite;
+import br.senac.go.exception.ConflitoException;
+import br.senac.go.exception.LimiteExcedidoException;
+import br.senac.go.model.Conta;
+import br.senac.go.model.Lancamento;
+import br.senac.go.model.Reserva;
+import br.senac.go.model.TipoLancamento;
+import br.senac.go.repository.ReservaRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Reservas concorrentes nunca ultrapassam o limite da conta.
+ */
+@SpringBootTest(properties = {
+        "spring.output.ansi.enabled=never",
+        "spring.banner.charset=UTF-8",
+        "spring.banner.location=classpath:banner.txt",
+        "spring.datasource.url=jdbc:h2:mem:limite",
+        "spring.jpa.show-sql=false",
+        "logging.level.br.senac.go=warn"
+})
+class LimiteServiceTest {
+
+    private static final int THREADS = 16;
+
+    private static final int TENTATIVAS_POR_THREAD = 50;
+
+    @Autowired
+    private LimiteService limiteService;
+
+    @Autowired
+    private ContaService contaService;
+
+    @Autowired
+    private LancamentoService lancamentoService;
+
+    @Autowired
+    private ReservaRepository reservaRepository;
+
+    @Test
+    void reservasConcorrentesNaoUltrapassamOLimite() throws Exception {
+        Conta conta = contaService.create(conta(new BigDecimal("100")));
+        AtomicInteger autorizadas = new AtomicInteger();
+        AtomicInteger recusadas = new AtomicInteger();
+        ConcurrentLinkedQueue<Throwable> falhas = new ConcurrentLinkedQueue<>();
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch largada = new CountDownLatch(1);
+        for (int t = 0; t < THREADS; t++) {
+            executor.execute(() -> {
+                try {
+                    largada.await();
+                    for (int i = 0; i < TENTATIVAS_POR_THREAD; i++) {
+                        try {
+                            limiteService.reservar(conta.getId(), BigDecimal.ONE, null);
+                            autorizadas.incrementAndGet();
+                        } catch (LimiteExcedidoException e) {
+                            recusadas.incrementAndGet();
+                        }
+                    }
+                } catch (Throwable e) {
+                    falhas.add(e);
+                }
+            });
+        }
+        largada.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(1, TimeUnit.MINUTES));
+
+        assertTrue(falhas.isEmpty(), () -> falhas.peek().toString());
+        assertEquals(100, autorizadas.get());
+        assertEquals(THREADS * TENTATIVAS_POR_THREAD - 100, recusadas.get());
+        assertEquals(0, new BigDecimal("100").compareTo(reservaRepository.somarUtilizado(conta.getId())));
+        assertEquals(0, BigDecimal.ZERO.compareTo(limiteService.limite(conta.getId()).getDisponivel()));
+    }
+
+    @Test
+    void liberarDevolveOLimiteEConfirmarNao() {
+        Conta conta = contaService.create(conta(new BigDecimal("10")));
+        Reserva primeira = limiteService.reservar(conta.getId(), new BigDecimal("6"), "primeira");
+        Reserva segunda = limiteService.reservar(conta.getId(), new BigDecimal("4"), "segunda");
+        assertThrows(LimiteExcedidoException.class, () -> limiteService.reservar(conta.getId(), BigDecimal.ONE, null));
+
+        limiteService.confirmar(conta.getId(), primeira.getId());
+        limiteService.liberar(conta.getId(), segunda.getId());
+        assertThrows(ConflitoException.class, () -> limiteService.liberar(conta.getId(), primeira.getId()));
+        assertThrows(ConflitoException.class, () -> limiteService.liberar(conta.getId(), segunda.getId()));
+
+        Limite limite = limiteService.limite(conta.getId());
+        assertEquals(0, new BigDecimal("6").compareTo(limite.getUtilizado()));
+        assertEquals(0, new BigDecimal("4").compareTo(limite.getDisponivel()));
+    }
+
+    @Test
+    void alteracaoDaContaRecalculaOUtilizado() throws Exception {
+        Conta conta = contaService.create(conta(new BigDecimal("10")));
+        limiteService.reservar(conta.getId(), new BigDecimal("10"), null);
+
+        //o limite é alterado pelo razão da conta
+        Lancamento aumento = new Lancamento();
+        aumento.setTipo(TipoLancamento.DEPOSITO);
+        aumento.setValor(new BigDecimal("5"));
+        lancamentoService.lancar(LancamentoService.Titular.CONTA, conta.getId(), aumento);
+
+        limiteService.reservar(conta.getId(), new BigDecimal("5"), null);
+        assertThrows(LimiteExcedidoException.class, () -> limiteService.reservar(conta.getId(), BigDecimal.ONE, null));
+        assertEquals(0, new BigDecimal("15").compareTo(limiteService.limite(conta.getId()).getUtilizado()));
+    }
+
+    private Conta conta(BigDecimal limite) {
+        Conta conta = new Conta();
+        conta.setDescricao("Conta com limite");
+        conta.setLimiteConta(limite);
+        conta.setDataInicio(LocalDateTime.now());
+        return conta;
+    }
+}
@@ -0,0 +1,100 @@
+package br.senac.go.service;
+
+import br.senac.go.dto.OperacaoLote;
+import br.senac.go.dto.ResultadoItem;
+import br.senac.go.exception.RequisicaoInvalidaException;
+import br.senac.go.model.Conta;
+import br.senac.go.model.Pessoa;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Operações de api/_batch em uma transação: referências a ids gravados no mesmo lote e
+ * desfazimento de tudo na primeira falha.
+ */
+@SpringBootTest(properties = {
+        "spring.output.ansi.enabled=never",
+        "spring.banner.charset=UTF-8",
+        "spring.banner.location=classpath:banner.txt",
+        "spring.datasource.url=jdbc:h2:mem:lote",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false", //o cache de segundo nível é compartilhado entre os contextos dos testes
+        "spring.jpa.properties.hibernate.cache.use_query_cache=false",
+        "logging.level.br.senac.go=warn",
+        "lote.limite-operacoes=5"
+})
+class LoteServiceTest {
+
+    @Autowired
+    private LoteService loteService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void cadastroComReferencias() throws Exception {
+        List<ResultadoItem<Object, Integer>> resultados = loteService.executar(operacoes("""
+                [{"ref": "carteira", "metodo": "POST", "recurso": "carteira", "corpo": {"nome": "Carteira lote", "descricao": "Lote"}},
+                 {"ref": "conta", "metodo": "POST", "recurso": "conta", "corpo": {"descricao": "Conta lote", "limiteConta": 500, "dataInicio": "2024-01-02T03:04:05", "tipoConta": [{"descricao": "Corrente"}]}},
+                 {"ref": "pessoa", "metodo": "POST", "recurso": "pessoa", "corpo": {"nome": "Pessoa lote", "carteira": {"id": "${carteira}"}, "conta": {"id": "${conta}"}}},
+                 {"metodo": "PATCH", "recurso": "pessoa", "id": "${pessoa}", "versao": "0", "corpo": {"endereco": "Rua do lote"}},
+                 {"metodo": "GET", "recurso": "conta", "id": "${conta}"}]
+                """));
+
+        assertEquals(List.of(201, 201, 201, 200, 200), resultados.stream().map(ResultadoItem::getStatus).toList());
+        Pessoa pessoa = entityManager.createQuery("select p from Pessoa p join fetch p.carteira join fetch p.conta where p.id = :id", Pessoa.class)
+                .setParameter("id", resultados.get(2).getId())
+                .getSingleResult();
+        assertEquals("Rua do lote", pessoa.getEndereco());
+        assertEquals(resultados.get(0).getId(), pessoa.getCarteira().getId());
+        assertEquals(resultados.get(1).getId(), pessoa.getConta().getId());
+        assertEquals(1, ((Conta) resultados.get(4).getEntidade()).getTipoConta().size());
+    }
+
+    @Test
+    void falhaDesfazTudo() throws Exception {
+        long pessoas = pessoas();
+        List<ResultadoItem<Object, Integer>> resultados = loteService.executar(operacoes("""
+                [{"ref": "pessoa", "metodo": "POST", "recurso": "pessoa", "corpo": {"nome": "Desfeita"}},
+                 {"metodo": "PUT", "recurso": "pessoa", "id": "${pessoa}", "versao": "7", "corpo": {"nome": "Versão errada"}},
+                 {"metodo": "DELETE", "recurso": "pessoa", "id": "${pessoa}"}]
+                """));
+
+        assertEquals(List.of(424, 409, 424), resultados.stream().map(ResultadoItem::getStatus).toList());
+        assertNull(resultados.get(0).getEntidade());
+        assertEquals(pessoas, pessoas());
+
+        resultados = loteService.executar(operacoes("""
+                [{"metodo": "PATCH", "recurso": "conta", "id": "${inexistente}", "corpo": {}}]
+                """));
+        assertEquals(400, resultados.get(0).getStatus());
+
+        assertThrows(RequisicaoInvalidaException.class, () -> loteService.executar(operacoes("""
+                [{"metodo": "POST", "recurso": "lancamento", "corpo": {}}]
+                """)));
+        assertThrows(RequisicaoInvalidaException.class, () -> loteService.executar(operacoes(
+                "[" + "{\"metodo\": \"GET\", \"recurso\": \"conta\", \"id\": 1},".repeat(5) + "{\"metodo\": \"GET\", \"recurso\": \"conta\", \"id\": 1}]")));
+    }
+
+    private List<OperacaoLote> operacoes(String json) throws Exception {
+        return objectMapper.readValue(json, new TypeReference<>() {
+        });
+    }
+
+    private long pessoas() {
+        return entityManager.createQuery("select count(p) from Pessoa p", Long.class).getSingleResult();
+    }
+}
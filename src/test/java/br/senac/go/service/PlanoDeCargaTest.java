@@ -0,0 +1,151 @@
+package br.senac.go.service;
+
+import br.senac.go.dto.PaginaCursor;
+import br.senac.go.model.Carteira;
+import br.senac.go.model.Conta;
+import br.senac.go.model.Investimento;
+import br.senac.go.model.Pessoa;
+import br.senac.go.model.TipoConta;
+import br.senac.go.model.TipoInvestimento;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Quantidade de consultas executadas por plano de carga (parâmetro expand).
+ */
+@SpringBootTest(properties = {
+        "spring.output.ansi.enabled=never",
+        "spring.banner.charset=UTF-8",
+        "spring.banner.location=classpath:banner.txt",
+        "spring.datasource.url=jdbc:h2:mem:planodecarga",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=false",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=warn"
+})
+class PlanoDeCargaTest {
+
+    private static final int REGISTROS = 100;
+
+    @Autowired
+    private CarteiraService carteiraService;
+
+    @Autowired
+    private ContaService contaService;
+
+    @Autowired
+    private InvestimentoService investimentoService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void popular() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        if (carteiraService.list(null, 1, null).getItens().isEmpty()) {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                for (int i = 0; i < REGISTROS; i++) {
+                    carteiraService.create(carteira(i));
+                    contaService.create(conta(i));
+                    investimentoService.create(investimento(i));
+                }
+            });
+        }
+        statistics.clear();
+    }
+
+    @Test
+    void listaSemExpandExecutaUmaConsulta() {
+        PaginaCursor<Carteira> pagina = carteiraService.list(null, REGISTROS, null);
+
+        assertEquals(REGISTROS, pagina.getItens().size());
+        assertFalse(Hibernate.isInitialized(pagina.getItens().get(0).getPessoas()));
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void listaComExpandCarregaColecoesEmLote() {
+        PaginaCursor<Carteira> carteiras = carteiraService.list(null, REGISTROS, Set.of("pessoas"));
+        assertTrue(carteiras.getItens().stream().allMatch(c -> Hibernate.isInitialized(c.getPessoas())));
+        assertEquals(1 + REGISTROS / 50, statistics.getPrepareStatementCount());
+
+        statistics.clear();
+        PaginaCursor<Conta> contas = contaService.list(null, REGISTROS, Set.of("tipoConta"));
+        assertTrue(contas.getItens().stream().allMatch(c -> Hibernate.isInitialized(c.getTipoConta())));
+        assertEquals(1 + REGISTROS / 50, statistics.getPrepareStatementCount());
+
+        statistics.clear();
+        PaginaCursor<Investimento> investimentos = investimentoService.list(null, REGISTROS, Set.of("tipoInvestimento"));
+        assertTrue(investimentos.getItens().stream().allMatch(i -> Hibernate.isInitialized(i.getTipoInvestimento())));
+        assertEquals(1 + REGISTROS / 50, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void readByIdComExpandExecutaUmaConsulta() throws Exception {
+        Integer id = carteiraService.list(null, 1, null).getItens().get(0).getId();
+        statistics.clear();
+
+        Carteira carteira = carteiraService.readById(id, Set.of("pessoas"));
+
+        assertTrue(Hibernate.isInitialized(carteira.getPessoas()));
+        assertEquals(2, carteira.getPessoas().size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    private Carteira carteira(int i) {
+        Carteira carteira = new Carteira();
+        carteira.setNome("Carteira " + i);
+        carteira.setDescricao("Carteira de teste");
+        for (int p = 0; p < 2; p++) {
+            Pessoa pessoa = new Pessoa();
+            pessoa.setNome("Pessoa " + i + "." + p);
+            carteira.getPessoas().add(pessoa);
+        }
+        return carteira;
+    }
+
+    private Conta conta(int i) {
+        Conta conta = new Conta();
+        conta.setDescricao("Conta " + i);
+        conta.setLimiteConta(BigDecimal.TEN);
+        conta.setDataInicio(LocalDateTime.now());
+        TipoConta tipoConta = new TipoConta();
+        tipoConta.setDescricao("Corrente");
+        conta.getTipoConta().add(tipoConta);
+        return conta;
+    }
+
+    private Investimento investimento(int i) {
+        Investimento investimento = new Investimento();
+        investimento.setDescricao("Investimento " + i);
+        investimento.setValorInicial(BigDecimal.TEN);
+        investimento.setSaldo(BigDecimal.TEN);
+        TipoInvestimento tipoInvestimento = new TipoInvestimento();
+        tipoInvestimento.setDescricao("CDB");
+        tipoInvestimento.setTemRisco(false);
+        investimento.getTipoInvestimento().add(tipoInvestimento);
+        return investimento;
+    }
+}